@@ -0,0 +1,191 @@
+package kz.finance.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность Spring MVC на Tomcat с платформенными и виртуальными потоками
+ * ({@code spring.threads.virtual.enabled}), когда обработчик блокируется на медленном внешнем API —
+ * как fintrack на Google Play, DeepSeek и Apple. Внешний API — локальный сервер с задержкой
+ * {@code upstreamLatencyMs}, вызов — RestClient на HttpURLConnection, тот же блокирующий ввод-вывод, что у Feign.
+ * <p>
+ * Одна операция — {@value #CONCURRENCY} одновременных запросов, результат в запросах в секунду.
+ * На платформенных потоках потолок ≈ 200 потоков Tomcat / задержка, на виртуальных — конкурентность клиента.
+ * Запуск: {@code java -jar benchmarks/target/benchmarks.jar VirtualThreadsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    static final int CONCURRENCY = 1000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"100"})
+    public int upstreamLatencyMs;
+
+    private HttpServer upstream;
+    private ConfigurableApplicationContext app;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), CONCURRENCY * 2);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/", exchange -> {
+            try {
+                Thread.sleep(upstreamLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"status\":0}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.start();
+
+        app = new SpringApplicationBuilder(SlowUpstreamApp.class)
+                .web(WebApplicationType.SERVLET)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(
+                        "server.port=0",
+                        // одинаковая очередь на accept в обоих режимах: пачка соединений не должна получать отказ
+                        "server.tomcat.accept-count=" + CONCURRENCY,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "upstream.url=http://127.0.0.1:" + upstream.getAddress().getPort() + "/verify")
+                .run();
+        int port = ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/slow"))
+                .timeout(Duration.ofMinutes(1))
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.close();
+        upstream.stop(0);
+        clientExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public int burst() {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<HttpResponse<Void>>[] responses = new CompletableFuture[CONCURRENCY];
+        for (int i = 0; i < CONCURRENCY; i++) {
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != CONCURRENCY) {
+            throw new IllegalStateException("Failed requests: " + (CONCURRENCY - ok));
+        }
+        return ok;
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class
+    })
+    @Import(SlowUpstreamController.class)
+    static class SlowUpstreamApp {
+
+        @Bean
+        RestClient upstreamClient(@Value("${upstream.url}") String url) {
+            var factory = new SimpleClientHttpRequestFactory();
+            factory.setConnectTimeout(Duration.ofSeconds(5));
+            factory.setReadTimeout(Duration.ofSeconds(30));
+            return RestClient.builder()
+                    .baseUrl(url)
+                    .requestFactory(factory)
+                    .build();
+        }
+    }
+
+    @RestController
+    static class SlowUpstreamController {
+
+        private final RestClient upstreamClient;
+
+        SlowUpstreamController(RestClient upstreamClient) {
+            this.upstreamClient = upstreamClient;
+        }
+
+        @GetMapping("/api/slow")
+        String slow() {
+            return upstreamClient.get().retrieve().body(String.class);
+        }
+    }
+}
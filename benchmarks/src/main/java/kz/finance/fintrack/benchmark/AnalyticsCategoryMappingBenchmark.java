@@ -0,0 +1,89 @@
+package kz.finance.fintrack.benchmark;
+
+import kz.finance.fintrack.dto.analytics.AnalyticsCategoriesDto;
+import kz.finance.fintrack.dto.analytics.CategorySummaryRawDto;
+import kz.finance.fintrack.repository.TransactionRepository;
+import kz.finance.fintrack.service.AnalyticsService;
+import kz.finance.fintrack.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * {@link AnalyticsService#getCategoriesAnalytics} после запроса к БД: суммы, доли категорий через деление
+ * BigDecimal и сортировка по названию. Репозиторий и текущий пользователь — заглушки Mockito без Spring и базы,
+ * как в AnalyticsServiceTest.
+ * Запуск: {@code java -jar benchmarks/target/benchmarks.jar AnalyticsCategoryMappingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyticsCategoryMappingBenchmark {
+
+    private static final Long USER_ID = 42L;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 3, 31, 23, 59, 59);
+
+    /** Число категорий в сводке: типичный пользователь — около 10, с пользовательскими — десятки. */
+    @Param({"10", "50"})
+    public int categories;
+
+    @Param({"ru", "en"})
+    public String lang;
+
+    private AnalyticsService service;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<CategorySummaryRawDto> rawData = new ArrayList<>(categories);
+        for (int i = 0; i < categories; i++) {
+            boolean income = i % 4 == 0;
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(5_000_000) + 100, 2);
+            rawData.add(new CategorySummaryRawDto(
+                    (long) i,
+                    "Категория " + i,
+                    "Category " + i,
+                    "icon-" + i,
+                    "#0000" + (10 + i % 90),
+                    income ? amount : BigDecimal.ZERO,
+                    income ? BigDecimal.ZERO : amount
+            ));
+        }
+        List<CategorySummaryRawDto> summary = List.copyOf(rawData);
+
+        // stubOnly: без записи вызовов, чтобы заглушка не копила историю и не влияла на замер
+        TransactionRepository repository = mock(TransactionRepository.class, withSettings().stubOnly());
+        when(repository.getCategorySummary(USER_ID, START, END)).thenReturn(summary);
+        UserService userService = mock(UserService.class, withSettings().stubOnly());
+        when(userService.getCurrentUserId()).thenReturn(USER_ID);
+        service = new AnalyticsService(repository, userService);
+    }
+
+    @Benchmark
+    public AnalyticsCategoriesDto categoriesAnalytics() {
+        return service.getCategoriesAnalytics(START, END, lang);
+    }
+}
@@ -0,0 +1,57 @@
+package kz.finance.fintrack.benchmark;
+
+import kz.finance.fintrack.dto.PeriodType;
+import kz.finance.fintrack.utils.DateRangeResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DateRangeResolver}: разбор периода и часового пояса выполняется на каждый запрос аналитики.
+ * Запуск: {@code java -jar benchmarks/target/benchmarks.jar DateRangeResolverBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateRangeResolverBenchmark {
+
+    @Param({"DAY", "WEEK", "MONTH", "YEAR"})
+    public PeriodType periodType;
+
+    @Param({"UTC", "Asia/Almaty"})
+    public String tz;
+
+    @Benchmark
+    public DateRangeResolver.DateRange resolvePeriod() {
+        return DateRangeResolver.resolve(periodType, 2026, 3, 15);
+    }
+
+    /** Период по умолчанию: год и месяц берутся из текущей даты. */
+    @Benchmark
+    public DateRangeResolver.DateRange resolvePeriodDefaults() {
+        return DateRangeResolver.resolve(periodType, null, null, null);
+    }
+
+    @Benchmark
+    public DateRangeResolver.DateRange resolveYearMonthDay() {
+        return DateRangeResolver.resolve(2026, 3, null);
+    }
+
+    @Benchmark
+    public ZoneId resolveZone() {
+        return DateRangeResolver.resolveZone(tz);
+    }
+}
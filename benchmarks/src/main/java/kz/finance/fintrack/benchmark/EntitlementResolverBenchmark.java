@@ -0,0 +1,58 @@
+package kz.finance.fintrack.benchmark;
+
+import kz.finance.fintrack.dto.subscription.EntitlementStatus;
+import kz.finance.fintrack.service.subscription.EntitlementResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EntitlementResolver#resolve}: вызывается при каждой проверке доступа к платным функциям.
+ * Входы чередуются, чтобы JIT не свернул ветвление под один исход.
+ * Запуск: {@code java -jar benchmarks/target/benchmarks.jar EntitlementResolverBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntitlementResolverBenchmark {
+
+    private Instant now;
+    private boolean[] revoked;
+    private Instant[] expiry;
+    private Instant[] graceUntil;
+
+    @Setup
+    public void setUp() {
+        now = Instant.parse("2026-03-15T12:00:00Z");
+        Instant past = now.minus(Duration.ofDays(3));
+        Instant future = now.plus(Duration.ofDays(27));
+
+        // ENTITLED, IN_GRACE, EXPIRED, REVOKED, NONE
+        revoked = new boolean[]{false, false, false, true, false};
+        expiry = new Instant[]{future, past, past, future, null};
+        graceUntil = new Instant[]{null, now.plus(Duration.ofDays(13)), null, null, null};
+    }
+
+    @Benchmark
+    public void resolve(Blackhole bh) {
+        for (int i = 0; i < revoked.length; i++) {
+            EntitlementStatus status = EntitlementResolver.resolve(revoked[i], expiry[i], graceUntil[i], now);
+            bh.consume(EntitlementResolver.isActive(status));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package kz.finance.fintrack.benchmark;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import kz.finance.fintrack.config.JwtPrincipal;
+import kz.finance.fintrack.config.JwtRequestFilter;
+import kz.finance.fintrack.config.JwtTokenVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtRequestFilter} fintrack целиком: заголовок Authorization, проверка токена
+ * ({@link JwtTokenVerifier} с кешем), заполнение SecurityContext.
+ * <ul>
+ *     <li>{@code validToken} — повторный запрос с тем же токеном, обычный случай;</li>
+ *     <li>{@code rejectedToken} — неверная подпись: не кешируется, HMAC и 401 на каждый запрос;</li>
+ *     <li>{@code noHeader} — публичные эндпоинты, нижняя граница стоимости фильтра.</li>
+ * </ul>
+ * Запуск: {@code java -jar benchmarks/target/benchmarks.jar JwtRequestFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final String ISSUER = "fintrack-auth";
+    private static final String AUDIENCE = "fintrack";
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    private JwtRequestFilter filter;
+    private MockHttpServletRequest validRequest;
+    private MockHttpServletRequest rejectedRequest;
+    private MockHttpServletRequest anonymousRequest;
+
+    @Setup
+    public void setUp() {
+        filter = new JwtRequestFilter(new JwtTokenVerifier(SECRET, ISSUER, AUDIENCE, Clock.systemUTC()));
+
+        String token = token(SECRET);
+        String forged = token("fedcba9876543210fedcba9876543210fedcba9876543210");
+
+        validRequest = request("Bearer " + token);
+        rejectedRequest = request("Bearer " + forged);
+        anonymousRequest = request(null);
+    }
+
+    @Benchmark
+    public int validToken() throws Exception {
+        return doFilter(validRequest);
+    }
+
+    @Benchmark
+    public int rejectedToken() throws Exception {
+        return doFilter(rejectedRequest);
+    }
+
+    @Benchmark
+    public int noHeader() throws Exception {
+        return doFilter(anonymousRequest);
+    }
+
+    private int doFilter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, NOOP_CHAIN);
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+
+    private static String token(String secret) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setIssuer(ISSUER)
+                .setAudience(AUDIENCE)
+                .setSubject("bench-user")
+                .claim(JwtPrincipal.UID_CLAIM, 42L)
+                .claim("roles", List.of("ROLE_USER"))
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofHours(1))))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
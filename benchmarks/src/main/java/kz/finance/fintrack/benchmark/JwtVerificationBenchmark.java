@@ -0,0 +1,93 @@
+package kz.finance.fintrack.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import kz.finance.fintrack.config.JwtTokenVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость проверки access-токена на запрос:
+ * <ul>
+ *     <li>{@code rebuildParserPerRequest} — как было: ключ и парсер строятся заново;</li>
+ *     <li>{@code prebuiltParser} — готовый парсер, но HMAC и JSON на каждый запрос;</li>
+ *     <li>{@code cachedVerification} — {@link JwtTokenVerifier} с кешем проверенных токенов.</li>
+ * </ul>
+ * Запуск: {@code java -jar benchmarks/target/benchmarks.jar JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final String ISSUER = "fintrack-auth";
+    private static final String AUDIENCE = "fintrack";
+
+    private String token;
+    private io.jsonwebtoken.JwtParser parser;
+    private JwtTokenVerifier verifier;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now();
+        token = Jwts.builder()
+                .setIssuer(ISSUER)
+                .setAudience(AUDIENCE)
+                .setSubject("bench-user")
+                .claim("uid", 42L)
+                .claim("roles", List.of("ROLE_USER"))
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofHours(1))))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .requireIssuer(ISSUER)
+                .requireAudience(AUDIENCE)
+                .build();
+        verifier = new JwtTokenVerifier(SECRET, ISSUER, AUDIENCE, Clock.systemUTC());
+    }
+
+    @Benchmark
+    public Claims rebuildParserPerRequest() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .requireIssuer(ISSUER)
+                .requireAudience(AUDIENCE)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims prebuiltParser() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public JwtTokenVerifier.VerifiedToken cachedVerification() {
+        return verifier.verify(token);
+    }
+}
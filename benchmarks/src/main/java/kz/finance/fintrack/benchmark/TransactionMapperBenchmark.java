@@ -0,0 +1,98 @@
+package kz.finance.fintrack.benchmark;
+
+import kz.finance.fintrack.dto.TransactionResponseDto;
+import kz.finance.fintrack.mapper.TransactionMapper;
+import kz.finance.fintrack.model.TransactionCategoryEntity;
+import kz.finance.fintrack.model.TransactionEntity;
+import kz.finance.fintrack.model.TransactionType;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TransactionMapper#toDto(TransactionEntity, String)} на странице списка транзакций:
+ * MapStruct-маппинг плюс пересборка DTO с локализованной категорией.
+ * Запуск: {@code java -jar benchmarks/target/benchmarks.jar TransactionMapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionMapperBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"ru", "en"})
+    public String lang;
+
+    private TransactionMapper mapper;
+    private List<TransactionEntity> page;
+
+    @Setup
+    public void setUp() {
+        mapper = Mappers.getMapper(TransactionMapper.class);
+
+        List<TransactionCategoryEntity> categories = List.of(
+                category(1L, "Продукты", "Groceries", TransactionType.EXPENSE),
+                category(2L, "Транспорт", "Transport", TransactionType.EXPENSE),
+                category(3L, "Зарплата", "Salary", TransactionType.INCOME)
+        );
+        LocalDateTime date = LocalDateTime.of(2026, 3, 1, 9, 0);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            TransactionCategoryEntity category = categories.get(i % categories.size());
+            page.add(TransactionEntity.builder()
+                    .id((long) i)
+                    .amount(BigDecimal.valueOf(1_000 + i * 37L, 2))
+                    .date(date.plusHours(i))
+                    .createdAt(date.plusHours(i))
+                    .updatedAt(date.plusHours(i))
+                    .comment(i % 2 == 0 ? "comment " + i : null)
+                    .type(category.getType())
+                    .category(category)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public TransactionResponseDto single() {
+        return mapper.toDto(page.get(0), lang);
+    }
+
+    @Benchmark
+    public void page(Blackhole bh) {
+        for (TransactionEntity entity : page) {
+            bh.consume(mapper.toDto(entity, lang));
+        }
+    }
+
+    private static TransactionCategoryEntity category(Long id, String nameRu, String nameEn, TransactionType type) {
+        return TransactionCategoryEntity.builder()
+                .id(id)
+                .nameRu(nameRu)
+                .nameEn(nameEn)
+                .icon("icon-" + id)
+                .color("#00000" + id)
+                .type(type)
+                .system(true)
+                .build();
+    }
+}
@@ -1,10 +1,15 @@
 package kz.finance.security.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import kz.finance.security.model.UserEntity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,12 +18,18 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    /** id пользователя: fintrack берёт его из токена, не читая таблицу users на каждый запрос. */
+    public static final String UID_CLAIM = "uid";
+
+    private static final int VERIFIED_CACHE_SIZE = 50_000;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -30,8 +41,41 @@ public class JwtTokenProvider {
 
     @Value("${jwt.audience}")
     private String audience;
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+
+    // ключ и парсер неизменяемы и потокобезопасны — строим один раз
+    private Key signingKey;
+    private JwtParser parser;
+
+    /** Проверенные токены до их exp: повторный запрос с тем же токеном не пересчитывает HMAC и не разбирает JSON. */
+    private final Cache<String, Claims> verified = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_CACHE_SIZE)
+            .expireAfter(new Expiry<String, Claims>() {
+                @Override
+                public long expireAfterCreate(String token, Claims claims, long currentTime) {
+                    long left = claims.getExpiration().getTime() - System.currentTimeMillis();
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(left, 0));
+                }
+
+                @Override
+                public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .requireIssuer(issuer)
+                .requireAudience(audience)
+                .build();
     }
 
     public String generateToken(UserEntity user) {
@@ -42,26 +86,32 @@ public class JwtTokenProvider {
                 .setIssuer(issuer)
                 .setAudience(audience)
                 .setSubject(user.getUsername())
+                .claim(UID_CLAIM, user.getId())
                 .claim("roles", user.getRoles())
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .requireIssuer(issuer)
-                .requireAudience(audience)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
+    /**
+     * Claims валидного токена или null. Результат из кеша общий для потоков — только для чтения.
+     */
     public Claims validateAndGetClaims(String token) {
+        Claims cached = verified.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            return parseClaims(token);
+            Claims claims = parseClaims(token);
+            if (claims.getExpiration() != null) {
+                verified.put(token, claims);
+            }
+            return claims;
         } catch (JwtException e) {
             log.warn("Invalid JWT: {}", e.getMessage());
             return null;
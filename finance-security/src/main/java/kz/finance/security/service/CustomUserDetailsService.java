@@ -1,8 +1,11 @@
 package kz.finance.security.service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import kz.finance.security.model.UserEntity;
 import kz.finance.security.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -10,18 +13,90 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+/**
+ * UserDetails для логина по паролю. Запросы с access-токеном сюда не ходят — роли берутся из токена.
+ * <p>
+ * Опционально ({@code security.user-details-cache.enabled}) результат кешируется в Caffeine;
+ * {@link UserService} и {@link PasswordResetService} вызывают {@link #evict(String)} при смене пароля,
+ * удалении аккаунта и апгрейде гостя.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final int CACHE_SIZE = 10_000;
+
     private final UserRepository userRepository;
+    private final AsyncCache<String, UserDetails> cache;
+
+    public CustomUserDetailsService(
+            UserRepository userRepository,
+            @Value("${security.user-details-cache.enabled:false}") boolean cacheEnabled,
+            @Value("${security.user-details-cache.ttl:10m}") Duration cacheTtl
+    ) {
+        this.userRepository = userRepository;
+        this.cache = cacheEnabled
+                ? Caffeine.newBuilder().maximumSize(CACHE_SIZE).expireAfterWrite(cacheTtl).buildAsync()
+                : null;
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (cache == null) {
+            return load(username);
+        }
+        // Синхронный cache.get(key, loader) держит блокировку ConcurrentHashMap (synchronized) на время запроса к БД,
+        // а виртуальный поток под ней занимает поток-носитель. Здесь в кеш кладётся future, загрузка идёт в
+        // текущем потоке, параллельные логины того же пользователя ждут future. evict() во время загрузки
+        // убирает future — загруженный старый пароль в кеш не попадёт.
+        CompletableFuture<UserDetails> loading = new CompletableFuture<>();
+        CompletableFuture<UserDetails> cached = cache.asMap().putIfAbsent(username, loading);
+        UserDetails details;
+        if (cached == null) {
+            try {
+                details = load(username);
+            } catch (RuntimeException | Error e) {
+                // null Caffeine просто убирает из кеша (неуспешный future ещё и логирует WARNING на каждый
+                // неверный логин); ждущие загрузят сами и получат своё UsernameNotFoundException
+                loading.complete(null);
+                throw e;
+            }
+            loading.complete(details);
+        } else {
+            details = cached.join();
+            if (details == null) {
+                details = load(username);
+            }
+        }
+        // Отдаём копию: ProviderManager после логина стирает пароль в UserDetails (eraseCredentials)
+        return User.withUserDetails(details).build();
+    }
+
+    public void evict(String username) {
+        if (cache == null || username == null) {
+            return;
+        }
+        cache.synchronous().invalidate(username);
+        // параллельный логин до коммита мог снова закешировать старый пароль — повторяем после коммита
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.synchronous().invalidate(username);
+                }
+            });
+        }
+    }
+
+    private UserDetails load(String username) {
         UserEntity user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
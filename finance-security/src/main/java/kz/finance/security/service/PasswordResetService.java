@@ -23,6 +23,7 @@ public class PasswordResetService {
     private final PasswordEncoder passwordEncoder;
     private final UserService userService;
     private final RefreshTokenService refreshTokenService;
+    private final CustomUserDetailsService userDetailsService;
 
     @Transactional
     public PasswordResetTokenEntity createOrUpdatePasswordResetTokenForUser(UserEntity user) {
@@ -56,6 +57,7 @@ public class PasswordResetService {
         UserEntity user = tokenEntity.getUser();
         user.setPassword(passwordEncoder.encode(newPassword));
         userService.save(user);
+        userDetailsService.evict(user.getUsername());
         tokenRepository.delete(tokenEntity);
         refreshTokenService.revokeAllUserTokens(user);
         log.info("Password successfully reset for user: {}", user.getUsername());
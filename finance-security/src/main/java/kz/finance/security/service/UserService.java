@@ -27,6 +27,8 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final CustomUserDetailsService userDetailsService;
+
     public void registerUser(String username, String email, String rawPassword, boolean isPro) {
         if (userRepository.existsByUsername(username)) {
             throw new UserAlreadyExistsException("Username already exists: " + username);
@@ -101,6 +103,7 @@ public class UserService {
 
 
     public UserEntity upgradeGuestToUser(UserEntity guestUser, String newUsername, String email, String password) {
+        userDetailsService.evict(guestUser.getUsername());
         guestUser.setUsername(newUsername);
         guestUser.setEmail(email);
         guestUser.setPassword(passwordEncoder.encode(password));
@@ -145,6 +148,7 @@ public class UserService {
         // Кодируем и сохраняем новый пароль
         currentUser.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(currentUser);
+        userDetailsService.evict(currentUser.getUsername());
     }
 
     @Transactional
@@ -152,6 +156,7 @@ public class UserService {
         UserEntity currentUser = getCurrentUser();
         log.info("Удаление пользователя и всех его данных: {}", currentUser.getUsername());
         userRepository.delete(currentUser);
+        userDetailsService.evict(currentUser.getUsername());
         log.info("Пользователь и все его данные успешно удалены");
     }
 }
\ No newline at end of file
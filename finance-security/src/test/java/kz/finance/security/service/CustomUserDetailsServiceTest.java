@@ -0,0 +1,148 @@
+package kz.finance.security.service;
+
+import kz.finance.security.model.UserEntity;
+import kz.finance.security.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+
+    private static final int CALLERS = 16;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CustomUserDetailsService service =
+            new CustomUserDetailsService(userRepository, true, Duration.ofMinutes(10));
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentLogins_shareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByUsername("alice")).thenAnswer(inv -> {
+            release.await();
+            return Optional.of(user("alice", "hash-1"));
+        });
+
+        List<Future<UserDetails>> logins = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            logins.add(executor.submit(() -> service.loadUserByUsername("alice")));
+        }
+        // все вызовы должны успеть встать на одну загрузку
+        verify(userRepository, timeout(5_000)).findByUsername("alice");
+        Thread.sleep(100);
+        release.countDown();
+
+        List<UserDetails> results = new ArrayList<>();
+        for (Future<UserDetails> login : logins) {
+            results.add(login.get(5, TimeUnit.SECONDS));
+        }
+
+        verify(userRepository, times(1)).findByUsername("alice");
+        assertThat(results).extracting(UserDetails::getPassword).containsOnly("hash-1");
+        // каждому вызывающему — своя копия: eraseCredentials после логина не стирает пароль в кеше
+        ((CredentialsContainer) results.get(0)).eraseCredentials();
+        assertThat(results.get(1).getPassword()).isEqualTo("hash-1");
+        assertThat(service.loadUserByUsername("alice").getPassword()).isEqualTo("hash-1");
+    }
+
+    @Test
+    void evict_nextLoginReadsNewPassword() {
+        when(userRepository.findByUsername("alice"))
+                .thenReturn(Optional.of(user("alice", "hash-1")))
+                .thenReturn(Optional.of(user("alice", "hash-2")));
+
+        assertThat(service.loadUserByUsername("alice").getPassword()).isEqualTo("hash-1");
+        assertThat(service.loadUserByUsername("alice").getPassword()).isEqualTo("hash-1");
+
+        service.evict("alice");
+
+        assertThat(service.loadUserByUsername("alice").getPassword()).isEqualTo("hash-2");
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void evictDuringLoad_staleValueIsNotCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByUsername("alice"))
+                .thenAnswer(inv -> {
+                    loading.countDown();
+                    release.await();
+                    return Optional.of(user("alice", "old"));
+                })
+                .thenReturn(Optional.of(user("alice", "new")));
+
+        Future<UserDetails> inFlight = executor.submit(() -> service.loadUserByUsername("alice"));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        service.evict("alice");
+        release.countDown();
+
+        assertThat(inFlight.get(5, TimeUnit.SECONDS).getPassword()).isEqualTo("old");
+        assertThat(service.loadUserByUsername("alice").getPassword()).isEqualTo("new");
+    }
+
+    @Test
+    void unknownUser_isNotCached_andWaitersGetTheirOwnError() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByUsername("ghost")).thenAnswer(inv -> {
+            release.await();
+            return Optional.empty();
+        });
+
+        Future<UserDetails> first = executor.submit(() -> service.loadUserByUsername("ghost"));
+        verify(userRepository, timeout(5_000)).findByUsername("ghost");
+        Future<UserDetails> waiter = executor.submit(() -> service.loadUserByUsername("ghost"));
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<UserDetails> login : List.of(first, waiter)) {
+            assertThatThrownBy(() -> login.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(UsernameNotFoundException.class);
+        }
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(3)).findByUsername("ghost");
+    }
+
+    @Test
+    void cacheDisabled_alwaysReadsRepository() {
+        var uncached = new CustomUserDetailsService(userRepository, false, Duration.ofMinutes(10));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user("alice", "hash-1")));
+
+        uncached.loadUserByUsername("alice");
+        uncached.loadUserByUsername("alice");
+        uncached.evict("alice");
+
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    private static UserEntity user(String username, String password) {
+        return UserEntity.builder()
+                .username(username)
+                .password(password)
+                .roles(Set.of("ROLE_USER"))
+                .build();
+    }
+}
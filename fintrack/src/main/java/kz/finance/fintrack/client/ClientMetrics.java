@@ -0,0 +1,75 @@
+package kz.finance.fintrack.client;
+
+import com.apple.itunes.storekit.client.APIException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Латентность исходящих вызовов (Google Play, DeepSeek, Apple): таймер {@value #TIMER}
+ * с тегами provider, operation и outcome, перцентили и гистограмма публикуются.
+ * Feign-клиенты пишут сюда через {@link FeignClientMetrics}, RestClient — через {@link #interceptor},
+ * SDK-клиенты — через {@link #time}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientMetrics {
+
+    public static final String TIMER = "fintrack.client.requests";
+
+    private final MeterRegistry registry;
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    public <T, E extends Exception> T time(String provider, String operation, Call<T, E> call) throws E {
+        long started = System.nanoTime();
+        Outcome outcome = Outcome.UNKNOWN;
+        try {
+            T result = call.call();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (Exception e) {
+            if (e instanceof APIException api) {
+                outcome = Outcome.forStatus(api.getHttpStatusCode());
+            }
+            throw e;
+        } finally {
+            record(provider, operation, outcome, System.nanoTime() - started);
+        }
+    }
+
+    public ClientHttpRequestInterceptor interceptor(String provider, String operation) {
+        return (request, body, execution) -> {
+            long started = System.nanoTime();
+            Outcome outcome = Outcome.UNKNOWN;
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                outcome = Outcome.forStatus(response.getStatusCode().value());
+                return response;
+            } finally {
+                record(provider, operation, outcome, System.nanoTime() - started);
+            }
+        };
+    }
+
+    public void record(String provider, String operation, Outcome outcome, long nanos) {
+        Timer.builder(TIMER)
+                .description("Outbound API calls")
+                .tag("provider", provider)
+                .tag("operation", operation)
+                .tag("outcome", outcome.name())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,57 @@
+package kz.finance.fintrack.client;
+
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Таймер на каждый HTTP-вызов Feign-клиентов (каждая попытка ретрая — отдельный замер).
+ * Capability-бины из основного контекста openfeign подключает ко всем клиентам.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeignClientMetrics implements Capability {
+
+    private static final Map<String, String> PROVIDERS = Map.of(
+            "googlePlayApiClient", "google",
+            "deepSeekClient", "deepseek"
+    );
+
+    private final ClientMetrics metrics;
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            long started = System.nanoTime();
+            Outcome outcome = Outcome.UNKNOWN;
+            try {
+                Response response = client.execute(request, options);
+                outcome = Outcome.forStatus(response.status());
+                return response;
+            } finally {
+                metrics.record(provider(request), operation(request), outcome, System.nanoTime() - started);
+            }
+        };
+    }
+
+    private static String provider(Request request) {
+        Target<?> target = request.requestTemplate() != null ? request.requestTemplate().feignTarget() : null;
+        if (target == null) {
+            return "unknown";
+        }
+        return PROVIDERS.getOrDefault(target.name(), target.name());
+    }
+
+    private static String operation(Request request) {
+        MethodMetadata metadata = request.requestTemplate() != null ? request.requestTemplate().methodMetadata() : null;
+        return metadata != null && metadata.method() != null ? metadata.method().getName() : "unknown";
+    }
+}
@@ -0,0 +1,143 @@
+package kz.finance.fintrack.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ограничение одновременных запросов RestClient к одному хосту.
+ * По HTTP/2 запросы к хосту идут потоками одного соединения, при откате на HTTP/1.1 каждый занимает своё —
+ * тогда лимит ограничивает и число соединений. Слот держится до закрытия ответа, то есть до дочитывания тела.
+ * Дольше {@code maxWait} слот не ждём: запрос падает с IOException, как при сетевой ошибке.
+ * <p>
+ * Метрики с тегами provider и host: {@value #ACTIVE}, {@value #WAITING}, {@value #REJECTED}.
+ */
+public class HostConcurrencyLimiter implements ClientHttpRequestInterceptor {
+
+    public static final String ACTIVE = "fintrack.client.host.active";
+    public static final String WAITING = "fintrack.client.host.waiting";
+    public static final String REJECTED = "fintrack.client.host.rejected";
+
+    private final String provider;
+    private final int maxPerHost;
+    private final Duration maxWait;
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+    public HostConcurrencyLimiter(String provider, int maxPerHost, Duration maxWait, MeterRegistry registry) {
+        if (maxPerHost <= 0) {
+            throw new IllegalArgumentException("maxPerHost must be positive: " + maxPerHost);
+        }
+        this.provider = provider;
+        this.maxPerHost = maxPerHost;
+        this.maxWait = maxWait;
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Host host = hosts.computeIfAbsent(String.valueOf(request.getURI().getHost()), this::register);
+        try {
+            if (!host.permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                host.rejected.increment();
+                throw new IOException("No free slot for " + host.name + " within " + maxWait
+                        + " (max " + maxPerHost + " concurrent requests)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a slot for " + host.name);
+        }
+
+        try {
+            return new ReleasingResponse(execution.execute(request, body), host.permits);
+        } catch (IOException | RuntimeException | Error e) {
+            host.permits.release();
+            throw e;
+        }
+    }
+
+    int active(String host) {
+        Host h = hosts.get(host);
+        return h == null ? 0 : maxPerHost - h.permits.availablePermits();
+    }
+
+    private Host register(String name) {
+        Host host = new Host(name, new Semaphore(maxPerHost, true), Counter.builder(REJECTED)
+                .description("Outbound requests rejected after waiting for a free per-host slot")
+                .tag("provider", provider)
+                .tag("host", name)
+                .register(registry));
+        Gauge.builder(ACTIVE, host.permits, p -> maxPerHost - p.availablePermits())
+                .description("Outbound requests in flight per host")
+                .tag("provider", provider)
+                .tag("host", name)
+                .register(registry);
+        Gauge.builder(WAITING, host.permits, Semaphore::getQueueLength)
+                .tag("provider", provider)
+                .tag("host", name)
+                .register(registry);
+        return host;
+    }
+
+    private record Host(String name, Semaphore permits, Counter rejected) {}
+
+    /** Возвращает слот при закрытии ответа; повторный close слот не освобождает. */
+    private static final class ReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingResponse(ClientHttpResponse delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
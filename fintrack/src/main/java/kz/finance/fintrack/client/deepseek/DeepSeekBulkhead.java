@@ -0,0 +1,59 @@
+package kz.finance.fintrack.client.deepseek;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничение одновременных вызовов DeepSeek (обычных и потоковых) на инстанс.
+ * Ждущие вызовы — виртуальные потоки AI-задач, поэтому ожидание дешёвое; дольше {@code max-wait} не ждём.
+ */
+@Component
+public class DeepSeekBulkhead {
+
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public DeepSeekBulkhead(
+            @Value("${deepseek.max-concurrent-calls:4}") int maxConcurrent,
+            @Value("${deepseek.max-wait:60s}") Duration maxWait,
+            MeterRegistry registry
+    ) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.rejected = Counter.builder("fintrack.ai.deepseek.bulkhead.rejected")
+                .description("DeepSeek calls rejected after waiting for a free slot")
+                .register(registry);
+        Gauge.builder("fintrack.ai.deepseek.bulkhead.active", this, DeepSeekBulkhead::active)
+                .description("DeepSeek calls in flight")
+                .register(registry);
+        Gauge.builder("fintrack.ai.deepseek.bulkhead.waiting", permits, Semaphore::getQueueLength)
+                .register(registry);
+    }
+
+    /** false — слот не освободился за max-wait; при true обязателен {@link #release()}. */
+    public boolean tryAcquire() throws InterruptedException {
+        if (permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    private double active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
@@ -7,7 +7,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 
 @FeignClient(
         name = "deepSeekClient",
-        url = "https://api.deepseek.com/v1",
+        url = "${deepseek.base-url:https://api.deepseek.com/v1}",
         configuration = DeepSeekFeignConfig.class
 )
 public interface DeepSeekFeignClient {
@@ -0,0 +1,16 @@
+package kz.finance.fintrack.client.deepseek;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/** Один data-фрейм потокового ответа chat/completions (stream=true). */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record DeepSeekStreamChunk(List<Choice> choices) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(int index, Delta delta) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Delta(String content) {}
+}
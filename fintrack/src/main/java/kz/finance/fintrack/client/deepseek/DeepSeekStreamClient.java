@@ -0,0 +1,100 @@
+package kz.finance.fintrack.client.deepseek;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Потоковый chat/completions (stream=true, ответ — SSE).
+ * <p>
+ * Feign отдаёт тело только целиком, поэтому здесь JDK HttpClient: строки читаются по мере прихода.
+ * Вызывается из виртуального потока — ожидание сети не держит платформенный поток.
+ * Таймауты те же, что в {@link DeepSeekFeignConfig}: 5s на соединение, 120s до начала ответа.
+ */
+@Slf4j
+@Component
+public class DeepSeekStreamClient {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration RESPONSE_TIMEOUT = Duration.ofSeconds(120);
+    private static final String DATA_PREFIX = "data:";
+    private static final String DONE = "[DONE]";
+
+    private final ObjectMapper mapper;
+    private final URI uri;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Autowired
+    public DeepSeekStreamClient(ObjectMapper mapper, @Value("${deepseek.base-url:https://api.deepseek.com/v1}") String baseUrl) {
+        this(mapper, URI.create(baseUrl + "/chat/completions"));
+    }
+
+    DeepSeekStreamClient(ObjectMapper mapper, URI uri) {
+        this.mapper = mapper;
+        this.uri = uri;
+    }
+
+    /**
+     * Передаёт фрагменты content в {@code onToken} по мере генерации и возвращает полный текст
+     * (пустой, если модель ничего не вернула). Прерывание потока обрывает чтение и соединение.
+     */
+    public String stream(String apiKey, DeepSeekRequest request, Consumer<String> onToken)
+            throws IOException, InterruptedException {
+        HttpRequest httpRequest = HttpRequest.newBuilder(uri)
+                .timeout(RESPONSE_TIMEOUT)
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Content-Type", "application/json")
+                .header("Accept", "text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(request)))
+                .build();
+
+        HttpResponse<Stream<String>> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new DeepSeekStreamException(response.statusCode(), lines.limit(20).collect(Collectors.joining("\n")));
+            }
+
+            StringBuilder content = new StringBuilder();
+            Iterator<String> it = lines.iterator();
+            while (it.hasNext()) {
+                String line = it.next();
+                // пустые строки — разделители событий, ": keep-alive" — комментарии
+                if (!line.startsWith(DATA_PREFIX)) continue;
+
+                String data = line.substring(DATA_PREFIX.length()).trim();
+                if (DONE.equals(data)) break;
+
+                String token = content(mapper.readValue(data, DeepSeekStreamChunk.class));
+                if (token != null && !token.isEmpty()) {
+                    content.append(token);
+                    onToken.accept(token);
+                }
+            }
+            return content.toString();
+        }
+    }
+
+    private static String content(DeepSeekStreamChunk chunk) {
+        if (chunk.choices() == null || chunk.choices().isEmpty() || chunk.choices().get(0).delta() == null) {
+            return null;
+        }
+        return chunk.choices().get(0).delta().content();
+    }
+}
@@ -0,0 +1,15 @@
+package kz.finance.fintrack.client.deepseek;
+
+import lombok.Getter;
+
+/** DeepSeek ответил не 200 на потоковый запрос — до первого токена, можно пробовать другую модель. */
+@Getter
+public class DeepSeekStreamException extends RuntimeException {
+
+    private final int status;
+
+    public DeepSeekStreamException(int status, String body) {
+        super("DeepSeek stream failed: status=" + status + " body=" + body);
+        this.status = status;
+    }
+}
@@ -45,7 +45,7 @@ public record AppleIapProperties(
 
     public AppleIapProperties {
         if (verifyReceipt == null) {
-            verifyReceipt = new VerifyReceiptProperties(3, 200, 512 * 1024);
+            verifyReceipt = new VerifyReceiptProperties(3, 200, 512 * 1024, null, null);
         }
         if (preferredEnvironment == null) {
             preferredEnvironment = Environment.PRODUCTION;
@@ -78,12 +78,20 @@ public record AppleIapProperties(
     public record VerifyReceiptProperties(
             int maxAttempts,
             long initialBackoffMs,
-            int maxReceiptSizeChars
+            int maxReceiptSizeChars,
+            // эндпоинты verifyReceipt; по умолчанию Apple, в нагрузочном тесте — локальная заглушка
+            String productionUrl,
+            String sandboxUrl
     ) {
+        public static final String DEFAULT_PRODUCTION_URL = "https://buy.itunes.apple.com/verifyReceipt";
+        public static final String DEFAULT_SANDBOX_URL = "https://sandbox.itunes.apple.com/verifyReceipt";
+
         public VerifyReceiptProperties {
             if (maxAttempts <= 0) maxAttempts = 3;
             if (initialBackoffMs < 0) initialBackoffMs = 0;
             if (maxReceiptSizeChars <= 0) maxReceiptSizeChars = 512 * 1024;
+            if (!StringUtils.hasText(productionUrl)) productionUrl = DEFAULT_PRODUCTION_URL;
+            if (!StringUtils.hasText(sandboxUrl)) sandboxUrl = DEFAULT_SANDBOX_URL;
         }
     }
 }
@@ -3,23 +3,31 @@ package kz.finance.fintrack.config;
 import com.apple.itunes.storekit.client.AppStoreServerAPIClient;
 import com.apple.itunes.storekit.model.Environment;
 import com.apple.itunes.storekit.verification.SignedDataVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import kz.finance.fintrack.client.ClientMetrics;
+import kz.finance.fintrack.client.HostConcurrencyLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestClient;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.net.http.HttpClient;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Slf4j
 @Configuration
@@ -29,18 +37,50 @@ public class AppleStoreKitSk2Config {
 
     private final AppleIapProperties props;
 
+    // не бины: ExecutorService в контексте отключил бы автоконфигурацию applicationTaskExecutor
+    private final ExecutorService appleHttpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private HttpClient appleHttpClient;
+
+    /**
+     * RestClient для verifyReceipt. JDK HttpClient держит keep-alive пул и договаривается о HTTP/2 через ALPN:
+     * повторные вызовы к production и sandbox идут по уже открытым соединениям, без нового TLS-рукопожатия.
+     * Одновременных запросов к хосту не больше {@code apple.http.max-concurrent-per-host}.
+     * HttpClient и его executor закрываются вместе с контекстом, см. {@link #closeAppleHttpClient()}.
+     */
     @Bean
     @Qualifier("appleRestClient")
-    public RestClient appleRestClient(RestClient.Builder builder) {
-        var factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(Duration.ofSeconds(5));
+    public RestClient appleRestClient(
+            RestClient.Builder builder,
+            ClientMetrics clientMetrics,
+            MeterRegistry registry,
+            @Value("${apple.http.max-concurrent-per-host:32}") int maxConcurrentPerHost,
+            @Value("${apple.http.max-wait:5s}") Duration maxWait
+    ) {
+        appleHttpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(appleHttpExecutor)
+                .build();
+        var factory = new JdkClientHttpRequestFactory(appleHttpClient);
         factory.setReadTimeout(Duration.ofSeconds(15));
 
         return builder
                 .requestFactory(factory)
+                // метрики снаружи лимита: время ожидания слота входит в латентность вызова
+                .requestInterceptor(clientMetrics.interceptor("apple", "verifyReceipt"))
+                .requestInterceptor(new HostConcurrencyLimiter("apple", maxConcurrentPerHost, maxWait, registry))
                 .build();
     }
 
+    /** Сначала клиент: close() дожидается запросов в полёте, им ещё нужен executor. */
+    @PreDestroy
+    void closeAppleHttpClient() {
+        if (appleHttpClient != null) {
+            appleHttpClient.close();
+        }
+        appleHttpExecutor.close();
+    }
+
     @Bean
     public AppleSk2Clients appleSk2Clients() {
         Environment preferred = props.preferredEnvironment() != null
@@ -0,0 +1,17 @@
+package kz.finance.fintrack.config;
+
+import java.security.Principal;
+
+/**
+ * Пользователь из access-токена: username (sub) и id (claim uid).
+ * userId == null для токенов, выпущенных до появления uid, — тогда пользователь ищется по username.
+ */
+public record JwtPrincipal(Long userId, String username) implements Principal {
+
+    public static final String UID_CLAIM = "uid";
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,38 +1,26 @@
 package kz.finance.fintrack.config;
 
-import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    @Value("${spring.security.jwt.secret}")
-    private String jwtSecret;
-    @Value("${spring.security.jwt.issuer}")
-    private String issuer;
+    private final JwtTokenVerifier tokenVerifier;
 
-    @Value("${spring.security.jwt.audience}")
-    private String audience;
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -48,27 +36,12 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
 
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(
-                            Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8))
-                    )
-                    .requireIssuer(issuer)
-                    .requireAudience(audience)
-                    .build()
-                    .parseClaimsJws(header.substring(7))
-                    .getBody();
-
-            String username = claims.getSubject();
-            List<String> roles = claims.get("roles", List.class);
-
-            var authorities = roles.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .toList();
+            var token = tokenVerifier.verify(header.substring(7));
 
             var authentication = new UsernamePasswordAuthenticationToken(
-                    username,
+                    token.principal(),
                     null,
-                    authorities
+                    token.authorities()
             );
 
             if (SecurityContextHolder.getContext().getAuthentication() == null) {
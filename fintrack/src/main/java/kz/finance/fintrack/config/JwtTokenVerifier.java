@@ -0,0 +1,95 @@
+package kz.finance.fintrack.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка access-токенов finance-security.
+ * <p>
+ * Ключ и JwtParser строятся один раз (парсер потокобезопасен). Успешно проверенные токены кешируются
+ * до их exp: повторный запрос с тем же bearer-токеном не пересчитывает HMAC и не разбирает JSON claims.
+ * Ключ кеша — сам токен: точное сравнение строк, без коллизий; SHA-256 от токена стоил бы столько же,
+ * сколько сама проверка подписи.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    static final int MAX_ENTRIES = 50_000;
+
+    private final JwtParser parser;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+
+    public JwtTokenVerifier(
+            @Value("${spring.security.jwt.secret}") String secret,
+            @Value("${spring.security.jwt.issuer}") String issuer,
+            @Value("${spring.security.jwt.audience}") String audience,
+            Clock clock
+    ) {
+        this.clock = clock;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .requireIssuer(issuer)
+                .requireAudience(audience)
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+    }
+
+    /**
+     * Проверенный токен; невалидный — {@link io.jsonwebtoken.JwtException}, такие не кешируются.
+     */
+    public VerifiedToken verify(String token) {
+        Instant now = clock.instant();
+        VerifiedToken cached = verified.get(token);
+        if (cached != null) {
+            if (now.isBefore(cached.expiresAt())) return cached;
+            verified.remove(token, cached);
+        }
+
+        VerifiedToken parsed = parse(token);
+        if (parsed.expiresAt() != null && verified.size() < MAX_ENTRIES) {
+            verified.put(token, parsed);
+        }
+        return parsed;
+    }
+
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        verified.values().removeIf(t -> !now.isBefore(t.expiresAt()));
+    }
+
+    VerifiedToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+
+        Number uid = claims.get(JwtPrincipal.UID_CLAIM, Number.class);
+        List<?> roles = claims.get("roles", List.class);
+        List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                .map(r -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(r)))
+                .toList();
+
+        return new VerifiedToken(
+                new JwtPrincipal(uid == null ? null : uid.longValue(), claims.getSubject()),
+                authorities,
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant()
+        );
+    }
+
+    public record VerifiedToken(JwtPrincipal principal, List<GrantedAuthority> authorities, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,67 @@
+package kz.finance.fintrack.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Латентность каждого метода Spring Data репозиториев, включая нативные запросы из *RepositoryCustomImpl:
+ * таймер {@value #TIMER} с тегами repository, query (имя метода) и outcome.
+ * Время включает ожидание соединения из пула и маппинг результата — то, что видит сервис.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    public static final String TIMER = "fintrack.repository.queries";
+
+    private static final String REPOSITORY_PACKAGE = "kz.finance.fintrack.repository.";
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) && !execution(* java.lang.Object.*(..))")
+    public Object timeQuery(ProceedingJoinPoint pjp) throws Throwable {
+        long started = System.nanoTime();
+        String outcome = "ERROR";
+        try {
+            Object result = pjp.proceed();
+            outcome = "SUCCESS";
+            return result;
+        } finally {
+            Timer.builder(TIMER)
+                    .description("Repository method latency")
+                    .tag("repository", repositoryName(pjp.getTarget()))
+                    .tag("query", pjp.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Цель — прокси Spring Data; имя берётся с интерфейса репозитория из нашего пакета. */
+    private String repositoryName(Object target) {
+        return repositoryNames.computeIfAbsent(target.getClass(), RepositoryMetricsAspect::resolveName);
+    }
+
+    private static String resolveName(Class<?> type) {
+        for (Class<?> iface : type.getInterfaces()) {
+            if (Repository.class.isAssignableFrom(iface) && iface.getName().startsWith(REPOSITORY_PACKAGE)) {
+                return iface.getSimpleName();
+            }
+        }
+        return type.getSimpleName();
+    }
+}
@@ -1,5 +1,6 @@
 package kz.finance.fintrack.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -27,6 +28,8 @@ public class SecurityConfig {
                         sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // ASYNC-диспатч потоковых ответов (экспорт): исходный запрос уже прошёл авторизацию
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/subscription/google/rtnd",
                                 "/api/subscription/apple/notifications",
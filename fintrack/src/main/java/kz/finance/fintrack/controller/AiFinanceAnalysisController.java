@@ -1,30 +1,65 @@
 package kz.finance.fintrack.controller;
 
+import kz.finance.fintrack.dto.ai.AiAnalysisJobDto;
 import kz.finance.fintrack.dto.ai.FinanceAnalyzeRequest;
 import kz.finance.fintrack.dto.ai.FinanceAnalyzeResponse;
-import kz.finance.fintrack.service.AiFinanceAnalysisService;
+import kz.finance.fintrack.service.AiAnalysisJobService;
+import kz.finance.fintrack.service.AiAnalysisStreamService;
 import kz.finance.fintrack.service.QuickFinanceAnalyzeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/ai")
 @RequiredArgsConstructor
 public class AiFinanceAnalysisController {
 
-    private final AiFinanceAnalysisService aiService;
+    private final AiAnalysisJobService aiJobService;
     private final QuickFinanceAnalyzeService quickFinanceAnalyzeService;
+    private final AiAnalysisStreamService aiStreamService;
 
     @PostMapping("/quick-analyze")
     public FinanceAnalyzeResponse quickAnalyze(@RequestBody FinanceAnalyzeRequest request) {
         return quickFinanceAnalyzeService.quickAnalyze(request.year(), request.month(), request.currency());
     }
 
+    /**
+     * Ответ приходит по готовности, но поток Tomcat не занят: запрос выполняется как AI-задача,
+     * одинаковые одновременные запросы объединяются.
+     */
     @PostMapping("/deep-analyze")
-    public FinanceAnalyzeResponse analyze(@RequestBody FinanceAnalyzeRequest request) {
-        return aiService.analyzeMonth(request.year(), request.month(), request.currency());
+    public DeferredResult<FinanceAnalyzeResponse> analyze(@RequestBody FinanceAnalyzeRequest request) {
+        return aiJobService.analyze(request.year(), request.month(), request.currency());
+    }
+
+    /**
+     * Фоновый deep-analyze: в ответе задача, результат опрашивается по id.
+     */
+    @PostMapping("/deep-analyze/jobs")
+    public AiAnalysisJobDto submitAnalysis(@RequestBody FinanceAnalyzeRequest request) {
+        return aiJobService.submit(request.year(), request.month(), request.currency());
+    }
+
+    @GetMapping("/deep-analyze/jobs/{jobId}")
+    public AiAnalysisJobDto getAnalysisStatus(@PathVariable UUID jobId) {
+        return aiJobService.getStatus(jobId);
+    }
+
+    /**
+     * То же, что deep-analyze, но потоком (text/event-stream): события token {"content": "..."}, затем done.
+     */
+    @PostMapping(value = "/deep-analyze/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzeStream(@RequestBody FinanceAnalyzeRequest request) {
+        return aiStreamService.stream(request.year(), request.month(), request.currency());
     }
 }
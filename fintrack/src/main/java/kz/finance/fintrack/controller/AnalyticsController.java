@@ -11,6 +11,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.ZoneId;
+
 @RestController
 @RequestMapping("/api/analytics")
 @RequiredArgsConstructor
@@ -23,10 +25,12 @@ public class AnalyticsController {
             @RequestParam PeriodType periodType,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) Integer month,
-            @RequestParam(required = false) Integer day
+            @RequestParam(required = false) Integer day,
+            @RequestParam(defaultValue = "UTC") String tz
     ) {
-        var range = DateRangeResolver.resolve(periodType, year, month, day);
-        return analyticsService.getTransactionSummary(range.start(), range.end(), periodType);
+        ZoneId zone = DateRangeResolver.resolveZone(tz);
+        var range = DateRangeResolver.resolve(periodType, year, month, day, zone);
+        return analyticsService.getTransactionSummary(range.start(), range.end(), periodType, zone);
     }
 
     @GetMapping("/categories")
@@ -0,0 +1,55 @@
+package kz.finance.fintrack.controller;
+
+import jakarta.validation.Valid;
+import kz.finance.fintrack.dto.recurring.RecurringTransactionRequestDto;
+import kz.finance.fintrack.dto.recurring.RecurringTransactionResponseDto;
+import kz.finance.fintrack.service.RecurringTransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-transactions")
+@RequiredArgsConstructor
+public class RecurringTransactionController {
+
+    private final RecurringTransactionService recurringTransactionService;
+
+    @GetMapping
+    public List<RecurringTransactionResponseDto> getRules(
+            @RequestHeader(name = "Accept-Language", defaultValue = "ru") String lang
+    ) {
+        return recurringTransactionService.getRules(lang);
+    }
+
+    @PostMapping
+    public RecurringTransactionResponseDto createRule(
+            @Valid @RequestBody RecurringTransactionRequestDto request,
+            @RequestHeader(name = "Accept-Language", defaultValue = "ru") String lang
+    ) {
+        return recurringTransactionService.createRule(request, lang);
+    }
+
+    @PutMapping("/{id}")
+    public RecurringTransactionResponseDto updateRule(
+            @PathVariable Long id,
+            @Valid @RequestBody RecurringTransactionRequestDto request,
+            @RequestHeader(name = "Accept-Language", defaultValue = "ru") String lang
+    ) {
+        return recurringTransactionService.updateRule(id, request, lang);
+    }
+
+    @DeleteMapping("/{id}")
+    public void deleteRule(@PathVariable Long id) {
+        recurringTransactionService.deleteRule(id);
+    }
+}
@@ -6,9 +6,8 @@ import kz.finance.fintrack.dto.subscription.AppleNotificationRequest;
 import kz.finance.fintrack.dto.subscription.AppleVerifyRequest;
 import kz.finance.fintrack.dto.subscription.EntitlementResponse;
 import kz.finance.fintrack.dto.subscription.GoogleVerifyRequest;
-import kz.finance.fintrack.service.subscription.AppleServerNotificationService;
-import kz.finance.fintrack.service.subscription.GoogleWebhookParser;
 import kz.finance.fintrack.service.subscription.SubscriptionService;
+import kz.finance.fintrack.service.subscription.WebhookInboxService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,8 +25,7 @@ import java.util.Map;
 public class SubscriptionController {
 
     private final SubscriptionService subscriptionService;
-    private final GoogleWebhookParser googleWebhookParser;
-    private final AppleServerNotificationService appleServerNotificationService;
+    private final WebhookInboxService webhookInboxService;
 
 
     /**
@@ -66,17 +64,22 @@ public class SubscriptionController {
     /**
      * Webhook от Google Play (RTDN / PubSub push)
      * POST /api/subscription/google/rtnd
+     * Сохраняется в очередь, обрабатывается асинхронно.
      */
     @PostMapping("/google/rtnd")
     public ResponseEntity<Void> rtnd(@RequestBody Map<String, Object> body) {
-        GoogleWebhookParser.DeveloperNotification n = googleWebhookParser.parsePubSub(body);
-        subscriptionService.applyGoogleRtnd(n);
+        webhookInboxService.enqueueGoogle(body);
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Apple Server Notifications v2
+     * POST /api/subscription/apple/notifications
+     * Сохраняется в очередь, подпись проверяется при обработке.
+     */
     @PostMapping("/apple/notifications")
     public ResponseEntity<ApiResponse> notifications(@Valid @RequestBody AppleNotificationRequest req) {
-        appleServerNotificationService.handleSignedPayload(req.signedPayload());
+        webhookInboxService.enqueueApple(req.signedPayload());
         return ResponseEntity.ok().build();
     }
 }
@@ -4,11 +4,26 @@ import jakarta.validation.Valid;
 import kz.finance.fintrack.dto.PeriodType;
 import kz.finance.fintrack.dto.TransactionRequestDto;
 import kz.finance.fintrack.dto.TransactionResponseDto;
+import kz.finance.fintrack.dto.TransactionSliceDto;
+import kz.finance.fintrack.dto.batch.TransactionBatchRequestDto;
+import kz.finance.fintrack.dto.batch.TransactionBatchResultDto;
+import kz.finance.fintrack.dto.export.TransactionExportFormat;
+import kz.finance.fintrack.dto.statement.StatementImportOptionsDto;
+import kz.finance.fintrack.dto.statement.TransactionImportJobDto;
+import kz.finance.fintrack.dto.sync.TransactionChangesDto;
 import kz.finance.fintrack.model.TransactionType;
+import kz.finance.fintrack.service.TransactionBatchService;
+import kz.finance.fintrack.service.TransactionExportService;
 import kz.finance.fintrack.service.TransactionService;
+import kz.finance.fintrack.service.TransactionSyncService;
+import kz.finance.fintrack.service.statement.StatementImportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,7 +33,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 
@@ -27,7 +45,14 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class TransactionController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_CHANGES_LIMIT = 1000;
+
     private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionSyncService transactionSyncService;
+    private final TransactionExportService transactionExportService;
+    private final StatementImportService statementImportService;
 
     @GetMapping
     public Page<TransactionResponseDto> getTransactions(
@@ -50,11 +75,97 @@ public class TransactionController {
         );
     }
 
+    /**
+     * Keyset-пагинация для бесконечной ленты: без total/count.
+     * Первая страница — без cursor, следующие — с nextCursor из предыдущего ответа.
+     */
+    @GetMapping("/scroll")
+    public TransactionSliceDto scrollTransactions(
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) PeriodType periodType,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) Integer day,
+            @RequestParam(required = false) LocalDateTime dateFrom,
+            @RequestParam(required = false) LocalDateTime dateTo,
+            @RequestHeader(name = "Accept-Language", defaultValue = "ru") String lang,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+
+        return transactionService.getUserTransactionsSlice(
+                type, categoryId, periodType, year, month, day, dateFrom, dateTo, cursor, limit, lang
+        );
+    }
+
+    /**
+     * Delta sync: изменения после токена since (без since — полная выгрузка постранично).
+     * Клиент сохраняет nextToken и повторяет запрос, пока hasMore = true.
+     */
+    @GetMapping("/changes")
+    public TransactionChangesDto getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestHeader(name = "Accept-Language", defaultValue = "ru") String lang
+    ) {
+        return transactionSyncService.getChanges(since, Math.max(1, Math.min(limit, MAX_CHANGES_LIMIT)), lang);
+    }
+
+    /**
+     * Экспорт всей истории: format=csv|ndjson, ответ пишется потоково по мере чтения курсора.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(name = "Accept-Language", defaultValue = "ru") String lang
+    ) {
+        var exportFormat = TransactionExportFormat.from(format);
+        Long userId = transactionExportService.currentUserId();
+
+        StreamingResponseBody body = out -> transactionExportService.export(userId, exportFormat, lang, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * Импорт выписки (CSV/OFX): multipart с частью file и опциональной JSON-частью options.
+     * Обработка фоновая — в ответе задача, её статус опрашивается по id.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public TransactionImportJobDto importStatement(
+            @RequestPart("file") MultipartFile file,
+            @Valid @RequestPart(name = "options", required = false) StatementImportOptionsDto options
+    ) {
+        return statementImportService.startImport(file, options);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public TransactionImportJobDto getImportStatus(@PathVariable Long jobId) {
+        return statementImportService.getStatus(jobId);
+    }
+
     @PostMapping
     public TransactionResponseDto createTransaction(@Valid @RequestBody TransactionRequestDto request) {
         return transactionService.createTransaction(request);
     }
 
+    /**
+     * Пакетное применение офлайн-очереди клиента: create/update/delete за один запрос.
+     * Результат — по одному элементу на операцию, в порядке запроса.
+     */
+    @PostMapping("/batch")
+    public TransactionBatchResultDto applyBatch(@Valid @RequestBody TransactionBatchRequestDto request) {
+        return transactionBatchService.applyBatch(request);
+    }
+
     @GetMapping("/{id}")
     public TransactionResponseDto getTransactionById(
             @PathVariable Long id,
@@ -0,0 +1,14 @@
+package kz.finance.fintrack.dto;
+
+import java.util.List;
+
+/**
+ * Страница keyset-пагинации: без total/count, только признак продолжения и курсор.
+ * nextCursor == null, если дальше данных нет.
+ */
+public record TransactionSliceDto(
+        List<TransactionResponseDto> content,
+        String nextCursor,
+        boolean hasNext
+) {
+}
@@ -0,0 +1,17 @@
+package kz.finance.fintrack.dto.ai;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AiAnalysisJobDto(
+        UUID id,
+        AiAnalysisJobStatus status,
+        String analysis,
+        String error,
+        Instant createdAt,
+        Instant finishedAt
+) {
+}
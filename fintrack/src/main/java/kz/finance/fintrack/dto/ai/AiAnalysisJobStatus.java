@@ -0,0 +1,8 @@
+package kz.finance.fintrack.dto.ai;
+
+public enum AiAnalysisJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,4 @@
+package kz.finance.fintrack.dto.ai;
+
+/** Фрагмент потокового ответа: JSON, чтобы переводы строк markdown не ломали SSE-кадры. */
+public record FinanceAnalyzeChunk(String content) {}
@@ -0,0 +1,13 @@
+package kz.finance.fintrack.dto.ai;
+
+import kz.finance.fintrack.model.TransactionType;
+
+import java.math.BigDecimal;
+
+/** Сумма за месяц по категории и типу — вход для быстрого и AI-анализа. */
+public record MonthCategoryTotalDto(
+        String categoryNameRu,
+        TransactionType type,
+        BigDecimal total,
+        Long txCount
+) {}
@@ -3,8 +3,15 @@ package kz.finance.fintrack.dto.analytics;
 
 import java.math.BigDecimal;
 
+/**
+ * Точка графика. Ряд непрерывный: пустые дни/месяцы приходят с нулями.
+ *
+ * @param label       начало бакета в часовом поясе пользователя: YYYY-MM-DD или YYYY-MM для года
+ * @param bucketStart то же начало бакета, epoch millis — числовой ключ для оси X
+ */
 public record ChartPointDto(
         String label,
+        long bucketStart,
         BigDecimal income,
         BigDecimal expense
 ) {}
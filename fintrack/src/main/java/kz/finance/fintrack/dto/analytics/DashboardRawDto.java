@@ -0,0 +1,11 @@
+package kz.finance.fintrack.dto.analytics;
+
+import kz.finance.fintrack.dto.TransactionRawDto;
+
+import java.util.List;
+
+/** Агрегаты и последние транзакции дашборда, прочитанные одним запросом. */
+public record DashboardRawDto(
+        DashboardStatsDto stats,
+        List<TransactionRawDto> recentTransactions
+) {}
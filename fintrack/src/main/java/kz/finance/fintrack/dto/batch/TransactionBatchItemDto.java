@@ -0,0 +1,31 @@
+package kz.finance.fintrack.dto.batch;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import kz.finance.fintrack.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Одна операция батча. Обязательность полей зависит от op и проверяется в сервисе:
+ * CREATE — все поля кроме id, UPDATE — все поля, DELETE — только id.
+ */
+public record TransactionBatchItemDto(
+        @NotNull(message = "Операция обязательна")
+        TransactionBatchOperation op,
+
+        Long id,
+
+        @Positive(message = "Сумма должна быть положительной")
+        BigDecimal amount,
+
+        LocalDateTime date,
+
+        String comment,
+
+        TransactionType type,
+
+        Long categoryId
+) {
+}
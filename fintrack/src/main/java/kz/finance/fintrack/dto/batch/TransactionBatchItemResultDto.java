@@ -0,0 +1,25 @@
+package kz.finance.fintrack.dto.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import kz.finance.fintrack.dto.TransactionResponseDto;
+
+/**
+ * Результат одной операции батча; index — позиция операции в запросе.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransactionBatchItemResultDto(
+        int index,
+        TransactionBatchOperation op,
+        boolean success,
+        Long id,
+        TransactionResponseDto transaction,
+        String error
+) {
+    public static TransactionBatchItemResultDto ok(int index, TransactionBatchOperation op, Long id, TransactionResponseDto transaction) {
+        return new TransactionBatchItemResultDto(index, op, true, id, transaction, null);
+    }
+
+    public static TransactionBatchItemResultDto failed(int index, TransactionBatchOperation op, Long id, String error) {
+        return new TransactionBatchItemResultDto(index, op, false, id, null, error);
+    }
+}
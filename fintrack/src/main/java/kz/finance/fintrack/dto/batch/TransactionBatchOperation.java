@@ -0,0 +1,5 @@
+package kz.finance.fintrack.dto.batch;
+
+public enum TransactionBatchOperation {
+    CREATE, UPDATE, DELETE
+}
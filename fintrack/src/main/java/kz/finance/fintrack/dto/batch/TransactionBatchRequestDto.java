@@ -0,0 +1,19 @@
+package kz.finance.fintrack.dto.batch;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TransactionBatchRequestDto(
+        @NotEmpty(message = "Список операций пуст")
+        @Size(max = 200, message = "Не более 200 операций за раз")
+        List<@Valid @NotNull TransactionBatchItemDto> items,
+
+        @Pattern(regexp = "^(ru|en)$", message = "Недопустимый язык")
+        String lang
+) {
+}
@@ -0,0 +1,10 @@
+package kz.finance.fintrack.dto.batch;
+
+import java.util.List;
+
+public record TransactionBatchResultDto(
+        int succeeded,
+        int failed,
+        List<TransactionBatchItemResultDto> results
+) {
+}
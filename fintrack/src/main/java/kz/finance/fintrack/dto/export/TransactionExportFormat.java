@@ -0,0 +1,27 @@
+package kz.finance.fintrack.dto.export;
+
+import kz.finance.fintrack.exception.FinTrackException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+@Getter
+@RequiredArgsConstructor
+public enum TransactionExportFormat {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    NDJSON("application/x-ndjson;charset=UTF-8", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    public static TransactionExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Unsupported export format: " + value);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package kz.finance.fintrack.dto.recurring;
+
+/**
+ * Итог одного прохода материализации.
+ *
+ * @param rules        сколько правил взято в пачку
+ * @param transactions сколько транзакций вставлено
+ */
+public record RecurringMaterializationDto(int rules, int transactions) {
+}
@@ -0,0 +1,43 @@
+package kz.finance.fintrack.dto.recurring;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import kz.finance.fintrack.model.RecurrenceFrequency;
+import kz.finance.fintrack.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Правило повторения: каждые {@code interval} единиц {@code frequency}, начиная со {@code startAt}
+ * (первое повторение), до {@code endAt} включительно или бессрочно.
+ */
+public record RecurringTransactionRequestDto(
+        @NotNull(message = "Сумма обязательна")
+        @Positive(message = "Сумма должна быть положительной")
+        BigDecimal amount,
+
+        @NotNull(message = "Тип транзакции обязателен")
+        TransactionType type,
+
+        @NotNull(message = "Категория обязательна")
+        Long categoryId,
+
+        @Size(max = 255)
+        String comment,
+
+        @NotNull(message = "Периодичность обязательна")
+        RecurrenceFrequency frequency,
+
+        @Min(1) @Max(365)
+        Integer interval,
+
+        @NotNull(message = "Дата начала обязательна")
+        LocalDateTime startAt,
+
+        LocalDateTime endAt
+) {
+}
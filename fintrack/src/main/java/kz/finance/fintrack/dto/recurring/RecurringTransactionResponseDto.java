@@ -0,0 +1,23 @@
+package kz.finance.fintrack.dto.recurring;
+
+import kz.finance.fintrack.dto.TransactionCategoryDto;
+import kz.finance.fintrack.model.RecurrenceFrequency;
+import kz.finance.fintrack.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record RecurringTransactionResponseDto(
+        Long id,
+        BigDecimal amount,
+        TransactionType type,
+        TransactionCategoryDto category,
+        String comment,
+        RecurrenceFrequency frequency,
+        int interval,
+        LocalDateTime startAt,
+        LocalDateTime endAt,
+        LocalDateTime nextOccurrenceAt,
+        boolean active
+) {
+}
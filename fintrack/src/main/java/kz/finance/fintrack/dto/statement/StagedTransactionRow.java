@@ -0,0 +1,19 @@
+package kz.finance.fintrack.dto.statement;
+
+import kz.finance.fintrack.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Строка выписки после разбора и подбора категории — готова к COPY в staging.
+ */
+public record StagedTransactionRow(
+        int lineNo,
+        BigDecimal amount,
+        LocalDateTime date,
+        String comment,
+        TransactionType type,
+        Long categoryId
+) {
+}
@@ -0,0 +1,14 @@
+package kz.finance.fintrack.dto.statement;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Правило подбора категории: если описание операции содержит {@code contains} (без учёта регистра),
+ * строке назначается {@code categoryId}. Правила применяются по порядку, первое совпадение выигрывает.
+ */
+public record StatementCategoryRuleDto(
+        @NotBlank String contains,
+        @NotNull Long categoryId
+) {
+}
@@ -0,0 +1,20 @@
+package kz.finance.fintrack.dto.statement;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import kz.finance.fintrack.model.TransactionImportFormat;
+
+import java.util.List;
+
+/**
+ * Параметры импорта выписки. format можно не указывать — определяется по расширению файла.
+ * Строки, для которых не нашлась категория ни по колонке category, ни по правилам, ни по умолчанию, пропускаются.
+ */
+public record StatementImportOptionsDto(
+        TransactionImportFormat format,
+        Long defaultExpenseCategoryId,
+        Long defaultIncomeCategoryId,
+        @Size(max = 200) List<@Valid @NotNull StatementCategoryRuleDto> rules
+) {
+}
@@ -0,0 +1,21 @@
+package kz.finance.fintrack.dto.statement;
+
+import kz.finance.fintrack.model.TransactionImportFormat;
+import kz.finance.fintrack.model.TransactionImportStatus;
+
+import java.time.Instant;
+
+public record TransactionImportJobDto(
+        Long id,
+        TransactionImportStatus status,
+        TransactionImportFormat format,
+        String fileName,
+        int parsedRows,
+        int skippedRows,
+        int importedRows,
+        String error,
+        Instant createdAt,
+        Instant updatedAt,
+        Instant finishedAt
+) {
+}
@@ -0,0 +1,12 @@
+package kz.finance.fintrack.dto.sync;
+
+/**
+ * Строка ленты изменений: upsert (строка transaction) или delete (tombstone).
+ */
+public record TransactionChangeRawDto(
+        boolean deleted,
+        Long transactionId,
+        long xid,
+        long seq
+) {
+}
@@ -0,0 +1,23 @@
+package kz.finance.fintrack.dto.sync;
+
+import kz.finance.fintrack.dto.TransactionResponseDto;
+
+import java.util.List;
+
+/**
+ * Ответ delta sync.
+ *
+ * @param upserted    созданные или изменённые транзакции
+ * @param deletedIds  id удалённых транзакций
+ * @param nextToken   передать в следующий запрос как since
+ * @param hasMore     есть ещё изменения — запросить сразу, не дожидаясь следующего цикла
+ * @param fullResync  токен устарел: клиент должен очистить локальные данные и применить ответ как полную выгрузку
+ */
+public record TransactionChangesDto(
+        List<TransactionResponseDto> upserted,
+        List<Long> deletedIds,
+        String nextToken,
+        boolean hasMore,
+        boolean fullResync
+) {
+}
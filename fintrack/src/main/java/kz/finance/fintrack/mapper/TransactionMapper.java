@@ -18,9 +18,7 @@ public interface TransactionMapper {
     default TransactionResponseDto toDto(TransactionEntity entity, String lang) {
         TransactionResponseDto baseDto = toDto(entity);
 
-        String name = (lang != null && lang.startsWith("en"))
-                ? entity.getCategory().getNameEn()
-                : entity.getCategory().getNameRu();
+        String name = localizedName(entity.getCategory().getNameRu(), entity.getCategory().getNameEn(), lang);
 
         // Собираем новый TransactionCategoryDto с локализованным name
         TransactionCategoryDto localizedCategory = new TransactionCategoryDto(
@@ -41,4 +39,9 @@ public interface TransactionMapper {
                 localizedCategory
         );
     }
+
+    /** Общее правило выбора названия категории по языку (en* — английское, иначе русское). */
+    static String localizedName(String nameRu, String nameEn, String lang) {
+        return (lang != null && lang.startsWith("en")) ? nameEn : nameRu;
+    }
 }
@@ -0,0 +1,38 @@
+package kz.finance.fintrack.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Сохранённый ответ DeepSeek за месяц. Пишется через AiAnalysisCacheRepository#insertIfUnchanged,
+ * удаляется триггерами на transaction.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "ai_analysis_cache")
+public class AiAnalysisCacheEntity {
+
+    @EmbeddedId
+    private AiAnalysisCacheId id;
+
+    @Column(name = "currency", nullable = false, length = 8)
+    private String currency;
+
+    @Column(name = "content", nullable = false, columnDefinition = "text")
+    private String content;
+
+    @Column(name = "latency_ms", nullable = false)
+    private long latencyMs;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
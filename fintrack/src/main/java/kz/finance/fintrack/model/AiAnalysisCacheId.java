@@ -0,0 +1,31 @@
+package kz.finance.fintrack.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class AiAnalysisCacheId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "period", nullable = false)
+    private LocalDate period;
+
+    @Column(name = "summary_hash", nullable = false, length = 64, columnDefinition = "bpchar(64)")
+    private String summaryHash;
+
+    @Column(name = "model", nullable = false, length = 32)
+    private String model;
+}
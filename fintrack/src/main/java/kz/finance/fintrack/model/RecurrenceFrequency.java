@@ -0,0 +1,35 @@
+package kz.finance.fintrack.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/** Единица шага повторения; шаг = interval_count единиц. Даты считает recurring_occurrence_at (V17). */
+public enum RecurrenceFrequency {
+    DAILY(ChronoUnit.DAYS),
+    WEEKLY(ChronoUnit.WEEKS),
+    MONTHLY(ChronoUnit.MONTHS),
+    YEARLY(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+
+    RecurrenceFrequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /** То же, что recurring_occurrence_at: n-е повторение считается от start, 31-е в феврале даёт 28/29. */
+    public LocalDateTime occurrenceAt(LocalDateTime start, int interval, int n) {
+        return start.plus((long) interval * n, unit);
+    }
+
+    /** Номер первого повторения строго позже {@code bound}. */
+    public int firstOccurrenceAfter(LocalDateTime start, int interval, LocalDateTime bound) {
+        if (bound.isBefore(start)) {
+            return 0;
+        }
+        int n = (int) (unit.between(start, bound) / interval);
+        while (!occurrenceAt(start, interval, n).isAfter(bound)) {
+            n++;
+        }
+        return n;
+    }
+}
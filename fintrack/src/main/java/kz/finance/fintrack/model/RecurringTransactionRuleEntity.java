@@ -0,0 +1,98 @@
+package kz.finance.fintrack.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Правило повторяющейся транзакции. Повторение n приходится на
+ * start_at + n * interval_count * frequency; проводит их RecurringTransactionJob.
+ */
+@Entity
+@Table(name = "recurring_transaction_rule")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class RecurringTransactionRuleEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_transaction_rule_seq")
+    @SequenceGenerator(name = "recurring_transaction_rule_seq", sequenceName = "seq_recurring_transaction_rule_id", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private TransactionCategoryEntity category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    private String comment;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "interval_count", nullable = false)
+    private int intervalCount;
+
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    @Column(name = "end_at")
+    private LocalDateTime endAt;
+
+    /** Номер следующего непроведённого повторения. */
+    @Column(name = "next_occurrence_no", nullable = false)
+    private int nextOccurrenceNo;
+
+    /** Generated column в БД, вычисляется из start_at / frequency / interval_count / next_occurrence_no. */
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "next_occurrence_at", insertable = false, updatable = false)
+    private LocalDateTime nextOccurrenceAt;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,32 @@
+package kz.finance.fintrack.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Дневной агрегат транзакций пользователя по категории и типу.
+ * Пишется только через TransactionDailyRollupRepository#applyDelta (upsert), сущность нужна для чтения.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "transaction_daily_rollup")
+public class TransactionDailyRollupEntity {
+
+    @EmbeddedId
+    private TransactionDailyRollupId id;
+
+    @Column(name = "total_amount", nullable = false, precision = 18, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "tx_count", nullable = false)
+    private long txCount;
+}
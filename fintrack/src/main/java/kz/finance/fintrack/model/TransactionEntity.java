@@ -9,7 +9,6 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.SequenceGenerator;
@@ -27,11 +26,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transaction", indexes = {
-    @Index(name = "idx_transaction_user_date", columnList = "user_id,date"),
-    @Index(name = "idx_transaction_user_type_date", columnList = "user_id,type,date"),
-    @Index(name = "idx_transaction_user_category", columnList = "user_id,category_id")
-})
+@Table(name = "transaction") // индексы и партиции — в migrator (V15, V16)
 @Getter
 @Setter
 @NoArgsConstructor
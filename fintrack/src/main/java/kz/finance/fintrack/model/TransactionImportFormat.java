@@ -0,0 +1,6 @@
+package kz.finance.fintrack.model;
+
+public enum TransactionImportFormat {
+    CSV,
+    OFX
+}
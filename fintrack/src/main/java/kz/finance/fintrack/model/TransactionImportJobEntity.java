@@ -0,0 +1,70 @@
+package kz.finance.fintrack.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "transaction_import_job")
+public class TransactionImportJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_import_job_seq")
+    @SequenceGenerator(name = "transaction_import_job_seq", sequenceName = "seq_transaction_import_job_id", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 8)
+    private TransactionImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private TransactionImportStatus status = TransactionImportStatus.PENDING;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "parsed_rows", nullable = false)
+    private int parsedRows;
+
+    @Column(name = "skipped_rows", nullable = false)
+    private int skippedRows;
+
+    @Column(name = "imported_rows", nullable = false)
+    private int importedRows;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    /** Воркер обновляет на каждой пачке; без обновления дольше порога задача считается брошенной. */
+    @Column(name = "heartbeat_at", nullable = false)
+    private Instant heartbeatAt;
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) createdAt = Instant.now();
+        updatedAt = createdAt;
+        if (heartbeatAt == null) heartbeatAt = createdAt;
+    }
+
+    @PreUpdate
+    void preUpdate() {
+        updatedAt = Instant.now();
+    }
+}
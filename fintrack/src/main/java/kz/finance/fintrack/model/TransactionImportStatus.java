@@ -0,0 +1,8 @@
+package kz.finance.fintrack.model;
+
+public enum TransactionImportStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
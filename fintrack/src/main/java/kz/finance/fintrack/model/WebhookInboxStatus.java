@@ -0,0 +1,8 @@
+package kz.finance.fintrack.model;
+
+public enum WebhookInboxStatus {
+    PENDING,
+    PROCESSING,
+    DONE,
+    DEAD
+}
@@ -0,0 +1,87 @@
+package kz.finance.fintrack.repository;
+
+import kz.finance.fintrack.model.AiAnalysisCacheEntity;
+import kz.finance.fintrack.model.AiAnalysisCacheId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AiAnalysisCacheRepository extends JpaRepository<AiAnalysisCacheEntity, AiAnalysisCacheId> {
+
+    /** Записи за месяц есть только пока его транзакции не менялись — можно отдавать без пересчёта summary. */
+    @Query("""
+                SELECT c FROM AiAnalysisCacheEntity c
+                WHERE c.id.userId = :userId AND c.id.period = :period AND c.currency = :currency
+                ORDER BY c.createdAt DESC
+            """)
+    List<AiAnalysisCacheEntity> findLatest(
+            @Param("userId") Long userId,
+            @Param("period") LocalDate period,
+            @Param("currency") String currency,
+            Limit limit
+    );
+
+    @Query("""
+                SELECT c FROM AiAnalysisCacheEntity c
+                WHERE c.id.userId = :userId AND c.id.period = :period AND c.id.summaryHash = :summaryHash
+                ORDER BY c.createdAt DESC
+            """)
+    List<AiAnalysisCacheEntity> findBySummary(
+            @Param("userId") Long userId,
+            @Param("period") LocalDate period,
+            @Param("summaryHash") String summaryHash,
+            Limit limit
+    );
+
+    /**
+     * xmin текущего снимка: все транзакции БД с xid ниже уже завершены, их изменения видны чтению после этого вызова.
+     * last_value последовательности для этого не годится — он учитывает номера, выданные ещё не закоммиченным транзакциям.
+     */
+    @Query(value = "select cast(cast(pg_snapshot_xmin(pg_current_snapshot()) as text) as bigint)", nativeQuery = true)
+    long currentSnapshotXmin();
+
+    /**
+     * Exclusive advisory-блокировка (пользователь, месяц) до конца транзакции, парная shared-блокировке
+     * триггеров инвалидации (V14). Вызывается отдельным оператором перед {@link #insertIfUnchanged}:
+     * вставка получает снимок уже после коммита записей, чьи триггеры отработали раньше неё.
+     */
+    @Query(value = "select 1 from pg_advisory_xact_lock(ai_analysis_cache_lock_key(:userId, :period))", nativeQuery = true)
+    int lockMonth(@Param("userId") Long userId, @Param("period") LocalDate period);
+
+    /**
+     * Сохраняет ответ, только если транзакции месяца не менял никто с xid от {@code horizon} и выше
+     * (см. {@link #currentSnapshotXmin()}): такая транзакция могла быть не видна при чтении, а её триггер
+     * отработал до вставки, и запись осталась бы устаревшей. Транзакции, завершившиеся между отметкой и чтением,
+     * тоже отсекаются — это лишь реже кеширует.
+     * Удаления проверяются по tombstone пользователя целиком (даты там нет).
+     */
+    @Modifying
+    @Query(value = """
+        insert into ai_analysis_cache(user_id, period, summary_hash, model, currency, content, latency_ms, created_at)
+        select :userId, :period, :summaryHash, :model, :currency, :content, :latencyMs, now()
+         where not exists (select 1 from transaction t
+                            where t.user_id = :userId and t.date >= :from and t.date < :to
+                              and t.change_xid >= cast(cast(:horizon as text) as xid8))
+           and not exists (select 1 from transaction_tombstone d
+                            where d.user_id = :userId and d.change_xid >= cast(cast(:horizon as text) as xid8))
+        on conflict do nothing
+        """, nativeQuery = true)
+    int insertIfUnchanged(
+            @Param("userId") Long userId,
+            @Param("period") LocalDate period,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("summaryHash") String summaryHash,
+            @Param("model") String model,
+            @Param("currency") String currency,
+            @Param("content") String content,
+            @Param("latencyMs") long latencyMs,
+            @Param("horizon") long horizon
+    );
+}
@@ -0,0 +1,27 @@
+package kz.finance.fintrack.repository;
+
+import jakarta.persistence.LockModeType;
+import kz.finance.fintrack.model.RecurringTransactionRuleEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringTransactionRuleRepository
+        extends JpaRepository<RecurringTransactionRuleEntity, Long>, RecurringTransactionRuleRepositoryCustom {
+
+    @EntityGraph(attributePaths = {"category"})
+    List<RecurringTransactionRuleEntity> findAllByUserIdOrderByIdDesc(Long userId);
+
+    @EntityGraph(attributePaths = {"category"})
+    Optional<RecurringTransactionRuleEntity> findByIdAndUserId(Long id, Long userId);
+
+    /** Редактирование правила не должно пересекаться с его проведением в RecurringTransactionJob. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"category"})
+    Optional<RecurringTransactionRuleEntity> findForUpdateByIdAndUserId(Long id, Long userId);
+}
@@ -0,0 +1,22 @@
+package kz.finance.fintrack.repository;
+
+import kz.finance.fintrack.dto.recurring.RecurringMaterializationDto;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Проведение наступивших повторений одним запросом на пачку правил всех пользователей.
+ */
+public interface RecurringTransactionRuleRepositoryCustom {
+
+    /**
+     * Берёт до {@code batchSize} активных правил с next_occurrence_at &lt;= now (SKIP LOCKED),
+     * проводит по каждому до {@code maxPerRule} наступивших повторений, обновляет дневные агрегаты
+     * и сдвигает правила. Уже проведённые повторения (журнал recurring_transaction_occurrence) пропускаются.
+     */
+    RecurringMaterializationDto materializeDue(LocalDateTime now, int batchSize, int maxPerRule);
+
+    /** Плановое время последнего проведённого повторения правила (журнал recurring_transaction_occurrence). */
+    Optional<LocalDateTime> findLastOccurrenceAt(Long ruleId);
+}
@@ -0,0 +1,94 @@
+package kz.finance.fintrack.repository;
+
+import jakarta.persistence.EntityManager;
+import kz.finance.fintrack.dto.recurring.RecurringMaterializationDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class RecurringTransactionRuleRepositoryCustomImpl implements RecurringTransactionRuleRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public RecurringMaterializationDto materializeDue(LocalDateTime now, int batchSize, int maxPerRule) {
+        // claimed: ключи идемпотентности, ON CONFLICT отсекает уже проведённые повторения;
+        // транзакции вставляются только по новым ключам. Правило сдвигается на все рассмотренные повторения,
+        // в том числе пропущенные, и выключается, когда следующее повторение выходит за end_at.
+        String sql = """
+                    WITH due AS (
+                        SELECT r.id, r.user_id, r.category_id, r.type, r.amount, r.comment,
+                               r.frequency, r.interval_count, r.start_at, r.end_at, r.next_occurrence_no
+                        FROM recurring_transaction_rule r
+                        WHERE r.active AND r.next_occurrence_at <= :now
+                        ORDER BY r.next_occurrence_at
+                        LIMIT :batchSize
+                        FOR UPDATE SKIP LOCKED
+                    ), occ AS (
+                        SELECT d.id AS rule_id, d.user_id, d.category_id, d.type, d.amount, d.comment, o.n, o.at
+                        FROM due d
+                        CROSS JOIN LATERAL (
+                            SELECT n, recurring_occurrence_at(d.start_at, d.frequency, d.interval_count, n) AS at
+                            FROM generate_series(d.next_occurrence_no, d.next_occurrence_no + :maxPerRule - 1) n
+                        ) o
+                        WHERE o.at <= :now AND (d.end_at IS NULL OR o.at <= d.end_at)
+                    ), claimed AS (
+                        INSERT INTO recurring_transaction_occurrence (rule_id, occurrence_at)
+                        SELECT o.rule_id, o.at FROM occ o
+                        ON CONFLICT DO NOTHING
+                        RETURNING rule_id, occurrence_at
+                    ), inserted AS (
+                        INSERT INTO transaction (amount, date, comment, type, category_id, user_id, created_at, updated_at)
+                        SELECT o.amount, o.at, o.comment, o.type, o.category_id, o.user_id, :now, :now
+                        FROM occ o
+                        JOIN claimed c ON c.rule_id = o.rule_id AND c.occurrence_at = o.at
+                        RETURNING user_id, date, category_id, type, amount
+                    ), rollup AS (
+                        INSERT INTO transaction_daily_rollup (user_id, day, category_id, type, total_amount, tx_count)
+                        SELECT i.user_id, CAST(i.date AS date), i.category_id, i.type, SUM(i.amount), COUNT(*)
+                        FROM inserted i
+                        GROUP BY i.user_id, CAST(i.date AS date), i.category_id, i.type
+                        ON CONFLICT (user_id, day, category_id, type) DO UPDATE
+                           SET total_amount = transaction_daily_rollup.total_amount + excluded.total_amount,
+                               tx_count     = transaction_daily_rollup.tx_count + excluded.tx_count
+                    ), advanced AS (
+                        UPDATE recurring_transaction_rule r
+                           SET next_occurrence_no = p.next_no,
+                               active = (r.end_at IS NULL
+                                         OR recurring_occurrence_at(r.start_at, r.frequency, r.interval_count, p.next_no) <= r.end_at),
+                               updated_at = :now
+                          FROM (SELECT d.id, COALESCE(MAX(o.n) + 1, d.next_occurrence_no) AS next_no
+                                  FROM due d
+                                  LEFT JOIN occ o ON o.rule_id = d.id
+                                 GROUP BY d.id, d.next_occurrence_no) p
+                         WHERE r.id = p.id
+                        RETURNING r.id
+                    )
+                    SELECT (SELECT COUNT(*) FROM advanced), (SELECT COUNT(*) FROM inserted)
+                """;
+
+        Object[] row = (Object[]) entityManager.createNativeQuery(sql)
+                .setParameter("now", now)
+                .setParameter("batchSize", batchSize)
+                .setParameter("maxPerRule", maxPerRule)
+                .getSingleResult();
+        return new RecurringMaterializationDto(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+    }
+
+    @Override
+    public Optional<LocalDateTime> findLastOccurrenceAt(Long ruleId) {
+        Object value = entityManager.createNativeQuery(
+                        "SELECT MAX(occurrence_at) FROM recurring_transaction_occurrence WHERE rule_id = :ruleId")
+                .setParameter("ruleId", ruleId)
+                .getSingleResult();
+        if (value instanceof Timestamp ts) {
+            return Optional.of(ts.toLocalDateTime());
+        }
+        return Optional.ofNullable((LocalDateTime) value);
+    }
+}
@@ -0,0 +1,61 @@
+package kz.finance.fintrack.repository;
+
+import kz.finance.fintrack.dto.ai.MonthCategoryTotalDto;
+import kz.finance.fintrack.model.TransactionDailyRollupEntity;
+import kz.finance.fintrack.model.TransactionDailyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TransactionDailyRollupRepository extends JpaRepository<TransactionDailyRollupEntity, TransactionDailyRollupId> {
+
+    /**
+     * Атомарно прибавляет дельту к дневному агрегату (создаёт строку, если её ещё нет).
+     * Для удаления транзакции передаётся отрицательная сумма и count = -1.
+     */
+    @Modifying
+    @Query(value = """
+        insert into transaction_daily_rollup(user_id, day, category_id, type, total_amount, tx_count)
+        values (:userId, :day, :categoryId, :type, :amount, :count)
+        on conflict (user_id, day, category_id, type) do update
+           set total_amount = transaction_daily_rollup.total_amount + excluded.total_amount,
+               tx_count     = transaction_daily_rollup.tx_count + excluded.tx_count
+        """, nativeQuery = true)
+    int applyDelta(
+            @Param("userId") Long userId,
+            @Param("day") LocalDate day,
+            @Param("categoryId") Long categoryId,
+            @Param("type") String type,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count
+    );
+
+    /**
+     * Суммы за период по категориям и типам одной группировкой по rollup — без загрузки транзакций.
+     * Строки, где после удалений не осталось транзакций, отбрасываются.
+     */
+    @Query("""
+                SELECT new kz.finance.fintrack.dto.ai.MonthCategoryTotalDto(
+                    c.nameRu,
+                    r.id.type,
+                    SUM(r.totalAmount),
+                    SUM(r.txCount)
+                )
+                FROM TransactionDailyRollupEntity r
+                JOIN TransactionCategoryEntity c ON c.id = r.id.categoryId
+                WHERE r.id.userId = :userId
+                  AND r.id.day BETWEEN :start AND :end
+                GROUP BY c.id, c.nameRu, r.id.type
+                HAVING SUM(r.txCount) > 0
+            """)
+    List<MonthCategoryTotalDto> getCategoryTotals(
+            @Param("userId") Long userId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
+    );
+}
@@ -0,0 +1,59 @@
+package kz.finance.fintrack.repository;
+
+import jakarta.persistence.LockModeType;
+import kz.finance.fintrack.model.TransactionImportJobEntity;
+import kz.finance.fintrack.model.TransactionImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TransactionImportJobRepository extends JpaRepository<TransactionImportJobEntity, Long>, TransactionImportJobRepositoryCustom {
+
+    Optional<TransactionImportJobEntity> findByIdAndUserId(Long id, Long userId);
+
+    boolean existsByUserIdAndStatusIn(Long userId, Collection<TransactionImportStatus> statuses);
+
+    /** Блокирует задачу до конца транзакции: воркер и StatementImportReaper не меняют её одновременно. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select j from TransactionImportJobEntity j where j.id = :id")
+    Optional<TransactionImportJobEntity> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Обновляет heartbeat задач, которые ещё ждут в очереди пула: до первой пачки воркер его не трогает.
+     * Вызывать в транзакции.
+     */
+    @Modifying
+    @Query(value = """
+        update transaction_import_job
+           set heartbeat_at = :now
+         where id in (:ids)
+           and status = 'PENDING'
+        """, nativeQuery = true)
+    int touchQueued(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    /**
+     * Переводит в FAILED активные задачи без heartbeat с {@code staleBefore}. Задачи, которые воркер держит
+     * прямо сейчас (пачка или merge в транзакции), пропускаются через SKIP LOCKED. Вызывать в транзакции.
+     */
+    @Query(value = """
+        update transaction_import_job j
+           set status = 'FAILED',
+               error = :error,
+               finished_at = :now,
+               updated_at = :now
+         where j.id in (
+               select s.id from transaction_import_job s
+                where s.status in ('PENDING', 'RUNNING')
+                  and s.heartbeat_at < :staleBefore
+                for update skip locked)
+        returning j.id
+        """, nativeQuery = true)
+    List<Long> failStale(@Param("staleBefore") Instant staleBefore, @Param("now") Instant now, @Param("error") String error);
+}
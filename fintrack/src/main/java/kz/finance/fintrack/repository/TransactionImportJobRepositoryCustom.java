@@ -0,0 +1,22 @@
+package kz.finance.fintrack.repository;
+
+import kz.finance.fintrack.dto.statement.StagedTransactionRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Staging импорта выписок: загрузка через COPY и перенос в transaction одним запросом.
+ */
+public interface TransactionImportJobRepositoryCustom {
+
+    void copyToStaging(long jobId, List<StagedTransactionRow> rows);
+
+    /**
+     * Переносит staging-строки задачи в transaction, обновляет дневные агрегаты и чистит staging.
+     * Возвращает число вставленных транзакций.
+     */
+    int mergeStaging(long jobId, long userId, LocalDateTime now);
+
+    int deleteStaging(long jobId);
+}
@@ -0,0 +1,110 @@
+package kz.finance.fintrack.repository;
+
+import jakarta.persistence.EntityManager;
+import kz.finance.fintrack.dto.statement.StagedTransactionRow;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class TransactionImportJobRepositoryCustomImpl implements TransactionImportJobRepositoryCustom {
+
+    private static final String COPY_SQL = """
+                COPY transaction_import_staging (job_id, line_no, amount, date, comment, type, category_id)
+                FROM STDIN
+            """;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public void copyToStaging(long jobId, List<StagedTransactionRow> rows) {
+        if (rows.isEmpty()) return;
+
+        StringBuilder data = new StringBuilder(rows.size() * 96);
+        for (StagedTransactionRow row : rows) {
+            data.append(jobId).append('\t')
+                    .append(row.lineNo()).append('\t')
+                    .append(row.amount().toPlainString()).append('\t')
+                    .append(row.date()).append('\t')
+                    .append(copyText(row.comment())).append('\t')
+                    .append(row.type().name()).append('\t')
+                    .append(row.categoryId()).append('\n');
+        }
+
+        // COPY идёт по соединению текущей транзакции JPA
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try {
+                connection.unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(COPY_SQL, new StringReader(data.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public int mergeStaging(long jobId, long userId, LocalDateTime now) {
+        String sql = """
+                    WITH moved AS (
+                        DELETE FROM transaction_import_staging s
+                        WHERE s.job_id = :jobId
+                        RETURNING s.line_no, s.amount, s.date, s.comment, s.type, s.category_id
+                    ), inserted AS (
+                        INSERT INTO transaction (amount, date, comment, type, category_id, user_id, created_at, updated_at)
+                        SELECT m.amount, m.date, m.comment, m.type, m.category_id, :userId, :now, :now
+                        FROM moved m
+                        ORDER BY m.line_no
+                        RETURNING user_id, date, category_id, type, amount
+                    ), rollup AS (
+                        INSERT INTO transaction_daily_rollup (user_id, day, category_id, type, total_amount, tx_count)
+                        SELECT i.user_id, CAST(i.date AS date), i.category_id, i.type, SUM(i.amount), COUNT(*)
+                        FROM inserted i
+                        GROUP BY i.user_id, CAST(i.date AS date), i.category_id, i.type
+                        ON CONFLICT (user_id, day, category_id, type) DO UPDATE
+                           SET total_amount = transaction_daily_rollup.total_amount + excluded.total_amount,
+                               tx_count     = transaction_daily_rollup.tx_count + excluded.tx_count
+                    )
+                    SELECT COUNT(*) FROM inserted
+                """;
+
+        Number inserted = (Number) entityManager.createNativeQuery(sql)
+                .setParameter("jobId", jobId)
+                .setParameter("userId", userId)
+                .setParameter("now", now)
+                .getSingleResult();
+        return inserted.intValue();
+    }
+
+    @Override
+    public int deleteStaging(long jobId) {
+        return entityManager.createNativeQuery("DELETE FROM transaction_import_staging WHERE job_id = :jobId")
+                .setParameter("jobId", jobId)
+                .executeUpdate();
+    }
+
+    /** Экранирование для текстового формата COPY: \, таб и переводы строк; null → \N. */
+    static String copyText(String value) {
+        if (value == null) return "\\N";
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -1,9 +1,8 @@
 package kz.finance.fintrack.repository;
 
+import jakarta.persistence.QueryHint;
 import kz.finance.fintrack.dto.TransactionRawDto;
-import kz.finance.fintrack.dto.analytics.AnalyticsStatsDto;
 import kz.finance.fintrack.dto.analytics.CategorySummaryRawDto;
-import kz.finance.fintrack.dto.analytics.DashboardStatsDto;
 import kz.finance.fintrack.model.TransactionEntity;
 import kz.finance.fintrack.model.UserEntity;
 import org.springframework.data.domain.Page;
@@ -13,12 +12,18 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<TransactionEntity, Long>, TransactionRepositoryCustom, JpaSpecificationExecutor<TransactionEntity> {
@@ -28,6 +33,17 @@ public interface TransactionRepository extends JpaRepository<TransactionEntity,
 
     Optional<TransactionEntity> findByIdAndUser(Long id, UserEntity user);
 
+    @EntityGraph(attributePaths = {"category"})
+    List<TransactionEntity> findAllByUserAndIdIn(UserEntity user, Collection<Long> ids);
+
+    /**
+     * Вся история пользователя для экспорта: forward-only курсор (fetchSize), DTO-проекция без сущностей.
+     * Вызывать внутри транзакции и закрывать Stream.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
     @Query("""
                 SELECT new kz.finance.fintrack.dto.TransactionRawDto(
                     t.id,
@@ -45,51 +61,12 @@ public interface TransactionRepository extends JpaRepository<TransactionEntity,
                 )
                 FROM TransactionEntity t
                 JOIN t.category c
-                WHERE t.user = :user
-                ORDER BY t.date DESC
-            """)
-    List<TransactionRawDto> findRecentTransactions(@Param("user") UserEntity user, Pageable pageable);
-
-
-    @Query("""
-                SELECT new kz.finance.fintrack.dto.analytics.DashboardStatsDto(
-                    COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END), 0),
-                    COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END), 0),
-                    COALESCE(SUM(CASE WHEN t.type = 'INCOME' AND t.date BETWEEN :currentStart AND :currentEnd THEN t.amount ELSE 0 END), 0),
-                    COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' AND t.date BETWEEN :currentStart AND :currentEnd THEN t.amount ELSE 0 END), 0),
-                    COALESCE(SUM(CASE WHEN t.type = 'INCOME' AND t.date BETWEEN :previousStart AND :previousEnd THEN t.amount ELSE 0 END), 0),
-                    COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' AND t.date BETWEEN :previousStart AND :previousEnd THEN t.amount ELSE 0 END), 0)
-                )
-                FROM TransactionEntity t
-                WHERE t.user = :user
+                WHERE t.user.id = :userId
+                ORDER BY t.date DESC, t.id DESC
             """)
-    DashboardStatsDto getDashboardStats(
-            @Param("user") UserEntity user,
-            @Param("currentStart") LocalDateTime currentStart,
-            @Param("currentEnd") LocalDateTime currentEnd,
-            @Param("previousStart") LocalDateTime previousStart,
-            @Param("previousEnd") LocalDateTime previousEnd
-    );
+    Stream<TransactionRawDto> streamAllForExport(@Param("userId") Long userId);
 
 
-    @Query("""
-                SELECT new kz.finance.fintrack.dto.analytics.AnalyticsStatsDto(
-                    COALESCE(SUM(CASE WHEN t.type = 'INCOME' AND t.date BETWEEN :start AND :end THEN t.amount ELSE 0 END), 0),
-                    COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' AND t.date BETWEEN :start AND :end THEN t.amount ELSE 0 END), 0),
-                    COALESCE(SUM(CASE WHEN t.type = 'INCOME' AND t.date BETWEEN :prevStart AND :prevEnd THEN t.amount ELSE 0 END), 0),
-                    COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' AND t.date BETWEEN :prevStart AND :prevEnd THEN t.amount ELSE 0 END), 0)
-                )
-                FROM TransactionEntity t
-                WHERE t.user = :user
-            """)
-    AnalyticsStatsDto getSummaryStats(
-            @Param("user") UserEntity user,
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end,
-            @Param("prevStart") LocalDateTime prevStart,
-            @Param("prevEnd") LocalDateTime prevEnd
-    );
-
     @Query("""
                 SELECT new kz.finance.fintrack.dto.analytics.CategorySummaryRawDto(
                     c.id,
@@ -111,16 +88,4 @@ public interface TransactionRepository extends JpaRepository<TransactionEntity,
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end
     );
-
-    @Query("""
-                SELECT t FROM TransactionEntity t
-                WHERE t.user.id = :userId
-                AND t.date >= :from AND t.date < :to
-                ORDER BY t.date
-            """)
-    List<TransactionEntity> findAllByUserIdAndMonth(
-            @Param("userId") Long userId,
-            @Param("from") LocalDateTime from,
-            @Param("to") LocalDateTime to
-    );
 }
\ No newline at end of file
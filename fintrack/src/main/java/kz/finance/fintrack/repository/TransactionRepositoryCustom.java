@@ -1,11 +1,50 @@
 package kz.finance.fintrack.repository;
 
 import kz.finance.fintrack.dto.PeriodType;
+import kz.finance.fintrack.dto.analytics.AnalyticsStatsDto;
 import kz.finance.fintrack.dto.analytics.ChartPointDto;
+import kz.finance.fintrack.dto.analytics.DashboardRawDto;
+import kz.finance.fintrack.dto.sync.TransactionChangeRawDto;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 public interface TransactionRepositoryCustom {
-    List<ChartPointDto> getChartData(Long userId, LocalDateTime start, LocalDateTime end, PeriodType periodType);
+    /**
+     * Суммы по дням (по месяцам для YEAR) в часовом поясе {@code zone}, без пропусков.
+     * start/end — границы периода в этом же поясе; date транзакций хранится в UTC.
+     */
+    List<ChartPointDto> getChartData(Long userId, LocalDateTime start, LocalDateTime end, PeriodType periodType, ZoneId zone);
+
+    /**
+     * Итоги периода [start, end] и предыдущего [previousStart, start) по тому же диапазону, что и
+     * {@link #getChartData}: границы в поясе {@code zone}, переведённые в UTC.
+     */
+    AnalyticsStatsDto getSummaryStats(Long userId, LocalDateTime start, LocalDateTime end,
+                                      LocalDateTime previousStart, ZoneId zone);
+
+    /**
+     * Изменения (upsert + tombstone) пользователя строго после позиции (xid, seq),
+     * только из транзакций БД, которые гарантированно завершены (xid ниже xmin снимка).
+     */
+    List<TransactionChangeRawDto> findChangesAfter(Long userId, long xid, long seq, boolean includeTombstones, int limit);
+
+    int deleteTombstonesOlderThan(Instant threshold);
+
+    /** Создаёт недостающие месячные партиции transaction на monthsAhead месяцев вперёд (V15), возвращает число созданных. */
+    int ensurePartitions(int monthsAhead);
+
+    /**
+     * Дашборд за один round trip: агрегаты из дневного rollup (CTE) и последние {@code recentLimit} транзакций
+     * (LATERAL) одной выборкой. Границы периодов — календарные дни включительно.
+     * Итоги total_* — за всё время, без границ по дням: баланс не зависит от выбранного периода
+     * и включает транзакции, датированные позже него.
+     */
+    DashboardRawDto getDashboard(Long userId,
+                                 LocalDate currentStart, LocalDate currentEnd,
+                                 LocalDate previousStart, LocalDate previousEnd,
+                                 int recentLimit);
 }
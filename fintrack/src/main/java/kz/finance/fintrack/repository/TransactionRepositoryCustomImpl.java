@@ -3,12 +3,24 @@ package kz.finance.fintrack.repository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import kz.finance.fintrack.dto.PeriodType;
+import kz.finance.fintrack.dto.TransactionRawDto;
+import kz.finance.fintrack.dto.analytics.AnalyticsStatsDto;
 import kz.finance.fintrack.dto.analytics.ChartPointDto;
+import kz.finance.fintrack.dto.analytics.DashboardRawDto;
+import kz.finance.fintrack.dto.analytics.DashboardStatsDto;
+import kz.finance.fintrack.dto.sync.TransactionChangeRawDto;
+import kz.finance.fintrack.model.TransactionType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,29 +31,235 @@ public class TransactionRepositoryCustomImpl implements TransactionRepositoryCus
     private final EntityManager entityManager;
 
     @Override
-    public List<ChartPointDto> getChartData(Long userId, LocalDateTime start, LocalDateTime end, PeriodType periodType) {
-        String dateFormat = switch (periodType) {
-            case DAY, WEEK, MONTH -> "YYYY-MM-DD"; // для всех срезов, где нужна детализация по дням
-            case YEAR -> "YYYY-MM";                // детализация по месяцам
+    public List<ChartPointDto> getChartData(Long userId, LocalDateTime start, LocalDateTime end, PeriodType periodType, ZoneId zone) {
+        String unit = switch (periodType) {
+            case DAY, WEEK, MONTH -> "day"; // для всех срезов, где нужна детализация по дням
+            case YEAR -> "month";           // детализация по месяцам
         };
+        String labelFormat = periodType == PeriodType.YEAR ? "YYYY-MM" : "YYYY-MM-DD";
 
+        // Бакеты — локальное время пользователя: date (UTC) -> timestamptz -> локальный timestamp.
+        // generate_series даёт все бакеты периода, пустые заполняются нулями.
         String sql = """
-                    SELECT TO_CHAR(t.date, '%s') as label,
-                           COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END), 0) as income,
-                           COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END), 0) as expense
+                    WITH buckets AS (
+                        SELECT generate_series(
+                                   date_trunc(:unit, CAST(:localStart AS timestamp)),
+                                   date_trunc(:unit, CAST(:localEnd AS timestamp)),
+                                   CAST('1 ' || :unit AS interval)
+                               ) AS bucket
+                    ), agg AS (
+                        SELECT date_trunc(:unit, (t.date AT TIME ZONE 'UTC') AT TIME ZONE :tz) AS bucket,
+                               SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END) AS income,
+                               SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END) AS expense
+                        FROM transaction t
+                        WHERE t.user_id = :userId
+                          AND t.date BETWEEN :utcStart AND :utcEnd
+                        GROUP BY 1
+                    )
+                    SELECT TO_CHAR(b.bucket, '%s') AS label,
+                           CAST(EXTRACT(EPOCH FROM b.bucket AT TIME ZONE :tz) * 1000 AS bigint) AS bucket_start,
+                           COALESCE(a.income, 0) AS income,
+                           COALESCE(a.expense, 0) AS expense
+                    FROM buckets b
+                    LEFT JOIN agg a ON a.bucket = b.bucket
+                    ORDER BY b.bucket
+                """.formatted(labelFormat);
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("userId", userId);
+        query.setParameter("unit", unit);
+        query.setParameter("tz", zone.getId());
+        query.setParameter("localStart", toMicros(start));
+        query.setParameter("localEnd", toMicros(end));
+        query.setParameter("utcStart", toUtc(start, zone));
+        query.setParameter("utcEnd", toUtc(end, zone));
+
+        return convertToChartPoints(query.getResultList());
+    }
+
+    @Override
+    public AnalyticsStatsDto getSummaryStats(Long userId, LocalDateTime start, LocalDateTime end,
+                                             LocalDateTime previousStart, ZoneId zone) {
+        // текущий период — тем же BETWEEN, что и в getChartData: столбцы графика складываются в итоги
+        String sql = """
+                    SELECT COALESCE(SUM(CASE WHEN t.type = 'INCOME' AND t.date >= :utcStart THEN t.amount ELSE 0 END), 0),
+                           COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' AND t.date >= :utcStart THEN t.amount ELSE 0 END), 0),
+                           COALESCE(SUM(CASE WHEN t.type = 'INCOME' AND t.date < :utcStart THEN t.amount ELSE 0 END), 0),
+                           COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' AND t.date < :utcStart THEN t.amount ELSE 0 END), 0)
                     FROM transaction t
                     WHERE t.user_id = :userId
-                      AND t.date BETWEEN :start AND :end
-                    GROUP BY label
-                    ORDER BY label
-                """.formatted(dateFormat);
+                      AND t.date BETWEEN :utcPreviousStart AND :utcEnd
+                """;
 
         Query query = entityManager.createNativeQuery(sql);
         query.setParameter("userId", userId);
-        query.setParameter("start", start);
-        query.setParameter("end", end);
+        query.setParameter("utcStart", toUtc(start, zone));
+        query.setParameter("utcEnd", toUtc(end, zone));
+        query.setParameter("utcPreviousStart", toUtc(previousStart, zone));
 
-        return convertToChartPoints(query.getResultList());
+        Object[] row = (Object[]) query.getSingleResult();
+        return new AnalyticsStatsDto(
+                (BigDecimal) row[0],
+                (BigDecimal) row[1],
+                (BigDecimal) row[2],
+                (BigDecimal) row[3]
+        );
+    }
+
+    private static LocalDateTime toUtc(LocalDateTime local, ZoneId zone) {
+        return toMicros(local.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime());
+    }
+
+    /**
+     * Postgres хранит микросекунды, а драйвер округляет лишние наносекунды вверх:
+     * конец периода LocalTime.MAX ушёл бы в полночь следующего дня и дал лишний бакет.
+     */
+    private static LocalDateTime toMicros(LocalDateTime value) {
+        return value.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @Override
+    public List<TransactionChangeRawDto> findChangesAfter(Long userId, long xid, long seq, boolean includeTombstones, int limit) {
+        String sql = """
+                    WITH pos AS (
+                        SELECT CAST(CAST(:xid AS text) AS xid8) AS xid,
+                               pg_snapshot_xmin(pg_current_snapshot()) AS horizon
+                    )
+                    SELECT c.deleted, c.id, CAST(c.change_xid AS text), c.change_seq
+                    FROM (
+                        SELECT false AS deleted, t.id, t.change_xid, t.change_seq
+                        FROM transaction t, pos
+                        WHERE t.user_id = :userId
+                          AND (t.change_xid, t.change_seq) > (pos.xid, :seq)
+                          AND t.change_xid < pos.horizon
+                        UNION ALL
+                        SELECT true AS deleted, d.transaction_id, d.change_xid, d.change_seq
+                        FROM transaction_tombstone d, pos
+                        WHERE :includeTombstones
+                          AND d.user_id = :userId
+                          AND (d.change_xid, d.change_seq) > (pos.xid, :seq)
+                          AND d.change_xid < pos.horizon
+                    ) c
+                    ORDER BY c.change_xid, c.change_seq
+                    LIMIT :limit
+                """;
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("userId", userId);
+        query.setParameter("xid", xid);
+        query.setParameter("seq", seq);
+        query.setParameter("includeTombstones", includeTombstones);
+        query.setParameter("limit", limit);
+
+        List<?> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> {
+                    Object[] arr = (Object[]) row;
+                    return new TransactionChangeRawDto(
+                            (Boolean) arr[0],
+                            ((Number) arr[1]).longValue(),
+                            Long.parseLong((String) arr[2]),
+                            ((Number) arr[3]).longValue()
+                    );
+                })
+                .toList();
+    }
+
+    @Override
+    public int deleteTombstonesOlderThan(Instant threshold) {
+        return entityManager.createNativeQuery("DELETE FROM transaction_tombstone WHERE deleted_at < :threshold")
+                .setParameter("threshold", threshold)
+                .executeUpdate();
+    }
+
+    @Override
+    public int ensurePartitions(int monthsAhead) {
+        Object created = entityManager.createNativeQuery("SELECT transaction_ensure_partitions(:monthsAhead)")
+                .setParameter("monthsAhead", monthsAhead)
+                .getSingleResult();
+        return ((Number) created).intValue();
+    }
+
+    @Override
+    public DashboardRawDto getDashboard(Long userId,
+                                        LocalDate currentStart, LocalDate currentEnd,
+                                        LocalDate previousStart, LocalDate previousEnd,
+                                        int recentLimit) {
+        // stats всегда ровно одна строка, поэтому LEFT JOIN LATERAL даёт хотя бы одну строку и без транзакций
+        String sql = """
+                    WITH stats AS (
+                        SELECT COALESCE(SUM(CASE WHEN r.type = 'INCOME' THEN r.total_amount ELSE 0 END), 0) AS total_income,
+                               COALESCE(SUM(CASE WHEN r.type = 'EXPENSE' THEN r.total_amount ELSE 0 END), 0) AS total_expense,
+                               COALESCE(SUM(CASE WHEN r.type = 'INCOME' AND r.day BETWEEN :currentStart AND :currentEnd THEN r.total_amount ELSE 0 END), 0) AS current_income,
+                               COALESCE(SUM(CASE WHEN r.type = 'EXPENSE' AND r.day BETWEEN :currentStart AND :currentEnd THEN r.total_amount ELSE 0 END), 0) AS current_expense,
+                               COALESCE(SUM(CASE WHEN r.type = 'INCOME' AND r.day BETWEEN :previousStart AND :previousEnd THEN r.total_amount ELSE 0 END), 0) AS previous_income,
+                               COALESCE(SUM(CASE WHEN r.type = 'EXPENSE' AND r.day BETWEEN :previousStart AND :previousEnd THEN r.total_amount ELSE 0 END), 0) AS previous_expense
+                        FROM transaction_daily_rollup r
+                        WHERE r.user_id = :userId
+                    )
+                    SELECT s.total_income, s.total_expense,
+                           s.current_income, s.current_expense,
+                           s.previous_income, s.previous_expense,
+                           t.id, t.amount, t.date, t.created_at, t.updated_at, t.comment, t.type,
+                           c.id, c.name_ru, c.name_en, c.icon, c.color
+                    FROM stats s
+                    LEFT JOIN LATERAL (
+                        SELECT t.*
+                        FROM transaction t
+                        WHERE t.user_id = :userId
+                        ORDER BY t.date DESC, t.id DESC
+                        LIMIT :limit
+                    ) t ON true
+                    LEFT JOIN transaction_category c ON c.id = t.category_id
+                    ORDER BY t.date DESC, t.id DESC
+                """;
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("userId", userId);
+        query.setParameter("currentStart", currentStart);
+        query.setParameter("currentEnd", currentEnd);
+        query.setParameter("previousStart", previousStart);
+        query.setParameter("previousEnd", previousEnd);
+        query.setParameter("limit", recentLimit);
+
+        List<?> rows = query.getResultList();
+        Object[] first = (Object[]) rows.get(0);
+        DashboardStatsDto stats = new DashboardStatsDto(
+                (BigDecimal) first[0],
+                (BigDecimal) first[1],
+                (BigDecimal) first[2],
+                (BigDecimal) first[3],
+                (BigDecimal) first[4],
+                (BigDecimal) first[5]
+        );
+
+        List<TransactionRawDto> recent = rows.stream()
+                .map(row -> (Object[]) row)
+                .filter(arr -> arr[6] != null)
+                .map(arr -> new TransactionRawDto(
+                        ((Number) arr[6]).longValue(),
+                        (BigDecimal) arr[7],
+                        toLocalDateTime(arr[8]),
+                        toLocalDateTime(arr[9]),
+                        toLocalDateTime(arr[10]),
+                        (String) arr[11],
+                        TransactionType.valueOf((String) arr[12]),
+                        ((Number) arr[13]).longValue(),
+                        (String) arr[14],
+                        (String) arr[15],
+                        (String) arr[16],
+                        (String) arr[17]
+                ))
+                .toList();
+
+        return new DashboardRawDto(stats, recent);
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
     }
 
     private List<ChartPointDto> convertToChartPoints(List<?> rawData) {
@@ -50,8 +268,9 @@ public class TransactionRepositoryCustomImpl implements TransactionRepositoryCus
                     Object[] arr = (Object[]) row;
                     return new ChartPointDto(
                             (String) arr[0],
-                            (BigDecimal) arr[1],
-                            (BigDecimal) arr[2]
+                            ((Number) arr[1]).longValue(),
+                            (BigDecimal) arr[2],
+                            (BigDecimal) arr[3]
                     );
                 })
                 .collect(Collectors.toList());
@@ -0,0 +1,40 @@
+package kz.finance.fintrack.repository;
+
+import kz.finance.fintrack.model.WebhookInboxEntity;
+import kz.finance.fintrack.model.WebhookInboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface WebhookInboxRepository extends JpaRepository<WebhookInboxEntity, Long> {
+
+    /**
+     * Захватывает до {@code limit} готовых к обработке записей: PENDING с наступившим next_attempt_at
+     * и PROCESSING с истёкшим захватом (воркер упал). SKIP LOCKED — несколько инстансов не берут одно и то же.
+     * Вызывать в транзакции.
+     */
+    @Query(value = """
+        update iap_webhook_inbox i
+           set status = 'PROCESSING',
+               attempts = i.attempts + 1,
+               next_attempt_at = :leaseUntil,
+               updated_at = :now
+         where i.id in (
+               select d.id from iap_webhook_inbox d
+                where d.status in ('PENDING', 'PROCESSING')
+                  and d.next_attempt_at <= :now
+                order by d.next_attempt_at, d.id
+                limit :limit
+                for update skip locked)
+        returning i.id
+        """, nativeQuery = true)
+    List<Long> claimDue(@Param("now") Instant now, @Param("leaseUntil") Instant leaseUntil, @Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from WebhookInboxEntity e where e.status = :status and e.createdAt < :threshold")
+    int deleteByStatusOlderThan(@Param("status") WebhookInboxStatus status, @Param("threshold") Instant threshold);
+}
@@ -0,0 +1,120 @@
+package kz.finance.fintrack.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kz.finance.fintrack.model.AiAnalysisCacheEntity;
+import kz.finance.fintrack.repository.AiAnalysisCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Персистентный кеш ответов DeepSeek за месяц (таблица ai_analysis_cache).
+ * <p>
+ * Ключ — (userId, месяц, SHA-256 summary, модель). Записи месяца удаляют триггеры на transaction (V14),
+ * поэтому любая запись за (userId, месяц, валюта) актуальна и отдаётся без загрузки транзакций.
+ * Проверка по хешу summary ловит случай, когда после инвалидации цифры не изменились
+ * (например, правили только комментарий).
+ */
+@Slf4j
+@Component
+public class AiAnalysisCache {
+
+    private final AiAnalysisCacheRepository repo;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer savedLatency;
+
+    public AiAnalysisCache(AiAnalysisCacheRepository repo, MeterRegistry registry) {
+        this.repo = repo;
+        this.hits = Counter.builder("fintrack.ai.analysis.cache.requests")
+                .tag("result", "hit")
+                .description("Month analyses served from cache")
+                .register(registry);
+        this.misses = Counter.builder("fintrack.ai.analysis.cache.requests")
+                .tag("result", "miss")
+                .description("Month analyses that required a DeepSeek call")
+                .register(registry);
+        this.savedLatency = Timer.builder("fintrack.ai.analysis.cache.saved.latency")
+                .description("DeepSeek latency avoided by cache hits (latency of the original call)")
+                .register(registry);
+        Gauge.builder("fintrack.ai.analysis.cache.hit.ratio", this, AiAnalysisCache::hitRatio)
+                .register(registry);
+    }
+
+    /** Отметка до чтения транзакций (xmin снимка, как в delta sync); передаётся в {@link #store}. */
+    public long readHorizon() {
+        return repo.currentSnapshotXmin();
+    }
+
+    /** Быстрый путь: транзакции месяца не менялись с момента сохранения ответа. */
+    public Optional<String> findLatest(Long userId, YearMonth ym, String currency) {
+        return repo.findLatest(userId, ym.atDay(1), currency, Limit.of(1)).stream()
+                .findFirst()
+                .map(this::hit);
+    }
+
+    public Optional<String> findBySummary(Long userId, YearMonth ym, String summaryHash) {
+        Optional<String> content = repo.findBySummary(userId, ym.atDay(1), summaryHash, Limit.of(1)).stream()
+                .findFirst()
+                .map(this::hit);
+        if (content.isEmpty()) {
+            misses.increment();
+        }
+        return content;
+    }
+
+    @Transactional
+    public void store(Long userId, YearMonth ym, String summaryHash, String model, String currency,
+                      String content, Duration latency, long horizon) {
+        // сначала ждём транзакции, которые уже инвалидировали этот месяц, но ещё не закоммичены
+        repo.lockMonth(userId, ym.atDay(1));
+        int inserted = repo.insertIfUnchanged(
+                userId,
+                ym.atDay(1),
+                ym.atDay(1).atStartOfDay(),
+                ym.plusMonths(1).atDay(1).atStartOfDay(),
+                summaryHash,
+                model,
+                currency,
+                content,
+                latency.toMillis(),
+                horizon
+        );
+        if (inserted == 0) {
+            log.debug("AI analysis not cached: userId={} month={} changed during the call", userId, ym);
+        }
+    }
+
+    public static String hash(String summary) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(summary.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String hit(AiAnalysisCacheEntity entry) {
+        hits.increment();
+        savedLatency.record(Duration.ofMillis(entry.getLatencyMs()));
+        return entry.getContent();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
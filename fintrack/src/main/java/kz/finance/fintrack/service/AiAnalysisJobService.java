@@ -0,0 +1,211 @@
+package kz.finance.fintrack.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import kz.finance.fintrack.dto.ai.AiAnalysisJobDto;
+import kz.finance.fintrack.dto.ai.AiAnalysisJobStatus;
+import kz.finance.fintrack.dto.ai.FinanceAnalyzeResponse;
+import kz.finance.fintrack.exception.FinTrackException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+/**
+ * Фоновые задачи AI-анализа месяца.
+ * <p>
+ * Пока задача для (пользователь, месяц, валюта) выполняется, одинаковые запросы получают её же —
+ * DeepSeek (вместе с fallback на reasoner) вызывается один раз. Задачи идут в виртуальных потоках,
+ * число одновременных вызовов DeepSeek ограничивает {@link kz.finance.fintrack.client.deepseek.DeepSeekBulkhead}.
+ * <p>
+ * Задачи живут в памяти инстанса ещё {@link #RETENTION} после завершения; дальше тот же запрос
+ * отдаётся из {@link AiAnalysisCache}.
+ */
+@Slf4j
+@Service
+public class AiAnalysisJobService {
+
+    static final Duration RETENTION = Duration.ofMinutes(15);
+    /** Синхронный deep-analyze ждёт не дольше: ожидание слота bulkhead + chat + reasoner. */
+    static final Duration SYNC_TIMEOUT = Duration.ofMinutes(5);
+    private static final int MAX_JOBS = 10_000;
+
+    private final AiFinanceAnalysisService aiService;
+    private final UserService userService;
+    private final Clock clock;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentHashMap<JobKey, Job> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    private final Counter created;
+    private final Counter coalesced;
+
+    public AiAnalysisJobService(AiFinanceAnalysisService aiService, UserService userService,
+                                Clock clock, MeterRegistry registry) {
+        this.aiService = aiService;
+        this.userService = userService;
+        this.clock = clock;
+        this.created = Counter.builder("fintrack.ai.analysis.jobs")
+                .tag("result", "created")
+                .description("AI analysis jobs started")
+                .register(registry);
+        this.coalesced = Counter.builder("fintrack.ai.analysis.jobs")
+                .tag("result", "coalesced")
+                .description("AI analysis requests joined to an in-flight job")
+                .register(registry);
+        Gauge.builder("fintrack.ai.analysis.jobs.in_flight", inFlight, ConcurrentHashMap::size)
+                .register(registry);
+    }
+
+    public AiAnalysisJobDto submit(int year, int month, String currency) {
+        return toDto(start(userService.getCurrentUserId(), YearMonth.of(year, month), currency));
+    }
+
+    /** Синхронный deep-analyze поверх задач: поток Tomcat освобождается, ответ приходит по готовности. */
+    public DeferredResult<FinanceAnalyzeResponse> analyze(int year, int month, String currency) {
+        Job job = start(userService.getCurrentUserId(), YearMonth.of(year, month), currency);
+
+        DeferredResult<FinanceAnalyzeResponse> result = new DeferredResult<>(SYNC_TIMEOUT.toMillis());
+        job.result.whenComplete((response, error) -> {
+            if (error != null) {
+                result.setErrorResult(error);
+            } else {
+                result.setResult(response);
+            }
+        });
+        return result;
+    }
+
+    public AiAnalysisJobDto getStatus(UUID jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.key.userId().equals(userService.getCurrentUserId())) {
+            throw new FinTrackException(NOT_FOUND.value(), "AI job not found");
+        }
+        return toDto(job);
+    }
+
+    Job start(Long userId, YearMonth ym, String currency) {
+        JobKey key = new JobKey(userId, ym, AiFinanceAnalysisService.currencyOrDefault(currency));
+        Job running = inFlight.get(key);
+        if (running != null) {
+            coalesced.increment();
+            return running;
+        }
+        if (jobs.size() >= MAX_JOBS) {
+            throw new FinTrackException(TOO_MANY_REQUESTS.value(), "Too many AI analysis jobs, try again later");
+        }
+
+        Job candidate = new Job(UUID.randomUUID(), key, clock.instant());
+        Job job = inFlight.computeIfAbsent(key, k -> {
+            // в jobs до публикации в inFlight: присоединившийся запрос сразу может опрашивать id
+            jobs.put(candidate.id, candidate);
+            return candidate;
+        });
+        if (job != candidate) {
+            coalesced.increment();
+            return job;
+        }
+
+        created.increment();
+        log.info("AI job started: id={} userId={} month={} currency={}", job.id, userId, ym, key.currency());
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    void run(Job job) {
+        job.status = AiAnalysisJobStatus.RUNNING;
+        FinanceAnalyzeResponse response = null;
+        Exception error = null;
+        try {
+            response = aiService.analyzeMonth(job.key.userId(), job.key.ym(), job.key.currency());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("AI job failed: id={} userId={} month={}", job.id, job.key.userId(), job.key.ym(), e);
+            error = e;
+        }
+
+        // сначала убираем из inFlight: кто увидел завершение, следующим запросом запустит новую задачу
+        inFlight.remove(job.key, job);
+        job.finish(response, error, clock.instant());
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeFinished() {
+        Instant threshold = clock.instant().minus(RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(threshold));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Итоговый статус берётся из future: DONE без результата снаружи не виден. */
+    private static AiAnalysisJobDto toDto(Job job) {
+        AiAnalysisJobStatus status = job.status;
+        FinanceAnalyzeResponse response = null;
+        if (job.result.isDone()) {
+            if (job.result.isCompletedExceptionally()) {
+                status = AiAnalysisJobStatus.FAILED;
+            } else {
+                status = AiAnalysisJobStatus.DONE;
+                response = job.result.join();
+            }
+        }
+        return new AiAnalysisJobDto(
+                job.id,
+                status,
+                response != null ? response.analysis() : null,
+                status == AiAnalysisJobStatus.FAILED ? "AI временно недоступен — попробуйте позже!" : null,
+                job.createdAt,
+                job.finishedAt
+        );
+    }
+
+    record JobKey(Long userId, YearMonth ym, String currency) {
+    }
+
+    static final class Job {
+        final UUID id;
+        final JobKey key;
+        final Instant createdAt;
+        final CompletableFuture<FinanceAnalyzeResponse> result = new CompletableFuture<>();
+        volatile AiAnalysisJobStatus status = AiAnalysisJobStatus.PENDING;
+        volatile Instant finishedAt;
+
+        Job(UUID id, JobKey key, Instant createdAt) {
+            this.id = id;
+            this.key = key;
+            this.createdAt = createdAt;
+        }
+
+        /** finishedAt → результат → статус: кто видит итоговый статус, видит и результат. */
+        void finish(FinanceAnalyzeResponse response, Exception error, Instant at) {
+            this.finishedAt = at;
+            if (error == null) {
+                result.complete(response);
+            } else {
+                result.completeExceptionally(error);
+            }
+            this.status = error == null ? AiAnalysisJobStatus.DONE : AiAnalysisJobStatus.FAILED;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package kz.finance.fintrack.service;
+
+import jakarta.annotation.PreDestroy;
+import kz.finance.fintrack.dto.ai.FinanceAnalyzeChunk;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * SSE-вариант deep-analyze: события {@code token} с фрагментами ответа, затем {@code done}
+ * (или {@code error}, если поток оборвался).
+ * <p>
+ * Tomcat-поток освобождается сразу после возврата {@link SseEmitter}; чтение ответа DeepSeek идёт
+ * в виртуальном потоке. Отключение клиента или таймаут прерывают его и закрывают соединение с DeepSeek.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AiAnalysisStreamService {
+
+    /** С запасом над 120s ожидания ответа DeepSeek: после chat возможен ещё fallback на reasoner. */
+    static final Duration EMITTER_TIMEOUT = Duration.ofMinutes(5);
+
+    private final AiFinanceAnalysisService aiService;
+    private final UserService userService;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter stream(int year, int month, String currency) {
+        // SecurityContext и проверка периода — в потоке запроса, ошибки уходят обычным ответом
+        Long userId = userService.getCurrentUserId();
+        YearMonth ym = YearMonth.of(year, month);
+
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT.toMillis());
+        Future<?> task = executor.submit(() -> run(emitter, userId, ym, currency));
+        emitter.onTimeout(() -> task.cancel(true));
+        emitter.onError(e -> task.cancel(true));
+        return emitter;
+    }
+
+    void run(SseEmitter emitter, Long userId, YearMonth ym, String currency) {
+        try {
+            aiService.streamMonth(userId, ym, currency, token -> send(emitter, "token", token));
+            emitter.send(SseEmitter.event().name("done").data(""));
+            emitter.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("AI stream cancelled: userId={} month={}", userId, ym);
+            emitter.complete();
+        } catch (Exception e) {
+            log.warn("AI stream failed: userId={} month={} error={}", userId, ym, e.getMessage());
+            try {
+                emitter.send(SseEmitter.event().name("error").data(new FinanceAnalyzeChunk(
+                        "AI временно недоступен — попробуйте позже!"), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException closed) {
+                // клиент уже отключился
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private static void send(SseEmitter emitter, String name, String content) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(new FinanceAnalyzeChunk(content), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            // отключение клиента: обрываем чтение ответа DeepSeek
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
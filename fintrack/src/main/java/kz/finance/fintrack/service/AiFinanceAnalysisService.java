@@ -1,28 +1,30 @@
 package kz.finance.fintrack.service;
 
 import feign.FeignException;
+import kz.finance.fintrack.client.deepseek.DeepSeekBulkhead;
 import kz.finance.fintrack.client.deepseek.DeepSeekFeignClient;
 import kz.finance.fintrack.client.deepseek.DeepSeekMessage;
 import kz.finance.fintrack.client.deepseek.DeepSeekRequest;
 import kz.finance.fintrack.client.deepseek.DeepSeekResponse;
+import kz.finance.fintrack.client.deepseek.DeepSeekStreamClient;
+import kz.finance.fintrack.client.deepseek.DeepSeekStreamException;
 import kz.finance.fintrack.dto.ai.FinanceAnalyzeResponse;
-import kz.finance.fintrack.model.TransactionEntity;
-import kz.finance.fintrack.model.TransactionType;
-import kz.finance.fintrack.model.UserEntity;
-import kz.finance.fintrack.repository.TransactionRepository;
+import kz.finance.fintrack.repository.TransactionDailyRollupRepository;
 import kz.finance.fintrack.utils.CurrencyUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -30,78 +32,174 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AiFinanceAnalysisService {
 
-    private final TransactionRepository transactionRepository;
+    private final TransactionDailyRollupRepository rollupRepository;
     private final DeepSeekFeignClient deepSeekFeignClient;
-    private final UserService userService;
+    private final AiAnalysisCache analysisCache;
+    private final DeepSeekStreamClient deepSeekStreamClient;
+    private final DeepSeekBulkhead bulkhead;
     private static final String DEFAULT_CURRENCY = "KZT";
+    private static final String NO_ANSWER = "AI не вернул ответ.";
+    private static final String UNAVAILABLE = "AI временно недоступен — попробуйте позже!";
+    private static final String CHAT_MODEL = "deepseek-chat";
+    private static final String REASONER_MODEL = "deepseek-reasoner";
 
     @Value("${deepseek.api-key}")
     private String deepSeekApiKey;
 
-    @Transactional(readOnly = true)
-    public FinanceAnalyzeResponse analyzeMonth(int year, int month, String currency) {
-        if (currency == null || currency.isBlank()) {
-            currency = DEFAULT_CURRENCY;
+    /**
+     * Без транзакции: запрос к DeepSeek идёт секунды, соединение с БД на это время не держим.
+     * Повторный анализ неизменённого месяца отдаётся из {@link AiAnalysisCache}.
+     * Вызывается из {@link AiAnalysisJobService} — не в потоке запроса, поэтому userId явно.
+     */
+    public FinanceAnalyzeResponse analyzeMonth(Long userId, YearMonth ym, String currency) throws InterruptedException {
+        Prepared prepared = prepare(userId, ym, currency);
+        if (prepared.answer() != null) {
+            return new FinanceAnalyzeResponse(prepared.answer());
+        }
+        if (!bulkhead.tryAcquire()) {
+            log.warn("DeepSeek bulkhead full: userId={} month={}", userId, ym);
+            return new FinanceAnalyzeResponse(UNAVAILABLE);
         }
 
-        UserEntity user = userService.getCurrentUser();
+        try {
+            // 1) попробуем chat, 2) fallback → reasoner
+            for (String model : List.of(CHAT_MODEL, REASONER_MODEL)) {
+                long started = System.nanoTime();
+                try {
+                    String content = callDeepSeek(model, prepared.prompt());
+                    if (content == null) {
+                        return new FinanceAnalyzeResponse(NO_ANSWER);
+                    }
+                    store(prepared, model, content, started);
+                    return new FinanceAnalyzeResponse(content);
+                } catch (FeignException e) {
+                    log.warn("{} failed: {}", model, e.getMessage());
+                }
+            }
+        } finally {
+            bulkhead.release();
+        }
 
-        // Границы месяца
-        YearMonth ym = YearMonth.of(year, month);
-        LocalDateTime from = ym.atDay(1).atStartOfDay();
-        LocalDateTime to = ym.plusMonths(1).atDay(1).atStartOfDay();
+        log.error("deepseek-reasoner also failed");
+        return new FinanceAnalyzeResponse(UNAVAILABLE);
+    }
 
-        List<TransactionEntity> txs = transactionRepository.findAllByUserIdAndMonth(user.getId(), from, to);
-        if (txs.isEmpty()) {
-            return new FinanceAnalyzeResponse("Нет данных за выбранный месяц.");
+    /**
+     * Потоковый вариант {@link #analyzeMonth}: фрагменты ответа уходят в {@code onToken} по мере генерации.
+     * Ответ из кеша и служебные сообщения передаются одним фрагментом.
+     * userId передаётся явно — метод выполняется не в потоке запроса.
+     */
+    public void streamMonth(Long userId, YearMonth ym, String currency, Consumer<String> onToken)
+            throws IOException, InterruptedException {
+        Prepared prepared = prepare(userId, ym, currency);
+        if (prepared.answer() != null) {
+            onToken.accept(prepared.answer());
+            return;
         }
 
-        String summary = buildPremiumSummary(txs, currency);
-        String prompt = buildPremiumPrompt(summary, ym);
-
-        log.info("AI PROMPT:\n{}", prompt);
+        if (!bulkhead.tryAcquire()) {
+            log.warn("DeepSeek bulkhead full (stream): userId={} month={}", userId, ym);
+            onToken.accept(UNAVAILABLE);
+            return;
+        }
 
-        // 1) попробуем chat
         try {
-            return callDeepSeek("deepseek-chat", prompt);
-        } catch (FeignException e) {
-            log.warn("deepseek-chat failed, fallback to reasoner: {}", e.getMessage());
+            // ошибка статуса приходит до первого токена, поэтому fallback на reasoner возможен и здесь
+            for (String model : List.of(CHAT_MODEL, REASONER_MODEL)) {
+                long started = System.nanoTime();
+                try {
+                    log.info("Using DeepSeek model (stream): {}", model);
+                    String content = deepSeekStreamClient.stream(deepSeekApiKey, request(model, prepared.prompt(), true), onToken);
+                    if (content.isEmpty()) {
+                        onToken.accept(NO_ANSWER);
+                        return;
+                    }
+                    store(prepared, model, content, started);
+                    return;
+                } catch (DeepSeekStreamException e) {
+                    log.warn("{} stream failed: {}", model, e.getMessage());
+                }
+            }
+        } finally {
+            bulkhead.release();
         }
 
-        // 2) fallback → reasoner
-        try {
-            return callDeepSeek("deepseek-reasoner", prompt);
-        } catch (FeignException e) {
-            log.error("deepseek-reasoner also failed: {}", e.getMessage());
-            return new FinanceAnalyzeResponse(
-                    "AI временно недоступен — попробуйте позже!"
-            );
+        log.error("deepseek-reasoner stream also failed");
+        onToken.accept(UNAVAILABLE);
+    }
+
+    /** Готовый ответ (кеш, нет данных) либо prompt для модели. */
+    private record Prepared(Long userId, YearMonth ym, String currency,
+                            String answer, String prompt, String summaryHash, long horizon) {
+    }
+
+    static String currencyOrDefault(String currency) {
+        return currency == null || currency.isBlank() ? DEFAULT_CURRENCY : currency;
+    }
+
+    private Prepared prepare(Long userId, YearMonth ym, String currency) {
+        currency = currencyOrDefault(currency);
+
+        long horizon = analysisCache.readHorizon();
+        Optional<String> cached = analysisCache.findLatest(userId, ym, currency);
+        if (cached.isPresent()) {
+            return answered(userId, ym, currency, cached.get());
+        }
+
+        // одна группировка по дневному rollup вместо загрузки транзакций месяца
+        MonthTotals totals = MonthTotals.of(rollupRepository.getCategoryTotals(userId, ym.atDay(1), ym.atEndOfMonth()));
+        if (totals.empty()) {
+            return answered(userId, ym, currency, "Нет данных за выбранный месяц.");
+        }
+
+        String summary = buildPremiumSummary(totals, currency);
+        String summaryHash = AiAnalysisCache.hash(summary);
+        cached = analysisCache.findBySummary(userId, ym, summaryHash);
+        if (cached.isPresent()) {
+            return answered(userId, ym, currency, cached.get());
         }
+
+        String prompt = buildPremiumPrompt(summary, ym);
+
+        log.info("AI PROMPT:\n{}", prompt);
+
+        return new Prepared(userId, ym, currency, null, prompt, summaryHash, horizon);
     }
 
-    private FinanceAnalyzeResponse callDeepSeek(String model, String prompt) {
+    private static Prepared answered(Long userId, YearMonth ym, String currency, String answer) {
+        return new Prepared(userId, ym, currency, answer, null, null, 0);
+    }
 
-        log.info("Using DeepSeek model: {}", model);
+    private void store(Prepared prepared, String model, String content, long startedNanos) {
+        Duration latency = Duration.ofNanos(System.nanoTime() - startedNanos);
+        analysisCache.store(prepared.userId(), prepared.ym(), prepared.summaryHash(), model,
+                prepared.currency(), content, latency, prepared.horizon());
+    }
 
-        DeepSeekRequest request = DeepSeekRequest.builder()
-                .model(model)
-                .messages(List.of(new DeepSeekMessage("user", prompt)))
-                .maxTokens(model.equals("deepseek-chat") ? 260 : 200)
-                .stream(false)
-                .build();
+    /** Текст ответа или null, если модель не вернула вариантов. */
+    private String callDeepSeek(String model, String prompt) {
+
+        log.info("Using DeepSeek model: {}", model);
 
         DeepSeekResponse response = deepSeekFeignClient.chatCompletion(
                 "Bearer " + deepSeekApiKey,
-                request
+                request(model, prompt, false)
         );
 
         if (response.choices().isEmpty()) {
-            return new FinanceAnalyzeResponse("AI не вернул ответ.");
+            return null;
         }
 
-        return new FinanceAnalyzeResponse(
-                response.choices().get(0).message().content()
-        );
+        return response.choices().get(0).message().content();
+    }
+
+    private static DeepSeekRequest request(String model, String prompt, boolean stream) {
+        return DeepSeekRequest.builder()
+                .model(model)
+                .messages(List.of(new DeepSeekMessage("user", prompt)))
+                .maxTokens(model.equals(CHAT_MODEL) ? 260 : 200)
+                .stream(stream)
+                .build();
     }
 
     /**
@@ -155,31 +253,16 @@ public class AiFinanceAnalysisService {
      * Очень лёгкий summary → модель работает быстро.
      * ТОЛЬКО ключевые цифры — без списков транзакций.
      */
-    private String buildPremiumSummary(List<TransactionEntity> txs, String currency) {
+    private String buildPremiumSummary(MonthTotals totals, String currency) {
         String symbol = CurrencyUtil.getSymbol(currency);
 
-        BigDecimal income = txs.stream()
-                .filter(t -> t.getType() == TransactionType.INCOME)
-                .map(TransactionEntity::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal expense = txs.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                .map(TransactionEntity::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal balance = income.subtract(expense);
-
-        Map<String, BigDecimal> topCategories = txs.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().getNameRu(),
-                        Collectors.reducing(BigDecimal.ZERO,
-                                TransactionEntity::getAmount, BigDecimal::add)
-                ));
+        BigDecimal income = totals.income();
+        BigDecimal expense = totals.expense();
+        BigDecimal balance = totals.balance();
 
-        String categories = topCategories.entrySet().stream()
-                .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed())
+        String categories = totals.expenseByCategory().entrySet().stream()
+                .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
                 .limit(5)
                 .map(e -> "%s: %s %s".formatted(
                         e.getKey(),
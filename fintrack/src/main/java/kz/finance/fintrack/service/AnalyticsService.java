@@ -3,24 +3,25 @@ package kz.finance.fintrack.service;
 import kz.finance.fintrack.dto.LocalizedTransactionResponseDto;
 import kz.finance.fintrack.dto.PeriodType;
 import kz.finance.fintrack.dto.TransactionCategoryDto;
-import kz.finance.fintrack.dto.TransactionRawDto;
 import kz.finance.fintrack.dto.analytics.AnalyticsCategoriesDto;
 import kz.finance.fintrack.dto.analytics.AnalyticsSummaryDto;
 import kz.finance.fintrack.dto.analytics.CategorySummaryDto;
 import kz.finance.fintrack.dto.analytics.CategorySummaryRawDto;
 import kz.finance.fintrack.dto.analytics.DashboardDto;
+import kz.finance.fintrack.dto.analytics.DashboardRawDto;
 import kz.finance.fintrack.dto.analytics.DashboardStatsDto;
-import kz.finance.fintrack.model.UserEntity;
 import kz.finance.fintrack.repository.TransactionRepository;
 import kz.finance.fintrack.utils.DateRangeResolver;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.Comparator;
 import java.util.List;
@@ -29,34 +30,40 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AnalyticsService {
 
+    private static final int RECENT_TRANSACTIONS = 5;
+
     private final TransactionRepository transactionRepository;
     private final UserService userService;
 
     public DashboardDto getDashboard(LocalDateTime currentPeriodStart, LocalDateTime currentPeriodEnd, String lang) {
-        UserEntity currentUser = userService.getCurrentUser();
+        Long userId = userService.getCurrentUserId();
 
         long daysBetween = ChronoUnit.DAYS.between(currentPeriodStart, currentPeriodEnd);
         LocalDateTime previousPeriodStart = currentPeriodStart.minusDays(daysBetween);
         LocalDateTime previousPeriodEnd = currentPeriodStart;
 
-        DashboardStatsDto stats = transactionRepository.getDashboardStats(
-                currentUser,
-                currentPeriodStart,
-                currentPeriodEnd,
-                previousPeriodStart,
-                previousPeriodEnd
+        // Rollup дневной, поэтому конец периода округляется вверх до целого дня: у WEEK он равен now(),
+        // и в текущий период попадают все транзакции сегодняшнего дня, в том числе позже now()
+        LocalDate currentEndDay = currentPeriodEnd.toLocalDate();
+
+        // Один запрос: агрегаты из дневного rollup (стоимость не зависит от длины истории) + последние транзакции
+        DashboardRawDto dashboard = transactionRepository.getDashboard(
+                userId,
+                currentPeriodStart.toLocalDate(),
+                currentEndDay,
+                previousPeriodStart.toLocalDate(),
+                lastDayBefore(previousPeriodEnd),
+                RECENT_TRANSACTIONS
         );
+        DashboardStatsDto stats = dashboard.stats();
 
         Double incomeChange = calculatePercentageChange(stats.previousPeriodIncome(), stats.currentPeriodIncome());
         Double expenseChange = calculatePercentageChange(stats.previousPeriodExpense(), stats.currentPeriodExpense());
 
         BigDecimal balance = stats.totalIncome().subtract(stats.totalExpense());
 
-        List<TransactionRawDto> recentTransactions =
-                transactionRepository.findRecentTransactions(currentUser, PageRequest.of(0, 5));
-
         List<LocalizedTransactionResponseDto> localizedTransactions =
-                recentTransactions.stream()
+                dashboard.recentTransactions().stream()
                         .map(t -> new LocalizedTransactionResponseDto(
                                 t.id(),
                                 t.amount(),
@@ -89,19 +96,23 @@ public class AnalyticsService {
         );
     }
 
-    public AnalyticsSummaryDto getTransactionSummary(LocalDateTime start, LocalDateTime end, PeriodType periodType) {
-        UserEntity currentUser = userService.getCurrentUser();
+    /**
+     * Итоги и график считаются по одному и тому же диапазону: границы периода в поясе {@code zone},
+     * переведённые в UTC, поэтому сумма столбцов графика совпадает с итогами.
+     * Дневной rollup здесь не подходит — его дни UTC, а не дни пользователя.
+     */
+    public AnalyticsSummaryDto getTransactionSummary(LocalDateTime start, LocalDateTime end, PeriodType periodType, ZoneId zone) {
+        Long userId = userService.getCurrentUserId();
 
         Duration periodLength = Duration.between(start, end);
-        LocalDateTime previousEnd = start;
-        LocalDateTime previousStart = previousEnd.minus(periodLength);
+        LocalDateTime previousStart = start.minus(periodLength);
 
-        var stats = transactionRepository.getSummaryStats(currentUser, start, end, previousStart, previousEnd);
+        var stats = transactionRepository.getSummaryStats(userId, start, end, previousStart, zone);
 
         Double incomeChange = calculatePercentageChange(stats.previousIncome(), stats.currentIncome());
         Double expenseChange = calculatePercentageChange(stats.previousExpense(), stats.currentExpense());
 
-        var chartData = transactionRepository.getChartData(currentUser.getId(), start, end, periodType);
+        var chartData = transactionRepository.getChartData(userId, start, end, periodType, zone);
         BigDecimal netIncome = stats.currentIncome().subtract(stats.currentExpense());
 
         return new AnalyticsSummaryDto(
@@ -115,10 +126,10 @@ public class AnalyticsService {
     }
 
     public AnalyticsCategoriesDto getCategoriesAnalytics(LocalDateTime start, LocalDateTime end, String lang) {
-        UserEntity user = userService.getCurrentUser();
+        Long userId = userService.getCurrentUserId();
 
         List<CategorySummaryRawDto> rawData = transactionRepository.getCategorySummary(
-                user.getId(), start, end
+                userId, start, end
         );
         BigDecimal totalIncome = calculateTotalIncome(rawData);
         BigDecimal totalExpense = calculateTotalExpense(rawData);
@@ -173,6 +184,16 @@ public class AnalyticsService {
                 .toList();
     }
 
+    /**
+     * Rollup хранит суммы по календарным дням, поэтому исключающая граница периода
+     * (начало следующего периода) превращается в последний включённый день.
+     */
+    private static LocalDate lastDayBefore(LocalDateTime exclusiveEnd) {
+        return exclusiveEnd.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? exclusiveEnd.toLocalDate().minusDays(1)
+                : exclusiveEnd.toLocalDate();
+    }
+
     private Double calculatePercentageChange(BigDecimal previous, BigDecimal current) {
         if (previous == null || previous.compareTo(BigDecimal.ZERO) == 0) {
             return (current == null || current.compareTo(BigDecimal.ZERO) == 0)
@@ -0,0 +1,35 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.dto.ai.MonthCategoryTotalDto;
+import kz.finance.fintrack.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Итоги месяца для быстрого и AI-анализа, собранные из {@link MonthCategoryTotalDto}.
+ * Расходы по категориям сводятся по русскому названию (пользовательская и системная категории с одним именем — одна строка).
+ */
+record MonthTotals(BigDecimal income, BigDecimal expense, Map<String, BigDecimal> expenseByCategory, boolean empty) {
+
+    static MonthTotals of(List<MonthCategoryTotalDto> rows) {
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        Map<String, BigDecimal> byCategory = new HashMap<>();
+        for (MonthCategoryTotalDto row : rows) {
+            if (row.type() == TransactionType.INCOME) {
+                income = income.add(row.total());
+            } else if (row.type() == TransactionType.EXPENSE) {
+                expense = expense.add(row.total());
+                byCategory.merge(row.categoryNameRu(), row.total(), BigDecimal::add);
+            }
+        }
+        return new MonthTotals(income, expense, byCategory, rows.isEmpty());
+    }
+
+    BigDecimal balance() {
+        return income.subtract(expense);
+    }
+}
@@ -1,10 +1,7 @@
 package kz.finance.fintrack.service;
 
 import kz.finance.fintrack.dto.ai.FinanceAnalyzeResponse;
-import kz.finance.fintrack.model.TransactionEntity;
-import kz.finance.fintrack.model.TransactionType;
-import kz.finance.fintrack.model.UserEntity;
-import kz.finance.fintrack.repository.TransactionRepository;
+import kz.finance.fintrack.repository.TransactionDailyRollupRepository;
 import kz.finance.fintrack.utils.CurrencyUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,11 +10,9 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.security.SecureRandom;
-import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.TextStyle;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -25,7 +20,7 @@ import java.util.stream.Collectors;
 public class QuickFinanceAnalyzeService {
 
     private final UserService userService;
-    private final TransactionRepository transactionRepository;
+    private final TransactionDailyRollupRepository rollupRepository;
     private final Random rnd = new SecureRandom();
 
     private static final List<String> GREETINGS = List.of(
@@ -56,25 +51,23 @@ public class QuickFinanceAnalyzeService {
         if (currency == null || currency.isBlank()) currency = "KZT";
         String symbol = CurrencyUtil.getSymbol(currency);
 
-        UserEntity user = userService.getCurrentUser();
+        Long userId = userService.getCurrentUserId();
         YearMonth ym = YearMonth.of(year, month);
-        LocalDateTime from = ym.atDay(1).atStartOfDay();
-        LocalDateTime to = ym.plusMonths(1).atDay(1).atStartOfDay();
 
-        List<TransactionEntity> txs = transactionRepository.findAllByUserIdAndMonth(user.getId(), from, to);
+        MonthTotals totals = MonthTotals.of(rollupRepository.getCategoryTotals(userId, ym.atDay(1), ym.atEndOfMonth()));
 
-        if (txs.isEmpty()) {
+        if (totals.empty()) {
             return new FinanceAnalyzeResponse(
                     "В этом месяце пока нет данных о доходах и расходах. " +
                     "Добавьте хотя бы одну транзакцию, чтобы получить анализ! 🚀"
             );
         }
 
-        BigDecimal income = getTotalByType(txs, TransactionType.INCOME);
-        BigDecimal expense = getTotalByType(txs, TransactionType.EXPENSE);
-        BigDecimal balance = income.subtract(expense);
+        BigDecimal income = totals.income();
+        BigDecimal expense = totals.expense();
+        BigDecimal balance = totals.balance();
 
-        String topCategory = getTopExpenseCategory(txs);
+        String topCategory = getTopExpenseCategory(totals);
 
         String greeting = String.format(
                 GREETINGS.get(rnd.nextInt(GREETINGS.size())),
@@ -101,25 +94,13 @@ public class QuickFinanceAnalyzeService {
                 "_" + advice + "_"
         );
 
-        log.info("QuickAnalyze for user {}: {}", user.getId(), result);
+        log.info("QuickAnalyze for user {}: {}", userId, result);
 
         return new FinanceAnalyzeResponse(result);
     }
 
-    private BigDecimal getTotalByType(List<TransactionEntity> txs, TransactionType type) {
-        return txs.stream()
-                .filter(tx -> tx.getType() == type)
-                .map(TransactionEntity::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private String getTopExpenseCategory(List<TransactionEntity> txs) {
-        return txs.stream()
-                .filter(tx -> tx.getType() == TransactionType.EXPENSE)
-                .collect(Collectors.groupingBy(
-                        tx -> tx.getCategory().getNameRu(),
-                        Collectors.reducing(BigDecimal.ZERO, TransactionEntity::getAmount, BigDecimal::add)))
-                .entrySet().stream()
+    private String getTopExpenseCategory(MonthTotals totals) {
+        return totals.expenseByCategory().entrySet().stream()
                 .max(Map.Entry.comparingByValue())
                 .map(Map.Entry::getKey)
                 .orElse("Нет расходов");
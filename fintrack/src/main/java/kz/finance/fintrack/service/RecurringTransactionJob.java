@@ -0,0 +1,53 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.dto.recurring.RecurringMaterializationDto;
+import kz.finance.fintrack.repository.RecurringTransactionRuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Проводит наступившие повторения повторяющихся транзакций всех пользователей.
+ * <p>
+ * Каждая пачка из {@link #BATCH_SIZE} правил — один SQL-запрос и одна транзакция БД: вставка транзакций,
+ * дневных агрегатов и сдвиг правил коммитятся вместе. Правило, пропустившее много повторений
+ * (например, startAt в прошлом), догоняется по {@link #MAX_PER_RULE} за проход.
+ * Падение между пачками или второй инстанс не приводят к дублям — см. recurring_transaction_occurrence.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringTransactionJob {
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_PER_RULE = 31;
+
+    private final RecurringTransactionRuleRepository ruleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @Scheduled(fixedDelay = 300_000, initialDelay = 60_000)
+    public void materialize() {
+        // transaction.date хранится в UTC, Clock — UTC
+        LocalDateTime now = LocalDateTime.now(clock);
+        int rules = 0;
+        int transactions = 0;
+
+        RecurringMaterializationDto batch;
+        do {
+            batch = transactionTemplate.execute(status -> ruleRepository.materializeDue(now, BATCH_SIZE, MAX_PER_RULE));
+            if (batch == null) break;
+            rules += batch.rules();
+            transactions += batch.transactions();
+        } while (batch.rules() == BATCH_SIZE);
+
+        if (rules > 0) {
+            log.info("Recurring transactions: rules={} inserted={}", rules, transactions);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.dto.TransactionCategoryDto;
+import kz.finance.fintrack.dto.recurring.RecurringTransactionRequestDto;
+import kz.finance.fintrack.dto.recurring.RecurringTransactionResponseDto;
+import kz.finance.fintrack.exception.FinTrackException;
+import kz.finance.fintrack.mapper.TransactionMapper;
+import kz.finance.fintrack.model.RecurringTransactionRuleEntity;
+import kz.finance.fintrack.model.TransactionCategoryEntity;
+import kz.finance.fintrack.repository.RecurringTransactionRuleRepository;
+import kz.finance.fintrack.repository.TransactionCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * CRUD правил повторяющихся транзакций. Сами транзакции проводит {@link RecurringTransactionJob}.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecurringTransactionService {
+
+    /**
+     * Насколько далеко в прошлом может начинаться новое правило. Наступившие повторения проводятся задним числом,
+     * и без ограничения ежедневное правило с началом несколько лет назад вставило бы всю историю.
+     */
+    static final int MAX_BACKFILL_DAYS = 31;
+
+    private final RecurringTransactionRuleRepository ruleRepository;
+    private final TransactionCategoryRepository categoryRepository;
+    private final UserService userService;
+    private final Clock clock;
+
+    @Transactional(readOnly = true)
+    public List<RecurringTransactionResponseDto> getRules(String lang) {
+        return ruleRepository.findAllByUserIdOrderByIdDesc(userService.getCurrentUserId()).stream()
+                .map(rule -> toDto(rule, lang))
+                .toList();
+    }
+
+    @Transactional
+    public RecurringTransactionResponseDto createRule(RecurringTransactionRequestDto request, String lang) {
+        // transaction.date хранится в UTC, Clock — UTC
+        if (request.startAt().isBefore(LocalDateTime.now(clock).minusDays(MAX_BACKFILL_DAYS))) {
+            throw new FinTrackException(BAD_REQUEST.value(),
+                    "Start date must be within " + MAX_BACKFILL_DAYS + " days in the past");
+        }
+        var currentUser = userService.getCurrentUser();
+        var rule = RecurringTransactionRuleEntity.builder()
+                .user(currentUser)
+                .build();
+        apply(rule, request, currentUser.getId());
+        rule.setNextOccurrenceNo(0);
+        rule.setActive(isWithinEnd(rule));
+        return toDto(ruleRepository.saveAndFlush(rule), lang);
+    }
+
+    /**
+     * Если поменялось расписание (startAt, frequency, interval), оно продолжается с первого повторения
+     * нового расписания после max(сейчас, последнее проведённое повторение): прошлое задним числом
+     * не проводится. Ключ идемпотентности — правило + плановое время, и повторения нового расписания
+     * в прошлом не совпали бы с уже проведёнными, то есть стали бы дублями.
+     */
+    @Transactional
+    public RecurringTransactionResponseDto updateRule(Long id, RecurringTransactionRequestDto request, String lang) {
+        Long userId = userService.getCurrentUserId();
+        var rule = ruleRepository.findForUpdateByIdAndUserId(id, userId)
+                .orElseThrow(() -> new FinTrackException(NOT_FOUND.value(), "Recurring transaction not found"));
+        var previousStart = rule.getStartAt();
+        var previousFrequency = rule.getFrequency();
+        int previousInterval = rule.getIntervalCount();
+
+        apply(rule, request, userId);
+
+        if (!rule.getStartAt().equals(previousStart)
+                || rule.getFrequency() != previousFrequency
+                || rule.getIntervalCount() != previousInterval) {
+            LocalDateTime bound = LocalDateTime.now(clock);
+            var lastPosted = ruleRepository.findLastOccurrenceAt(rule.getId()).orElse(null);
+            if (lastPosted != null && lastPosted.isAfter(bound)) {
+                bound = lastPosted;
+            }
+            rule.setNextOccurrenceNo(rule.getFrequency()
+                    .firstOccurrenceAfter(rule.getStartAt(), rule.getIntervalCount(), bound));
+        }
+        rule.setActive(isWithinEnd(rule));
+        return toDto(ruleRepository.saveAndFlush(rule), lang);
+    }
+
+    /** Уже проведённые транзакции остаются. */
+    @Transactional
+    public void deleteRule(Long id) {
+        var rule = ruleRepository.findByIdAndUserId(id, userService.getCurrentUserId())
+                .orElseThrow(() -> new FinTrackException(NOT_FOUND.value(), "Recurring transaction not found"));
+        ruleRepository.delete(rule);
+    }
+
+    private void apply(RecurringTransactionRuleEntity rule, RecurringTransactionRequestDto request, Long userId) {
+        if (request.endAt() != null && request.endAt().isBefore(request.startAt())) {
+            throw new FinTrackException(BAD_REQUEST.value(), "End date is before start date");
+        }
+        var category = resolveCategory(request, userId);
+
+        rule.setCategory(category);
+        rule.setType(request.type());
+        rule.setAmount(request.amount());
+        rule.setComment(request.comment());
+        rule.setFrequency(request.frequency());
+        rule.setIntervalCount(request.interval() != null ? request.interval() : 1);
+        rule.setStartAt(request.startAt());
+        rule.setEndAt(request.endAt());
+    }
+
+    /** Как в RecurringTransactionJob: правило активно, пока следующее повторение не выходит за endAt. */
+    private static boolean isWithinEnd(RecurringTransactionRuleEntity rule) {
+        return rule.getEndAt() == null
+                || !rule.getFrequency()
+                .occurrenceAt(rule.getStartAt(), rule.getIntervalCount(), rule.getNextOccurrenceNo())
+                .isAfter(rule.getEndAt());
+    }
+
+    /** Правило проводит транзакции без участия пользователя, поэтому категория — только системная или своя. */
+    private TransactionCategoryEntity resolveCategory(RecurringTransactionRequestDto request, Long userId) {
+        var category = categoryRepository.findById(request.categoryId())
+                .filter(c -> c.isSystem() || (c.getUser() != null && userId.equals(c.getUser().getId())))
+                .orElseThrow(() -> new FinTrackException(BAD_REQUEST.value(), "Category not found"));
+        if (category.getType() != request.type()) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Category type does not match transaction type");
+        }
+        return category;
+    }
+
+    private static RecurringTransactionResponseDto toDto(RecurringTransactionRuleEntity rule, String lang) {
+        var category = rule.getCategory();
+        return new RecurringTransactionResponseDto(
+                rule.getId(),
+                rule.getAmount(),
+                rule.getType(),
+                new TransactionCategoryDto(
+                        category.getId(),
+                        TransactionMapper.localizedName(category.getNameRu(), category.getNameEn(), lang),
+                        category.getIcon(),
+                        category.getColor()
+                ),
+                rule.getComment(),
+                rule.getFrequency(),
+                rule.getIntervalCount(),
+                rule.getStartAt(),
+                rule.getEndAt(),
+                rule.getNextOccurrenceAt(),
+                rule.isActive()
+        );
+    }
+}
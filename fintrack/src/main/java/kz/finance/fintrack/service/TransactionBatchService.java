@@ -0,0 +1,190 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.dto.batch.TransactionBatchItemDto;
+import kz.finance.fintrack.dto.batch.TransactionBatchItemResultDto;
+import kz.finance.fintrack.dto.batch.TransactionBatchOperation;
+import kz.finance.fintrack.dto.batch.TransactionBatchRequestDto;
+import kz.finance.fintrack.dto.batch.TransactionBatchResultDto;
+import kz.finance.fintrack.exception.FinTrackException;
+import kz.finance.fintrack.mapper.TransactionMapper;
+import kz.finance.fintrack.model.TransactionCategoryEntity;
+import kz.finance.fintrack.model.TransactionEntity;
+import kz.finance.fintrack.model.UserEntity;
+import kz.finance.fintrack.repository.TransactionCategoryRepository;
+import kz.finance.fintrack.repository.TransactionRepository;
+import kz.finance.fintrack.utils.TransactionDateHorizon;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Применяет пачку операций над транзакциями (офлайн-очередь клиента) за один HTTP-запрос.
+ * <p>
+ * Категории и изменяемые транзакции загружаются двумя запросами на весь батч,
+ * запись идёт через saveAll/deleteAll с JDBC batching (hibernate.jdbc.batch_size).
+ * Ошибка в отдельной операции не откатывает остальные — она возвращается в результате по индексу.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionBatchService {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionCategoryRepository categoryRepository;
+    private final UserService userService;
+    private final TransactionMapper mapper;
+    private final TransactionRollupService rollupService;
+    private final Clock clock;
+
+    @Transactional
+    public TransactionBatchResultDto applyBatch(TransactionBatchRequestDto request) {
+        UserEntity currentUser = userService.getCurrentUser();
+        List<TransactionBatchItemDto> items = request.items();
+
+        Map<Long, TransactionCategoryEntity> categories = loadCategories(items);
+        Map<Long, TransactionEntity> existing = loadExisting(currentUser, items);
+        LocalDateTime horizon = TransactionDateHorizon.of(clock);
+
+        var results = new TransactionBatchItemResultDto[items.size()];
+        var saved = new LinkedHashMap<Integer, TransactionEntity>();
+        var touchedIds = new HashSet<Long>();
+        var toDelete = new ArrayList<TransactionEntity>();
+        var added = new ArrayList<TransactionRollupService.Snapshot>();
+        var removed = new ArrayList<TransactionRollupService.Snapshot>();
+
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            try {
+                switch (item.op()) {
+                    case CREATE -> {
+                        var category = resolveCategory(item, categories, horizon);
+                        var transaction = TransactionEntity.builder()
+                                .amount(item.amount())
+                                .date(item.date())
+                                .comment(item.comment())
+                                .type(item.type())
+                                .category(category)
+                                .user(currentUser)
+                                .build();
+                        saved.put(i, transaction);
+                    }
+                    case UPDATE -> {
+                        var transaction = requireExisting(item, existing, touchedIds);
+                        var category = resolveCategory(item, categories, horizon);
+                        removed.add(TransactionRollupService.Snapshot.of(transaction));
+
+                        transaction.setAmount(item.amount());
+                        transaction.setDate(item.date());
+                        transaction.setComment(item.comment());
+                        transaction.setType(item.type());
+                        transaction.setCategory(category);
+                        saved.put(i, transaction);
+                    }
+                    case DELETE -> {
+                        var transaction = requireExisting(item, existing, touchedIds);
+                        removed.add(TransactionRollupService.Snapshot.of(transaction));
+                        toDelete.add(transaction);
+                        results[i] = TransactionBatchItemResultDto.ok(i, item.op(), transaction.getId(), null);
+                    }
+                }
+            } catch (FinTrackException e) {
+                results[i] = TransactionBatchItemResultDto.failed(i, item.op(), item.id(), e.getMessage());
+            }
+        }
+
+        transactionRepository.saveAll(saved.values());
+        transactionRepository.deleteAll(toDelete);
+        // один flush: вставки/обновления/удаления уходят JDBC-батчами, id и аудит-поля уже заполнены
+        transactionRepository.flush();
+
+        saved.values().forEach(t -> added.add(TransactionRollupService.Snapshot.of(t)));
+        rollupService.applyAll(added, removed);
+
+        saved.forEach((i, t) -> results[i] = TransactionBatchItemResultDto.ok(
+                i, items.get(i).op(), t.getId(), mapper.toDto(t, request.lang())
+        ));
+
+        int failed = (int) Arrays.stream(results).filter(r -> !r.success()).count();
+        log.info("TX_BATCH user={} items={} failed={}", currentUser.getId(), items.size(), failed);
+
+        return new TransactionBatchResultDto(items.size() - failed, failed, List.of(results));
+    }
+
+    private Map<Long, TransactionCategoryEntity> loadCategories(List<TransactionBatchItemDto> items) {
+        var ids = items.stream()
+                .filter(i -> i.op() != TransactionBatchOperation.DELETE)
+                .map(TransactionBatchItemDto::categoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) return Map.of();
+
+        return categoryRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TransactionCategoryEntity::getId, Function.identity()));
+    }
+
+    private Map<Long, TransactionEntity> loadExisting(UserEntity user, List<TransactionBatchItemDto> items) {
+        var ids = items.stream()
+                .filter(i -> i.op() != TransactionBatchOperation.CREATE)
+                .map(TransactionBatchItemDto::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) return Map.of();
+
+        return transactionRepository.findAllByUserAndIdIn(user, ids).stream()
+                .collect(Collectors.toMap(TransactionEntity::getId, Function.identity()));
+    }
+
+    private static TransactionEntity requireExisting(
+            TransactionBatchItemDto item,
+            Map<Long, TransactionEntity> existing,
+            Set<Long> touchedIds
+    ) {
+        if (item.id() == null) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Transaction ID is required for " + item.op());
+        }
+        // одна транзакция — не более одной операции в батче, иначе дельты rollup задвоятся
+        if (!touchedIds.add(item.id())) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Duplicate transaction ID in batch");
+        }
+        var transaction = existing.get(item.id());
+        if (transaction == null) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Transaction not found");
+        }
+        return transaction;
+    }
+
+    private static TransactionCategoryEntity resolveCategory(
+            TransactionBatchItemDto item,
+            Map<Long, TransactionCategoryEntity> categories,
+            LocalDateTime horizon
+    ) {
+        if (item.amount() == null || item.date() == null || item.type() == null || item.categoryId() == null) {
+            throw new FinTrackException(BAD_REQUEST.value(), "amount, date, type and categoryId are required for " + item.op());
+        }
+        TransactionDateHorizon.require(item.date(), horizon);
+        var category = categories.get(item.categoryId());
+        if (category == null) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Category not found");
+        }
+        if (category.getType() != item.type()) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Category type does not match transaction type");
+        }
+        return category;
+    }
+}
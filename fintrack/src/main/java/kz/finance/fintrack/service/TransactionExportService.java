@@ -0,0 +1,126 @@
+package kz.finance.fintrack.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kz.finance.fintrack.dto.TransactionCategoryDto;
+import kz.finance.fintrack.dto.TransactionRawDto;
+import kz.finance.fintrack.dto.TransactionResponseDto;
+import kz.finance.fintrack.dto.export.TransactionExportFormat;
+import kz.finance.fintrack.mapper.TransactionMapper;
+import kz.finance.fintrack.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Потоковый экспорт всей истории транзакций пользователя в CSV / NDJSON.
+ * <p>
+ * Строки читаются forward-only курсором (fetchSize) в DTO-проекцию и сразу пишутся в ответ,
+ * поэтому память не зависит от объёма истории.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportService {
+
+    private static final String CSV_HEADER = "id,date,type,amount,category,comment,created_at,updated_at";
+    // BOM — чтобы Excel открывал UTF-8 (кириллицу в категориях) без ручного выбора кодировки
+    private static final char UTF8_BOM = '\uFEFF';
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionRepository transactionRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Пользователь определяется в потоке запроса: сам экспорт выполняется асинхронно,
+     * где SecurityContext уже недоступен.
+     */
+    public Long currentUserId() {
+        return userService.getCurrentUserId();
+    }
+
+    @Transactional(readOnly = true)
+    public long export(Long userId, TransactionExportFormat format, String lang, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8), BUFFER_SIZE);
+        long rows = 0;
+
+        try (Stream<TransactionRawDto> stream = transactionRepository.streamAllForExport(userId)) {
+            if (format == TransactionExportFormat.CSV) {
+                writer.write(UTF8_BOM);
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            Iterator<TransactionRawDto> it = stream.iterator();
+            while (it.hasNext()) {
+                TransactionRawDto t = it.next();
+                switch (format) {
+                    case CSV -> writeCsvRow(writer, t, lang);
+                    case NDJSON -> writer.write(objectMapper.writeValueAsString(toDto(t, lang)));
+                }
+                writer.write('\n');
+                rows++;
+            }
+        }
+
+        writer.flush();
+        log.info("TX_EXPORT user={} format={} rows={}", userId, format, rows);
+        return rows;
+    }
+
+    private static void writeCsvRow(Writer writer, TransactionRawDto t, String lang) throws IOException {
+        writer.write(String.valueOf(t.id()));
+        writer.write(',');
+        writer.write(String.valueOf(t.date()));
+        writer.write(',');
+        writer.write(t.type().name());
+        writer.write(',');
+        writer.write(t.amount().toPlainString());
+        writer.write(',');
+        writer.write(csv(TransactionMapper.localizedName(t.categoryNameRu(), t.categoryNameEn(), lang)));
+        writer.write(',');
+        writer.write(csv(t.comment()));
+        writer.write(',');
+        writer.write(t.createdAt() == null ? "" : t.createdAt().toString());
+        writer.write(',');
+        writer.write(t.updatedAt() == null ? "" : t.updatedAt().toString());
+    }
+
+    /** RFC 4180: поле в кавычках, если есть разделитель, кавычка или перевод строки. */
+    static String csv(String value) {
+        if (value == null) return "";
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    /** Та же форма, что и у {@link TransactionMapper#toDto(kz.finance.fintrack.model.TransactionEntity, String)}. */
+    private static TransactionResponseDto toDto(TransactionRawDto t, String lang) {
+        return new TransactionResponseDto(
+                t.id(),
+                t.amount(),
+                t.date(),
+                t.createdAt(),
+                t.updatedAt(),
+                t.comment(),
+                t.type(),
+                new TransactionCategoryDto(
+                        t.categoryId(),
+                        TransactionMapper.localizedName(t.categoryNameRu(), t.categoryNameEn(), lang),
+                        t.categoryIcon(),
+                        t.categoryColor()
+                )
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.repository.TransactionRepository;
+import kz.finance.fintrack.utils.TransactionDateHorizon;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Держит месячные партиции transaction на {@link #MONTHS_AHEAD} месяцев вперёд.
+ * Иначе строки нового месяца попадут в transaction_default, и при создании партиции их придётся переносить
+ * под ACCESS EXCLUSIVE на default (V15). Запас в несколько месяцев переживает дни, когда приложение не работало;
+ * V15 создаёт тот же запас при миграции. Даты дальше запаса API и импорт отклоняют ({@link TransactionDateHorizon}).
+ * transaction_ensure_partitions идемпотентна и сериализована advisory-локом.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionPartitionMaintenanceJob {
+
+    static final int MONTHS_AHEAD = TransactionDateHorizon.PARTITION_MONTHS_AHEAD;
+
+    private final TransactionRepository transactionRepository;
+
+    @Scheduled(cron = "0 0 3 * * *", zone = "Asia/Almaty")
+    @Transactional
+    public void ensurePartitions() {
+        int created = transactionRepository.ensurePartitions(MONTHS_AHEAD);
+        if (created > 0) {
+            log.info("Created {} transaction partitions", created);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.model.TransactionEntity;
+import kz.finance.fintrack.model.TransactionType;
+import kz.finance.fintrack.repository.TransactionDailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Поддерживает transaction_daily_rollup в актуальном состоянии.
+ * Вызывается внутри той же транзакции, что и изменение строки в transaction,
+ * поэтому агрегат и сырые данные коммитятся/откатываются вместе.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionRollupService {
+
+    private final TransactionDailyRollupRepository rollupRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Snapshot s) {
+        apply(s, s.amount(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Snapshot s) {
+        apply(s, s.amount().negate(), -1);
+    }
+
+    /** Обновление = вычесть старое состояние и прибавить новое (день/категория/тип могли смениться). */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replace(Snapshot before, Snapshot after) {
+        if (before.sameBucket(after)) {
+            BigDecimal diff = after.amount().subtract(before.amount());
+            if (diff.signum() != 0) apply(after, diff, 0);
+            return;
+        }
+        remove(before);
+        add(after);
+    }
+
+    /**
+     * Пакетный вариант для батч-операций: дельты одного бакета (user, day, category, type)
+     * схлопываются, поэтому upsert выполняется один раз на бакет, а не на транзакцию.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(Collection<Snapshot> added, Collection<Snapshot> removed) {
+        Map<Bucket, Delta> deltas = new LinkedHashMap<>();
+        added.forEach(s -> deltas.merge(s.bucket(), new Delta(s.amount(), 1), Delta::plus));
+        removed.forEach(s -> deltas.merge(s.bucket(), new Delta(s.amount().negate(), -1), Delta::plus));
+
+        deltas.forEach((b, d) -> {
+            if (d.amount().signum() == 0 && d.count() == 0) return;
+            rollupRepository.applyDelta(b.userId(), b.day(), b.categoryId(), b.type().name(), d.amount(), d.count());
+        });
+    }
+
+    private void apply(Snapshot s, BigDecimal amount, long count) {
+        rollupRepository.applyDelta(s.userId(), s.day(), s.categoryId(), s.type().name(), amount, count);
+    }
+
+    /** Минимальный слепок транзакции, достаточный для агрегата. Снимается до изменения сущности. */
+    public record Snapshot(Long userId, LocalDate day, Long categoryId, TransactionType type, BigDecimal amount) {
+
+        public static Snapshot of(TransactionEntity t) {
+            return new Snapshot(
+                    t.getUser().getId(),
+                    t.getDate().toLocalDate(),
+                    t.getCategory().getId(),
+                    t.getType(),
+                    t.getAmount()
+            );
+        }
+
+        boolean sameBucket(Snapshot other) {
+            return bucket().equals(other.bucket());
+        }
+
+        Bucket bucket() {
+            return new Bucket(userId, day, categoryId, type);
+        }
+    }
+
+    private record Bucket(Long userId, LocalDate day, Long categoryId, TransactionType type) {}
+
+    private record Delta(BigDecimal amount, long count) {
+        Delta plus(Delta other) {
+            return new Delta(amount.add(other.amount), count + other.count);
+        }
+    }
+}
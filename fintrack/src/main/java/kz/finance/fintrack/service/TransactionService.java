@@ -3,6 +3,7 @@ package kz.finance.fintrack.service;
 import kz.finance.fintrack.dto.PeriodType;
 import kz.finance.fintrack.dto.TransactionRequestDto;
 import kz.finance.fintrack.dto.TransactionResponseDto;
+import kz.finance.fintrack.dto.TransactionSliceDto;
 import kz.finance.fintrack.exception.FinTrackException;
 import kz.finance.fintrack.mapper.TransactionMapper;
 import kz.finance.fintrack.model.TransactionEntity;
@@ -11,16 +12,21 @@ import kz.finance.fintrack.model.UserEntity;
 import kz.finance.fintrack.repository.TransactionCategoryRepository;
 import kz.finance.fintrack.repository.TransactionRepository;
 import kz.finance.fintrack.utils.DateRangeResolver;
+import kz.finance.fintrack.utils.TransactionDateHorizon;
+import kz.finance.fintrack.utils.TransactionCursor;
 import kz.finance.fintrack.utils.TransactionSpecificationUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 
@@ -29,10 +35,14 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 @Slf4j
 public class TransactionService {
 
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
     private final TransactionRepository transactionRepository;
     private final TransactionCategoryRepository categoryRepository;
     private final UserService userService;
     private final TransactionMapper mapper;
+    private final TransactionRollupService rollupService;
+    private final Clock clock;
 
     public Page<TransactionResponseDto> getUserTransactionsWithFilters(
             TransactionType type,
@@ -47,26 +57,53 @@ public class TransactionService {
             Pageable pageable
     ) {
         UserEntity currentUser = userService.getCurrentUser();
+        var spec = buildFilterSpec(currentUser, type, categoryId, periodType, year, month, day, dateFrom, dateTo);
 
-        Specification<TransactionEntity> spec = Specification.where(TransactionSpecificationUtil.userEquals(currentUser));
+        return transactionRepository.findAll(spec, pageable)
+                .map(transaction -> mapper.toDto(transaction, lang));
+    }
 
-        if (type != null) {
-            spec = spec.and(TransactionSpecificationUtil.typeEquals(type));
-        }
-        if (categoryId != null) {
-            spec = spec.and(TransactionSpecificationUtil.categoryEquals(categoryId));
-        }
+    /**
+     * Keyset-пагинация по (date DESC, id DESC): без OFFSET и без count(*),
+     * стоимость страницы не зависит от глубины прокрутки.
+     */
+    @Transactional(readOnly = true)
+    public TransactionSliceDto getUserTransactionsSlice(
+            TransactionType type,
+            Long categoryId,
+            PeriodType periodType,
+            Integer year,
+            Integer month,
+            Integer day,
+            LocalDateTime dateFrom,
+            LocalDateTime dateTo,
+            String cursor,
+            int size,
+            String lang
+    ) {
+        UserEntity currentUser = userService.getCurrentUser();
+        var spec = buildFilterSpec(currentUser, type, categoryId, periodType, year, month, day, dateFrom, dateTo);
 
-        // Используем DateRangeResolver только если periodType задан
-        if (periodType != null) {
-            var range = DateRangeResolver.resolve(periodType, year, month, day);
-            spec = spec.and(TransactionSpecificationUtil.dateBetween(range.start(), range.end()));
-        } else if (dateFrom != null || dateTo != null) {
-            spec = spec.and(TransactionSpecificationUtil.dateBetween(dateFrom, dateTo));
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(TransactionSpecificationUtil.after(TransactionCursor.decode(cursor)));
         }
 
-        return transactionRepository.findAll(spec, pageable)
-                .map(transaction -> mapper.toDto(transaction, lang));
+        // берём на одну строку больше, чтобы узнать, есть ли следующая страница
+        List<TransactionEntity> rows = transactionRepository.findBy(spec, q -> q
+                .sortBy(KEYSET_SORT)
+                .project("category")
+                .limit(size + 1)
+                .all());
+
+        boolean hasNext = rows.size() > size;
+        List<TransactionEntity> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? TransactionCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        return new TransactionSliceDto(
+                page.stream().map(t -> mapper.toDto(t, lang)).toList(),
+                nextCursor,
+                hasNext
+        );
     }
 
     @Transactional
@@ -78,6 +115,7 @@ public class TransactionService {
         if (category.getType() != request.type()) {
             throw new FinTrackException(BAD_REQUEST.value(), "Category type does not match transaction type");
         }
+        TransactionDateHorizon.require(request.date(), TransactionDateHorizon.of(clock));
 
         var transaction = TransactionEntity.builder()
                 .amount(request.amount())
@@ -88,7 +126,10 @@ public class TransactionService {
                 .user(currentUser)
                 .build();
 
-        return mapper.toDto(transactionRepository.save(transaction), request.lang());
+        var saved = transactionRepository.save(transaction);
+        rollupService.add(TransactionRollupService.Snapshot.of(saved));
+
+        return mapper.toDto(saved, request.lang());
     }
 
     @Transactional
@@ -107,6 +148,9 @@ public class TransactionService {
         if (category.getType() != request.type()) {
             throw new FinTrackException(BAD_REQUEST.value(), "Category type does not match transaction type");
         }
+        TransactionDateHorizon.require(request.date(), TransactionDateHorizon.of(clock));
+
+        var before = TransactionRollupService.Snapshot.of(transaction);
 
         transaction.setAmount(request.amount());
         transaction.setDate(request.date());
@@ -114,7 +158,10 @@ public class TransactionService {
         transaction.setType(request.type());
         transaction.setCategory(category);
 
-        return mapper.toDto(transactionRepository.save(transaction), request.lang());
+        var saved = transactionRepository.save(transaction);
+        rollupService.replace(before, TransactionRollupService.Snapshot.of(saved));
+
+        return mapper.toDto(saved, request.lang());
     }
 
     public TransactionResponseDto getTransactionById(Long id, String lang) {
@@ -129,6 +176,38 @@ public class TransactionService {
         UserEntity currentUser = userService.getCurrentUser();
         var transaction = transactionRepository.findByIdAndUser(id, currentUser)
                 .orElseThrow(() -> new FinTrackException(BAD_REQUEST.value(), "Transaction not found"));
+        rollupService.remove(TransactionRollupService.Snapshot.of(transaction));
         transactionRepository.delete(transaction);
     }
-} 
\ No newline at end of file
+
+    private Specification<TransactionEntity> buildFilterSpec(
+            UserEntity currentUser,
+            TransactionType type,
+            Long categoryId,
+            PeriodType periodType,
+            Integer year,
+            Integer month,
+            Integer day,
+            LocalDateTime dateFrom,
+            LocalDateTime dateTo
+    ) {
+        Specification<TransactionEntity> spec = Specification.where(TransactionSpecificationUtil.userEquals(currentUser));
+
+        if (type != null) {
+            spec = spec.and(TransactionSpecificationUtil.typeEquals(type));
+        }
+        if (categoryId != null) {
+            spec = spec.and(TransactionSpecificationUtil.categoryEquals(categoryId));
+        }
+
+        // Используем DateRangeResolver только если periodType задан
+        if (periodType != null) {
+            var range = DateRangeResolver.resolve(periodType, year, month, day);
+            spec = spec.and(TransactionSpecificationUtil.dateBetween(range.start(), range.end()));
+        } else if (dateFrom != null || dateTo != null) {
+            spec = spec.and(TransactionSpecificationUtil.dateBetween(dateFrom, dateTo));
+        }
+
+        return spec;
+    }
+}
@@ -0,0 +1,85 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.dto.TransactionResponseDto;
+import kz.finance.fintrack.dto.sync.TransactionChangeRawDto;
+import kz.finance.fintrack.dto.sync.TransactionChangesDto;
+import kz.finance.fintrack.mapper.TransactionMapper;
+import kz.finance.fintrack.model.TransactionEntity;
+import kz.finance.fintrack.model.UserEntity;
+import kz.finance.fintrack.repository.TransactionRepository;
+import kz.finance.fintrack.utils.TransactionSyncToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync транзакций: отдаёт только вставки/изменения/удаления после токена клиента.
+ * Позиции изменений проставляют триггеры БД (см. V11__transaction_change_tracking.sql).
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionSyncService {
+
+    /** Сколько храним tombstone-ы. Токен старше — клиент получает fullResync. */
+    public static final Duration TOMBSTONE_RETENTION = Duration.ofDays(90);
+
+    private final TransactionRepository transactionRepository;
+    private final UserService userService;
+    private final TransactionMapper mapper;
+    private final Clock clock;
+
+    @Transactional(readOnly = true)
+    public TransactionChangesDto getChanges(String since, int limit, String lang) {
+        UserEntity currentUser = userService.getCurrentUser();
+        Instant now = Instant.now(clock);
+
+        TransactionSyncToken from;
+        boolean fullResync;
+        if (since == null || since.isBlank()) {
+            from = TransactionSyncToken.initial(now);
+            fullResync = true;
+        } else {
+            from = TransactionSyncToken.decode(since);
+            fullResync = from.issuedAt().isBefore(now.minus(TOMBSTONE_RETENTION));
+            if (fullResync) from = TransactionSyncToken.initial(now);
+        }
+        boolean initial = from.xid() == 0 && from.seq() == 0;
+
+        // tombstone-ы при выгрузке с нуля не нужны: у клиента ещё нечего удалять
+        List<TransactionChangeRawDto> rows = transactionRepository.findChangesAfter(
+                currentUser.getId(), from.xid(), from.seq(), !initial, limit + 1
+        );
+        boolean hasMore = rows.size() > limit;
+        List<TransactionChangeRawDto> page = hasMore ? rows.subList(0, limit) : rows;
+
+        List<Long> upsertIds = page.stream().filter(r -> !r.deleted()).map(TransactionChangeRawDto::transactionId).toList();
+        List<Long> deletedIds = page.stream().filter(TransactionChangeRawDto::deleted).map(TransactionChangeRawDto::transactionId).toList();
+
+        Map<Long, TransactionEntity> entities = upsertIds.isEmpty()
+                ? Map.of()
+                : transactionRepository.findAllByUserAndIdIn(currentUser, upsertIds).stream()
+                        .collect(Collectors.toMap(TransactionEntity::getId, Function.identity()));
+
+        // порядок ленты сохраняем; строка могла исчезнуть между запросами — её удаление придёт следующей синхронизацией
+        List<TransactionResponseDto> upserted = upsertIds.stream()
+                .map(entities::get)
+                .filter(Objects::nonNull)
+                .map(t -> mapper.toDto(t, lang))
+                .toList();
+
+        TransactionSyncToken next = page.isEmpty()
+                ? new TransactionSyncToken(from.xid(), from.seq(), now)
+                : new TransactionSyncToken(page.get(page.size() - 1).xid(), page.get(page.size() - 1).seq(), now);
+
+        return new TransactionChangesDto(upserted, deletedIds, next.encode(), hasMore, fullResync);
+    }
+}
@@ -0,0 +1,27 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionTombstoneCleanupJob {
+
+    private final TransactionRepository transactionRepository;
+
+    @Scheduled(cron = "0 30 3 * * *", zone = "Asia/Almaty")
+    @Transactional
+    public void cleanup() {
+        int deleted = transactionRepository.deleteTombstonesOlderThan(
+                Instant.now().minus(TransactionSyncService.TOMBSTONE_RETENTION)
+        );
+        log.info("Deleted {} transaction tombstones", deleted);
+    }
+}
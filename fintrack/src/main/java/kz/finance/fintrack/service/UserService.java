@@ -1,9 +1,12 @@
 package kz.finance.fintrack.service;
 
+import jakarta.persistence.EntityManager;
+import kz.finance.fintrack.config.JwtPrincipal;
 import kz.finance.fintrack.model.UserEntity;
 import kz.finance.fintrack.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,6 +17,7 @@ import org.springframework.stereotype.Service;
 public class UserService {
 
     private final UserRepository repository;
+    private final EntityManager entityManager;
 
     public UserEntity getByLogin(String userName) {
         return repository.findByUsername(userName)
@@ -29,14 +33,38 @@ public class UserService {
        return null;
     }
 
+    /**
+     * Текущий пользователь. Если в токене есть uid — возвращается ссылка (getReference) без запроса в БД:
+     * для фильтров по пользователю и связей этого достаточно, остальные поля догружаются при первом обращении.
+     */
     public UserEntity getCurrentUser() {
+        Long userId = currentUserIdFromToken();
+        if (userId != null) {
+            return entityManager.getReference(UserEntity.class, userId);
+        }
+        return getByLogin(requireLogin());
+    }
+
+    public Long getCurrentUserId() {
+        Long userId = currentUserIdFromToken();
+        return userId != null ? userId : getByLogin(requireLogin()).getId();
+    }
+
+    private String requireLogin() {
         String login = getCurrentLogin();
 
         if (login == null || "anonymousUser".equals(login)) {
             throw new IllegalStateException("Unauthenticated user");
         }
+        return login;
+    }
 
-        return getByLogin(login);
+    private static Long currentUserIdFromToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.userId();
+        }
+        return null;
     }
 
-}
\ No newline at end of file
+}
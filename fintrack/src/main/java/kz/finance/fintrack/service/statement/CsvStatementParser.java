@@ -0,0 +1,148 @@
+package kz.finance.fintrack.service.statement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV-выписка с заголовком. Обязательные колонки — дата и сумма, остальные опциональны;
+ * разделитель (',', ';' или таб) определяется по строке заголовка. Поля в кавычках — по RFC 4180.
+ */
+public class CsvStatementParser implements StatementParser {
+
+    private static final Map<String, String> HEADER_ALIASES = Map.ofEntries(
+            Map.entry("date", "date"), Map.entry("дата", "date"),
+            Map.entry("amount", "amount"), Map.entry("сумма", "amount"),
+            Map.entry("description", "description"), Map.entry("comment", "description"),
+            Map.entry("описание", "description"), Map.entry("комментарий", "description"),
+            Map.entry("type", "type"), Map.entry("тип", "type"),
+            Map.entry("category", "category"), Map.entry("категория", "category")
+    );
+
+    @Override
+    public void parse(Reader reader, Handler handler) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+
+        in.mark(8192);
+        String firstLine = in.readLine();
+        if (firstLine == null) return;
+        in.reset();
+        // BOM из выгрузок Excel/банков не должен попасть в имя первой колонки
+        in.mark(1);
+        if (in.read() != '\uFEFF') in.reset();
+
+        var records = new RecordReader(in, detectDelimiter(firstLine));
+        List<String> header = records.next();
+        int date = -1, amount = -1, description = -1, type = -1, category = -1;
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            switch (HEADER_ALIASES.getOrDefault(name, "")) {
+                case "date" -> date = i;
+                case "amount" -> amount = i;
+                case "description" -> description = i;
+                case "type" -> type = i;
+                case "category" -> category = i;
+                default -> { /* лишние колонки банка игнорируем */ }
+            }
+        }
+        if (date < 0 || amount < 0) {
+            throw new IllegalArgumentException("CSV header must contain date and amount columns");
+        }
+
+        int lineNo = 1;
+        List<String> fields;
+        while ((fields = records.next()) != null) {
+            lineNo++;
+            if (fields.size() == 1 && fields.get(0).isBlank()) continue;
+            try {
+                handler.onRow(new StatementRow(
+                        lineNo,
+                        StatementValues.parseDate(field(fields, date)),
+                        StatementValues.parseAmount(field(fields, amount)),
+                        blankToNull(field(fields, description)),
+                        StatementValues.parseType(field(fields, type)),
+                        blankToNull(field(fields, category))
+                ));
+            } catch (IllegalArgumentException e) {
+                handler.onError(lineNo, e.getMessage());
+            }
+        }
+    }
+
+    private static char detectDelimiter(String headerLine) {
+        long commas = headerLine.chars().filter(c -> c == ',').count();
+        long semicolons = headerLine.chars().filter(c -> c == ';').count();
+        long tabs = headerLine.chars().filter(c -> c == '\t').count();
+        if (tabs > commas && tabs > semicolons) return '\t';
+        return semicolons > commas ? ';' : ',';
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /** Читает по одной записи; кавычки могут содержать разделители и переводы строк. */
+    private static final class RecordReader {
+        private final BufferedReader in;
+        private final char delimiter;
+        private boolean eof;
+
+        RecordReader(BufferedReader in, char delimiter) {
+            this.in = in;
+            this.delimiter = delimiter;
+        }
+
+        List<String> next() throws IOException {
+            if (eof) return null;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+
+            int c;
+            while ((c = in.read()) != -1) {
+                any = true;
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        in.mark(1);
+                        int nextChar = in.read();
+                        if (nextChar == '"') {
+                            current.append('"');
+                        } else {
+                            quoted = false;
+                            if (nextChar != -1) in.reset();
+                        }
+                    } else {
+                        current.append(ch);
+                    }
+                } else if (ch == '"' && current.isEmpty()) {
+                    quoted = true;
+                } else if (ch == delimiter) {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else if (ch == '\n') {
+                    break;
+                } else if (ch != '\r') {
+                    current.append(ch);
+                }
+            }
+
+            if (c == -1) {
+                eof = true;
+                if (!any) return null;
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package kz.finance.fintrack.service.statement;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+import java.util.Scanner;
+
+/**
+ * OFX/QFX-выписка (SGML 1.x и XML 2.x): читается по тегам, каждая &lt;STMTTRN&gt; — одна операция.
+ * Знак TRNAMT определяет приход/расход, описание — NAME и MEMO.
+ */
+public class OfxStatementParser implements StatementParser {
+
+    @Override
+    public void parse(Reader reader, Handler handler) throws IOException {
+        Scanner tags = new Scanner(reader).useDelimiter("<");
+
+        int index = 0;
+        Transaction current = null;
+        while (tags.hasNext()) {
+            String token = tags.next();
+            int close = token.indexOf('>');
+            if (close < 0) continue; // заголовок OFX до первого тега
+
+            String tag = token.substring(0, close).trim().toUpperCase(Locale.ROOT);
+            String value = unescape(token.substring(close + 1).trim());
+
+            if (tag.equals("STMTTRN")) {
+                current = new Transaction(++index);
+            } else if (tag.equals("/STMTTRN") && current != null) {
+                emit(current, handler);
+                current = null;
+            } else if (current != null) {
+                switch (tag) {
+                    case "DTPOSTED" -> current.date = value;
+                    case "TRNAMT" -> current.amount = value;
+                    case "NAME" -> current.name = value;
+                    case "MEMO" -> current.memo = value;
+                    default -> { /* FITID, TRNTYPE и прочие теги не нужны */ }
+                }
+            }
+        }
+
+        if (tags.ioException() != null) throw tags.ioException();
+    }
+
+    private static void emit(Transaction t, Handler handler) {
+        try {
+            handler.onRow(new StatementRow(
+                    t.index,
+                    StatementValues.parseOfxDate(t.date),
+                    StatementValues.parseAmount(t.amount),
+                    t.description(),
+                    null,
+                    null
+            ));
+        } catch (IllegalArgumentException e) {
+            handler.onError(t.index, e.getMessage());
+        }
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('&') < 0) return value;
+        return value.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&apos;", "'")
+                .replace("&amp;", "&");
+    }
+
+    private static final class Transaction {
+        private final int index;
+        private String date;
+        private String amount;
+        private String name;
+        private String memo;
+
+        Transaction(int index) {
+            this.index = index;
+        }
+
+        String description() {
+            boolean hasName = name != null && !name.isBlank();
+            boolean hasMemo = memo != null && !memo.isBlank() && !memo.equals(name);
+            if (hasName && hasMemo) return name + " — " + memo;
+            if (hasName) return name;
+            return hasMemo ? memo : null;
+        }
+    }
+}
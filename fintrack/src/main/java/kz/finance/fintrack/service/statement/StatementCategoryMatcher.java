@@ -0,0 +1,95 @@
+package kz.finance.fintrack.service.statement;
+
+import kz.finance.fintrack.dto.statement.StatementCategoryRuleDto;
+import kz.finance.fintrack.dto.statement.StatementImportOptionsDto;
+import kz.finance.fintrack.exception.FinTrackException;
+import kz.finance.fintrack.model.TransactionCategoryEntity;
+import kz.finance.fintrack.model.TransactionType;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Подбор категории для строки выписки. Порядок:
+ * колонка category (по nameRu/nameEn) → первое подходящее правило по описанию → категория по умолчанию для типа.
+ * Учитываются только категории, доступные пользователю, и только того же типа, что и операция.
+ */
+public class StatementCategoryMatcher {
+
+    private final Map<TransactionType, Map<String, Long>> byName = new EnumMap<>(TransactionType.class);
+    private final List<Rule> rules;
+    private final Map<TransactionType, Long> defaults = new EnumMap<>(TransactionType.class);
+
+    public StatementCategoryMatcher(Collection<TransactionCategoryEntity> available, StatementImportOptionsDto options) {
+        Map<Long, TransactionCategoryEntity> byId = available.stream()
+                .collect(Collectors.toMap(TransactionCategoryEntity::getId, Function.identity()));
+
+        // пользовательские категории приоритетнее системных с тем же названием
+        available.stream()
+                .sorted((a, b) -> Boolean.compare(a.isSystem(), b.isSystem()))
+                .forEach(c -> {
+                    var names = byName.computeIfAbsent(c.getType(), t -> new HashMap<>());
+                    if (c.getNameRu() != null) names.putIfAbsent(normalize(c.getNameRu()), c.getId());
+                    if (c.getNameEn() != null) names.putIfAbsent(normalize(c.getNameEn()), c.getId());
+                });
+
+        List<StatementCategoryRuleDto> requested = options.rules() == null ? List.of() : options.rules();
+        this.rules = requested.stream()
+                .map(r -> new Rule(normalize(r.contains()), require(byId, r.categoryId())))
+                .toList();
+
+        putDefault(byId, options.defaultExpenseCategoryId(), TransactionType.EXPENSE);
+        putDefault(byId, options.defaultIncomeCategoryId(), TransactionType.INCOME);
+    }
+
+    /** id категории или null, если подобрать не удалось. */
+    public Long match(StatementRow row, TransactionType type) {
+        if (row.categoryName() != null) {
+            Long id = byName.getOrDefault(type, Map.of()).get(normalize(row.categoryName()));
+            if (id != null) return id;
+        }
+
+        if (row.description() != null) {
+            String description = normalize(row.description());
+            for (Rule rule : rules) {
+                if (rule.category().getType() == type && description.contains(rule.contains())) {
+                    return rule.category().getId();
+                }
+            }
+        }
+
+        return defaults.get(type);
+    }
+
+    private void putDefault(Map<Long, TransactionCategoryEntity> byId, Long categoryId, TransactionType type) {
+        if (categoryId == null) return;
+        var category = require(byId, categoryId);
+        if (category.getType() != type) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Category type does not match transaction type");
+        }
+        defaults.put(type, categoryId);
+    }
+
+    private static TransactionCategoryEntity require(Map<Long, TransactionCategoryEntity> byId, Long categoryId) {
+        var category = byId.get(categoryId);
+        if (category == null) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Category not found");
+        }
+        return category;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Rule(String contains, TransactionCategoryEntity category) {
+    }
+}
@@ -0,0 +1,50 @@
+package kz.finance.fintrack.service.statement;
+
+import kz.finance.fintrack.repository.TransactionImportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Закрывает брошенные задачи импорта: процесс перезапустился или поток воркера умер, пока задача была
+ * PENDING / RUNNING. Такая задача переводится в FAILED, её staging удаляется, и пользователь
+ * может запустить импорт заново.
+ * <p>
+ * {@link #STALE_AFTER} с запасом перекрывает разбор одной пачки. Задачи, которые ждут в очереди пула
+ * {@link StatementImportService}, heartbeat не обновляют — это делает сам reaper перед поиском брошенных,
+ * поэтому их не закрывает ни этот инстанс, ни reaper соседнего.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatementImportReaper {
+
+    static final Duration STALE_AFTER = Duration.ofMinutes(15);
+    static final String STALE_ERROR = "Import was interrupted, please upload the file again";
+
+    private final TransactionImportJobRepository jobRepository;
+    private final StatementImportService importService;
+    private final Clock clock;
+
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    @Transactional
+    public void reap() {
+        Instant now = clock.instant();
+        List<Long> queued = importService.queuedJobIds();
+        if (!queued.isEmpty()) {
+            jobRepository.touchQueued(queued, now);
+        }
+        List<Long> failed = jobRepository.failStale(now.minus(STALE_AFTER), now, STALE_ERROR);
+        failed.forEach(jobRepository::deleteStaging);
+        if (!failed.isEmpty()) {
+            log.warn("TX_IMPORT reaped stale jobs={}", failed);
+        }
+    }
+}
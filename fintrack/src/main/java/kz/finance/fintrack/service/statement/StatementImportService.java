@@ -0,0 +1,182 @@
+package kz.finance.fintrack.service.statement;
+
+import jakarta.annotation.PreDestroy;
+import kz.finance.fintrack.dto.statement.StatementImportOptionsDto;
+import kz.finance.fintrack.dto.statement.TransactionImportJobDto;
+import kz.finance.fintrack.exception.FinTrackException;
+import kz.finance.fintrack.model.TransactionCategoryEntity;
+import kz.finance.fintrack.model.TransactionImportFormat;
+import kz.finance.fintrack.model.TransactionImportJobEntity;
+import kz.finance.fintrack.model.TransactionImportStatus;
+import kz.finance.fintrack.model.TransactionType;
+import kz.finance.fintrack.repository.TransactionCategoryRepository;
+import kz.finance.fintrack.repository.TransactionImportJobRepository;
+import kz.finance.fintrack.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+/**
+ * Импорт банковских выписок: принимает файл, создаёт задачу и отдаёт её в фоновый пул.
+ * Ход выполнения — через {@link #getStatus(Long)}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatementImportService {
+
+    /** Параллельно не больше двух импортов: каждый держит по соединению на время своих пачек. */
+    private static final int IMPORT_THREADS = 2;
+    /** Сверх очереди импорт отклоняется: ожидающая задача держит временный файл на диске. */
+    static final int IMPORT_QUEUE_CAPACITY = 8;
+
+    private final TransactionImportJobRepository jobRepository;
+    private final TransactionCategoryRepository categoryRepository;
+    private final UserService userService;
+    private final StatementImportWorker worker;
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            IMPORT_THREADS, IMPORT_THREADS, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(IMPORT_QUEUE_CAPACITY), r -> {
+        Thread t = new Thread(r, "statement-import");
+        t.setDaemon(true);
+        return t;
+    });
+    /** Задачи в очереди пула, ещё не взятые потоком: их heartbeat обновляет {@link StatementImportReaper}. */
+    private final Set<Long> queuedJobs = ConcurrentHashMap.newKeySet();
+
+    public TransactionImportJobDto startImport(MultipartFile file, StatementImportOptionsDto options) {
+        if (file == null || file.isEmpty()) {
+            throw new FinTrackException(BAD_REQUEST.value(), "File is empty");
+        }
+        Long userId = userService.getCurrentUserId();
+        // быстрый отказ до копирования файла; гонку двух запросов решает ux_transaction_import_job_user_active
+        if (jobRepository.existsByUserIdAndStatusIn(userId, StatementImportWorker.ACTIVE)) {
+            throw new FinTrackException(CONFLICT.value(), "Import is already in progress");
+        }
+
+        var opts = options != null ? options : new StatementImportOptionsDto(null, null, null, List.of());
+        var format = opts.format() != null ? opts.format() : detectFormat(file.getOriginalFilename());
+        // правила проверяются до приёма файла: неизвестная категория — сразу 400
+        var matcher = new StatementCategoryMatcher(availableCategories(userId), opts);
+
+        Path tempFile = saveToTempFile(file);
+
+        var job = new TransactionImportJobEntity();
+        job.setUserId(userId);
+        job.setFormat(format);
+        job.setFileName(file.getOriginalFilename());
+        try {
+            job = jobRepository.saveAndFlush(job);
+        } catch (DataIntegrityViolationException race) {
+            deleteQuietly(tempFile);
+            throw new FinTrackException(CONFLICT.value(), "Import is already in progress");
+        }
+
+        Long jobId = job.getId();
+        queuedJobs.add(jobId);
+        try {
+            executor.execute(() -> {
+                queuedJobs.remove(jobId);
+                worker.run(jobId, userId, tempFile, format, matcher);
+            });
+        } catch (RejectedExecutionException e) {
+            queuedJobs.remove(jobId);
+            deleteQuietly(tempFile);
+            job.setStatus(TransactionImportStatus.FAILED);
+            job.setError("Import queue is full");
+            job.setFinishedAt(Instant.now());
+            jobRepository.save(job);
+            log.warn("TX_IMPORT rejected job={} user={}: queue is full", jobId, userId);
+            throw new FinTrackException(TOO_MANY_REQUESTS.value(), "Too many imports in progress, try again later");
+        }
+
+        log.info("TX_IMPORT queued job={} user={} format={} size={}", jobId, userId, format, file.getSize());
+        return toDto(job);
+    }
+
+    public TransactionImportJobDto getStatus(Long jobId) {
+        return jobRepository.findByIdAndUserId(jobId, userService.getCurrentUserId())
+                .map(StatementImportService::toDto)
+                .orElseThrow(() -> new FinTrackException(NOT_FOUND.value(), "Import job not found"));
+    }
+
+    /** Задачи этого инстанса, которые ждут свободного потока. */
+    List<Long> queuedJobIds() {
+        return List.copyOf(queuedJobs);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private List<TransactionCategoryEntity> availableCategories(Long userId) {
+        var categories = new ArrayList<>(categoryRepository.findByUserOrSystemAndType(TransactionType.EXPENSE, userId));
+        categories.addAll(categoryRepository.findByUserOrSystemAndType(TransactionType.INCOME, userId));
+        return categories;
+    }
+
+    /** multipart-файл удаляется после ответа, поэтому для фоновой обработки копируем его. */
+    private static Path saveToTempFile(MultipartFile file) {
+        try {
+            Path tempFile = Files.createTempFile("statement-import-", ".tmp");
+            file.transferTo(tempFile);
+            return tempFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("TX_IMPORT temp file not deleted: {}", file, e);
+        }
+    }
+
+    static TransactionImportFormat detectFormat(String fileName) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ofx") || name.endsWith(".qfx")) return TransactionImportFormat.OFX;
+        if (name.endsWith(".csv") || name.endsWith(".txt")) return TransactionImportFormat.CSV;
+        throw new FinTrackException(BAD_REQUEST.value(), "Unsupported statement format, specify format explicitly");
+    }
+
+    private static TransactionImportJobDto toDto(TransactionImportJobEntity job) {
+        return new TransactionImportJobDto(
+                job.getId(),
+                job.getStatus(),
+                job.getFormat(),
+                job.getFileName(),
+                job.getParsedRows(),
+                job.getSkippedRows(),
+                job.getImportedRows(),
+                job.getError(),
+                job.getCreatedAt(),
+                job.getUpdatedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
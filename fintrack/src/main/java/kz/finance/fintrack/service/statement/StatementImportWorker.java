@@ -0,0 +1,203 @@
+package kz.finance.fintrack.service.statement;
+
+import kz.finance.fintrack.dto.statement.StagedTransactionRow;
+import kz.finance.fintrack.model.TransactionImportFormat;
+import kz.finance.fintrack.model.TransactionImportJobEntity;
+import kz.finance.fintrack.model.TransactionImportStatus;
+import kz.finance.fintrack.model.TransactionType;
+import kz.finance.fintrack.repository.TransactionImportJobRepository;
+import kz.finance.fintrack.utils.TransactionDateHorizon;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Выполняет задачу импорта выписки вне HTTP-запроса.
+ * <p>
+ * Файл читается потоково, строки копятся пачками по {@link #CHUNK_SIZE} и грузятся в staging через COPY —
+ * каждая пачка в своей короткой транзакции вместе с прогрессом задачи, чтобы соединение из пула
+ * не удерживалось на всё время разбора. В конце staging переносится в transaction одним запросом.
+ * <p>
+ * Каждая транзакция сначала блокирует задачу и обновляет heartbeat. Если задача уже не активна
+ * (её закрыл {@link StatementImportReaper}), импорт прекращается.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatementImportWorker {
+
+    static final int CHUNK_SIZE = 5_000;
+    private static final int MAX_COMMENT_LENGTH = 255;
+    private static final int MAX_REPORTED_ERRORS = 5;
+    private static final int MAX_ERROR_LENGTH = 1000;
+    static final Set<TransactionImportStatus> ACTIVE = EnumSet.of(TransactionImportStatus.PENDING, TransactionImportStatus.RUNNING);
+
+    private final TransactionImportJobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public void run(Long jobId, Long userId, Path file, TransactionImportFormat format, StatementCategoryMatcher matcher) {
+        var progress = new Progress();
+        try {
+            updateJob(jobId, job -> job.setStatus(TransactionImportStatus.RUNNING));
+
+            var chunk = new ArrayList<StagedTransactionRow>(CHUNK_SIZE);
+            var horizon = TransactionDateHorizon.of(clock);
+            try (Reader reader = new InputStreamReader(Files.newInputStream(file), UTF_8)) {
+                parserFor(format).parse(reader, new StatementParser.Handler() {
+                    @Override
+                    public void onRow(StatementRow row) {
+                        progress.parsed++;
+                        var staged = stage(row, matcher, horizon, progress);
+                        if (staged == null) return;
+                        chunk.add(staged);
+                        if (chunk.size() >= CHUNK_SIZE) flushChunk(jobId, chunk, progress);
+                    }
+
+                    @Override
+                    public void onError(int lineNo, String message) {
+                        progress.parsed++;
+                        progress.skip(lineNo, message);
+                    }
+                });
+            }
+            flushChunk(jobId, chunk, progress);
+
+            int imported = transactionTemplate.execute(status -> {
+                var job = lockActive(jobId);
+                // created_at/updated_at — как у JPA-аудита (LocalDateTime.now())
+                int inserted = jobRepository.mergeStaging(jobId, userId, LocalDateTime.now());
+                progress.applyTo(job);
+                job.setImportedRows(inserted);
+                job.setStatus(TransactionImportStatus.DONE);
+                job.setFinishedAt(Instant.now(clock));
+                jobRepository.save(job);
+                return inserted;
+            });
+
+            log.info("TX_IMPORT done job={} user={} parsed={} skipped={} imported={}",
+                    jobId, userId, progress.parsed, progress.skipped, imported);
+        } catch (Exception e) {
+            log.error("TX_IMPORT failed job={} user={}: {}", jobId, userId, e.getMessage(), e);
+            transactionTemplate.executeWithoutResult(status -> {
+                // закрытую reaper'ом задачу не переписываем, его ошибка остаётся
+                jobRepository.findByIdForUpdate(jobId)
+                        .filter(job -> ACTIVE.contains(job.getStatus()))
+                        .ifPresent(job -> {
+                            progress.applyTo(job);
+                            job.setStatus(TransactionImportStatus.FAILED);
+                            job.setError(truncate(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage(), MAX_ERROR_LENGTH));
+                            job.setFinishedAt(Instant.now(clock));
+                            jobRepository.save(job);
+                        });
+                jobRepository.deleteStaging(jobId);
+            });
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("TX_IMPORT temp file not deleted: {}", file, e);
+            }
+        }
+    }
+
+    private static StagedTransactionRow stage(StatementRow row, StatementCategoryMatcher matcher, LocalDateTime horizon, Progress progress) {
+        if (row.amount().signum() == 0) {
+            progress.skip(row.lineNo(), "Zero amount");
+            return null;
+        }
+        if (!row.date().isBefore(horizon)) {
+            progress.skip(row.lineNo(), "Date is too far in the future");
+            return null;
+        }
+        TransactionType type = row.resolvedType();
+        Long categoryId = matcher.match(row, type);
+        if (categoryId == null) {
+            progress.skip(row.lineNo(), "No category matched");
+            return null;
+        }
+        return new StagedTransactionRow(
+                row.lineNo(),
+                row.amount().abs().setScale(2, RoundingMode.HALF_UP),
+                row.date(),
+                row.description() == null ? null : truncate(row.description(), MAX_COMMENT_LENGTH),
+                type,
+                categoryId
+        );
+    }
+
+    private void flushChunk(Long jobId, List<StagedTransactionRow> chunk, Progress progress) {
+        transactionTemplate.executeWithoutResult(status -> {
+            var job = lockActive(jobId);
+            jobRepository.copyToStaging(jobId, chunk);
+            progress.applyTo(job);
+            jobRepository.save(job);
+        });
+        chunk.clear();
+    }
+
+    private void updateJob(Long jobId, Consumer<TransactionImportJobEntity> change) {
+        transactionTemplate.executeWithoutResult(status -> {
+            var job = lockActive(jobId);
+            change.accept(job);
+            jobRepository.save(job);
+        });
+    }
+
+    /** Блокирует задачу и обновляет heartbeat; бросает исключение, если задача уже закрыта. */
+    private TransactionImportJobEntity lockActive(Long jobId) {
+        var job = jobRepository.findByIdForUpdate(jobId)
+                .filter(j -> ACTIVE.contains(j.getStatus()))
+                .orElseThrow(() -> new IllegalStateException("Import job is no longer active"));
+        job.setHeartbeatAt(Instant.now(clock));
+        return job;
+    }
+
+    private static StatementParser parserFor(TransactionImportFormat format) {
+        return switch (format) {
+            case CSV -> new CsvStatementParser();
+            case OFX -> new OfxStatementParser();
+        };
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max);
+    }
+
+    /** Счётчики задачи; ошибки строк копятся для отчёта (первые несколько). */
+    private static final class Progress {
+        private int parsed;
+        private int skipped;
+        private final List<String> errors = new ArrayList<>();
+
+        void skip(int lineNo, String message) {
+            skipped++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add("line " + lineNo + ": " + message);
+        }
+
+        void applyTo(TransactionImportJobEntity job) {
+            job.setParsedRows(parsed);
+            job.setSkippedRows(skipped);
+            if (!errors.isEmpty()) job.setError(truncate(String.join("; ", errors), MAX_ERROR_LENGTH));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package kz.finance.fintrack.service.statement;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Потоковый разбор выписки: строки отдаются в handler по мере чтения, файл целиком в память не грузится.
+ */
+public interface StatementParser {
+
+    void parse(Reader reader, Handler handler) throws IOException;
+
+    interface Handler {
+        void onRow(StatementRow row);
+
+        /** Строку не удалось разобрать — импорт продолжается, строка считается пропущенной. */
+        void onError(int lineNo, String message);
+    }
+}
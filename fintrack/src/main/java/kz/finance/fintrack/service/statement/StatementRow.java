@@ -0,0 +1,24 @@
+package kz.finance.fintrack.service.statement;
+
+import kz.finance.fintrack.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Операция из выписки как есть: сумма со знаком (минус — расход), тип и категория — если были в файле.
+ */
+public record StatementRow(
+        int lineNo,
+        LocalDateTime date,
+        BigDecimal amount,
+        String description,
+        TransactionType type,
+        String categoryName
+) {
+    /** Явный тип из файла, иначе по знаку суммы. */
+    public TransactionType resolvedType() {
+        if (type != null) return type;
+        return amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+    }
+}
@@ -0,0 +1,105 @@
+package kz.finance.fintrack.service.statement;
+
+import kz.finance.fintrack.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Разбор значений из банковских выписок: суммы в разных локалях и форматы дат.
+ */
+final class StatementValues {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            dateTime("yyyy-MM-dd"),
+            dateTime("dd.MM.yyyy"),
+            dateTime("dd/MM/yyyy")
+    );
+
+    private StatementValues() {
+    }
+
+    /**
+     * "1 234,56", "1,234.56", "-12.50", "+100" → BigDecimal. Пробелы (в т.ч. неразрывные) — разделители разрядов.
+     */
+    static BigDecimal parseAmount(String raw) {
+        if (raw == null || raw.isBlank()) throw new IllegalArgumentException("Amount is empty");
+        String s = raw.replaceAll("[\\s\\u00A0\\u202F]", "");
+        if (s.startsWith("+")) s = s.substring(1);
+        if (s.indexOf(',') >= 0 && s.indexOf('.') >= 0) {
+            s = s.replace(",", "");
+        } else {
+            s = s.replace(',', '.');
+        }
+        try {
+            return new BigDecimal(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount: " + raw);
+        }
+    }
+
+    /** yyyy-MM-dd / dd.MM.yyyy / dd/MM/yyyy, время (HH:mm[:ss], через пробел или T) — опционально. */
+    static LocalDateTime parseDate(String raw) {
+        if (raw == null || raw.isBlank()) throw new IllegalArgumentException("Date is empty");
+        String s = raw.trim();
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDateTime.parse(s, format);
+            } catch (DateTimeParseException ignored) {
+                // следующий формат
+            }
+        }
+        throw new IllegalArgumentException("Invalid date: " + raw);
+    }
+
+    /** OFX: YYYYMMDD[HHMMSS[.XXX]][[+-]offset:TZ] — смещение отбрасываем, как и для CSV берём локальное время выписки. */
+    static LocalDateTime parseOfxDate(String raw) {
+        if (raw == null || raw.length() < 8) throw new IllegalArgumentException("Invalid date: " + raw);
+        String s = raw.trim();
+        int bracket = s.indexOf('[');
+        if (bracket >= 0) s = s.substring(0, bracket);
+        int dot = s.indexOf('.');
+        if (dot >= 0) s = s.substring(0, dot);
+        try {
+            LocalDate date = LocalDate.parse(s.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE);
+            if (s.length() < 12) return date.atStartOfDay();
+            int hour = Integer.parseInt(s.substring(8, 10));
+            int minute = Integer.parseInt(s.substring(10, 12));
+            int second = s.length() >= 14 ? Integer.parseInt(s.substring(12, 14)) : 0;
+            return date.atTime(hour, minute, second);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid date: " + raw);
+        }
+    }
+
+    static TransactionType parseType(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+        return switch (raw.trim().toLowerCase(Locale.ROOT)) {
+            case "income", "доход", "credit", "приход" -> TransactionType.INCOME;
+            case "expense", "расход", "debit", "списание" -> TransactionType.EXPENSE;
+            default -> throw new IllegalArgumentException("Invalid type: " + raw);
+        };
+    }
+
+    private static DateTimeFormatter dateTime(String datePattern) {
+        return new DateTimeFormatterBuilder()
+                .appendPattern(datePattern)
+                .optionalStart()
+                .optionalStart().appendLiteral('T').optionalEnd()
+                .optionalStart().appendLiteral(' ').optionalEnd()
+                .appendPattern("HH:mm")
+                .optionalStart().appendPattern(":ss").optionalEnd()
+                .optionalEnd()
+                .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+                .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+                .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+                .toFormatter(Locale.ROOT);
+    }
+}
@@ -3,6 +3,8 @@ package kz.finance.fintrack.service.subscription;
 import com.apple.itunes.storekit.model.Environment;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import kz.finance.fintrack.config.AppleIapProperties;
 import kz.finance.fintrack.dto.subscription.AppleSk2Snapshot;
 import kz.finance.fintrack.exception.FinTrackException;
@@ -14,7 +16,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestClient;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -24,9 +30,6 @@ import java.util.Objects;
 @Slf4j
 public class AppleReceiptVerifier {
 
-    private static final String PRODUCTION_URL = "https://buy.itunes.apple.com/verifyReceipt";
-    private static final String SANDBOX_URL = "https://sandbox.itunes.apple.com/verifyReceipt";
-
     // JSON fields
     private static final String F_STATUS = "status";
     private static final String F_LATEST_RECEIPT_INFO = "latest_receipt_info";
@@ -60,12 +63,19 @@ public class AppleReceiptVerifier {
     private static final int STATUS_SHARED_SECRET_MISMATCH = 21004;
     private static final int STATUS_NOT_AUTHORIZED = 21010;
 
+    static final int MAX_REMEMBERED_RECEIPTS = 50_000;
+
     private final RestClient restClient;
     private final ObjectMapper objectMapper;
 
     private final AppleIapProperties props;
     private final AppleProductPolicy productPolicy;
 
+    // SHA-256 receipt -> окружение, в котором Apple его приняла; ограничено по размеру, чтобы не расти без предела
+    private final Cache<String, Environment> resolvedEnvironments = Caffeine.newBuilder()
+            .maximumSize(MAX_REMEMBERED_RECEIPTS)
+            .build();
+
     public AppleSk2Snapshot verifyByReceipt(String receiptBase64, String expectedProductId) {
         productPolicy.requireAllowed(expectedProductId);
 
@@ -109,12 +119,29 @@ public class AppleReceiptVerifier {
 
     // ===== Verification flow =====
 
+    /**
+     * Receipt, уже принятый Apple, сразу отправляется в запомненное окружение: повторная проверка
+     * sandbox-receipt не делает лишний вызов production с ответом 21007.
+     */
     private VerifyCallResult verifyWithEnvironmentFallback(String receiptBase64) {
-        // 1) первый вызов (например, preferredEnvironment из props)
-        Environment firstEnv = props.preferredEnvironment() != null
-                ? props.preferredEnvironment()
+        String key = receiptKey(receiptBase64);
+        Environment remembered = resolvedEnvironments.getIfPresent(key);
+
+        // 1) первый вызов: запомненное окружение, иначе preferredEnvironment из props
+        Environment firstEnv = remembered != null ? remembered
+                : props.preferredEnvironment() != null ? props.preferredEnvironment()
                 : Environment.PRODUCTION;
 
+        VerifyCallResult result = verifyStartingAt(firstEnv, receiptBase64);
+
+        int status = readStatus(result.response());
+        if (status == STATUS_OK || status == STATUS_EXPIRED) {
+            resolvedEnvironments.put(key, result.environment());
+        }
+        return result;
+    }
+
+    private VerifyCallResult verifyStartingAt(Environment firstEnv, String receiptBase64) {
         VerifyCallResult first = callVerify(firstEnv, receiptBase64);
         int st1 = readStatus(first.response());
 
@@ -136,8 +163,20 @@ public class AppleReceiptVerifier {
         return first;
     }
 
+    private static String receiptKey(String receiptBase64) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(receiptBase64.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     private VerifyCallResult callVerify(Environment env, String receiptBase64) {
-        String url = (env == Environment.SANDBOX) ? SANDBOX_URL : PRODUCTION_URL;
+        String url = (env == Environment.SANDBOX)
+                ? props.verifyReceipt().sandboxUrl()
+                : props.verifyReceipt().productionUrl();
         JsonNode resp = verifyWithRetry(url, receiptBase64);
         return new VerifyCallResult(resp, env);
     }
@@ -15,6 +15,7 @@ import kz.finance.fintrack.repository.SubscriptionRepository;
 import kz.finance.fintrack.utils.AppleTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +33,7 @@ public class AppleServerNotificationService {
     private final WebhookDedupService dedup;
 
     private final AppleProductPolicy productPolicy;
+    private final ApplicationEventPublisher events;
 
     /**
      * Apple Server Notifications v2: signedPayload.
@@ -108,7 +110,10 @@ public class AppleServerNotificationService {
 
         // upsert + retry на уникальном конфликте
         // Передаем productId для корректной обработки upgrade кейса
-        saveAppleWithUniqRetry(originalTxId, transactionId, productId, updater);
+        SubscriptionEntity saved = saveAppleWithUniqRetry(originalTxId, transactionId, productId, updater);
+        if (saved.getUser() != null) {
+            events.publishEvent(new EntitlementChangedEvent(saved.getUser().getId()));
+        }
 
         log.info("Apple notification processed: env={} type={} subtype={} productId={} key={} uuid={}",
                 env,
@@ -130,7 +135,7 @@ public class AppleServerNotificationService {
      * - Но разные transactionId и productId
      * - Обновляем существующую запись (меняем productId), чтобы избежать конфликта уникального индекса
      */
-    private void saveAppleWithUniqRetry(String origTx, String txId, String newProductId, Consumer<SubscriptionEntity> updater) {
+    private SubscriptionEntity saveAppleWithUniqRetry(String origTx, String txId, String newProductId, Consumer<SubscriptionEntity> updater) {
         SubscriptionEntity sub = findAppleSubscription(origTx, txId);
         
         // Проверяем upgrade кейс: если productId меняется при том же originalTransactionId
@@ -148,8 +153,7 @@ public class AppleServerNotificationService {
         updater.accept(sub);
 
         try {
-            subRepo.saveAndFlush(sub);
-            return;
+            return subRepo.saveAndFlush(sub);
         } catch (DataIntegrityViolationException race) {
             SubscriptionEntity existing = findAppleSubscription(origTx, txId);
             // Проверяем upgrade кейс при race condition тоже
@@ -161,7 +165,7 @@ public class AppleServerNotificationService {
                 }
             }
             updater.accept(existing);
-            subRepo.saveAndFlush(existing);
+            return subRepo.saveAndFlush(existing);
         }
     }
 
@@ -10,6 +10,7 @@ import com.apple.itunes.storekit.model.SubscriptionGroupIdentifierItem;
 import com.apple.itunes.storekit.model.TransactionInfoResponse;
 import com.apple.itunes.storekit.verification.SignedDataVerifier;
 import com.apple.itunes.storekit.verification.VerificationException;
+import kz.finance.fintrack.client.ClientMetrics;
 import kz.finance.fintrack.config.AppleStoreKitSk2Config.AppleSk2Clients;
 import kz.finance.fintrack.dto.subscription.AppleSk2Snapshot;
 import kz.finance.fintrack.dto.subscription.EntitlementStatus;
@@ -26,6 +27,7 @@ public class AppleSk2Verifier {
 
     private final AppleSk2Clients sk2;
     private final AppleProductPolicy productPolicy;
+    private final ClientMetrics clientMetrics;
 
     public AppleSk2Snapshot verifyByTransactionId(String transactionId, String expectedProductId) {
         productPolicy.requireAllowed(expectedProductId);
@@ -170,11 +172,11 @@ public class AppleSk2Verifier {
         Environment second = sk2.other(first);
 
         try {
-            return new TxEnv(first, sk2.client(first).getTransactionInfo(transactionId));
+            return new TxEnv(first, transactionInfo(first, transactionId));
         } catch (Exception e) {
             if (isNotFound(e)) {
                 try {
-                    return new TxEnv(second, sk2.client(second).getTransactionInfo(transactionId));
+                    return new TxEnv(second, transactionInfo(second, transactionId));
                 } catch (Exception e2) {
                     throw new IllegalArgumentException("Apple getTransactionInfo failed in both envs: " + safeMsg(e2), e2);
                 }
@@ -183,9 +185,14 @@ public class AppleSk2Verifier {
         }
     }
 
+    private TransactionInfoResponse transactionInfo(Environment env, String transactionId) throws Exception {
+        return clientMetrics.time("apple", "getTransactionInfo", () -> sk2.client(env).getTransactionInfo(transactionId));
+    }
+
     private RenewalFacts fetchRenewalFacts(Environment env, SignedDataVerifier verifier, String transactionId, String expectedProductId) {
         try {
-            StatusResponse resp = sk2.client(env).getAllSubscriptionStatuses(transactionId, null);
+            StatusResponse resp = clientMetrics.time("apple", "getAllSubscriptionStatuses",
+                    () -> sk2.client(env).getAllSubscriptionStatuses(transactionId, null));
             if (resp == null || resp.getData() == null) return RenewalFacts.empty();
 
             Candidate best = null;
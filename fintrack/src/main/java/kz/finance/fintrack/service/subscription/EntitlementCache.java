@@ -0,0 +1,144 @@
+package kz.finance.fintrack.service.subscription;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import kz.finance.fintrack.dto.subscription.EntitlementResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * In-process кеш entitlement по userId для /entitlements/me.
+ * <p>
+ * Запись живёт до ближайшей границы, на которой статус меняется сам по себе (expiry / graceUntil),
+ * но не дольше TTL. Изменения подписок публикуют {@link EntitlementChangedEvent}, запись удаляется после коммита.
+ * <p>
+ * Инвалидации локальные, другие инстансы узнают об изменениях только по TTL. Поэтому доступ (ENTITLED / IN_GRACE)
+ * кешируется на {@link #ENTITLED_TTL}: отзыв или рефанд из webhook'а доходит до всех инстансов за минуту.
+ * Отсутствие доступа — на {@link #MAX_TTL}: покупку клиент получает в ответе verify того инстанса, который её провёл.
+ */
+@Component
+public class EntitlementCache {
+
+    static final Duration MAX_TTL = Duration.ofMinutes(10);
+    static final Duration ENTITLED_TTL = Duration.ofMinutes(1);
+    /** Сколько держится метка инвалидации: дольше любой загрузки из БД. */
+    static final Duration INVALIDATION_TTL = Duration.ofMinutes(1);
+    private static final int MAX_ENTRIES = 100_000;
+
+    // запись или метка инвалидации; version растёт на каждой инвалидации пользователя,
+    // и загрузка, начатая до неё, не кладёт в кеш устаревший ответ
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public EntitlementCache(MeterRegistry registry, Clock clock) {
+        this.clock = clock;
+        this.hits = Counter.builder("fintrack.entitlement.cache.requests")
+                .tag("result", "hit")
+                .description("Entitlement lookups served from cache")
+                .register(registry);
+        this.misses = Counter.builder("fintrack.entitlement.cache.requests")
+                .tag("result", "miss")
+                .description("Entitlement lookups that went to the database")
+                .register(registry);
+        this.evictions = Counter.builder("fintrack.entitlement.cache.invalidations")
+                .description("Entitlement cache entries invalidated by subscription changes")
+                .register(registry);
+        Gauge.builder("fintrack.entitlement.cache.size", entries, ConcurrentHashMap::size)
+                .register(registry);
+        Gauge.builder("fintrack.entitlement.cache.hit.ratio", this, EntitlementCache::hitRatio)
+                .register(registry);
+    }
+
+    public EntitlementResponse get(Long userId, Supplier<Loaded> loader) {
+        Instant now = clock.instant();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.response() != null && now.isBefore(entry.validUntil())) {
+            hits.increment();
+            return entry.response();
+        }
+
+        misses.increment();
+        long version = versionOf(entry);
+        Loaded loaded = loader.get();
+
+        Instant validUntil = now.plus(ttlOf(loaded.response()));
+        if (loaded.changesAt() != null && loaded.changesAt().isBefore(validUntil)) {
+            validUntil = loaded.changesAt();
+        }
+        if (validUntil.isAfter(now) && entries.size() < MAX_ENTRIES) {
+            Entry fresh = new Entry(loaded.response(), validUntil, version);
+            // версия сверяется под блокировкой ключа: invalidate, начавшийся после проверки,
+            // заменит запись только когда compute закончится, и устаревший ответ в кеше не остаётся
+            entries.compute(userId, (id, current) -> versionOf(current) == version ? fresh : current);
+        }
+        return loaded.response();
+    }
+
+    public void invalidate(Long userId) {
+        if (userId == null) return;
+        Instant until = clock.instant().plus(INVALIDATION_TTL);
+        entries.compute(userId, (id, current) -> {
+            if (current != null && current.response() != null) evictions.increment();
+            return new Entry(null, until, versionOf(current) + 1);
+        });
+    }
+
+    /** После коммита: пока транзакция не завершена, другие запросы всё равно читают старые строки. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntitlementChanged(EntitlementChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        entries.values().removeIf(e -> !now.isBefore(e.validUntil()));
+    }
+
+    /** Ближайший момент после now, когда статус может смениться без внешних событий. */
+    public static Instant nextChange(Instant now, Instant... boundaries) {
+        Instant next = null;
+        for (Instant b : boundaries) {
+            if (b != null && b.isAfter(now) && (next == null || b.isBefore(next))) next = b;
+        }
+        return next;
+    }
+
+    private static Duration ttlOf(EntitlementResponse response) {
+        return switch (response.status()) {
+            case ENTITLED, IN_GRACE -> ENTITLED_TTL;
+            case EXPIRED, REVOKED, NONE -> MAX_TTL;
+        };
+    }
+
+    private static long versionOf(Entry entry) {
+        return entry == null ? 0 : entry.version();
+    }
+
+    private double hitRatio() {
+        double h = hits.count();
+        double total = h + misses.count();
+        return total == 0 ? 0 : h / total;
+    }
+
+    /** Результат загрузки: ответ и момент, после которого он может устареть сам (null — не ограничен). */
+    public record Loaded(EntitlementResponse response, Instant changesAt) {
+    }
+
+    /** response == null — метка инвалидации: промах, но версия пользователя сохраняется. */
+    private record Entry(EntitlementResponse response, Instant validUntil, long version) {
+    }
+}
@@ -0,0 +1,7 @@
+package kz.finance.fintrack.service.subscription;
+
+/**
+ * Подписки пользователя изменились (verify, webhook, деактивация) — закешированный entitlement устарел.
+ */
+public record EntitlementChangedEvent(Long userId) {
+}
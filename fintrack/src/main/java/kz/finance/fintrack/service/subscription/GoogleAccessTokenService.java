@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 import java.io.FileInputStream;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 @Slf4j
@@ -22,6 +23,10 @@ public class GoogleAccessTokenService {
     private volatile String cachedAccessToken;
     private volatile Instant tokenExpiry;
 
+    // не synchronized: обновление токена — HTTP-запрос, а на JDK 21 виртуальный поток в synchronized
+    // блокирует свой поток-носитель на всё время ожидания
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
     @PostConstruct
     void init() {
         try (var in = new FileInputStream(serviceAccountPath)) {
@@ -42,7 +47,8 @@ public class GoogleAccessTokenService {
         var token = cachedAccessToken;
         if (token != null && exp != null && Instant.now().isBefore(exp.minusSeconds(60))) return token;
 
-        synchronized (this) {
+        refreshLock.lock();
+        try {
             exp = tokenExpiry;
             token = cachedAccessToken;
             if (token != null && exp != null && Instant.now().isBefore(exp.minusSeconds(60))) return token;
@@ -60,6 +66,8 @@ public class GoogleAccessTokenService {
                 log.error("Failed to fetch Google access token", e);
                 throw new IllegalStateException("Google access token fetch failed", e);
             }
+        } finally {
+            refreshLock.unlock();
         }
     }
 }
@@ -1,7 +1,9 @@
 package kz.finance.fintrack.service.subscription;
 
+import kz.finance.fintrack.model.WebhookInboxStatus;
 import kz.finance.fintrack.repository.IapIdempotencyRepository;
 import kz.finance.fintrack.repository.WebhookDedupRepository;
+import kz.finance.fintrack.repository.WebhookInboxRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -16,12 +18,15 @@ public class IapIdempotencyCleanupJob {
 
     private final IapIdempotencyRepository iapIdempotencyRepository;
     private final WebhookDedupRepository webhookDedupRepository;
+    private final WebhookInboxRepository webhookInboxRepository;
 
     @Scheduled(cron = "0 0 3 * * *", zone = "Asia/Almaty")
     @Transactional
     public void cleanup() {
         iapIdempotencyRepository.deleteOlderThan(Instant.now().minus(7, ChronoUnit.DAYS));
         webhookDedupRepository.deleteOlderThan(Instant.now().minus(30, ChronoUnit.DAYS));
+        // DEAD не трогаем — их разбирают вручную
+        webhookInboxRepository.deleteByStatusOlderThan(WebhookInboxStatus.DONE, Instant.now().minus(7, ChronoUnit.DAYS));
     }
 }
 
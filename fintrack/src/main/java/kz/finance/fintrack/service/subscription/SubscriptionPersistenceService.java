@@ -7,6 +7,7 @@ import kz.finance.fintrack.model.*;
 import kz.finance.fintrack.repository.SubscriptionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +21,7 @@ import java.util.List;
 public class SubscriptionPersistenceService {
 
     private final SubscriptionRepository subRepo;
+    private final ApplicationEventPublisher events;
 
     // ===================== PUBLIC API =====================
 
@@ -127,6 +129,7 @@ public class SubscriptionPersistenceService {
 
         var sub = subOpt.get();
         if (shouldRevoke) sub.setRevoked(true);
+        publishChanged(sub.getUser());
 
         applyGoogleSnapshot(
                 sub,
@@ -185,6 +188,7 @@ public class SubscriptionPersistenceService {
             Instant now
     ) {
         String token = requireNonBlank(purchaseToken, "Google purchaseToken is empty");
+        publishChanged(user);
 
         var sub = subRepo.findByProviderAndPurchaseToken(SubscriptionProvider.GOOGLE, token)
                 .orElseGet(SubscriptionEntity::new);
@@ -303,6 +307,7 @@ public class SubscriptionPersistenceService {
 
         // стабильный ключ идентичности подписки
         String purchaseToken = (o != null ? o : t);
+        publishChanged(user);
 
         // Находим существующую запись:
         // 1) по appleTransactionId (самый точный)
@@ -472,6 +477,7 @@ public class SubscriptionPersistenceService {
             Instant now
     ) {
         if (keepPurchaseToken == null || keepPurchaseToken.isBlank()) return;
+        publishChanged(user);
 
         subRepo.deactivateOthers(
                 user,
@@ -517,6 +523,11 @@ public class SubscriptionPersistenceService {
 
     // ===================== UTILS =====================
 
+    /** Кеш entitlement пользователя сбрасывается после коммита (см. EntitlementCache). */
+    private void publishChanged(UserEntity user) {
+        if (user != null) events.publishEvent(new EntitlementChangedEvent(user.getId()));
+    }
+
     private void assertOwnershipOrAssign(SubscriptionEntity sub, UserEntity currentUser) {
         if (sub.getUser() != null && !sub.getUser().getId().equals(currentUser.getId())) {
             throw new FinTrackException(403, "Subscription belongs to another user");
@@ -31,6 +31,7 @@ public class SubscriptionService {
     private final ObjectMapper objectMapper;
 
     private final SubscriptionPersistenceService persistence;
+    private final EntitlementCache entitlementCache;
 
     // ===== GOOGLE (network outside TX) =====
     public EntitlementResponse verifyGoogleAndSave(GoogleVerifyRequest req, @Nullable String idemKey) {
@@ -135,17 +136,30 @@ public class SubscriptionService {
     // ===== ME =====
     public EntitlementResponse myEntitlement() {
         var user = userService.getCurrentUser();
-        var now = Instant.now(clock);
 
-        var best = persistence.findBestForUser(user, now);
-        if (best == null) return new EntitlementResponse(EntitlementStatus.NONE, null, null, false);
+        // дёргается на каждом запуске приложения и paywall — кешируем до ближайшей смены статуса
+        return entitlementCache.get(user.getId(), () -> {
+            var now = Instant.now(clock);
+
+            var best = persistence.findBestForUser(user, now);
+            if (best == null) {
+                return new EntitlementCache.Loaded(new EntitlementResponse(EntitlementStatus.NONE, null, null, false), null);
+            }
 
-        var ent = EntitlementResolver.resolve(best.isRevoked(), best.getExpiryDate(), best.getGraceUntil(), now);
-        return new EntitlementResponse(ent, best.getExpiryDate(), best.getProductId(), best.isAutoRenewing());
+            var ent = EntitlementResolver.resolve(best.isRevoked(), best.getExpiryDate(), best.getGraceUntil(), now);
+            return new EntitlementCache.Loaded(
+                    new EntitlementResponse(ent, best.getExpiryDate(), best.getProductId(), best.isAutoRenewing()),
+                    EntitlementCache.nextChange(now, best.getGraceUntil(), best.getExpiryDate())
+            );
+        });
     }
 
     // ===== RTDN (network outside TX) =====
-    public void applyGoogleRtnd(GoogleWebhookParser.DeveloperNotification n) {
+    /**
+     * Синхронизация подписки по RTDN. Ошибки Google / БД пробрасываются: вызывается из очереди webhook'ов,
+     * которая повторяет обработку.
+     */
+    public void syncGoogleRtnd(GoogleWebhookParser.DeveloperNotification n) {
         if (n.subscriptionNotification() == null) return;
 
         var sn = n.subscriptionNotification();
@@ -164,26 +178,22 @@ public class SubscriptionService {
             log.warn("RTDN for unknown token. sku={} token={}", sn.subscriptionId(), token);
             return;
         }
-        try {
-            var snap = gp.verify(sn.subscriptionId(), token, true);
-            boolean shouldRevoke = GoogleRtdnTypes.isRevokedOrRefunded(sn.notificationType());
-
-            persistence.persistGoogleRtnd(
-                    token,
-                    shouldRevoke,
-                    snap.getProductId(),
-                    snap.getStart(),
-                    snap.getExpiry(),
-                    snap.getGraceUntil(),
-                    snap.getPaymentState(),
-                    snap.getCancelReason(),
-                    snap.isAutoRenewing(),
-                    snap.getAcknowledgementState(),
-                    Instant.now(clock)
-            );
-        } catch (Exception e) {
-            log.error("RTDN sync error: sku={} msg={}", sn.subscriptionId(), e.getMessage(), e);
-        }
+        var snap = gp.verify(sn.subscriptionId(), token, true);
+        boolean shouldRevoke = GoogleRtdnTypes.isRevokedOrRefunded(sn.notificationType());
+
+        persistence.persistGoogleRtnd(
+                token,
+                shouldRevoke,
+                snap.getProductId(),
+                snap.getStart(),
+                snap.getExpiry(),
+                snap.getGraceUntil(),
+                snap.getPaymentState(),
+                snap.getCancelReason(),
+                snap.isAutoRenewing(),
+                snap.getAcknowledgementState(),
+                Instant.now(clock)
+        );
     }
 
     // ===== Idempotency =====
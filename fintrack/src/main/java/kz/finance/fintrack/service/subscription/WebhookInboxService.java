@@ -0,0 +1,77 @@
+package kz.finance.fintrack.service.subscription;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kz.finance.fintrack.model.SubscriptionProvider;
+import kz.finance.fintrack.model.WebhookInboxEntity;
+import kz.finance.fintrack.repository.WebhookInboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Приём webhook'ов Apple / Google: payload сохраняется в iap_webhook_inbox, стору сразу отвечаем 200.
+ * Обработка — {@link WebhookInboxWorker}.
+ * <p>
+ * Google RTDN дедуплицируется здесь по Pub/Sub messageId (в одной транзакции со вставкой в inbox).
+ * Apple notificationUUID доступен только после проверки подписи, его дедуп остаётся в
+ * {@link AppleServerNotificationService#handleSignedPayload} — в транзакции с upsert подписки.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookInboxService {
+
+    private final WebhookInboxRepository repo;
+    private final WebhookDedupService dedup;
+    private final GoogleWebhookParser googleWebhookParser;
+    private final ObjectMapper mapper;
+    private final Clock clock;
+
+    /** Формат проверяется сразу: битый payload — 400, как и при синхронной обработке. */
+    @Transactional
+    public void enqueueGoogle(Map<String, Object> body) {
+        GoogleWebhookParser.DeveloperNotification n = googleWebhookParser.parsePubSub(body);
+        String messageId = body.get("message") instanceof Map<?, ?> msg && msg.get("messageId") instanceof String id
+                ? id
+                : null;
+
+        if (!dedup.acquire(SubscriptionProvider.GOOGLE, messageId)) {
+            log.info("RTDN deduped: messageId={}", messageId);
+            return;
+        }
+        save(SubscriptionProvider.GOOGLE, messageId, toJson(n));
+    }
+
+    @Transactional
+    public void enqueueApple(String signedPayload) {
+        if (signedPayload == null || signedPayload.isBlank()) {
+            log.warn("Apple notification: empty signedPayload");
+            return;
+        }
+        save(SubscriptionProvider.APPLE, null, signedPayload);
+    }
+
+    private void save(SubscriptionProvider provider, String eventId, String payload) {
+        var item = new WebhookInboxEntity();
+        item.setProvider(provider);
+        item.setEventId(eventId);
+        item.setPayload(payload);
+        item.setNextAttemptAt(Instant.now(clock));
+        item = repo.save(item);
+        log.info("Webhook queued: id={} provider={} eventId={}", item.getId(), provider, eventId);
+    }
+
+    private String toJson(GoogleWebhookParser.DeveloperNotification n) {
+        try {
+            return mapper.writeValueAsString(n);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("RTDN serialize error", e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package kz.finance.fintrack.service.subscription;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import kz.finance.fintrack.model.WebhookInboxEntity;
+import kz.finance.fintrack.model.WebhookInboxStatus;
+import kz.finance.fintrack.repository.WebhookInboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Обработка iap_webhook_inbox пулом воркеров.
+ * <p>
+ * Планировщик захватывает готовые записи (SKIP LOCKED, с арендой {@link #LEASE}) и отдаёт их в пул.
+ * Ошибка — повтор с экспоненциальной задержкой, после {@link #MAX_ATTEMPTS} попыток — DEAD.
+ * Если инстанс упал посреди обработки, запись возвращается в очередь по истечении аренды.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookInboxWorker {
+
+    static final int WORKER_THREADS = 4;
+    static final int MAX_ATTEMPTS = 8;
+    static final Duration LEASE = Duration.ofMinutes(5);
+    static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final WebhookInboxRepository repo;
+    private final AppleServerNotificationService appleNotifications;
+    private final SubscriptionService subscriptionService;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    private final AtomicInteger threadNo = new AtomicInteger();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            WORKER_THREADS, WORKER_THREADS, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+        Thread t = new Thread(r, "webhook-inbox-" + threadNo.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Scheduled(fixedDelay = 1_000)
+    public void poll() {
+        // захватываем не больше, чем пул успеет взять до конца аренды
+        int capacity = WORKER_THREADS * 2 - executor.getActiveCount() - executor.getQueue().size();
+        if (capacity <= 0) return;
+
+        Instant now = clock.instant();
+        List<Long> ids = transactionTemplate.execute(status -> repo.claimDue(now, now.plus(LEASE), capacity));
+        if (ids == null) return;
+        ids.forEach(id -> executor.execute(() -> process(id)));
+    }
+
+    void process(Long id) {
+        WebhookInboxEntity item = repo.findById(id).orElse(null);
+        if (item == null || item.getStatus() != WebhookInboxStatus.PROCESSING) return;
+        int attempt = item.getAttempts();
+
+        try {
+            dispatch(item);
+            update(id, attempt, it -> {
+                it.setStatus(WebhookInboxStatus.DONE);
+                it.setLastError(null);
+                it.setProcessedAt(clock.instant());
+            });
+        } catch (Exception e) {
+            String error = truncate(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+            if (attempt >= MAX_ATTEMPTS) {
+                log.error("Webhook dead: id={} provider={} attempts={} error={}", id, item.getProvider(), attempt, error, e);
+                update(id, attempt, it -> {
+                    it.setStatus(WebhookInboxStatus.DEAD);
+                    it.setLastError(error);
+                });
+            } else {
+                Duration delay = backoff(attempt);
+                log.warn("Webhook retry: id={} provider={} attempt={} in={} error={}", id, item.getProvider(), attempt, delay, error);
+                update(id, attempt, it -> {
+                    it.setStatus(WebhookInboxStatus.PENDING);
+                    it.setNextAttemptAt(clock.instant().plus(delay));
+                    it.setLastError(error);
+                });
+            }
+        }
+    }
+
+    private void dispatch(WebhookInboxEntity item) throws Exception {
+        switch (item.getProvider()) {
+            case APPLE -> appleNotifications.handleSignedPayload(item.getPayload());
+            case GOOGLE -> subscriptionService.syncGoogleRtnd(
+                    mapper.readValue(item.getPayload(), GoogleWebhookParser.DeveloperNotification.class));
+        }
+    }
+
+    /** Обновление только если запись всё ещё наша: после истечения аренды её мог забрать другой воркер. */
+    private void update(Long id, int attempt, Consumer<WebhookInboxEntity> change) {
+        transactionTemplate.executeWithoutResult(status -> repo.findById(id)
+                .filter(it -> it.getStatus() == WebhookInboxStatus.PROCESSING && it.getAttempts() == attempt)
+                .ifPresent(it -> {
+                    change.accept(it);
+                    repo.save(it);
+                }));
+    }
+
+    /** 30s, 1m, 2m, 4m … но не больше часа. */
+    static Duration backoff(int attempt) {
+        int shift = Math.min(Math.max(attempt - 1, 0), 20);
+        Duration delay = BASE_BACKOFF.multipliedBy(1L << shift);
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
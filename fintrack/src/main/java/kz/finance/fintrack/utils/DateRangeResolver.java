@@ -1,17 +1,28 @@
 package kz.finance.fintrack.utils;
 
 import kz.finance.fintrack.dto.PeriodType;
+import kz.finance.fintrack.exception.FinTrackException;
 
+import java.time.Clock;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
 import java.time.temporal.WeekFields;
 import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 
 public class DateRangeResolver {
 
+    private static final ZoneId UTC = ZoneId.of("UTC");
+    private static final Pattern FIXED_OFFSET_ID = Pattern.compile("(UTC|GMT|UT)[+-].*");
+
     public static DateRange resolve(Integer year, Integer month, Integer day) {
         LocalDate now = LocalDate.now();
         year = (year != null) ? year : now.getYear();
@@ -30,7 +41,17 @@ public class DateRangeResolver {
         }
     }
     public static DateRange resolve(PeriodType periodType, Integer year, Integer month, Integer day) {
-        LocalDate today = LocalDate.now();
+        return resolve(periodType, year, month, day, Clock.systemDefaultZone());
+    }
+
+    /** Период в поясе клиента: "сегодня" и "сейчас" для DAY/WEEK берутся в {@code zone}, а не в поясе сервера. */
+    public static DateRange resolve(PeriodType periodType, Integer year, Integer month, Integer day, ZoneId zone) {
+        return resolve(periodType, year, month, day, Clock.system(zone));
+    }
+
+    static DateRange resolve(PeriodType periodType, Integer year, Integer month, Integer day, Clock clock) {
+        LocalDate today = LocalDate.now(clock);
+        LocalDateTime now = LocalDateTime.now(clock);
 
         return switch (periodType) {
             case DAY -> {
@@ -44,7 +65,7 @@ public class DateRangeResolver {
                 LocalDate end = start.plusDays(6);
                 yield new DateRange(
                         start.atStartOfDay(),
-                        end.atTime(LocalTime.MAX).isAfter(LocalDateTime.now()) ? LocalDateTime.now() : end.atTime(LocalTime.MAX)
+                        end.atTime(LocalTime.MAX).isAfter(now) ? now : end.atTime(LocalTime.MAX)
                 );
             }
             case MONTH -> {
@@ -80,6 +101,23 @@ public class DateRangeResolver {
         return end.isAfter(LocalDateTime.now()) ? LocalDateTime.now() : end;
     }
 
+    /**
+     * Часовой пояс клиента: IANA-имя (Asia/Almaty) или UTC.
+     * Смещения вида +05:00 не принимаем — Postgres читает текстовые смещения в POSIX-нотации (со знаком наоборот).
+     */
+    public static ZoneId resolveZone(String tz) {
+        try {
+            ZoneId zone = ZoneId.of(tz);
+            boolean offsetBased = zone instanceof ZoneOffset || FIXED_OFFSET_ID.matcher(zone.getId()).matches();
+            if (offsetBased && !zone.normalized().equals(ZoneOffset.UTC)) {
+                throw new DateTimeException(tz);
+            }
+            return offsetBased ? UTC : zone;
+        } catch (DateTimeException e) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Unsupported time zone: " + tz);
+        }
+    }
+
     public static String formatPeriodLabel(LocalDateTime start, String lang) {
         Locale locale = lang.equalsIgnoreCase("en") ? Locale.ENGLISH : Locale.forLanguageTag("ru");
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("LLLL yyyy", locale);
@@ -0,0 +1,41 @@
+package kz.finance.fintrack.utils;
+
+import kz.finance.fintrack.exception.FinTrackException;
+import kz.finance.fintrack.model.TransactionEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Непрозрачный курсор для keyset-пагинации транзакций по (date DESC, id DESC).
+ * Клиент получает его как строку и возвращает без изменений.
+ */
+public record TransactionCursor(LocalDateTime date, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static TransactionCursor of(TransactionEntity last) {
+        return new TransactionCursor(last.getDate(), last.getId());
+    }
+
+    public String encode() {
+        String raw = date.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            return new TransactionCursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package kz.finance.fintrack.utils;
+
+import kz.finance.fintrack.exception.FinTrackException;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Верхняя граница transaction.date. Месячные партиции создаются заранее на {@link #PARTITION_MONTHS_AHEAD}
+ * месяцев вперёд; строка дальше них легла бы в transaction_default, и при создании партиции её месяц
+ * переносился бы из default под ACCESS EXCLUSIVE.
+ * <p>
+ * Граница на месяц ближе последней партиции: после смены месяца TransactionPartitionMaintenanceJob
+ * мог ещё не создать новую.
+ */
+public final class TransactionDateHorizon {
+
+    public static final int PARTITION_MONTHS_AHEAD = 3;
+
+    private TransactionDateHorizon() {}
+
+    /** Первый недопустимый момент: 1-е число через {@link #PARTITION_MONTHS_AHEAD} месяцев от текущего (UTC). */
+    public static LocalDateTime of(Clock clock) {
+        return YearMonth.now(clock.withZone(ZoneOffset.UTC))
+                .plusMonths(PARTITION_MONTHS_AHEAD)
+                .atDay(1)
+                .atStartOfDay();
+    }
+
+    public static void require(LocalDateTime date, LocalDateTime horizon) {
+        if (date != null && !date.isBefore(horizon)) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Transaction date must be before " + horizon.toLocalDate());
+        }
+    }
+}
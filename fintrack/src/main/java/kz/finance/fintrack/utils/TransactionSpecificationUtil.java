@@ -35,4 +35,15 @@ public class TransactionSpecificationUtil {
             }
         };
     }
+
+    /** Keyset-условие для сортировки (date DESC, id DESC): строки строго после курсора. */
+    public static Specification<TransactionEntity> after(TransactionCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("date"), cursor.date()),
+                cb.and(
+                        cb.equal(root.get("date"), cursor.date()),
+                        cb.lessThan(root.get("id"), cursor.id())
+                )
+        );
+    }
 }
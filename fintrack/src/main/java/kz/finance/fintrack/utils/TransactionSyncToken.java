@@ -0,0 +1,43 @@
+package kz.finance.fintrack.utils;
+
+import kz.finance.fintrack.exception.FinTrackException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Непрозрачный токен delta sync: позиция (xid, seq) последнего отданного изменения
+ * и момент выдачи (нужен, чтобы понять, не вычищены ли уже tombstone-ы после него).
+ */
+public record TransactionSyncToken(long xid, long seq, Instant issuedAt) {
+
+    private static final char SEPARATOR = ':';
+
+    /** Токен "с начала": первая синхронизация отдаёт всю историю постранично. */
+    public static TransactionSyncToken initial(Instant now) {
+        return new TransactionSyncToken(0, 0, now);
+    }
+
+    public String encode() {
+        String raw = "" + xid + SEPARATOR + seq + SEPARATOR + issuedAt.getEpochSecond();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionSyncToken decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split(String.valueOf(SEPARATOR));
+            if (parts.length != 3) throw new IllegalArgumentException("bad token");
+            return new TransactionSyncToken(
+                    Long.parseLong(parts[0]),
+                    Long.parseLong(parts[1]),
+                    Instant.ofEpochSecond(Long.parseLong(parts[2]))
+            );
+        } catch (RuntimeException e) {
+            throw new FinTrackException(BAD_REQUEST.value(), "Invalid sync token");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package kz.finance.fintrack.client;
+
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kz.finance.fintrack.client.google.GooglePlayApiClient;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FeignClientMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FeignClientMetrics capability = new FeignClientMetrics(new ClientMetrics(registry));
+
+    @Test
+    void response_isTimedByProviderOperationAndOutcome() throws Exception {
+        Client client = capability.enrich((Client) (request, options) -> response(request, 200));
+        Client failing = capability.enrich((Client) (request, options) -> response(request, 503));
+
+        client.execute(googleVerifyRequest(), new Request.Options());
+        failing.execute(googleVerifyRequest(), new Request.Options());
+
+        assertThat(timerCount("SUCCESS")).isEqualTo(1);
+        assertThat(timerCount("SERVER_ERROR")).isEqualTo(1);
+    }
+
+    @Test
+    void ioError_isTimedAsUnknown_andRethrown() throws Exception {
+        Client client = capability.enrich((Client) (request, options) -> {
+            throw new SocketTimeoutException("read timed out");
+        });
+
+        assertThatThrownBy(() -> client.execute(googleVerifyRequest(), new Request.Options()))
+                .isInstanceOf(IOException.class);
+
+        assertThat(timerCount("UNKNOWN")).isEqualTo(1);
+    }
+
+    private long timerCount(String outcome) {
+        return registry.get(ClientMetrics.TIMER)
+                .tag("provider", "google")
+                .tag("operation", "verifyPurchase")
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    private static Request googleVerifyRequest() throws NoSuchMethodException {
+        MethodMetadata metadata = mock(MethodMetadata.class);
+        when(metadata.method()).thenReturn(GooglePlayApiClient.class.getMethod(
+                "verifyPurchase", String.class, String.class, String.class));
+
+        RequestTemplate template = new RequestTemplate();
+        template.feignTarget(new Target.HardCodedTarget<>(GooglePlayApiClient.class, "googlePlayApiClient", "http://google.test"));
+        template.methodMetadata(metadata);
+        return Request.create(Request.HttpMethod.GET, "http://google.test/applications/app/purchases",
+                Map.of(), null, StandardCharsets.UTF_8, template);
+    }
+
+    private static Response response(Request request, int status) {
+        return Response.builder()
+                .request(request)
+                .status(status)
+                .headers(Map.of())
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package kz.finance.fintrack.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HostConcurrencyLimiterTest {
+
+    private static final String APPLE = "buy.itunes.apple.com";
+    private static final String SANDBOX = "sandbox.itunes.apple.com";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final HostConcurrencyLimiter limiter =
+            new HostConcurrencyLimiter("apple", 1, Duration.ofMillis(50), registry);
+    private final ClientHttpRequestExecution ok =
+            (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+
+    @Test
+    void slotIsHeldUntilResponseIsClosed() throws Exception {
+        ClientHttpResponse response = limiter.intercept(request(APPLE), new byte[0], ok);
+        assertThat(limiter.active(APPLE)).isEqualTo(1);
+
+        response.close();
+        response.close();
+
+        assertThat(limiter.active(APPLE)).isZero();
+        limiter.intercept(request(APPLE), new byte[0], ok).close();
+    }
+
+    @Test
+    void busyHost_rejectsAfterMaxWait_otherHostsAreIndependent() throws Exception {
+        ClientHttpResponse held = limiter.intercept(request(APPLE), new byte[0], ok);
+
+        assertThatThrownBy(() -> limiter.intercept(request(APPLE), new byte[0], ok))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining(APPLE);
+        limiter.intercept(request(SANDBOX), new byte[0], ok).close();
+
+        assertThat(registry.get(HostConcurrencyLimiter.REJECTED).tag("host", APPLE).counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get(HostConcurrencyLimiter.ACTIVE).tag("host", APPLE).gauge().value())
+                .isEqualTo(1);
+        held.close();
+    }
+
+    @Test
+    void failedExecution_releasesSlot() {
+        ClientHttpRequestExecution failing = (request, body) -> {
+            throw new IOException("connection reset");
+        };
+
+        assertThatThrownBy(() -> limiter.intercept(request(APPLE), new byte[0], failing))
+                .isInstanceOf(IOException.class)
+                .hasMessage("connection reset");
+        assertThat(limiter.active(APPLE)).isZero();
+    }
+
+    private static MockClientHttpRequest request(String host) {
+        return new MockClientHttpRequest(HttpMethod.POST, URI.create("https://" + host + "/verifyReceipt"));
+    }
+}
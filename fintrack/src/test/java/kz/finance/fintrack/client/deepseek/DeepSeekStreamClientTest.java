@@ -0,0 +1,77 @@
+package kz.finance.fintrack.client.deepseek;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeepSeekStreamClientTest {
+
+    private HttpServer server;
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void relaysContentDeltas_untilDone() throws Exception {
+        DeepSeekStreamClient client = serve(200, """
+                data: {"choices":[{"index":0,"delta":{"role":"assistant","content":""}}]}
+
+                : keep-alive
+
+                data: {"choices":[{"index":0,"delta":{"content":"### 1. Главный"}}]}
+
+                data: {"choices":[{"index":0,"delta":{"content":" вывод\\n"},"finish_reason":null}]}
+
+                data: {"choices":[{"index":0,"delta":{},"finish_reason":"stop"}]}
+
+                data: [DONE]
+
+                """);
+        List<String> tokens = new ArrayList<>();
+
+        String content = client.stream("key", DeepSeekRequest.builder().model("deepseek-chat").stream(true).build(), tokens::add);
+
+        assertThat(tokens).containsExactly("### 1. Главный", " вывод\n");
+        assertThat(content).isEqualTo("### 1. Главный вывод\n");
+    }
+
+    @Test
+    void errorStatus_isReportedBeforeAnyToken() throws Exception {
+        DeepSeekStreamClient client = serve(503, "{\"error\":\"busy\"}");
+        List<String> tokens = new ArrayList<>();
+
+        assertThatThrownBy(() -> client.stream("key", DeepSeekRequest.builder().build(), tokens::add))
+                .isInstanceOf(DeepSeekStreamException.class)
+                .hasMessageContaining("503");
+        assertThat(tokens).isEmpty();
+    }
+
+    private DeepSeekStreamClient serve(int status, String body) throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/chat/completions", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(status, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/chat/completions");
+        return new DeepSeekStreamClient(new ObjectMapper(), uri);
+    }
+}
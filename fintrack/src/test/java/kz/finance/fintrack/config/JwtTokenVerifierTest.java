@@ -0,0 +1,80 @@
+package kz.finance.fintrack.config;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenVerifierTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void verify_readsPrincipalAndRoles_andReturnsCachedResultForSameToken() {
+        var verifier = verifier(NOW);
+        String token = token(SECRET, NOW.plusSeconds(600), 42);
+
+        var first = verifier.verify(token);
+        var second = verifier.verify(token);
+
+        assertThat(first.principal()).isEqualTo(new JwtPrincipal(42L, "john"));
+        assertThat(first.authorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        assertThat(first.expiresAt()).isEqualTo(NOW.plusSeconds(600));
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void verify_cachedTokenPastExp_isRejected() {
+        String token = token(SECRET, NOW.plusSeconds(60), 42);
+        var clock = new Clock() {
+            Instant now = NOW;
+
+            @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+            @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+            @Override public Instant instant() { return now; }
+        };
+        var verifier = new JwtTokenVerifier(SECRET, "fintrack-auth", "fintrack", clock);
+
+        verifier.verify(token);
+        clock.now = NOW.plusSeconds(61);
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void verify_foreignSignature_isRejected() {
+        String token = token("another-secret-another-secret-another-secret!!", NOW.plusSeconds(600), 42);
+
+        assertThatThrownBy(() -> verifier(NOW).verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    private static JwtTokenVerifier verifier(Instant now) {
+        return new JwtTokenVerifier(SECRET, "fintrack-auth", "fintrack", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    static String token(String secret, Instant expiry, long uid) {
+        return Jwts.builder()
+                .setIssuer("fintrack-auth")
+                .setAudience("fintrack")
+                .setSubject("john")
+                .claim(JwtPrincipal.UID_CLAIM, uid)
+                .claim("roles", List.of("ROLE_USER"))
+                .setIssuedAt(Date.from(NOW))
+                .setExpiration(Date.from(expiry))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,67 @@
+package kz.finance.fintrack.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kz.finance.fintrack.repository.TransactionDailyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RepositoryMetricsAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TransactionDailyRollupRepository target = mock(TransactionDailyRollupRepository.class);
+    private final TransactionDailyRollupRepository repo = proxy(target);
+
+    @Test
+    void declaredAndInheritedMethods_areTimedPerQuery() {
+        repo.applyDelta(1L, LocalDate.parse("2026-01-01"), 2L, "EXPENSE", BigDecimal.TEN, 1);
+        repo.applyDelta(1L, LocalDate.parse("2026-01-02"), 2L, "EXPENSE", BigDecimal.TEN, 1);
+        repo.count();
+
+        assertThat(timerCount("applyDelta", "SUCCESS")).isEqualTo(2);
+        assertThat(timerCount("count", "SUCCESS")).isEqualTo(1);
+    }
+
+    @Test
+    void failedQuery_isTimedWithErrorOutcome_andExceptionPropagates() {
+        when(target.applyDelta(anyLong(), any(), anyLong(), any(), any(), anyLong()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThatThrownBy(() -> repo.applyDelta(1L, LocalDate.parse("2026-01-01"), 2L, "EXPENSE", BigDecimal.TEN, 1))
+                .isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(timerCount("applyDelta", "ERROR")).isEqualTo(1);
+    }
+
+    @Test
+    void objectMethods_areNotTimed() {
+        repo.toString();
+
+        assertThat(registry.find(RepositoryMetricsAspect.TIMER).timers()).isEmpty();
+    }
+
+    private long timerCount(String query, String outcome) {
+        return registry.get(RepositoryMetricsAspect.TIMER)
+                .tag("repository", "TransactionDailyRollupRepository")
+                .tag("query", query)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    private TransactionDailyRollupRepository proxy(TransactionDailyRollupRepository target) {
+        var factory = new AspectJProxyFactory(target);
+        factory.addAspect(new RepositoryMetricsAspect(registry));
+        return factory.getProxy();
+    }
+}
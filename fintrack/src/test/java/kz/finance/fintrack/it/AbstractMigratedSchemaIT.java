@@ -0,0 +1,27 @@
+package kz.finance.fintrack.it;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+
+/**
+ * Репозиторные IT на реальной схеме migrator: test-schema.sql не накатывается, вместо него — V*.sql.
+ * Контейнер Postgres поднимается заново для каждого класса, поэтому контекст после класса не кешируется.
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DirtiesContext
+public abstract class AbstractMigratedSchemaIT extends AbstractPostgresIT {
+
+    @BeforeAll
+    void migrate() throws Exception {
+        try (Connection c = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())) {
+            MigratorSchema.apply(c);
+        }
+    }
+}
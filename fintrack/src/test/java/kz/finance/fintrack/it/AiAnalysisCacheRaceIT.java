@@ -0,0 +1,143 @@
+package kz.finance.fintrack.it;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kz.finance.fintrack.service.AiAnalysisCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Гонка записи в ai_analysis_cache с транзакцией, которая меняет месяц и ещё не закоммичена:
+ * advisory-блокировка (V14) упорядочивает вставку в кеш и триггер инвалидации.
+ */
+@Import({AiAnalysisCache.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AiAnalysisCacheRaceIT extends AbstractMigratedSchemaIT {
+
+    private static final String HASH = "a".repeat(64);
+
+    @Autowired
+    AiAnalysisCache cache;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    JdbcTemplate jdbc;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @BeforeAll
+    void seed() throws SQLException {
+        try (Connection c = connect(); Statement st = c.createStatement()) {
+            st.execute("INSERT INTO users (id, email, password, username) VALUES (1, 'u1', 'x', 'u1')");
+        }
+    }
+
+    @AfterAll
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void uncommittedWriter_storeWaitsForItsCommit_andDoesNotCache() throws Exception {
+        YearMonth month = YearMonth.of(2026, 3);
+
+        Future<?> store;
+        try (Connection writer = connect()) {
+            writer.setAutoCommit(false);
+            // триггер уже удалил записи месяца, коммита ещё нет — как у долгого импорта выписки
+            insertTransaction(writer, month);
+
+            long horizon = cache.readHorizon();
+            store = executor.submit(() -> cache.store(
+                    1L, month, HASH, "deepseek-chat", "KZT", "stale", Duration.ofSeconds(3), horizon));
+
+            sleep();
+            assertThat(store.isDone()).as("store must wait for the writer").isFalse();
+            writer.commit();
+        }
+        store.get(5, TimeUnit.SECONDS);
+
+        assertThat(cachedRows(month)).isZero();
+    }
+
+    @Test
+    void writerAfterStore_waitsForItsCommit_andInvalidates() throws Exception {
+        YearMonth month = YearMonth.of(2026, 4);
+        long horizon = cache.readHorizon();
+
+        Future<?> writer = new TransactionTemplate(transactionManager).execute(status -> {
+            cache.store(1L, month, HASH, "deepseek-chat", "KZT", "fresh", Duration.ofSeconds(3), horizon);
+            assertThat(jdbc.queryForObject("SELECT count(*) FROM ai_analysis_cache WHERE user_id = 1 AND period = ?",
+                    Long.class, month.atDay(1))).isEqualTo(1);
+
+            Future<?> w = executor.submit(() -> {
+                try (Connection c = connect()) {
+                    insertTransaction(c, month);
+                }
+                return null;
+            });
+            sleep();
+            assertThat(w.isDone()).as("writer must wait for the cache insert").isFalse();
+            return w;
+        });
+
+        writer.get(5, TimeUnit.SECONDS);
+
+        assertThat(cachedRows(month)).isZero();
+    }
+
+    private static void insertTransaction(Connection c, YearMonth month) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("""
+                INSERT INTO transaction (amount, date, type, category_id, user_id)
+                VALUES (10, ?, 'EXPENSE', (SELECT min(id) FROM transaction_category), 1)
+                """)) {
+            ps.setObject(1, month.atDay(10).atTime(12, 0));
+            ps.executeUpdate();
+        }
+    }
+
+    private static long cachedRows(YearMonth month) throws SQLException {
+        try (Connection c = connect();
+             PreparedStatement ps = c.prepareStatement("SELECT count(*) FROM ai_analysis_cache WHERE user_id = 1 AND period = ?")) {
+            ps.setObject(1, month.atDay(1));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
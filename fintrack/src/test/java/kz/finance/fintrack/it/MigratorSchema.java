@@ -0,0 +1,53 @@
+package kz.finance.fintrack.it;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Реальная схема из migrator для тестов на Postgres: V*.sql по порядку версий, каждая в своей транзакции.
+ * test-schema.sql (профиль test) не содержит партиций, триггеров и функций миграций.
+ */
+public final class MigratorSchema {
+
+    private static final Path MIGRATIONS = Path.of("../migrator/src/main/resources/db/migration");
+    private static final Pattern VERSION = Pattern.compile("V(\\d+)__.*\\.sql");
+
+    private MigratorSchema() {}
+
+    public static void apply(Connection c) throws SQLException, IOException {
+        boolean autoCommit = c.getAutoCommit();
+        c.setAutoCommit(false);
+        try (Statement st = c.createStatement()) {
+            for (Path migration : migrations()) {
+                st.execute(Files.readString(migration));
+                c.commit();
+            }
+        } finally {
+            c.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static List<Path> migrations() throws IOException {
+        try (Stream<Path> files = Files.list(MIGRATIONS)) {
+            return files
+                    .filter(p -> VERSION.matcher(p.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingInt(MigratorSchema::version))
+                    .toList();
+        }
+    }
+
+    private static int version(Path migration) {
+        Matcher m = VERSION.matcher(migration.getFileName().toString());
+        m.matches();
+        return Integer.parseInt(m.group(1));
+    }
+}
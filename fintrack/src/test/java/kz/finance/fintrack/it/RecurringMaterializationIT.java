@@ -0,0 +1,143 @@
+package kz.finance.fintrack.it;
+
+import kz.finance.fintrack.dto.recurring.RecurringMaterializationDto;
+import kz.finance.fintrack.repository.RecurringTransactionRuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проведение повторяющихся транзакций одним оператором
+ * ({@link RecurringTransactionRuleRepository#materializeDue}) на схеме migrator.
+ */
+class RecurringMaterializationIT extends AbstractMigratedSchemaIT {
+
+    private static final int MAX_PER_RULE = 100;
+
+    @Autowired
+    RecurringTransactionRuleRepository ruleRepository;
+    @Autowired
+    JdbcTemplate jdbc;
+
+    private long expenseCategory;
+    private long incomeCategory;
+
+    @BeforeEach
+    void seed() {
+        jdbc.update("INSERT INTO users (id, email, password, username) VALUES (1, 'u1', 'x', 'u1')");
+        expenseCategory = jdbc.queryForObject(
+                "SELECT min(id) FROM transaction_category WHERE system AND type = 'EXPENSE'", Long.class);
+        incomeCategory = jdbc.queryForObject(
+                "SELECT min(id) FROM transaction_category WHERE system AND type = 'INCOME'", Long.class);
+    }
+
+    @Test
+    void monthly_31st_isAnchoredToStart() {
+        long rule = rule("EXPENSE", expenseCategory, "250.00", "MONTHLY", "2026-01-31 09:00", null);
+
+        var result = ruleRepository.materializeDue(LocalDateTime.parse("2026-03-31T12:00:00"), 10, MAX_PER_RULE);
+
+        assertThat(result).isEqualTo(new RecurringMaterializationDto(1, 3));
+        assertThat(jdbc.queryForList("SELECT date FROM transaction WHERE user_id = 1 ORDER BY date", LocalDateTime.class))
+                .containsExactly(
+                        LocalDateTime.parse("2026-01-31T09:00:00"),
+                        LocalDateTime.parse("2026-02-28T09:00:00"),
+                        LocalDateTime.parse("2026-03-31T09:00:00"));
+        assertThat(nextOccurrenceAt(rule)).isEqualTo(LocalDateTime.parse("2026-04-30T09:00:00"));
+    }
+
+    @Test
+    void endAt_deactivatesRuleAfterLastOccurrence() {
+        long rule = rule("EXPENSE", expenseCategory, "10.00", "DAILY", "2026-01-01 10:00", "2026-01-03 10:00");
+
+        var result = ruleRepository.materializeDue(LocalDateTime.parse("2026-01-10T00:00:00"), 10, MAX_PER_RULE);
+
+        assertThat(result.transactions()).isEqualTo(3);
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT active, next_occurrence_no FROM recurring_transaction_rule WHERE id = ?", rule);
+        assertThat(row.get("active")).isEqualTo(false);
+        assertThat(row.get("next_occurrence_no")).isEqualTo(3);
+
+        assertThat(ruleRepository.materializeDue(LocalDateTime.parse("2026-02-01T00:00:00"), 10, MAX_PER_RULE))
+                .isEqualTo(new RecurringMaterializationDto(0, 0));
+    }
+
+    @Test
+    void rerunAfterLostProgress_postsNothingTwice() {
+        long rule = rule("INCOME", incomeCategory, "1000.00", "WEEKLY", "2026-01-05 08:00", null);
+        LocalDateTime now = LocalDateTime.parse("2026-01-27T00:00:00");
+
+        assertThat(ruleRepository.materializeDue(now, 10, MAX_PER_RULE).transactions()).isEqualTo(4);
+
+        // прогон упал после проведения, но до сдвига правила (или правило провёл параллельный инстанс)
+        jdbc.update("UPDATE recurring_transaction_rule SET next_occurrence_no = 0 WHERE id = ?", rule);
+        var rerun = ruleRepository.materializeDue(now, 10, MAX_PER_RULE);
+
+        assertThat(rerun).isEqualTo(new RecurringMaterializationDto(1, 0));
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM transaction WHERE user_id = 1", Long.class)).isEqualTo(4);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM recurring_transaction_occurrence WHERE rule_id = ?",
+                Long.class, rule)).isEqualTo(4);
+        assertThat(nextOccurrenceAt(rule)).isEqualTo(LocalDateTime.parse("2026-02-02T08:00:00"));
+        assertRollupMatchesTransactions();
+    }
+
+    @Test
+    void rollup_sumsOccurrencesOfSeveralRulesPerDay() {
+        rule("EXPENSE", expenseCategory, "10.50", "DAILY", "2026-01-01 09:00", null);
+        rule("EXPENSE", expenseCategory, "4.50", "DAILY", "2026-01-01 18:00", null);
+        rule("INCOME", incomeCategory, "300.00", "MONTHLY", "2026-01-01 07:00", null);
+        jdbc.update("""
+                INSERT INTO transaction_daily_rollup (user_id, day, category_id, type, total_amount, tx_count)
+                VALUES (1, DATE '2026-01-02', ?, 'EXPENSE', 100.00, 1)
+                """, expenseCategory);
+        jdbc.update("""
+                INSERT INTO transaction (amount, date, type, category_id, user_id)
+                VALUES (100.00, TIMESTAMP '2026-01-02 12:00', 'EXPENSE', ?, 1)
+                """, expenseCategory);
+
+        var result = ruleRepository.materializeDue(LocalDateTime.parse("2026-01-03T12:00:00"), 10, MAX_PER_RULE);
+
+        assertThat(result).isEqualTo(new RecurringMaterializationDto(3, 6));
+        assertThat(jdbc.queryForObject("""
+                SELECT total_amount FROM transaction_daily_rollup
+                WHERE user_id = 1 AND day = DATE '2026-01-02' AND category_id = ? AND type = 'EXPENSE'
+                """, BigDecimal.class, expenseCategory)).isEqualByComparingTo("115.00");
+        assertRollupMatchesTransactions();
+    }
+
+    private void assertRollupMatchesTransactions() {
+        String fromTransactions = """
+                SELECT t.date::date AS day, t.category_id, t.type, SUM(t.amount) AS total, COUNT(*) AS cnt
+                FROM transaction t WHERE t.user_id = 1
+                GROUP BY 1, 2, 3 ORDER BY 1, 2, 3
+                """;
+        String fromRollup = """
+                SELECT r.day, r.category_id, r.type, r.total_amount AS total, r.tx_count AS cnt
+                FROM transaction_daily_rollup r WHERE r.user_id = 1 AND r.tx_count > 0
+                ORDER BY 1, 2, 3
+                """;
+        List<Map<String, Object>> expected = jdbc.queryForList(fromTransactions);
+        assertThat(jdbc.queryForList(fromRollup)).isEqualTo(expected);
+    }
+
+    private LocalDateTime nextOccurrenceAt(long ruleId) {
+        return jdbc.queryForObject(
+                "SELECT next_occurrence_at FROM recurring_transaction_rule WHERE id = ?", LocalDateTime.class, ruleId);
+    }
+
+    private long rule(String type, long categoryId, String amount, String frequency, String startAt, String endAt) {
+        return jdbc.queryForObject("""
+                INSERT INTO recurring_transaction_rule (user_id, category_id, type, amount, frequency, start_at, end_at)
+                VALUES (1, ?, ?, ?::numeric, ?, ?::timestamp, ?::timestamp)
+                RETURNING id
+                """, Long.class, categoryId, type, amount, frequency, startAt, endAt);
+    }
+}
@@ -42,7 +42,8 @@ class SubscriptionServiceIdempotencyExtraTest {
                 mock(AppleReceiptVerifier.class),
                 userService,
                 new ObjectMapper(),
-                persistence
+                persistence,
+                mock(EntitlementCache.class)
         );
 
         when(gp.verify(anyString(), anyString(), eq(true)))
@@ -92,7 +93,8 @@ class SubscriptionServiceIdempotencyExtraTest {
                 mock(AppleReceiptVerifier.class),
                 userService,
                 new ObjectMapper(),
-                persistence
+                persistence,
+                mock(EntitlementCache.class)
         );
 
         when(gp.verify(anyString(), anyString(), eq(true)))
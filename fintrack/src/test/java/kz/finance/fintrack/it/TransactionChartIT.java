@@ -0,0 +1,104 @@
+package kz.finance.fintrack.it;
+
+import kz.finance.fintrack.dto.PeriodType;
+import kz.finance.fintrack.dto.analytics.AnalyticsStatsDto;
+import kz.finance.fintrack.dto.analytics.ChartPointDto;
+import kz.finance.fintrack.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * График и итоги аналитики в часовом поясе клиента: {@link TransactionRepository#getChartData}
+ * и {@link TransactionRepository#getSummaryStats} на схеме migrator. date транзакций хранится в UTC.
+ */
+class TransactionChartIT extends AbstractMigratedSchemaIT {
+
+    private static final ZoneId ALMATY = ZoneId.of("Asia/Almaty");
+    private static final LocalDateTime MARCH_START = LocalDate.of(2026, 3, 1).atStartOfDay();
+    private static final LocalDateTime MARCH_END = LocalDate.of(2026, 3, 31).atTime(LocalTime.MAX);
+
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @BeforeEach
+    void seed() {
+        jdbc.update("INSERT INTO users (id, email, password, username) VALUES (1, 'u1', 'x', 'u1'), (2, 'u2', 'x', 'u2')");
+        insert(1, "2026-02-28 18:00", "EXPENSE", 7);    // Алматы 28.02 23:00 — предыдущий период
+        insert(1, "2026-02-28 21:00", "EXPENSE", 40);   // Алматы 01.03 02:00 — в UTC ещё февраль
+        insert(1, "2026-03-01 20:30", "INCOME", 100);   // Алматы 02.03 01:30
+        insert(1, "2026-03-31 19:30", "EXPENSE", 999);  // Алматы 01.04 00:30 — за периодом
+        insert(2, "2026-03-10 12:00", "INCOME", 555);   // чужой пользователь
+    }
+
+    @Test
+    void chart_bucketsInClientZone_withoutGaps() {
+        List<ChartPointDto> chart = transactionRepository.getChartData(1L, MARCH_START, MARCH_END, PeriodType.MONTH, ALMATY);
+
+        assertThat(chart).hasSize(31);
+        assertThat(chart.get(0).label()).isEqualTo("2026-03-01");
+        assertThat(chart.get(30).label()).isEqualTo("2026-03-31");
+        assertThat(chart.get(0).bucketStart()).isEqualTo(Instant.parse("2026-02-28T19:00:00Z").toEpochMilli());
+        assertThat(chart.get(1).bucketStart() - chart.get(0).bucketStart()).isEqualTo(Duration.ofDays(1).toMillis());
+
+        assertThat(chart.get(0).expense()).isEqualByComparingTo("40");
+        assertThat(chart.get(1).income()).isEqualByComparingTo("100");
+        assertThat(chart.subList(2, 31)).allSatisfy(p -> {
+            assertThat(p.income()).isEqualByComparingTo("0");
+            assertThat(p.expense()).isEqualByComparingTo("0");
+        });
+    }
+
+    @Test
+    void chart_yearBucketsAreMonths() {
+        LocalDateTime start = LocalDate.of(2026, 1, 1).atStartOfDay();
+        LocalDateTime end = LocalDate.of(2026, 12, 31).atTime(LocalTime.MAX);
+
+        List<ChartPointDto> chart = transactionRepository.getChartData(1L, start, end, PeriodType.YEAR, ALMATY);
+
+        assertThat(chart).extracting(ChartPointDto::label).hasSize(12).startsWith("2026-01").endsWith("2026-12");
+        assertThat(chart.get(1).expense()).isEqualByComparingTo("7");
+        assertThat(chart.get(2).expense()).isEqualByComparingTo("40");
+        assertThat(chart.get(3).expense()).isEqualByComparingTo("999");
+    }
+
+    @Test
+    void summary_matchesChartOfTheSamePeriod() {
+        LocalDateTime previousStart = MARCH_START.minus(Duration.between(MARCH_START, MARCH_END));
+
+        AnalyticsStatsDto stats = transactionRepository.getSummaryStats(1L, MARCH_START, MARCH_END, previousStart, ALMATY);
+        List<ChartPointDto> chart = transactionRepository.getChartData(1L, MARCH_START, MARCH_END, PeriodType.MONTH, ALMATY);
+
+        assertThat(stats.currentIncome()).isEqualByComparingTo(sum(chart, true)).isEqualByComparingTo("100");
+        assertThat(stats.currentExpense()).isEqualByComparingTo(sum(chart, false)).isEqualByComparingTo("40");
+        assertThat(stats.previousIncome()).isEqualByComparingTo("0");
+        assertThat(stats.previousExpense()).isEqualByComparingTo("7");
+    }
+
+    private static BigDecimal sum(List<ChartPointDto> chart, boolean income) {
+        return chart.stream()
+                .map(income ? ChartPointDto::income : ChartPointDto::expense)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private void insert(long userId, String utcDate, String type, int amount) {
+        jdbc.update("""
+                INSERT INTO transaction (amount, date, type, category_id, user_id)
+                VALUES (?, ?::timestamp, ?, (SELECT min(id) FROM transaction_category), ?)
+                """, amount, utcDate, type, userId);
+    }
+}
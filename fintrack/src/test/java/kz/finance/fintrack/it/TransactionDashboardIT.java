@@ -0,0 +1,79 @@
+package kz.finance.fintrack.it;
+
+import kz.finance.fintrack.dto.analytics.DashboardRawDto;
+import kz.finance.fintrack.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сводный запрос дашборда {@link TransactionRepository#getDashboard} на rollup из migrator.
+ */
+class TransactionDashboardIT extends AbstractMigratedSchemaIT {
+
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @BeforeEach
+    void seed() {
+        jdbc.update("INSERT INTO users (id, email, password, username) VALUES (1, 'u1', 'x', 'u1'), (2, 'u2', 'x', 'u2')");
+        rollup(1, "2025-01-10", "INCOME", "1000.00");   // давняя история
+        rollup(1, "2026-08-20", "EXPENSE", "50.00");    // предыдущий период
+        rollup(1, "2026-09-05", "INCOME", "300.00");    // текущий период
+        rollup(1, "2026-09-10", "EXPENSE", "120.00");
+        rollup(1, "2027-02-01", "EXPENSE", "40.00");    // датирована позже периода
+        rollup(2, "2026-09-05", "INCOME", "999.00");    // чужой пользователь
+
+        jdbc.update("""
+                INSERT INTO transaction (amount, date, type, category_id, user_id)
+                VALUES (120, TIMESTAMP '2026-09-10 12:00', 'EXPENSE', (SELECT min(id) FROM transaction_category), 1)
+                """);
+    }
+
+    @Test
+    void totalsCoverAllTime_periodSumsAreBoundedByDays() {
+        DashboardRawDto dashboard = transactionRepository.getDashboard(
+                1L,
+                LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 30),
+                LocalDate.of(2026, 8, 3), LocalDate.of(2026, 8, 31),
+                5
+        );
+
+        var stats = dashboard.stats();
+        assertThat(stats.totalIncome()).isEqualByComparingTo("1300.00");
+        assertThat(stats.totalExpense()).isEqualByComparingTo("210.00");
+        assertThat(stats.currentPeriodIncome()).isEqualByComparingTo("300.00");
+        assertThat(stats.currentPeriodExpense()).isEqualByComparingTo("120.00");
+        assertThat(stats.previousPeriodIncome()).isEqualByComparingTo("0");
+        assertThat(stats.previousPeriodExpense()).isEqualByComparingTo("50.00");
+        assertThat(dashboard.recentTransactions()).hasSize(1);
+    }
+
+    @Test
+    void pastPeriod_keepsAllTimeTotals() {
+        DashboardRawDto dashboard = transactionRepository.getDashboard(
+                1L,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31),
+                LocalDate.of(2024, 12, 2), LocalDate.of(2024, 12, 31),
+                5
+        );
+
+        assertThat(dashboard.stats().totalIncome()).isEqualByComparingTo("1300.00");
+        assertThat(dashboard.stats().totalExpense()).isEqualByComparingTo("210.00");
+        assertThat(dashboard.stats().currentPeriodIncome()).isEqualByComparingTo("1000.00");
+    }
+
+    private void rollup(long userId, String day, String type, String amount) {
+        jdbc.update("""
+                INSERT INTO transaction_daily_rollup (user_id, day, category_id, type, total_amount, tx_count)
+                VALUES (?, ?::date, (SELECT min(id) FROM transaction_category), ?, ?::numeric, 1)
+                """, userId, day, type, amount);
+    }
+}
@@ -0,0 +1,140 @@
+package kz.finance.fintrack.it;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Регрессия планов запросов к transaction на реальной схеме: прогоняются миграции migrator,
+ * затем EXPLAIN запросов аналитики. Ловит удалённый или не подходящий под запрос индекс.
+ */
+class TransactionIndexPlanIT extends AbstractPostgresIT {
+
+    private static final int USERS = 200;
+    private static final int ROWS = 40_000;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        try (Connection c = connect(); Statement st = c.createStatement()) {
+            // при асинхронном коммите VACUUM не отметит страницы all-visible, пока коммит не сброшен в WAL
+            st.execute("SET synchronous_commit = on");
+            MigratorSchema.apply(c);
+            c.setAutoCommit(false);
+
+            st.execute("INSERT INTO users (id, email, password, username) "
+                    + "SELECT g, 'u' || g, 'x', 'u' || g FROM generate_series(1, " + USERS + ") g");
+            // на чистой базе партиции есть только с текущего месяца, прошлые создаём явно
+            st.execute("SELECT transaction_create_partition(m::date) "
+                    + "FROM generate_series(DATE '2026-01-01', DATE '2026-06-01', INTERVAL '1 month') m");
+            st.execute("""
+                    INSERT INTO transaction (amount, date, type, category_id, user_id)
+                    SELECT g %% 97 + 1,
+                           TIMESTAMP '2026-01-01' + (g %% 180) * INTERVAL '1 day' + (g %% 24) * INTERVAL '1 hour',
+                           CASE WHEN g %% 3 = 0 THEN 'INCOME' ELSE 'EXPENSE' END,
+                           (SELECT min(id) FROM transaction_category),
+                           1 + g %% %d
+                    FROM generate_series(1, %d) g
+                    """.formatted(USERS, ROWS));
+            c.commit();
+
+            // visibility map: без неё index-only scan всё равно ходит в heap
+            c.setAutoCommit(true);
+            st.execute("VACUUM ANALYZE transaction");
+        }
+    }
+
+    @Test
+    void chartAggregation_isIndexOnlyWithoutHeapFetches() throws SQLException {
+        String plan = explainAnalyze("""
+                SELECT date_trunc('day', t.date),
+                       SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END),
+                       SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END)
+                FROM transaction t
+                WHERE t.user_id = 42
+                  AND t.date BETWEEN '2026-03-01' AND '2026-03-31 23:59:59.999999'
+                GROUP BY 1
+                """);
+
+        assertThat(plan).contains("Index Only Scan using").doesNotContain("Seq Scan");
+        assertThat(heapFetches(plan)).containsOnly(0L);
+    }
+
+    @Test
+    void categorySummary_overSeveralPartitions_isIndexOnly() throws SQLException {
+        String plan = explainAnalyze("""
+                SELECT t.category_id,
+                       SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END),
+                       SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END)
+                FROM transaction t
+                WHERE t.user_id = 42
+                  AND t.date BETWEEN '2026-01-01' AND '2026-06-30 23:59:59.999999'
+                GROUP BY t.category_id
+                """);
+
+        assertThat(plan).contains("Index Only Scan using").doesNotContain("Seq Scan");
+        assertThat(heapFetches(plan)).containsOnly(0L);
+    }
+
+    @Test
+    void recentTransactions_areReadInIndexOrder() throws SQLException {
+        String plan = explainAnalyze("""
+                SELECT t.* FROM transaction t
+                WHERE t.user_id = 42
+                ORDER BY t.date DESC, t.id DESC
+                LIMIT 5
+                """);
+
+        assertThat(plan).contains("Index Scan Backward").doesNotContain("Seq Scan");
+        assertThat(plan).doesNotContainPattern("(?m)(^|->\\s+)Sort\\s+\\(");
+    }
+
+    @Test
+    void redundantSingleColumnIndexes_areDropped() throws SQLException {
+        List<String> indexes = new ArrayList<>();
+        try (Connection c = connect(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT indexname FROM pg_indexes WHERE tablename = 'transaction'")) {
+            while (rs.next()) {
+                indexes.add(rs.getString(1));
+            }
+        }
+
+        assertThat(indexes)
+                .contains("idx_transaction_user_date", "idx_transaction_user_change")
+                .doesNotContain("idx_transaction_user", "idx_transaction_type", "idx_transaction_date");
+    }
+
+    private static String explainAnalyze(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Connection c = connect(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("EXPLAIN (ANALYZE, COSTS OFF) " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static List<Long> heapFetches(String plan) {
+        Matcher m = Pattern.compile("Heap Fetches: (\\d+)").matcher(plan);
+        List<Long> fetches = new ArrayList<>();
+        while (m.find()) {
+            fetches.add(Long.parseLong(m.group(1)));
+        }
+        return fetches;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
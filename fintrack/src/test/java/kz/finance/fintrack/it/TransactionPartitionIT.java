@@ -0,0 +1,141 @@
+package kz.finance.fintrack.it;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Функции обслуживания партиций transaction (V15) на реальной схеме migrator.
+ * Схема накатывается в отдельную базу, чтобы не пересекаться с другими IT на том же контейнере.
+ */
+class TransactionPartitionIT extends AbstractPostgresIT {
+
+    private static final String DATABASE = "partition_it";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @BeforeAll
+    void setUp() throws Exception {
+        try (Connection admin = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement st = admin.createStatement()) {
+            st.execute("DROP DATABASE IF EXISTS " + DATABASE);
+            st.execute("CREATE DATABASE " + DATABASE);
+        }
+        try (Connection c = connect(); Statement st = c.createStatement()) {
+            MigratorSchema.apply(c);
+            st.execute("INSERT INTO users (id, email, password, username) VALUES (1, 'u1', 'x', 'u1')");
+        }
+    }
+
+    @Test
+    void createPartition_movesRowsBeyondHorizonOutOfDefault() throws SQLException {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC).plusMonths(12);
+        String partition = partitionName(month);
+        long id = insertTransaction(month.atDay(5));
+
+        assertThat(count("SELECT count(*) FROM transaction_default WHERE id = " + id)).isEqualTo(1);
+        long changeSeq = count("SELECT change_seq FROM transaction WHERE id = " + id);
+
+        assertThat(createPartition(month.atDay(1))).isTrue();
+
+        assertThat(count("SELECT count(*) FROM transaction_default WHERE id = " + id)).isZero();
+        assertThat(count("SELECT count(*) FROM " + partition + " WHERE id = " + id)).isEqualTo(1);
+        assertThat(count("SELECT count(*) FROM pg_inherits WHERE inhrelid = '" + partition + "'::regclass")).isEqualTo(1);
+        // перенос — не изменение транзакции: delta sync не видит ни tombstone, ни нового change_seq
+        assertThat(count("SELECT change_seq FROM transaction WHERE id = " + id)).isEqualTo(changeSeq);
+        assertThat(count("SELECT count(*) FROM transaction_tombstone WHERE transaction_id = " + id)).isZero();
+
+        // новые строки месяца идут уже в партицию
+        long next = insertTransaction(month.atDay(20));
+        assertThat(count("SELECT count(*) FROM " + partition + " WHERE id = " + next)).isEqualTo(1);
+        assertThat(createPartition(month.atDay(1))).isFalse();
+    }
+
+    @Test
+    void ensurePartitions_createsMissingMonthsOnce() throws SQLException {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+
+        // V15 уже создала текущий месяц и три следующих
+        assertThat(count("SELECT transaction_ensure_partitions(3)")).isZero();
+        assertThat(count("SELECT transaction_ensure_partitions(5)")).isEqualTo(2);
+        assertThat(count("SELECT transaction_ensure_partitions(5)")).isZero();
+
+        for (int i = 0; i <= 5; i++) {
+            assertThat(count("SELECT count(*) FROM pg_inherits WHERE inhrelid = to_regclass('"
+                    + partitionName(current.plusMonths(i)) + "')")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void detachPartition_onlyForPastMonths() throws SQLException {
+        YearMonth past = YearMonth.now(ZoneOffset.UTC).minusMonths(14);
+        String partition = partitionName(past);
+        assertThat(createPartition(past.atDay(1))).isTrue();
+        long id = insertTransaction(past.atDay(10));
+
+        try (Connection c = connect(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT transaction_detach_partition('" + past.atDay(1) + "')")) {
+            rs.next();
+            assertThat(rs.getString(1)).isEqualTo(partition);
+        }
+
+        assertThat(count("SELECT count(*) FROM transaction WHERE id = " + id)).isZero();
+        assertThat(count("SELECT count(*) FROM " + partition + " WHERE id = " + id)).isEqualTo(1);
+
+        LocalDate currentMonth = YearMonth.now(ZoneOffset.UTC).atDay(1);
+        assertThatThrownBy(() -> count("SELECT count(*) FROM transaction_detach_partition('" + currentMonth + "')"))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("is not in the past");
+    }
+
+    private static long insertTransaction(LocalDate date) throws SQLException {
+        try (Connection c = connect(); PreparedStatement ps = c.prepareStatement("""
+                INSERT INTO transaction (amount, date, type, category_id, user_id)
+                VALUES (10, ?, 'EXPENSE', (SELECT min(id) FROM transaction_category), 1)
+                RETURNING id
+                """)) {
+            ps.setObject(1, date.atTime(12, 0));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static boolean createPartition(LocalDate month) throws SQLException {
+        try (Connection c = connect(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT transaction_create_partition('" + month + "')")) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    private static long count(String sql) throws SQLException {
+        try (Connection c = connect(); Statement st = c.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "transaction_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static Connection connect() throws SQLException {
+        String url = POSTGRES.getJdbcUrl().replace("/" + POSTGRES.getDatabaseName(), "/" + DATABASE);
+        return DriverManager.getConnection(url, POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
@@ -0,0 +1,147 @@
+package kz.finance.fintrack.load;
+
+import kz.finance.fintrack.it.AbstractPostgresIT;
+import kz.finance.fintrack.it.MigratorSchema;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузочный тест fintrack в связке с finance-security на реалистичном объёме данных.
+ *
+ * <p>Postgres — схема из migrator, засеянная {@code loadtest.users} пользователями и {@code loadtest.transactions}
+ * транзакциями. finance-security собирается из своего Dockerfile и выдаёт токены, DeepSeek, Google Play и
+ * Apple verifyReceipt заменены локальными заглушками с задержками порядка реальных.
+ * Результат — p50/p95/p99 и пропускная способность по эндпоинтам в логе теста и в target/load-test-report.txt.
+ *
+ * <p>Запуск (нужен Docker, по умолчанию ~2000 пользователей, ~2 млн транзакций, 5 минут нагрузки):
+ * <pre>mvn verify -Dit.test=FinTrackLoadIT -Dloadtest=true [-Dloadtest.concurrency=200 -Dloadtest.duration=PT5M]</pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FinTrackLoadIT extends AbstractPostgresIT {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 2_000);
+    private static final long TRANSACTIONS = Long.getLong("loadtest.transactions", 2_000_000L);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 200);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT1M"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT5M"));
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.05"));
+
+    private static final String JWT_SECRET = "load-test-jwt-secret-0123456789-0123456789-0123456789-0123456789";
+    private static final Path REPORT = Path.of("target/load-test-report.txt");
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void loadProps(DynamicPropertyRegistry r) {
+        LoadEnvironment env = LoadEnvironment.get();
+        env.stubs.springProperties().forEach((name, value) -> r.add(name, () -> value));
+        r.add("spring.security.jwt.secret", () -> JWT_SECRET);
+        // схема уже из migrator, test-schema.sql не нужен
+        r.add("spring.sql.init.mode", () -> "never");
+        r.add("spring.jpa.show-sql", () -> "false");
+        r.add("logging.level.feign.Logger", () -> "WARN");
+        r.add("logging.level.kz.finance.fintrack.client.google.GooglePlayApiClient", () -> "WARN");
+    }
+
+    @AfterAll
+    void tearDown() {
+        LoadEnvironment.get().close();
+    }
+
+    @Test
+    void mixedTraffic_staysWithinErrorBudget() throws Exception {
+        LoadEnvironment env = LoadEnvironment.get();
+        LatencyReport report = new LatencyReport();
+        LoadDriver driver = new LoadDriver(
+                "http://localhost:" + port, env.security.baseUrl(), USERS, env.expenseCategoryId, report);
+
+        Duration measured = driver.run(CONCURRENCY, WARMUP, DURATION);
+        LatencyReport.Snapshot snapshot = report.snapshot(measured);
+
+        String text = """
+                FinTrack load test: %d users, %d transactions, %d virtual users, warmup %s, measured %s
+                external API calls: %s
+
+                %s""".formatted(USERS, TRANSACTIONS, CONCURRENCY, WARMUP, measured,
+                env.stubs.hits(), snapshot.render());
+        log.info("Load test report ({}):\n{}", REPORT, text);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, text);
+
+        assertThat(snapshot.totalCount()).isPositive();
+        assertThat(snapshot.errorRate())
+                .as("error rate, see %s", REPORT)
+                .isLessThanOrEqualTo(MAX_ERROR_RATE);
+    }
+
+    /**
+     * Внешнее окружение поднимается один раз, до контекста Spring: @DynamicPropertySource
+     * вызывается раньше любых колбэков JUnit, а fintrack читает адреса заглушек и ключи при старте.
+     */
+    private static final class LoadEnvironment implements AutoCloseable {
+
+        private static LoadEnvironment instance;
+
+        private final ExternalStubs stubs;
+        private final FinanceSecurityContainer security;
+        private final long expenseCategoryId;
+
+        private LoadEnvironment() throws Exception {
+            stubs = new ExternalStubs();
+            try (Connection c = DriverManager.getConnection(
+                    POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())) {
+                MigratorSchema.apply(c);
+                LoadDataSeeder.seed(c, USERS, TRANSACTIONS);
+                try (Statement st = c.createStatement();
+                     ResultSet rs = st.executeQuery(
+                             "SELECT min(id) FROM transaction_category WHERE system AND type = 'EXPENSE'")) {
+                    rs.next();
+                    expenseCategoryId = rs.getLong(1);
+                }
+            }
+
+            int pgPort = POSTGRES.getFirstMappedPort();
+            org.testcontainers.Testcontainers.exposeHostPorts(pgPort);
+            security = new FinanceSecurityContainer(
+                    "jdbc:postgresql://host.testcontainers.internal:" + pgPort + "/" + POSTGRES.getDatabaseName(),
+                    POSTGRES.getUsername(), POSTGRES.getPassword(), JWT_SECRET);
+            security.start();
+        }
+
+        static synchronized LoadEnvironment get() {
+            if (instance == null) {
+                try {
+                    instance = new LoadEnvironment();
+                } catch (Exception e) {
+                    throw new IllegalStateException("Load test environment failed to start", e);
+                }
+            }
+            return instance;
+        }
+
+        @Override
+        public void close() {
+            security.stop();
+            stubs.close();
+        }
+    }
+}
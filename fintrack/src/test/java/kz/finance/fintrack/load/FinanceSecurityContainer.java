@@ -0,0 +1,47 @@
+package kz.finance.fintrack.load;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * finance-security из его Dockerfile: выдаёт access-токены, которыми виртуальные пользователи ходят в fintrack.
+ * База общая с fintrack — Postgres на хосте доступен контейнеру как host.testcontainers.internal.
+ */
+final class FinanceSecurityContainer extends GenericContainer<FinanceSecurityContainer> {
+
+    private static final int PORT = 8081;
+
+    FinanceSecurityContainer(String jdbcUrl, String username, String password, String jwtSecret) {
+        super(new ImageFromDockerfile("fintrack-load/finance-security", false)
+                .withFileFromPath(".", Path.of("../finance-security")));
+        withExposedPorts(PORT);
+        withEnv("SPRING_DATASOURCE_URL", jdbcUrl);
+        withEnv("SPRING_DATASOURCE_USERNAME", username);
+        withEnv("SPRING_DATASOURCE_PASSWORD", password);
+        withEnv("SPRING_JPA_SHOW_SQL", "false");
+        // TRACE-логи security из application.yml под нагрузкой меряли бы логирование, а не логин
+        withEnv("SPRING_APPLICATION_JSON", """
+                {"logging":{"level":{"org.springframework.security":"WARN",
+                  "org.springframework.security.web.FilterChainProxy":"WARN",
+                  "org.springframework.security.web.access":"WARN",
+                  "org.springframework.security.web.authentication":"WARN"}}}""");
+        withEnv("JWT_SECRET", jwtSecret);
+        withEnv("JWT_EXPIRATION_MS", String.valueOf(Duration.ofHours(1).toMillis()));
+        withEnv("RESEND_API_KEY", "load-test");
+        withEnv("GOOGLE_WEB_CLIENT_ID", "load-test");
+        withEnv("GOOGLE_ANDROID_CLIENT_ID", "load-test");
+        withEnv("GOOGLE_IOS_CLIENT_ID", "load-test");
+        withEnv("APPLE_ISSUER", "https://appleid.apple.com");
+        withEnv("APPLE_JWKS_URL", "https://appleid.apple.com/auth/keys");
+        // образ собирается maven-ом внутри docker: первая сборка долгая
+        waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(10)));
+    }
+
+    String baseUrl() {
+        return "http://" + getHost() + ":" + getMappedPort(PORT);
+    }
+}
@@ -0,0 +1,99 @@
+package kz.finance.fintrack.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Латентность по эндпоинтам: HdrHistogram в микросекундах (до 60 с, 3 значащих цифры) и счётчик ошибок.
+ * Запись потокобезопасна и без блокировок — пишут все виртуальные пользователи сразу.
+ */
+final class LatencyReport {
+
+    private static final long MAX_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        Endpoint e = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        e.recorder.recordValue(Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), MAX_MICROS));
+        if (!ok) {
+            e.errors.increment();
+        }
+    }
+
+    /** Сбрасывает накопленное — после прогрева JIT, пулов соединений и кешей. */
+    void reset() {
+        endpoints.values().forEach(Endpoint::reset);
+    }
+
+    Snapshot snapshot(Duration elapsed) {
+        Map<String, Row> rows = new TreeMap<>();
+        endpoints.forEach((name, e) -> rows.put(name, e.row()));
+        return new Snapshot(rows, elapsed);
+    }
+
+    record Row(long count, long errors, double p50, double p95, double p99, double max) {}
+
+    record Snapshot(Map<String, Row> rows, Duration elapsed) {
+
+        long totalCount() {
+            return rows.values().stream().mapToLong(Row::count).sum();
+        }
+
+        long totalErrors() {
+            return rows.values().stream().mapToLong(Row::errors).sum();
+        }
+
+        double errorRate() {
+            long total = totalCount();
+            return total == 0 ? 0 : (double) totalErrors() / total;
+        }
+
+        String render() {
+            double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+            StringBuilder out = new StringBuilder();
+            out.append("%-28s %9s %7s %9s %9s %9s %9s %9s%n".formatted(
+                    "endpoint", "requests", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "req/s"));
+            rows.forEach((name, r) -> out.append("%-28s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n".formatted(
+                    name, r.count(), r.errors(), r.p50(), r.p95(), r.p99(), r.max(), r.count() / seconds)));
+            out.append("%-28s %9d %7d %49.1f%n".formatted(
+                    "total", totalCount(), totalErrors(), totalCount() / seconds));
+            return out.toString();
+        }
+    }
+
+    private static final class Endpoint {
+
+        private final Recorder recorder = new Recorder(MAX_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+        private Histogram accumulated = new Histogram(MAX_MICROS, 3);
+
+        synchronized void reset() {
+            recorder.reset();
+            errors.reset();
+            accumulated = new Histogram(MAX_MICROS, 3);
+        }
+
+        synchronized Row row() {
+            accumulated.add(recorder.getIntervalHistogram());
+            return new Row(
+                    accumulated.getTotalCount(),
+                    errors.sum(),
+                    millis(accumulated.getValueAtPercentile(50)),
+                    millis(accumulated.getValueAtPercentile(95)),
+                    millis(accumulated.getValueAtPercentile(99)),
+                    millis(accumulated.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package kz.finance.fintrack.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Наполняет базу под нагрузочный тест: пользователи с одинаковым паролем, транзакции за последние
+ * {@link #MONTHS} месяцев по месячным партициям и дневной rollup по ним.
+ * Всё вставляется на стороне Postgres через generate_series — миллионы строк без передачи по сети.
+ */
+@Slf4j
+final class LoadDataSeeder {
+
+    static final String PASSWORD = "load-test-password";
+    static final int MONTHS = 13;
+
+    private static final int CHUNK = 250_000;
+
+    private LoadDataSeeder() {}
+
+    static String username(int n) {
+        return "load-user-" + n;
+    }
+
+    static void seed(Connection c, int users, long transactions) throws SQLException {
+        long started = System.nanoTime();
+        boolean autoCommit = c.getAutoCommit();
+        c.setAutoCommit(false);
+        try (Statement st = c.createStatement()) {
+            insertUsers(c, users);
+            st.execute("SELECT transaction_create_partition(m::date) FROM generate_series("
+                    + "date_trunc('month', now() AT TIME ZONE 'UTC') - INTERVAL '" + (MONTHS - 1) + " months', "
+                    + "date_trunc('month', now() AT TIME ZONE 'UTC'), INTERVAL '1 month') m");
+            c.commit();
+
+            for (long from = 1; from <= transactions; from += CHUNK) {
+                insertTransactions(st, users, from, Math.min(from + CHUNK - 1, transactions));
+                c.commit();
+            }
+
+            st.execute("""
+                    INSERT INTO transaction_daily_rollup (user_id, day, category_id, type, total_amount, tx_count)
+                    SELECT t.user_id, t.date::date, t.category_id, t.type, SUM(t.amount), COUNT(*)
+                    FROM transaction t
+                    GROUP BY t.user_id, t.date::date, t.category_id, t.type
+                    ON CONFLICT (user_id, day, category_id, type) DO NOTHING
+                    """);
+            c.commit();
+
+            c.setAutoCommit(true);
+            st.execute("VACUUM ANALYZE");
+        } finally {
+            c.setAutoCommit(autoCommit);
+        }
+        log.warn("Load data seeded: {} users, {} transactions in {} s",
+                users, transactions, (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private static void insertUsers(Connection c, int users) throws SQLException {
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        try (PreparedStatement ps = c.prepareStatement("""
+                INSERT INTO users (id, email, password, username)
+                SELECT g, 'load-user-' || g || '@load.test', ?, 'load-user-' || g
+                FROM generate_series(1, ?) g
+                """)) {
+            ps.setString(1, hash);
+            ps.setInt(2, users);
+            ps.executeUpdate();
+        }
+        try (Statement st = c.createStatement()) {
+            st.execute("INSERT INTO user_roles (user_id, role) SELECT id, 'ROLE_USER' FROM users");
+            st.execute("SELECT setval('seq_users_id', (SELECT max(id) FROM users))");
+        }
+    }
+
+    /**
+     * Строки g ∈ [from, to]: пользователь g % users, дата равномерно по последним {@link #MONTHS} месяцам,
+     * треть — доходы; категория — системная нужного типа.
+     */
+    private static void insertTransactions(Statement st, int users, long from, long to) throws SQLException {
+        st.execute("""
+                WITH income AS (SELECT array_agg(id ORDER BY id) ids FROM transaction_category WHERE system AND type = 'INCOME'),
+                     expense AS (SELECT array_agg(id ORDER BY id) ids FROM transaction_category WHERE system AND type = 'EXPENSE')
+                INSERT INTO transaction (amount, date, type, category_id, user_id)
+                SELECT round((random() * 50000 + 100)::numeric, 2),
+                       date_trunc('month', now() AT TIME ZONE 'UTC') - INTERVAL '%1$d months'
+                           + random() * (now() AT TIME ZONE 'UTC' - (date_trunc('month', now() AT TIME ZONE 'UTC') - INTERVAL '%1$d months')),
+                       CASE WHEN g %% 3 = 0 THEN 'INCOME' ELSE 'EXPENSE' END,
+                       CASE WHEN g %% 3 = 0
+                            THEN income.ids[1 + g %% cardinality(income.ids)]
+                            ELSE expense.ids[1 + g %% cardinality(expense.ids)] END,
+                       1 + g %% %2$d
+                FROM generate_series(%3$d::bigint, %4$d::bigint) g, income, expense
+                """.formatted(MONTHS - 1, users, from, to));
+    }
+}
@@ -0,0 +1,221 @@
+package kz.finance.fintrack.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Закрытая модель нагрузки: {@code concurrency} виртуальных пользователей (виртуальные потоки) крутят цикл
+ * «случайный сценарий по весам → пауза». Каждый входит в finance-security под одним из засеянных
+ * пользователей и периодически перелогинивается под другим, так что кеши fintrack видят весь набор.
+ *
+ * <p>Время меряется от отправки до полного ответа. В закрытой модели медленный ответ задерживает следующий
+ * запрос того же пользователя, поэтому хвосты — нижняя оценка того, что увидели бы клиенты при открытой нагрузке.
+ */
+final class LoadDriver {
+
+    private static final int REQUESTS_PER_LOGIN = 50;
+    private static final Duration THINK_TIME = Duration.ofMillis(50);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(90);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private record Scenario(String name, int weight, Function<VirtualUser, HttpRequest.Builder> request) {}
+
+    private final URI fintrack;
+    private final URI security;
+    private final int users;
+    private final long expenseCategoryId;
+    private final LatencyReport report;
+    private final HttpClient http;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+
+    private volatile boolean running = true;
+
+    LoadDriver(String fintrackUrl, String securityUrl, int users, long expenseCategoryId, LatencyReport report) {
+        this.fintrack = URI.create(fintrackUrl);
+        this.security = URI.create(securityUrl);
+        this.users = users;
+        this.expenseCategoryId = expenseCategoryId;
+        this.report = report;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.scenarios = scenarios();
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+    }
+
+    /** Смесь по весам ≈ доля запросов: чтение дашборда и списков преобладает, запись и внешние API — реже. */
+    private List<Scenario> scenarios() {
+        return List.of(
+                new Scenario("dashboard", 20, u -> get("/api/dashboard")),
+                new Scenario("transactions.page", 10, u -> get("/api/transactions?page=0&size=20")),
+                new Scenario("transactions.scroll", 15, u -> get("/api/transactions/scroll?size=20")),
+                new Scenario("analytics.summary", 12, u -> get("/api/analytics/summary?periodType=MONTH&tz=Asia/Almaty")),
+                new Scenario("analytics.categories", 12, u -> get("/api/analytics/categories?periodType=MONTH&lang=ru")),
+                new Scenario("transactions.create", 12, u -> post("/api/transactions", """
+                        {"amount":%d.00,"date":"%s","type":"EXPENSE","categoryId":%d}"""
+                        .formatted(ThreadLocalRandom.current().nextInt(100, 20_000),
+                                LocalDateTime.now(ZoneOffset.UTC).minusMinutes(ThreadLocalRandom.current().nextInt(0, 600)),
+                                expenseCategoryId))),
+                new Scenario("entitlements.me", 8, u -> get("/api/subscription/entitlements/me")),
+                new Scenario("google.verify", 3, u -> post("/api/subscription/google/verify", """
+                        {"purchaseToken":"load-token-%d","productId":"fintrack_pro_month"}""".formatted(u.userNo))),
+                new Scenario("apple.verify", 3, u -> post("/api/subscription/apple/verify", """
+                        {"productId":"fintrack_pro_month","appReceipt":"load-receipt-%d"}""".formatted(u.userNo))),
+                new Scenario("google.rtdn", 2, u -> post("/api/subscription/google/rtnd", googleRtdn(u.userNo))),
+                // подпись не проверяется при приёме: меряется только запись во входящую очередь
+                new Scenario("apple.notification", 1, u -> post("/api/subscription/apple/notifications", """
+                        {"signedPayload":"load.%s.test"}""".formatted(UUID.randomUUID()))),
+                new Scenario("ai.deep-analyze", 2, u -> {
+                    LocalDateTime month = LocalDateTime.now(ZoneOffset.UTC).minusMonths(ThreadLocalRandom.current().nextInt(0, 3));
+                    return post("/api/ai/deep-analyze", """
+                            {"year":%d,"month":%d,"currency":"KZT"}""".formatted(month.getYear(), month.getMonthValue()));
+                })
+        );
+    }
+
+    /** Возвращает длительность замера: от конца прогрева до завершения последнего запроса. */
+    Duration run(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        try (ExecutorService vus = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                vus.submit(this::loop);
+            }
+            Thread.sleep(warmup);
+            report.reset();
+            long measured = System.nanoTime();
+            Thread.sleep(duration);
+            running = false;
+            vus.shutdown();
+            if (!vus.awaitTermination(REQUEST_TIMEOUT.toSeconds() + 10, TimeUnit.SECONDS)) {
+                vus.shutdownNow();
+            }
+            return Duration.ofNanos(System.nanoTime() - measured);
+        }
+    }
+
+    private void loop() {
+        VirtualUser user = null;
+        while (running) {
+            try {
+                if (user == null || user.requests >= REQUESTS_PER_LOGIN) {
+                    user = login(1 + ThreadLocalRandom.current().nextInt(users));
+                    if (user == null) {
+                        Thread.sleep(THINK_TIME);
+                        continue;
+                    }
+                }
+                Scenario scenario = pick();
+                HttpRequest request = scenario.request().apply(user)
+                        .header("Authorization", "Bearer " + user.token)
+                        .build();
+                send(scenario.name(), request);
+                user.requests++;
+                Thread.sleep(THINK_TIME);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private VirtualUser login(int userNo) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(security.resolve("/api/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"username":"%s","password":"%s"}"""
+                        .formatted(LoadDataSeeder.username(userNo), LoadDataSeeder.PASSWORD)))
+                .build();
+        HttpResponse<String> response = send("auth.login", request);
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            return new VirtualUser(userNo, MAPPER.readTree(response.body()).path("data").path("accessToken").asText());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) throws InterruptedException {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            report.record(endpoint, System.nanoTime() - started, response.statusCode() < 400);
+            return response;
+        } catch (IOException e) {
+            report.record(endpoint, System.nanoTime() - started, false);
+            return null;
+        }
+    }
+
+    private Scenario pick() {
+        int r = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario s : scenarios) {
+            r -= s.weight();
+            if (r < 0) {
+                return s;
+            }
+        }
+        return scenarios.getLast();
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(fintrack.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept-Language", "ru")
+                .GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(fintrack.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept-Language", "ru")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    /** Pub/Sub push: message.data — base64 от DeveloperNotification, SUBSCRIPTION_RENEWED (2). */
+    private static String googleRtdn(int userNo) {
+        String notification = """
+                {"version":"1.0","packageName":"%s","eventTimeMillis":%d,
+                 "subscriptionNotification":{"version":"1.0","notificationType":2,
+                   "purchaseToken":"load-token-%d","subscriptionId":"fintrack_pro_month"}}"""
+                .formatted(ExternalStubs.PACKAGE_NAME, System.currentTimeMillis(), userNo);
+        return """
+                {"message":{"data":"%s","messageId":"%s"},"subscription":"projects/fintrack-load/subscriptions/rtdn"}"""
+                .formatted(Base64.getEncoder().encodeToString(notification.getBytes(StandardCharsets.UTF_8)),
+                        UUID.randomUUID());
+    }
+
+    private static final class VirtualUser {
+
+        private final int userNo;
+        private final String token;
+        private int requests;
+
+        private VirtualUser(int userNo, String token) {
+            this.userNo = userNo;
+            this.token = token;
+        }
+    }
+}
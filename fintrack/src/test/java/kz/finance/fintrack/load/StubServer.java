@@ -0,0 +1,112 @@
+package kz.finance.fintrack.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Локальная HTTP-заглушка внешнего API на JDK HttpServer: маршрут = метод + префикс пути,
+ * ответ — функция от тела запроса, с искусственной задержкой как у настоящего сервиса.
+ * Каждый запрос обрабатывается в виртуальном потоке, задержка не ограничивает пропускную способность.
+ */
+final class StubServer implements AutoCloseable {
+
+    private final String name;
+    private final HttpServer server;
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final Map<String, LongAdder> hits = new ConcurrentHashMap<>();
+
+    StubServer(String name) throws IOException {
+        this.name = name;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    StubServer route(String method, String pathPrefix, Duration latency, String contentType,
+                     Function<String, String> body) {
+        routes.add(new Route(method, pathPrefix, latency, 200, contentType, body));
+        return this;
+    }
+
+    StubServer json(String method, String pathPrefix, Duration latency, Function<String, String> body) {
+        return route(method, pathPrefix, latency, "application/json", body);
+    }
+
+    StubServer noContent(String method, String pathPrefix, Duration latency) {
+        routes.add(new Route(method, pathPrefix, latency, 204, null, req -> ""));
+        return this;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long hits(String pathPrefix) {
+        LongAdder n = hits.get(pathPrefix);
+        return n == null ? 0 : n.sum();
+    }
+
+    String name() {
+        return name;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            Route route = routes.stream()
+                    .filter(r -> r.method().equals(exchange.getRequestMethod()) && path.startsWith(r.pathPrefix()))
+                    .findFirst()
+                    .orElse(null);
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+            if (route == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            hits.computeIfAbsent(route.pathPrefix(), k -> new LongAdder()).increment();
+            sleep(route.latency());
+
+            if (route.status() == 204) {
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+            byte[] body = route.body().apply(request).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", route.contentType());
+            exchange.sendResponseHeaders(route.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static void sleep(Duration latency) {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private record Route(String method, String pathPrefix, Duration latency, int status, String contentType,
+                         Function<String, String> body) {
+    }
+}
@@ -0,0 +1,113 @@
+package kz.finance.fintrack.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kz.finance.fintrack.dto.ai.AiAnalysisJobStatus;
+import kz.finance.fintrack.dto.ai.FinanceAnalyzeResponse;
+import kz.finance.fintrack.exception.FinTrackException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class AiAnalysisJobServiceTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2026, 1);
+
+    private final AiFinanceAnalysisService aiService = mock(AiFinanceAnalysisService.class);
+    private final UserService userService = mock(UserService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AiAnalysisJobService jobs = new AiAnalysisJobService(
+            aiService, userService, Clock.fixed(Instant.parse("2026-01-10T00:00:00Z"), ZoneOffset.UTC), registry);
+
+    @AfterEach
+    void shutdown() {
+        jobs.shutdown();
+    }
+
+    @Test
+    void identicalInFlightRequests_shareOneJob_andOneModelCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(aiService.analyzeMonth(7L, JANUARY, "KZT")).thenAnswer(inv -> {
+            release.await();
+            return new FinanceAnalyzeResponse("ok");
+        });
+
+        var first = jobs.start(7L, JANUARY, null);
+        var second = jobs.start(7L, JANUARY, "KZT");
+        var otherUser = jobs.start(8L, JANUARY, "KZT");
+        release.countDown();
+
+        assertThat(second).isSameAs(first);
+        assertThat(otherUser).isNotSameAs(first);
+        assertThat(first.result.get(5, TimeUnit.SECONDS).analysis()).isEqualTo("ok");
+        verify(aiService, times(1)).analyzeMonth(7L, JANUARY, "KZT");
+        assertThat(registry.get("fintrack.ai.analysis.jobs").tag("result", "coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void finishedJob_isPollable_andNextRequestStartsNewJob() throws Exception {
+        when(userService.getCurrentUserId()).thenReturn(7L);
+        when(aiService.analyzeMonth(7L, JANUARY, "KZT")).thenReturn(new FinanceAnalyzeResponse("ok"));
+
+        var job = jobs.start(7L, JANUARY, "KZT");
+        job.result.get(5, TimeUnit.SECONDS);
+
+        var status = jobs.getStatus(job.id);
+        assertThat(status.status()).isEqualTo(AiAnalysisJobStatus.DONE);
+        assertThat(status.analysis()).isEqualTo("ok");
+        assertThat(jobs.start(7L, JANUARY, "KZT")).isNotSameAs(job);
+    }
+
+    @Test
+    void statusSeenAtCompletion_alreadyCarriesAnalysis() throws Exception {
+        when(userService.getCurrentUserId()).thenReturn(7L);
+        CountDownLatch release = new CountDownLatch(1);
+        when(aiService.analyzeMonth(7L, JANUARY, "KZT")).thenAnswer(inv -> {
+            release.await();
+            return new FinanceAnalyzeResponse("ok");
+        });
+
+        var job = jobs.start(7L, JANUARY, "KZT");
+        // колбэк выполняется внутри complete(), до записи итогового статуса
+        var seen = job.result.thenApply(r -> jobs.getStatus(job.id));
+        release.countDown();
+
+        var status = seen.get(5, TimeUnit.SECONDS);
+        assertThat(status.status()).isEqualTo(AiAnalysisJobStatus.DONE);
+        assertThat(status.analysis()).isEqualTo("ok");
+        assertThat(status.finishedAt()).isNotNull();
+    }
+
+    @Test
+    void failedJob_reportsFailure() throws Exception {
+        when(userService.getCurrentUserId()).thenReturn(7L);
+        when(aiService.analyzeMonth(7L, JANUARY, "KZT")).thenThrow(new IllegalStateException("db down"));
+
+        var job = jobs.start(7L, JANUARY, "KZT");
+        assertThat(job.result).failsWithin(5, TimeUnit.SECONDS);
+
+        var status = jobs.getStatus(job.id);
+        assertThat(status.status()).isEqualTo(AiAnalysisJobStatus.FAILED);
+        assertThat(status.analysis()).isNull();
+    }
+
+    @Test
+    void jobOfAnotherUser_isNotFound() throws Exception {
+        when(aiService.analyzeMonth(7L, JANUARY, "KZT")).thenReturn(new FinanceAnalyzeResponse("ok"));
+        var job = jobs.start(7L, JANUARY, "KZT");
+        when(userService.getCurrentUserId()).thenReturn(8L);
+
+        assertThatThrownBy(() -> jobs.getStatus(job.id))
+                .isInstanceOf(FinTrackException.class)
+                .hasMessageContaining("not found");
+    }
+}
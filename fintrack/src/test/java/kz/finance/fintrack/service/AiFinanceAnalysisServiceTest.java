@@ -0,0 +1,180 @@
+package kz.finance.fintrack.service;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kz.finance.fintrack.client.deepseek.DeepSeekBulkhead;
+import kz.finance.fintrack.client.deepseek.DeepSeekChoice;
+import kz.finance.fintrack.client.deepseek.DeepSeekFeignClient;
+import kz.finance.fintrack.client.deepseek.DeepSeekMessage;
+import kz.finance.fintrack.client.deepseek.DeepSeekResponse;
+import kz.finance.fintrack.client.deepseek.DeepSeekStreamClient;
+import kz.finance.fintrack.client.deepseek.DeepSeekStreamException;
+import kz.finance.fintrack.dto.ai.MonthCategoryTotalDto;
+import kz.finance.fintrack.model.AiAnalysisCacheEntity;
+import kz.finance.fintrack.model.TransactionType;
+import kz.finance.fintrack.repository.AiAnalysisCacheRepository;
+import kz.finance.fintrack.repository.TransactionDailyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AiFinanceAnalysisServiceTest {
+
+    private final TransactionDailyRollupRepository rollupRepository = mock(TransactionDailyRollupRepository.class);
+    private final DeepSeekFeignClient deepSeek = mock(DeepSeekFeignClient.class);
+    private final AiAnalysisCacheRepository cacheRepository = mock(AiAnalysisCacheRepository.class);
+    private final DeepSeekStreamClient streamClient = mock(DeepSeekStreamClient.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DeepSeekBulkhead bulkhead = new DeepSeekBulkhead(1, Duration.ofMillis(10), registry);
+    private final AiFinanceAnalysisService service = new AiFinanceAnalysisService(
+            rollupRepository, deepSeek, new AiAnalysisCache(cacheRepository, registry), streamClient, bulkhead);
+
+    private static final LocalDate JANUARY = LocalDate.of(2026, 1, 1);
+
+    @BeforeEach
+    void setUp() {
+        when(cacheRepository.currentSnapshotXmin()).thenReturn(100L);
+    }
+
+    @Test
+    void unchangedMonth_isServedWithoutLoadingTransactions() throws Exception {
+        when(cacheRepository.findLatest(eq(7L), eq(JANUARY), eq("KZT"), any())).thenReturn(List.of(cached("cached", 2500)));
+
+        assertThat(service.analyzeMonth(7L, YearMonth.of(2026, 1), "KZT").analysis()).isEqualTo("cached");
+
+        verifyNoInteractions(rollupRepository, deepSeek);
+        assertThat(registry.get("fintrack.ai.analysis.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("fintrack.ai.analysis.cache.saved.latency").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(2500);
+    }
+
+    @Test
+    void sameSummary_afterInvalidation_isServedByHash() throws Exception {
+        when(rollupRepository.getCategoryTotals(7L, JANUARY, JANUARY.withDayOfMonth(31))).thenReturn(List.of(expense("Еда", "500")));
+        when(cacheRepository.findBySummary(eq(7L), eq(JANUARY), anyString(), any())).thenReturn(List.of(cached("by hash", 10)));
+
+        assertThat(service.analyzeMonth(7L, YearMonth.of(2026, 1), "KZT").analysis()).isEqualTo("by hash");
+        verifyNoInteractions(deepSeek);
+    }
+
+    @Test
+    void miss_callsDeepSeek_andStoresAnswerWithReadHorizon() throws Exception {
+        when(rollupRepository.getCategoryTotals(7L, JANUARY, JANUARY.withDayOfMonth(31))).thenReturn(List.of(expense("Еда", "500")));
+        when(deepSeek.chatCompletion(any(), any())).thenReturn(answer("fresh"));
+
+        assertThat(service.analyzeMonth(7L, YearMonth.of(2026, 1), "KZT").analysis()).isEqualTo("fresh");
+
+        verify(cacheRepository).insertIfUnchanged(eq(7L), eq(JANUARY), any(), any(), argThat(h -> h.length() == 64),
+                eq("deepseek-chat"), eq("KZT"), eq("fresh"), anyLong(), eq(100L));
+        assertThat(registry.get("fintrack.ai.analysis.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void summary_isBuiltFromRollupTotals_mergingCategoriesByName() throws Exception {
+        when(rollupRepository.getCategoryTotals(7L, JANUARY, JANUARY.withDayOfMonth(31))).thenReturn(List.of(
+                expense("Еда", "300"),
+                expense("Еда", "200"),
+                expense("Такси", "100"),
+                new MonthCategoryTotalDto("Зарплата", TransactionType.INCOME, new BigDecimal("1000"), 1L)
+        ));
+        when(deepSeek.chatCompletion(any(), any())).thenReturn(answer("fresh"));
+
+        service.analyzeMonth(7L, YearMonth.of(2026, 1), "KZT");
+
+        verify(deepSeek).chatCompletion(any(), argThat(r -> {
+            String prompt = r.messages().get(0).content();
+            return prompt.contains("Топ категорий расходов: Еда: 500 ₸; Такси: 100 ₸")
+                    && prompt.contains("Доходы: 1000 ₸")
+                    && prompt.contains("Расходы: 600 ₸")
+                    && prompt.contains("Баланс: 400 ₸");
+        }));
+    }
+
+    @Test
+    void unavailableModel_fallbackIsNotCached() throws Exception {
+        when(rollupRepository.getCategoryTotals(7L, JANUARY, JANUARY.withDayOfMonth(31))).thenReturn(List.of(expense("Еда", "500")));
+        when(deepSeek.chatCompletion(any(), any())).thenThrow(mock(FeignException.class));
+
+        assertThat(service.analyzeMonth(7L, YearMonth.of(2026, 1), "KZT").analysis()).startsWith("AI временно недоступен");
+        verify(cacheRepository, never()).insertIfUnchanged(any(), any(), any(), any(), any(), any(), any(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void bulkheadFull_answersUnavailable_withoutCallingDeepSeek() throws Exception {
+        when(rollupRepository.getCategoryTotals(7L, JANUARY, JANUARY.withDayOfMonth(31))).thenReturn(List.of(expense("Еда", "500")));
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        try {
+            assertThat(service.analyzeMonth(7L, YearMonth.of(2026, 1), "KZT").analysis()).startsWith("AI временно недоступен");
+        } finally {
+            bulkhead.release();
+        }
+
+        verifyNoInteractions(deepSeek);
+        assertThat(registry.get("fintrack.ai.deepseek.bulkhead.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void stream_fallsBackToReasoner_relaysTokens_andStoresFullAnswer() throws Exception {
+        when(rollupRepository.getCategoryTotals(7L, JANUARY, JANUARY.withDayOfMonth(31))).thenReturn(List.of(expense("Еда", "500")));
+        when(streamClient.stream(any(), argThat(r -> r != null && r.model().equals("deepseek-chat") && r.stream()), any()))
+                .thenThrow(new DeepSeekStreamException(503, "busy"));
+        when(streamClient.stream(any(), argThat(r -> r != null && r.model().equals("deepseek-reasoner")), any())).thenAnswer(inv -> {
+            Consumer<String> onToken = inv.getArgument(2);
+            onToken.accept("a");
+            onToken.accept("b");
+            return "ab";
+        });
+        List<String> tokens = new ArrayList<>();
+
+        service.streamMonth(7L, YearMonth.of(2026, 1), "KZT", tokens::add);
+
+        assertThat(tokens).containsExactly("a", "b");
+        verify(cacheRepository).insertIfUnchanged(eq(7L), eq(JANUARY), any(), any(), anyString(),
+                eq("deepseek-reasoner"), eq("KZT"), eq("ab"), anyLong(), eq(100L));
+    }
+
+    @Test
+    void stream_cachedAnswer_isSentAsSingleChunk() throws Exception {
+        when(cacheRepository.findLatest(eq(7L), eq(JANUARY), eq("KZT"), any())).thenReturn(List.of(cached("cached", 2500)));
+        List<String> tokens = new ArrayList<>();
+
+        service.streamMonth(7L, YearMonth.of(2026, 1), null, tokens::add);
+
+        assertThat(tokens).containsExactly("cached");
+        verifyNoInteractions(streamClient, rollupRepository);
+    }
+
+    @Test
+    void hash_isStableSha256Hex() {
+        assertThat(AiAnalysisCache.hash("summary")).isEqualTo(AiAnalysisCache.hash("summary")).hasSize(64);
+        assertThat(AiAnalysisCache.hash("summary")).isNotEqualTo(AiAnalysisCache.hash("summary "));
+    }
+
+    private static AiAnalysisCacheEntity cached(String content, long latencyMs) {
+        var entity = new AiAnalysisCacheEntity();
+        entity.setContent(content);
+        entity.setLatencyMs(latencyMs);
+        return entity;
+    }
+
+    private static MonthCategoryTotalDto expense(String category, String amount) {
+        return new MonthCategoryTotalDto(category, TransactionType.EXPENSE, new BigDecimal(amount), 1L);
+    }
+
+    private static DeepSeekResponse answer(String content) {
+        return new DeepSeekResponse("id", "chat.completion", 0, "deepseek-chat",
+                List.of(new DeepSeekChoice(0, new DeepSeekMessage("assistant", content))), null);
+    }
+}
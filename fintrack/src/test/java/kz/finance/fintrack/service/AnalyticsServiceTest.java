@@ -0,0 +1,95 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.dto.PeriodType;
+import kz.finance.fintrack.dto.analytics.AnalyticsStatsDto;
+import kz.finance.fintrack.dto.analytics.AnalyticsSummaryDto;
+import kz.finance.fintrack.dto.analytics.DashboardDto;
+import kz.finance.fintrack.dto.analytics.DashboardRawDto;
+import kz.finance.fintrack.dto.analytics.DashboardStatsDto;
+import kz.finance.fintrack.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AnalyticsServiceTest {
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final UserService userService = mock(UserService.class);
+    private final AnalyticsService service = new AnalyticsService(transactionRepository, userService);
+
+    @BeforeEach
+    void setUp() {
+        when(userService.getCurrentUserId()).thenReturn(1L);
+        when(transactionRepository.getDashboard(anyLong(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(new DashboardRawDto(stats("500", "200"), List.of()));
+    }
+
+    @Test
+    void dashboard_weekEndingNow_roundsEndUpToFullDay() {
+        // WEEK: понедельник 00:00 .. now()
+        LocalDateTime start = LocalDate.of(2026, 10, 12).atStartOfDay();
+        LocalDateTime end = LocalDate.of(2026, 10, 17).atTime(13, 45);
+
+        service.getDashboard(start, end, "ru");
+
+        verify(transactionRepository).getDashboard(
+                1L,
+                LocalDate.of(2026, 10, 12),
+                LocalDate.of(2026, 10, 17),
+                LocalDate.of(2026, 10, 7),
+                LocalDate.of(2026, 10, 11),
+                5
+        );
+    }
+
+    @Test
+    void dashboard_month_passesCalendarDays_andBalanceFromTotals() {
+        LocalDateTime start = LocalDate.of(2026, 9, 1).atStartOfDay();
+        LocalDateTime end = LocalDate.of(2026, 9, 30).atTime(LocalTime.MAX);
+
+        DashboardDto dto = service.getDashboard(start, end, "en");
+
+        verify(transactionRepository).getDashboard(
+                eq(1L), eq(LocalDate.of(2026, 9, 1)), eq(LocalDate.of(2026, 9, 30)),
+                eq(LocalDate.of(2026, 8, 3)), eq(LocalDate.of(2026, 8, 31)), eq(5));
+        assertThat(dto.balance()).isEqualByComparingTo("300");
+    }
+
+    @Test
+    void summary_readsTotalsAndChartOverTheSameZonedRange() {
+        ZoneId almaty = ZoneId.of("Asia/Almaty");
+        LocalDateTime start = LocalDate.of(2026, 9, 1).atStartOfDay();
+        LocalDateTime end = LocalDate.of(2026, 9, 30).atTime(LocalTime.MAX);
+        LocalDateTime previousStart = start.minus(Duration.between(start, end));
+        when(transactionRepository.getSummaryStats(1L, start, end, previousStart, almaty))
+                .thenReturn(new AnalyticsStatsDto(
+                        new BigDecimal("300"), new BigDecimal("120"), new BigDecimal("150"), BigDecimal.ZERO));
+        when(transactionRepository.getChartData(1L, start, end, PeriodType.MONTH, almaty)).thenReturn(List.of());
+
+        AnalyticsSummaryDto summary = service.getTransactionSummary(start, end, PeriodType.MONTH, almaty);
+
+        assertThat(summary.currentIncome()).isEqualByComparingTo("300");
+        assertThat(summary.netIncome()).isEqualByComparingTo("180");
+        assertThat(summary.incomeChange()).isEqualTo(100.0);
+        assertThat(summary.expenseChange()).isEqualTo(100.0);
+        verifyNoMoreInteractions(ignoreStubs(transactionRepository));
+    }
+
+    private static DashboardStatsDto stats(String totalIncome, String totalExpense) {
+        return new DashboardStatsDto(
+                new BigDecimal(totalIncome), new BigDecimal(totalExpense),
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO
+        );
+    }
+}
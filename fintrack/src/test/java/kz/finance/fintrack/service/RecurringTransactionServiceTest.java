@@ -0,0 +1,179 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.dto.recurring.RecurringMaterializationDto;
+import kz.finance.fintrack.dto.recurring.RecurringTransactionRequestDto;
+import kz.finance.fintrack.exception.FinTrackException;
+import kz.finance.fintrack.model.RecurrenceFrequency;
+import kz.finance.fintrack.model.RecurringTransactionRuleEntity;
+import kz.finance.fintrack.model.TransactionCategoryEntity;
+import kz.finance.fintrack.model.TransactionType;
+import kz.finance.fintrack.model.UserEntity;
+import kz.finance.fintrack.repository.RecurringTransactionRuleRepository;
+import kz.finance.fintrack.repository.TransactionCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RecurringTransactionServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 31, 9, 0);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-20T12:00:00Z"), ZoneOffset.UTC);
+
+    private final RecurringTransactionRuleRepository ruleRepo = mock(RecurringTransactionRuleRepository.class);
+    private final TransactionCategoryRepository categoryRepo = mock(TransactionCategoryRepository.class);
+    private final UserService userService = mock(UserService.class);
+
+    private final RecurringTransactionService service =
+            new RecurringTransactionService(ruleRepo, categoryRepo, userService, CLOCK);
+
+    private final UserEntity user = UserEntity.builder().id(1L).build();
+    private final TransactionCategoryEntity rent = TransactionCategoryEntity.builder()
+            .id(10L).type(TransactionType.EXPENSE).system(true).nameRu("Аренда").nameEn("Rent").build();
+
+    @BeforeEach
+    void setUp() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
+        when(categoryRepo.findById(10L)).thenReturn(Optional.of(rent));
+        when(ruleRepo.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void createRule_categoryTypeMismatch_isBadRequest() {
+        var request = request(TransactionType.INCOME, START, null);
+
+        assertThatThrownBy(() -> service.createRule(request, "en"))
+                .isInstanceOf(FinTrackException.class)
+                .hasMessageContaining("Category type");
+        verify(ruleRepo, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createRule_endBeforeStart_isBadRequest() {
+        var request = request(TransactionType.EXPENSE, START, START.minusDays(1));
+
+        assertThatThrownBy(() -> service.createRule(request, "en"))
+                .isInstanceOf(FinTrackException.class)
+                .hasMessageContaining("End date");
+    }
+
+    @Test
+    void createRule_defaultsIntervalToOne() {
+        var dto = service.createRule(request(TransactionType.EXPENSE, START, null), "en");
+
+        assertThat(dto.interval()).isEqualTo(1);
+        assertThat(dto.category().name()).isEqualTo("Rent");
+        assertThat(dto.active()).isTrue();
+    }
+
+    @Test
+    void createRule_startTooFarInPast_isBadRequest() {
+        var request = request(TransactionType.EXPENSE,
+                LocalDateTime.now(CLOCK).minusDays(RecurringTransactionService.MAX_BACKFILL_DAYS + 1), null);
+
+        assertThatThrownBy(() -> service.createRule(request, "en"))
+                .isInstanceOf(FinTrackException.class)
+                .hasMessageContaining("Start date");
+        verify(ruleRepo, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateRule_scheduleChanged_continuesAfterLastPostedOccurrence() {
+        // ежемесячно с 2025-01-31, проведено 13 повторений: последнее — 2026-01-31
+        var rule = postedMonthlyRule();
+        when(ruleRepo.findForUpdateByIdAndUserId(5L, 1L)).thenReturn(Optional.of(rule));
+        when(ruleRepo.findLastOccurrenceAt(5L)).thenReturn(Optional.of(START));
+
+        // то же число, но раз в неделю с 2025-12-01: прошлые недели не проводятся задним числом
+        var weeklyStart = LocalDateTime.of(2025, 12, 1, 9, 0);
+        service.updateRule(5L, new RecurringTransactionRequestDto(new BigDecimal("150000.00"),
+                TransactionType.EXPENSE, 10L, "rent", RecurrenceFrequency.WEEKLY, null, weeklyStart, null), "ru");
+
+        assertThat(rule.getStartAt()).isEqualTo(weeklyStart);
+        var next = RecurrenceFrequency.WEEKLY.occurrenceAt(weeklyStart, 1, rule.getNextOccurrenceNo());
+        assertThat(next).isEqualTo(LocalDateTime.of(2026, 2, 23, 9, 0));
+        assertThat(RecurrenceFrequency.WEEKLY.occurrenceAt(weeklyStart, 1, rule.getNextOccurrenceNo() - 1))
+                .isBefore(LocalDateTime.now(CLOCK));
+        assertThat(rule.isActive()).isTrue();
+    }
+
+    @Test
+    void updateRule_lastPostedInFuture_isNotPostedAgain() {
+        var rule = postedMonthlyRule();
+        when(ruleRepo.findForUpdateByIdAndUserId(5L, 1L)).thenReturn(Optional.of(rule));
+        var lastPosted = LocalDateTime.of(2026, 3, 31, 9, 0);
+        when(ruleRepo.findLastOccurrenceAt(5L)).thenReturn(Optional.of(lastPosted));
+
+        service.updateRule(5L, new RecurringTransactionRequestDto(new BigDecimal("150000.00"),
+                TransactionType.EXPENSE, 10L, "rent", RecurrenceFrequency.MONTHLY, 1, START, null), "ru");
+
+        assertThat(RecurrenceFrequency.MONTHLY.occurrenceAt(START, 1, rule.getNextOccurrenceNo()))
+                .isEqualTo(LocalDateTime.of(2026, 4, 30, 9, 0));
+    }
+
+    @Test
+    void updateRule_scheduleUnchanged_keepsCounter() {
+        var rule = postedMonthlyRule();
+        when(ruleRepo.findForUpdateByIdAndUserId(5L, 1L)).thenReturn(Optional.of(rule));
+
+        service.updateRule(5L, new RecurringTransactionRequestDto(new BigDecimal("200000.00"),
+                TransactionType.EXPENSE, 10L, "rent", RecurrenceFrequency.MONTHLY, 1, rule.getStartAt(), null), "ru");
+
+        assertThat(rule.getNextOccurrenceNo()).isEqualTo(13);
+        assertThat(rule.getAmount()).isEqualByComparingTo("200000.00");
+        verify(ruleRepo, never()).findLastOccurrenceAt(any());
+    }
+
+    @Test
+    void updateRule_endBeforeNextOccurrence_deactivates() {
+        var rule = postedMonthlyRule();
+        when(ruleRepo.findForUpdateByIdAndUserId(5L, 1L)).thenReturn(Optional.of(rule));
+
+        service.updateRule(5L, request(TransactionType.EXPENSE, rule.getStartAt(), START.plusDays(1)), "ru");
+
+        assertThat(rule.getNextOccurrenceNo()).isEqualTo(13);
+        assertThat(rule.isActive()).isFalse();
+    }
+
+    @Test
+    void job_continuesWhileBatchesAreFull() {
+        var clock = Clock.fixed(Instant.parse("2026-03-01T00:00:00Z"), ZoneOffset.UTC);
+        var job = new RecurringTransactionJob(ruleRepo,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), clock);
+        when(ruleRepo.materializeDue(eq(LocalDateTime.of(2026, 3, 1, 0, 0)), anyInt(), anyInt()))
+                .thenReturn(new RecurringMaterializationDto(RecurringTransactionJob.BATCH_SIZE, 900))
+                .thenReturn(new RecurringMaterializationDto(3, 3));
+
+        job.materialize();
+
+        verify(ruleRepo, times(2)).materializeDue(any(), eq(RecurringTransactionJob.BATCH_SIZE),
+                eq(RecurringTransactionJob.MAX_PER_RULE));
+    }
+
+    private RecurringTransactionRuleEntity postedMonthlyRule() {
+        return RecurringTransactionRuleEntity.builder()
+                .id(5L).user(user).category(rent).type(TransactionType.EXPENSE)
+                .amount(BigDecimal.TEN).frequency(RecurrenceFrequency.MONTHLY).intervalCount(1)
+                .startAt(START.minusYears(1)).nextOccurrenceNo(13).active(true).build();
+    }
+
+    private static RecurringTransactionRequestDto request(TransactionType type, LocalDateTime start, LocalDateTime end) {
+        return new RecurringTransactionRequestDto(new BigDecimal("150000.00"), type, 10L, "rent",
+                RecurrenceFrequency.MONTHLY, null, start, end);
+    }
+}
@@ -0,0 +1,149 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.dto.TransactionResponseDto;
+import kz.finance.fintrack.dto.batch.TransactionBatchItemDto;
+import kz.finance.fintrack.dto.batch.TransactionBatchOperation;
+import kz.finance.fintrack.dto.batch.TransactionBatchRequestDto;
+import kz.finance.fintrack.mapper.TransactionMapper;
+import kz.finance.fintrack.model.TransactionCategoryEntity;
+import kz.finance.fintrack.model.TransactionEntity;
+import kz.finance.fintrack.model.TransactionType;
+import kz.finance.fintrack.model.UserEntity;
+import kz.finance.fintrack.repository.TransactionCategoryRepository;
+import kz.finance.fintrack.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionBatchServiceTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2026, 1, 2, 10, 0);
+
+    private final TransactionRepository txRepo = mock(TransactionRepository.class);
+    private final TransactionCategoryRepository categoryRepo = mock(TransactionCategoryRepository.class);
+    private final UserService userService = mock(UserService.class);
+    private final TransactionMapper mapper = mock(TransactionMapper.class);
+    private final TransactionRollupService rollup = mock(TransactionRollupService.class);
+
+    private final TransactionBatchService service =
+            new TransactionBatchService(txRepo, categoryRepo, userService, mapper, rollup,
+                    Clock.fixed(Instant.parse("2026-01-10T00:00:00Z"), ZoneOffset.UTC));
+
+    private final UserEntity user = UserEntity.builder().id(1L).build();
+    private final TransactionCategoryEntity food = category(10L, TransactionType.EXPENSE);
+    private final TransactionCategoryEntity salary = category(20L, TransactionType.INCOME);
+
+    @BeforeEach
+    void setUp() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(categoryRepo.findAllById(any())).thenReturn(List.of(food, salary));
+        when(mapper.toDto(any(TransactionEntity.class), any())).thenReturn(mock(TransactionResponseDto.class));
+    }
+
+    @Test
+    void mixedBatch_loadsCategoriesAndTransactionsOnce_andReportsPerItem() {
+        var existing = TransactionEntity.builder()
+                .id(100L).amount(new BigDecimal("5.00")).date(DATE)
+                .type(TransactionType.EXPENSE).category(food).user(user).build();
+        var toDelete = TransactionEntity.builder()
+                .id(101L).amount(new BigDecimal("7.00")).date(DATE)
+                .type(TransactionType.EXPENSE).category(food).user(user).build();
+        when(txRepo.findAllByUserAndIdIn(eq(user), any())).thenReturn(List.of(existing, toDelete));
+
+        var request = new TransactionBatchRequestDto(List.of(
+                item(TransactionBatchOperation.CREATE, null, "10.00", TransactionType.EXPENSE, 10L),
+                item(TransactionBatchOperation.UPDATE, 100L, "6.00", TransactionType.EXPENSE, 10L),
+                item(TransactionBatchOperation.DELETE, 101L, null, null, null),
+                item(TransactionBatchOperation.CREATE, null, "1.00", TransactionType.EXPENSE, 20L),
+                item(TransactionBatchOperation.DELETE, 999L, null, null, null)
+        ), "ru");
+
+        var result = service.applyBatch(request);
+
+        assertThat(result.succeeded()).isEqualTo(3);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.results()).extracting("success").containsExactly(true, true, true, false, false);
+        assertThat(result.results().get(3).error()).isEqualTo("Category type does not match transaction type");
+        assertThat(result.results().get(4).error()).isEqualTo("Transaction not found");
+        assertThat(existing.getAmount()).isEqualByComparingTo("6.00");
+
+        verify(categoryRepo, times(1)).findAllById(Set.of(10L, 20L));
+        verify(txRepo, times(1)).findAllByUserAndIdIn(user, Set.of(100L, 101L, 999L));
+        verify(txRepo).saveAll(argThat(it -> it.spliterator().getExactSizeIfKnown() == 2));
+        verify(txRepo).deleteAll(List.of(toDelete));
+        verify(txRepo).flush();
+        verify(rollup).applyAll(argThat(added -> added.size() == 2), argThat(removed -> removed.size() == 2));
+        verify(txRepo, never()).save(any());
+    }
+
+    @Test
+    void duplicateId_secondOperationFails() {
+        var existing = TransactionEntity.builder()
+                .id(100L).amount(new BigDecimal("5.00")).date(DATE)
+                .type(TransactionType.EXPENSE).category(food).user(user).build();
+        when(txRepo.findAllByUserAndIdIn(eq(user), any())).thenReturn(List.of(existing));
+
+        var request = new TransactionBatchRequestDto(List.of(
+                item(TransactionBatchOperation.UPDATE, 100L, "6.00", TransactionType.EXPENSE, 10L),
+                item(TransactionBatchOperation.DELETE, 100L, null, null, null)
+        ), "en");
+
+        var result = service.applyBatch(request);
+
+        assertThat(result.results().get(0).success()).isTrue();
+        assertThat(result.results().get(1).success()).isFalse();
+        assertThat(result.results().get(1).error()).isEqualTo("Duplicate transaction ID in batch");
+        verify(txRepo).deleteAll(List.of());
+    }
+
+    @Test
+    void createWithoutRequiredFields_fails() {
+        var request = new TransactionBatchRequestDto(List.of(
+                item(TransactionBatchOperation.CREATE, null, null, TransactionType.EXPENSE, 10L)
+        ), "ru");
+
+        var result = service.applyBatch(request);
+
+        assertThat(result.failed()).isEqualTo(1);
+        verify(txRepo, never()).findAllByUserAndIdIn(any(), any());
+    }
+
+    @Test
+    void dateBeyondPartitionHorizon_fails() {
+        var request = new TransactionBatchRequestDto(List.of(
+                new TransactionBatchItemDto(TransactionBatchOperation.CREATE, null, new BigDecimal("1.00"),
+                        LocalDateTime.of(2026, 3, 31, 23, 59), null, TransactionType.EXPENSE, 10L),
+                new TransactionBatchItemDto(TransactionBatchOperation.CREATE, null, new BigDecimal("1.00"),
+                        LocalDateTime.of(2026, 4, 1, 0, 0), null, TransactionType.EXPENSE, 10L)
+        ), "ru");
+
+        var result = service.applyBatch(request);
+
+        assertThat(result.results()).extracting("success").containsExactly(true, false);
+        assertThat(result.results().get(1).error()).isEqualTo("Transaction date must be before 2026-04-01");
+    }
+
+    private static TransactionBatchItemDto item(
+            TransactionBatchOperation op, Long id, String amount, TransactionType type, Long categoryId
+    ) {
+        return new TransactionBatchItemDto(
+                op, id, amount == null ? null : new BigDecimal(amount), op == TransactionBatchOperation.DELETE ? null : DATE,
+                null, type, categoryId
+        );
+    }
+
+    private static TransactionCategoryEntity category(Long id, TransactionType type) {
+        return TransactionCategoryEntity.builder().id(id).type(type).nameRu("к").nameEn("c").build();
+    }
+}
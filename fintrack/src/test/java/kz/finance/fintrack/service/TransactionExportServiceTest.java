@@ -0,0 +1,85 @@
+package kz.finance.fintrack.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kz.finance.fintrack.dto.TransactionRawDto;
+import kz.finance.fintrack.dto.export.TransactionExportFormat;
+import kz.finance.fintrack.exception.FinTrackException;
+import kz.finance.fintrack.model.TransactionType;
+import kz.finance.fintrack.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class TransactionExportServiceTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2026, 1, 2, 10, 0);
+
+    private final TransactionRepository repo = mock(TransactionRepository.class);
+    private final UserService userService = mock(UserService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final TransactionExportService service = new TransactionExportService(repo, userService, objectMapper);
+
+    @Test
+    void csv_localizesCategory_escapesFields_andClosesCursor() throws Exception {
+        var closed = new AtomicBoolean();
+        when(repo.streamAllForExport(7L)).thenReturn(Stream.of(
+                raw(1L, "12.50", "обед, \"кафе\""),
+                raw(2L, "3.00", null)
+        ).onClose(() -> closed.set(true)));
+
+        var out = new ByteArrayOutputStream();
+        long rows = service.export(7L, TransactionExportFormat.CSV, "en-US", out);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(closed).isTrue();
+        assertThat(out.toString(UTF_8)).isEqualTo(
+                "\uFEFFid,date,type,amount,category,comment,created_at,updated_at\n"
+                        + "1,2026-01-02T10:00,EXPENSE,12.50,Food,\"обед, \"\"кафе\"\"\",2026-01-02T10:00,\n"
+                        + "2,2026-01-02T10:00,EXPENSE,3.00,Food,,2026-01-02T10:00,\n"
+        );
+    }
+
+    @Test
+    void ndjson_writesOneResponseDtoPerLine() throws Exception {
+        when(repo.streamAllForExport(7L)).thenReturn(Stream.of(raw(1L, "12.50", null), raw(2L, "3.00", null)));
+
+        var out = new ByteArrayOutputStream();
+        service.export(7L, TransactionExportFormat.NDJSON, "ru", out);
+
+        var lines = out.toString(UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        var first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("amount").decimalValue()).isEqualByComparingTo("12.50");
+        assertThat(first.get("date").asText()).isEqualTo("2026-01-02T10:00:00");
+        assertThat(first.get("category").get("name").asText()).isEqualTo("Еда");
+    }
+
+    @Test
+    void unknownFormat_isBadRequest() {
+        assertThat(TransactionExportFormat.from("NdJson")).isEqualTo(TransactionExportFormat.NDJSON);
+        assertThatThrownBy(() -> TransactionExportFormat.from("xlsx"))
+                .isInstanceOf(FinTrackException.class)
+                .hasMessageContaining("Unsupported export format");
+    }
+
+    private static TransactionRawDto raw(Long id, String amount, String comment) {
+        return new TransactionRawDto(
+                id, new BigDecimal(amount), DATE, DATE, null, comment, TransactionType.EXPENSE,
+                10L, "Еда", "Food", "icon", "#fff"
+        );
+    }
+}
@@ -0,0 +1,89 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.model.TransactionType;
+import kz.finance.fintrack.repository.TransactionDailyRollupRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 2);
+
+    private final TransactionDailyRollupRepository repo = mock(TransactionDailyRollupRepository.class);
+    private final TransactionRollupService service = new TransactionRollupService(repo);
+
+    @Test
+    void add_incrementsBucket() {
+        service.add(snap(DAY, 10L, TransactionType.EXPENSE, "150.00"));
+
+        verify(repo).applyDelta(1L, DAY, 10L, "EXPENSE", new BigDecimal("150.00"), 1);
+    }
+
+    @Test
+    void remove_decrementsBucket() {
+        service.remove(snap(DAY, 10L, TransactionType.INCOME, "99.90"));
+
+        verify(repo).applyDelta(1L, DAY, 10L, "INCOME", new BigDecimal("-99.90"), -1);
+    }
+
+    @Test
+    void replace_sameBucket_appliesOnlyAmountDiff() {
+        service.replace(
+                snap(DAY, 10L, TransactionType.EXPENSE, "100.00"),
+                snap(DAY, 10L, TransactionType.EXPENSE, "130.00")
+        );
+
+        verify(repo).applyDelta(1L, DAY, 10L, "EXPENSE", new BigDecimal("30.00"), 0);
+        verifyNoMoreInteractions(repo);
+    }
+
+    @Test
+    void replace_sameBucketSameAmount_noWrite() {
+        service.replace(
+                snap(DAY, 10L, TransactionType.EXPENSE, "100.00"),
+                snap(DAY, 10L, TransactionType.EXPENSE, "100.0")
+        );
+
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void replace_otherDayOrCategory_movesBetweenBuckets() {
+        service.replace(
+                snap(DAY, 10L, TransactionType.EXPENSE, "100.00"),
+                snap(DAY.plusDays(1), 11L, TransactionType.EXPENSE, "100.00")
+        );
+
+        verify(repo).applyDelta(1L, DAY, 10L, "EXPENSE", new BigDecimal("-100.00"), -1);
+        verify(repo).applyDelta(1L, DAY.plusDays(1), 11L, "EXPENSE", new BigDecimal("100.00"), 1);
+        verify(repo, times(2)).applyDelta(anyLong(), any(), anyLong(), anyString(), any(), anyLong());
+    }
+
+    @Test
+    void applyAll_collapsesDeltasPerBucket() {
+        service.applyAll(
+                List.of(
+                        snap(DAY, 10L, TransactionType.EXPENSE, "10.00"),
+                        snap(DAY, 10L, TransactionType.EXPENSE, "5.00"),
+                        snap(DAY, 11L, TransactionType.EXPENSE, "1.00")
+                ),
+                List.of(
+                        snap(DAY, 10L, TransactionType.EXPENSE, "3.00"),
+                        snap(DAY, 11L, TransactionType.EXPENSE, "1.00")
+                )
+        );
+
+        verify(repo).applyDelta(1L, DAY, 10L, "EXPENSE", new BigDecimal("12.00"), 1);
+        verifyNoMoreInteractions(repo);
+    }
+
+    private static TransactionRollupService.Snapshot snap(LocalDate day, Long categoryId, TransactionType type, String amount) {
+        return new TransactionRollupService.Snapshot(1L, day, categoryId, type, new BigDecimal(amount));
+    }
+}
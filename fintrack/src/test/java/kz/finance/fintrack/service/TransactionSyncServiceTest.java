@@ -0,0 +1,106 @@
+package kz.finance.fintrack.service;
+
+import kz.finance.fintrack.dto.TransactionResponseDto;
+import kz.finance.fintrack.dto.sync.TransactionChangeRawDto;
+import kz.finance.fintrack.mapper.TransactionMapper;
+import kz.finance.fintrack.model.TransactionEntity;
+import kz.finance.fintrack.model.UserEntity;
+import kz.finance.fintrack.repository.TransactionRepository;
+import kz.finance.fintrack.utils.TransactionSyncToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionSyncServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-02T10:00:00Z");
+
+    private final TransactionRepository repo = mock(TransactionRepository.class);
+    private final UserService userService = mock(UserService.class);
+    private final TransactionMapper mapper = mock(TransactionMapper.class);
+    private final TransactionSyncService service =
+            new TransactionSyncService(repo, userService, mapper, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    private final UserEntity user = UserEntity.builder().id(7L).build();
+
+    @BeforeEach
+    void setUp() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(mapper.toDto(any(TransactionEntity.class), any())).thenReturn(mock(TransactionResponseDto.class));
+    }
+
+    @Test
+    void noToken_fullExportWithoutTombstones() {
+        when(repo.findChangesAfter(7L, 0, 0, false, 3)).thenReturn(List.of(
+                new TransactionChangeRawDto(false, 1L, 100, 1),
+                new TransactionChangeRawDto(false, 2L, 100, 2)
+        ));
+        when(repo.findAllByUserAndIdIn(user, List.of(1L, 2L))).thenReturn(List.of(tx(1L), tx(2L)));
+
+        var res = service.getChanges(null, 2, "ru");
+
+        assertThat(res.fullResync()).isTrue();
+        assertThat(res.hasMore()).isFalse();
+        assertThat(res.upserted()).hasSize(2);
+        assertThat(TransactionSyncToken.decode(res.nextToken()))
+                .isEqualTo(new TransactionSyncToken(100, 2, NOW));
+    }
+
+    @Test
+    void withToken_returnsUpsertsAndDeletes_andSignalsMore() {
+        var since = new TransactionSyncToken(100, 2, NOW.minusSeconds(60)).encode();
+        when(repo.findChangesAfter(7L, 100, 2, true, 3)).thenReturn(List.of(
+                new TransactionChangeRawDto(true, 1L, 101, 3),
+                new TransactionChangeRawDto(false, 5L, 102, 4),
+                new TransactionChangeRawDto(false, 6L, 102, 5)
+        ));
+        when(repo.findAllByUserAndIdIn(user, List.of(5L))).thenReturn(List.of(tx(5L)));
+
+        var res = service.getChanges(since, 2, "ru");
+
+        assertThat(res.fullResync()).isFalse();
+        assertThat(res.hasMore()).isTrue();
+        assertThat(res.deletedIds()).containsExactly(1L);
+        assertThat(res.upserted()).hasSize(1);
+        assertThat(TransactionSyncToken.decode(res.nextToken()))
+                .isEqualTo(new TransactionSyncToken(102, 4, NOW));
+    }
+
+    @Test
+    void emptyPage_keepsPosition() {
+        var since = new TransactionSyncToken(100, 2, NOW.minusSeconds(60)).encode();
+        when(repo.findChangesAfter(7L, 100, 2, true, 11)).thenReturn(List.of());
+
+        var res = service.getChanges(since, 10, "ru");
+
+        assertThat(res.upserted()).isEmpty();
+        assertThat(res.deletedIds()).isEmpty();
+        assertThat(TransactionSyncToken.decode(res.nextToken()))
+                .isEqualTo(new TransactionSyncToken(100, 2, NOW));
+        verify(repo, never()).findAllByUserAndIdIn(any(), any());
+    }
+
+    @Test
+    void tokenOlderThanTombstoneRetention_forcesFullResync() {
+        var since = new TransactionSyncToken(100, 2, NOW.minus(TransactionSyncService.TOMBSTONE_RETENTION).minus(Duration.ofDays(1))).encode();
+        when(repo.findChangesAfter(7L, 0, 0, false, 11)).thenReturn(List.of());
+
+        var res = service.getChanges(since, 10, "ru");
+
+        assertThat(res.fullResync()).isTrue();
+        verify(repo).findChangesAfter(7L, 0, 0, false, 11);
+    }
+
+    private TransactionEntity tx(Long id) {
+        return TransactionEntity.builder().id(id).user(user).build();
+    }
+}
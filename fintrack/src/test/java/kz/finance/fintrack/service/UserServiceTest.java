@@ -0,0 +1,57 @@
+package kz.finance.fintrack.service;
+
+import jakarta.persistence.EntityManager;
+import kz.finance.fintrack.config.JwtPrincipal;
+import kz.finance.fintrack.model.UserEntity;
+import kz.finance.fintrack.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UserServiceTest {
+
+    private final UserRepository repository = mock(UserRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final UserService service = new UserService(repository, entityManager);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenWithUid_returnsReference_withoutQuery() {
+        authenticate(new JwtPrincipal(42L, "john"));
+        var ref = new UserEntity();
+        when(entityManager.getReference(UserEntity.class, 42L)).thenReturn(ref);
+
+        assertThat(service.getCurrentUser()).isSameAs(ref);
+        assertThat(service.getCurrentUserId()).isEqualTo(42L);
+        assertThat(service.getCurrentLogin()).isEqualTo("john");
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void tokenWithoutUid_fallsBackToUsernameLookup() {
+        authenticate(new JwtPrincipal(null, "john"));
+        var user = new UserEntity();
+        user.setId(7L);
+        when(repository.findByUsername("john")).thenReturn(Optional.of(user));
+
+        assertThat(service.getCurrentUser()).isSameAs(user);
+        assertThat(service.getCurrentUserId()).isEqualTo(7L);
+        verifyNoInteractions(entityManager);
+    }
+
+    private static void authenticate(JwtPrincipal principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+}
@@ -0,0 +1,55 @@
+package kz.finance.fintrack.service.statement;
+
+import kz.finance.fintrack.repository.TransactionImportJobRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class StatementImportReaperTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-10T00:00:00Z");
+
+    private final TransactionImportJobRepository jobRepository = mock(TransactionImportJobRepository.class);
+    private final StatementImportService importService = mock(StatementImportService.class);
+    private final StatementImportReaper reaper =
+            new StatementImportReaper(jobRepository, importService, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void failsStaleJobs_andDeletesTheirStaging() {
+        when(jobRepository.failStale(NOW.minus(StatementImportReaper.STALE_AFTER), NOW, StatementImportReaper.STALE_ERROR))
+                .thenReturn(List.of(5L, 8L));
+
+        reaper.reap();
+
+        verify(jobRepository).deleteStaging(5L);
+        verify(jobRepository).deleteStaging(8L);
+    }
+
+    @Test
+    void nothingStale_deletesNothing() {
+        when(jobRepository.failStale(any(), any(), any())).thenReturn(List.of());
+
+        reaper.reap();
+
+        verify(jobRepository, never()).deleteStaging(anyLong());
+        verify(jobRepository, never()).touchQueued(any(), any());
+    }
+
+    @Test
+    void queuedJobs_getHeartbeatBeforeStaleSearch() {
+        when(importService.queuedJobIds()).thenReturn(List.of(3L, 4L));
+        when(jobRepository.failStale(any(), any(), any())).thenReturn(List.of());
+
+        reaper.reap();
+
+        var order = inOrder(jobRepository);
+        order.verify(jobRepository).touchQueued(List.of(3L, 4L), NOW);
+        order.verify(jobRepository).failStale(NOW.minus(StatementImportReaper.STALE_AFTER), NOW, StatementImportReaper.STALE_ERROR);
+        verify(jobRepository, never()).deleteStaging(anyLong());
+    }
+}
@@ -0,0 +1,169 @@
+package kz.finance.fintrack.service.statement;
+
+import kz.finance.fintrack.dto.statement.StagedTransactionRow;
+import kz.finance.fintrack.dto.statement.StatementCategoryRuleDto;
+import kz.finance.fintrack.dto.statement.StatementImportOptionsDto;
+import kz.finance.fintrack.model.TransactionCategoryEntity;
+import kz.finance.fintrack.model.TransactionImportFormat;
+import kz.finance.fintrack.model.TransactionImportJobEntity;
+import kz.finance.fintrack.model.TransactionImportStatus;
+import kz.finance.fintrack.model.TransactionType;
+import kz.finance.fintrack.repository.TransactionImportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StatementImportWorkerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-10T00:00:00Z");
+
+    private final TransactionImportJobRepository jobRepository = mock(TransactionImportJobRepository.class);
+    private final StatementImportWorker worker = new StatementImportWorker(
+            jobRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            Clock.fixed(NOW, ZoneOffset.UTC)
+    );
+
+    private final TransactionImportJobEntity job = new TransactionImportJobEntity();
+
+    private final StatementCategoryMatcher matcher = new StatementCategoryMatcher(
+            List.of(
+                    category(10L, TransactionType.EXPENSE, "Продукты", "Groceries", true),
+                    category(11L, TransactionType.EXPENSE, "Кафе", "Cafe", true),
+                    category(20L, TransactionType.INCOME, "Зарплата", "Salary", true)
+            ),
+            new StatementImportOptionsDto(null, null, 20L, List.of(new StatementCategoryRuleDto("coffee", 11L)))
+    );
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        job.setId(5L);
+        when(jobRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(job));
+    }
+
+    @Test
+    void stagesMatchedRows_mergesAndMarksDone() throws Exception {
+        Path file = write("""
+                date,amount,description,category
+                2026-01-05,-10.005,Magnum,groceries
+                2026-01-05,-4.00,Coffee Boom,
+                2026-01-06,500,Payroll,
+                2026-01-06,-3.00,Unknown shop,
+                2026-01-07,0,Zero,
+                """);
+        when(jobRepository.mergeStaging(eq(5L), eq(7L), any())).thenReturn(3);
+
+        worker.run(5L, 7L, file, TransactionImportFormat.CSV, matcher);
+
+        verify(jobRepository).copyToStaging(eq(5L), anyList());
+        verify(jobRepository).mergeStaging(eq(5L), eq(7L), any());
+        verify(jobRepository, never()).deleteStaging(anyLong());
+
+        assertThat(job.getStatus()).isEqualTo(TransactionImportStatus.DONE);
+        assertThat(job.getParsedRows()).isEqualTo(5);
+        assertThat(job.getSkippedRows()).isEqualTo(2);
+        assertThat(job.getImportedRows()).isEqualTo(3);
+        assertThat(job.getError()).isEqualTo("line 5: No category matched; line 6: Zero amount");
+        assertThat(job.getFinishedAt()).isEqualTo(NOW);
+        assertThat(job.getHeartbeatAt()).isEqualTo(NOW);
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void stagedRows_haveCategoryTypeAndPositiveAmount() throws Exception {
+        Path file = write("""
+                date,amount,description,category
+                2026-01-05,-10.005,Magnum,groceries
+                2026-01-05,-4.00,Coffee Boom,
+                2026-01-06,500,Payroll,
+                """);
+        doAnswer(inv -> {
+            List<StagedTransactionRow> rows = inv.getArgument(1);
+            assertThat(rows).extracting(StagedTransactionRow::categoryId).containsExactly(10L, 11L, 20L);
+            assertThat(rows).extracting(StagedTransactionRow::type)
+                    .containsExactly(TransactionType.EXPENSE, TransactionType.EXPENSE, TransactionType.INCOME);
+            assertThat(rows.get(0).amount()).isEqualByComparingTo("10.01");
+            return null;
+        }).when(jobRepository).copyToStaging(eq(5L), anyList());
+
+        worker.run(5L, 7L, file, TransactionImportFormat.CSV, matcher);
+
+        assertThat(job.getStatus()).isEqualTo(TransactionImportStatus.DONE);
+    }
+
+    @Test
+    void rowsBeyondPartitionHorizon_areSkipped() throws Exception {
+        Path file = write("""
+                date,amount,description,category
+                2026-03-31,-10.00,Magnum,groceries
+                2026-04-01,-4.00,Coffee Boom,
+                2099-01-01,500,Payroll,
+                """);
+
+        worker.run(5L, 7L, file, TransactionImportFormat.CSV, matcher);
+
+        assertThat(job.getStatus()).isEqualTo(TransactionImportStatus.DONE);
+        assertThat(job.getSkippedRows()).isEqualTo(2);
+        assertThat(job.getError())
+                .isEqualTo("line 3: Date is too far in the future; line 4: Date is too far in the future");
+    }
+
+    @Test
+    void invalidFile_marksFailed_andCleansStaging() throws Exception {
+        Path file = write("foo,bar\n1,2\n");
+
+        worker.run(5L, 7L, file, TransactionImportFormat.CSV, matcher);
+
+        verify(jobRepository).deleteStaging(5L);
+        verify(jobRepository, never()).mergeStaging(anyLong(), anyLong(), any());
+        assertThat(job.getStatus()).isEqualTo(TransactionImportStatus.FAILED);
+        assertThat(job.getError()).isEqualTo("CSV header must contain date and amount columns");
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void jobClosedByReaper_stopsWithoutOverwritingStatus() throws Exception {
+        Path file = write("""
+                date,amount,description,category
+                2026-01-05,-10.00,Magnum,groceries
+                """);
+        job.setStatus(TransactionImportStatus.FAILED);
+        job.setError(StatementImportReaper.STALE_ERROR);
+
+        worker.run(5L, 7L, file, TransactionImportFormat.CSV, matcher);
+
+        verify(jobRepository, never()).copyToStaging(anyLong(), anyList());
+        verify(jobRepository, never()).mergeStaging(anyLong(), anyLong(), any());
+        verify(jobRepository).deleteStaging(5L);
+        assertThat(job.getStatus()).isEqualTo(TransactionImportStatus.FAILED);
+        assertThat(job.getError()).isEqualTo(StatementImportReaper.STALE_ERROR);
+        assertThat(file).doesNotExist();
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = tempDir.resolve("statement.csv");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static TransactionCategoryEntity category(Long id, TransactionType type, String ru, String en, boolean system) {
+        return TransactionCategoryEntity.builder().id(id).type(type).nameRu(ru).nameEn(en).system(system).build();
+    }
+}
@@ -0,0 +1,116 @@
+package kz.finance.fintrack.service.statement;
+
+import kz.finance.fintrack.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementParsersTest {
+
+    @Test
+    void csv_semicolonLocaleAmounts_quotedFields_andBadRows() throws Exception {
+        var csv = "\uFEFFДата;Сумма;Описание;Категория;Лишняя\n"
+                + "05.01.2026 10:30;-1 234,50;\"Magnum; Алматы\";Продукты;x\n"
+                + "2026-01-06;+100000;\"Зарплата\n\"\"Январь\"\"\";;\n"
+                + "\n"
+                + "07.01.2026;abc;broken;;\n";
+
+        var result = parse(new CsvStatementParser(), csv);
+
+        assertThat(result.rows).hasSize(2);
+        var first = result.rows.get(0);
+        assertThat(first.lineNo()).isEqualTo(2);
+        assertThat(first.date()).isEqualTo(LocalDateTime.of(2026, 1, 5, 10, 30));
+        assertThat(first.amount()).isEqualByComparingTo("-1234.50");
+        assertThat(first.description()).isEqualTo("Magnum; Алматы");
+        assertThat(first.categoryName()).isEqualTo("Продукты");
+        assertThat(first.resolvedType()).isEqualTo(TransactionType.EXPENSE);
+
+        var second = result.rows.get(1);
+        assertThat(second.date()).isEqualTo(LocalDateTime.of(2026, 1, 6, 0, 0));
+        assertThat(second.description()).isEqualTo("Зарплата\n\"Январь\"");
+        assertThat(second.categoryName()).isNull();
+        assertThat(second.resolvedType()).isEqualTo(TransactionType.INCOME);
+
+        assertThat(result.errors).containsExactly("5: Invalid amount: abc");
+    }
+
+    @Test
+    void csv_explicitTypeColumn_overridesSign() throws Exception {
+        var csv = "date,amount,type\n2026-01-05T08:00:00,\"1,250.00\",expense\n";
+
+        var result = parse(new CsvStatementParser(), csv);
+
+        assertThat(result.rows).singleElement().satisfies(row -> {
+            assertThat(row.amount()).isEqualByComparingTo("1250.00");
+            assertThat(row.resolvedType()).isEqualTo(TransactionType.EXPENSE);
+        });
+    }
+
+    @Test
+    void ofx_sgmlWithoutClosingTags_andXml() throws Exception {
+        var sgml = """
+                OFXHEADER:100
+                DATA:OFXSGML
+
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20260105103000.000[+5:ALMT]
+                <TRNAMT>-12.50
+                <FITID>1
+                <NAME>Magnum &amp; Co
+                <MEMO>card *1234
+                </STMTTRN>
+                <STMTTRN>
+                <DTPOSTED>bad
+                <TRNAMT>5
+                </STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+        var xml = "<?xml version=\"1.0\"?><OFX><STMTTRN><DTPOSTED>20260106</DTPOSTED>"
+                + "<TRNAMT>300.00</TRNAMT><NAME>Salary</NAME><MEMO>Salary</MEMO></STMTTRN></OFX>";
+
+        var fromSgml = parse(new OfxStatementParser(), sgml);
+        var fromXml = parse(new OfxStatementParser(), xml);
+
+        assertThat(fromSgml.rows).singleElement().satisfies(row -> {
+            assertThat(row.date()).isEqualTo(LocalDateTime.of(2026, 1, 5, 10, 30));
+            assertThat(row.amount()).isEqualByComparingTo("-12.50");
+            assertThat(row.description()).isEqualTo("Magnum & Co — card *1234");
+        });
+        assertThat(fromSgml.errors).containsExactly("2: Invalid date: bad");
+
+        assertThat(fromXml.rows).singleElement().satisfies(row -> {
+            assertThat(row.date()).isEqualTo(LocalDateTime.of(2026, 1, 6, 0, 0));
+            assertThat(row.description()).isEqualTo("Salary");
+            assertThat(row.resolvedType()).isEqualTo(TransactionType.INCOME);
+        });
+    }
+
+    private static Result parse(StatementParser parser, String content) throws Exception {
+        var result = new Result();
+        parser.parse(new StringReader(content), new StatementParser.Handler() {
+            @Override
+            public void onRow(StatementRow row) {
+                result.rows.add(row);
+            }
+
+            @Override
+            public void onError(int lineNo, String message) {
+                result.errors.add(lineNo + ": " + message);
+            }
+        });
+        return result;
+    }
+
+    private static final class Result {
+        final List<StatementRow> rows = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+    }
+}
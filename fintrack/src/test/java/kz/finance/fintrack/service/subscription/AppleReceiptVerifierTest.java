@@ -13,6 +13,7 @@ import org.springframework.web.client.RestClient;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
 import java.util.Map;
@@ -105,6 +106,54 @@ class AppleReceiptVerifierTest {
         assertThat(v.calls.get()).isEqualTo(2);
     }
 
+    @Test
+    void repeatSandboxReceipt_goesStraightToSandbox() throws Exception {
+        String prod = """
+            { "status": 21007 }
+            """;
+        String sb = """
+            {
+              "status": 0,
+              "receipt": { "bundle_id": "kz.finance.fintrack" },
+              "latest_receipt_info": [
+                { "product_id": "fintrack_pro_month", "transaction_id": "t-sb", "expires_date_ms": "2000" }
+              ]
+            }
+            """;
+
+        TestVerifier v = verifier("kz.finance.fintrack", 3, 0, prod, sb, sb);
+
+        v.verifyByReceipt("base64", "fintrack_pro_month");
+        AppleSk2Snapshot again = v.verifyByReceipt("base64", "fintrack_pro_month");
+
+        assertThat(again.environment()).isEqualTo(Environment.SANDBOX);
+        assertThat(v.urls).containsExactly(
+                AppleIapProperties.VerifyReceiptProperties.DEFAULT_PRODUCTION_URL,
+                AppleIapProperties.VerifyReceiptProperties.DEFAULT_SANDBOX_URL,
+                AppleIapProperties.VerifyReceiptProperties.DEFAULT_SANDBOX_URL);
+    }
+
+    @Test
+    void rejectedReceipt_isNotRemembered_andOtherReceiptsStartAtPreferred() throws Exception {
+        String sandboxRedirect = """
+            { "status": 21007 }
+            """;
+        String invalid = """
+            { "status": 21002 }
+            """;
+
+        TestVerifier v = verifier("kz.finance.fintrack", 3, 0, sandboxRedirect, invalid, sandboxRedirect, invalid);
+
+        assertThatThrownBy(() -> v.verifyByReceipt("bad", "fintrack_pro_month")).isInstanceOf(FinTrackException.class);
+        assertThatThrownBy(() -> v.verifyByReceipt("bad", "fintrack_pro_month")).isInstanceOf(FinTrackException.class);
+
+        assertThat(v.urls).containsExactly(
+                AppleIapProperties.VerifyReceiptProperties.DEFAULT_PRODUCTION_URL,
+                AppleIapProperties.VerifyReceiptProperties.DEFAULT_SANDBOX_URL,
+                AppleIapProperties.VerifyReceiptProperties.DEFAULT_PRODUCTION_URL,
+                AppleIapProperties.VerifyReceiptProperties.DEFAULT_SANDBOX_URL);
+    }
+
     @Test
     void sandboxReturns21008_thenRetriesProduction_andSetsProductionEnv() throws Exception {
         String prod1 = """
@@ -281,7 +330,9 @@ class AppleReceiptVerifierTest {
                 new AppleIapProperties.VerifyReceiptProperties(
                         maxAttempts,
                         backoffMs,
-                        512 * 1024
+                        512 * 1024,
+                        null,
+                        null
                 )
         );
 
@@ -312,6 +363,7 @@ class AppleReceiptVerifierTest {
 
         final Deque<JsonNode> queue = new ArrayDeque<>();
         final AtomicInteger calls = new AtomicInteger(0);
+        final List<String> urls = new ArrayList<>();
 
         TestVerifier(RestClient restClient,
                      ObjectMapper objectMapper,
@@ -323,6 +375,7 @@ class AppleReceiptVerifierTest {
         @Override
         protected JsonNode postVerifyReceipt(String url, Map<String, Object> body) {
             calls.incrementAndGet();
+            urls.add(url);
             JsonNode n = queue.pollFirst();
             if (n == null) throw new AssertionError("No more prepared responses in queue");
             return n;
@@ -0,0 +1,182 @@
+package kz.finance.fintrack.service.subscription;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kz.finance.fintrack.dto.subscription.EntitlementResponse;
+import kz.finance.fintrack.dto.subscription.EntitlementStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntitlementCacheTest {
+
+    private static final EntitlementResponse ENTITLED =
+            new EntitlementResponse(EntitlementStatus.ENTITLED, null, "pro_month", true);
+    private static final EntitlementResponse NONE =
+            new EntitlementResponse(EntitlementStatus.NONE, null, null, false);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EntitlementCache cache = new EntitlementCache(registry, clock);
+
+    @Test
+    void secondLookup_isServedFromCache() {
+        var loads = new AtomicInteger();
+
+        cache.get(1L, () -> { loads.incrementAndGet(); return new EntitlementCache.Loaded(ENTITLED, null); });
+        var res = cache.get(1L, () -> { loads.incrementAndGet(); return new EntitlementCache.Loaded(NONE, null); });
+
+        assertThat(res).isEqualTo(ENTITLED);
+        assertThat(loads).hasValue(1);
+        assertThat(registry.get("fintrack.entitlement.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("fintrack.entitlement.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void entry_expiresAtStatusBoundary_andNotLaterThanMaxTtl() {
+        Instant expiry = clock.instant().plusSeconds(60);
+        cache.get(1L, () -> new EntitlementCache.Loaded(ENTITLED, expiry));
+        cache.get(2L, () -> new EntitlementCache.Loaded(NONE, null));
+
+        clock.set(expiry);
+        assertThat(cache.get(1L, () -> new EntitlementCache.Loaded(NONE, null))).isEqualTo(NONE);
+        assertThat(cache.get(2L, () -> new EntitlementCache.Loaded(ENTITLED, null))).isEqualTo(NONE);
+
+        clock.set(clock.instant().plus(EntitlementCache.MAX_TTL));
+        assertThat(cache.get(2L, () -> new EntitlementCache.Loaded(ENTITLED, null))).isEqualTo(ENTITLED);
+    }
+
+    @Test
+    void changeEvent_evictsEntry() {
+        cache.get(1L, () -> new EntitlementCache.Loaded(NONE, null));
+
+        cache.onEntitlementChanged(new EntitlementChangedEvent(1L));
+
+        assertThat(cache.get(1L, () -> new EntitlementCache.Loaded(ENTITLED, null))).isEqualTo(ENTITLED);
+        assertThat(registry.get("fintrack.entitlement.cache.invalidations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidationDuringLoad_doesNotCacheStaleResponse() {
+        var res = cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return new EntitlementCache.Loaded(NONE, null);
+        });
+
+        assertThat(res).isEqualTo(NONE);
+        assertThat(cache.get(1L, () -> new EntitlementCache.Loaded(ENTITLED, null))).isEqualTo(ENTITLED);
+    }
+
+    @Test
+    void invalidationOfAnotherUser_keepsLoadCached() {
+        var loads = new AtomicInteger();
+
+        cache.get(1L, () -> {
+            loads.incrementAndGet();
+            cache.invalidate(2L);
+            return new EntitlementCache.Loaded(NONE, null);
+        });
+        cache.get(1L, () -> { loads.incrementAndGet(); return new EntitlementCache.Loaded(ENTITLED, null); });
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void entitledResponse_isCachedShorterThanMaxTtl() {
+        cache.get(1L, () -> new EntitlementCache.Loaded(ENTITLED, null));
+        cache.get(2L, () -> new EntitlementCache.Loaded(NONE, null));
+
+        clock.set(clock.instant().plus(EntitlementCache.ENTITLED_TTL));
+
+        // отзыв на другом инстансе виден после ENTITLED_TTL, отсутствие доступа держится до MAX_TTL
+        assertThat(cache.get(1L, () -> new EntitlementCache.Loaded(NONE, null))).isEqualTo(NONE);
+        assertThat(cache.get(2L, () -> new EntitlementCache.Loaded(ENTITLED, null))).isEqualTo(NONE);
+    }
+
+    @Test
+    void invalidationMark_isPurgedAfterItsTtl() {
+        cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return new EntitlementCache.Loaded(NONE, null);
+        });
+
+        clock.set(clock.instant().plus(EntitlementCache.INVALIDATION_TTL));
+        cache.purgeExpired();
+
+        assertThat(registry.get("fintrack.entitlement.cache.size").gauge().value()).isZero();
+        cache.get(1L, () -> new EntitlementCache.Loaded(ENTITLED, null));
+        assertThat(cache.get(1L, () -> new EntitlementCache.Loaded(NONE, null))).isEqualTo(ENTITLED);
+    }
+
+    @Test
+    void concurrentInvalidation_neverLeavesStaleResponseCached() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long userId = 1; userId <= 2_000; userId++) {
+                long id = userId;
+                CountDownLatch loading = new CountDownLatch(1);
+                Future<?> invalidation = executor.submit(() -> {
+                    loading.await();
+                    cache.invalidate(id);
+                    return null;
+                });
+
+                cache.get(id, () -> {
+                    loading.countDown();
+                    return new EntitlementCache.Loaded(NONE, null);
+                });
+                invalidation.get(5, TimeUnit.SECONDS);
+
+                assertThat(cache.get(id, () -> new EntitlementCache.Loaded(ENTITLED, null)))
+                        .as("userId=%d", id)
+                        .isEqualTo(ENTITLED);
+            }
+        }
+    }
+
+    @Test
+    void nextChange_picksNearestFutureBoundary() {
+        Instant now = clock.instant();
+
+        assertThat(EntitlementCache.nextChange(now, null, now.minusSeconds(5))).isNull();
+        assertThat(EntitlementCache.nextChange(now, now.plus(Duration.ofDays(3)), now.plusSeconds(30), null))
+                .isEqualTo(now.plusSeconds(30));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
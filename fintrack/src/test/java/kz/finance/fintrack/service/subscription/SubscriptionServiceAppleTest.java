@@ -38,7 +38,7 @@ class SubscriptionServiceAppleTest {
         var mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
 
-        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, appleSk2, receiptVerifier, userService, mapper, persistence);
+        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, appleSk2, receiptVerifier, userService, mapper, persistence, mock(EntitlementCache.class));
 
         var user = new UserEntity();
         user.setId(1L);
@@ -89,7 +89,7 @@ class SubscriptionServiceAppleTest {
         var mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
 
-        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, appleSk2, receiptVerifier, userService, mapper, persistence);
+        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, appleSk2, receiptVerifier, userService, mapper, persistence, mock(EntitlementCache.class));
 
         var user = new UserEntity();
         user.setId(1L);
@@ -140,7 +140,7 @@ class SubscriptionServiceAppleTest {
         var mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
 
-        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, appleSk2, receiptVerifier, userService, mapper, persistence);
+        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, appleSk2, receiptVerifier, userService, mapper, persistence, mock(EntitlementCache.class));
 
         var user = new UserEntity();
         user.setId(1L);
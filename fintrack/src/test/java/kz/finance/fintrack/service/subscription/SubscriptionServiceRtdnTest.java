@@ -10,6 +10,7 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -27,7 +28,7 @@ class SubscriptionServiceRtdnTest {
     }
 
     @Test
-    void applyGoogleRtnd_unknownToken_doesNothing() {
+    void syncGoogleRtnd_unknownToken_doesNothing() {
         var idem = mock(IapIdempotencyRepository.class);
         var gp = mock(GooglePlayService.class);
         var apple = mock(AppleSk2Verifier.class);
@@ -38,7 +39,7 @@ class SubscriptionServiceRtdnTest {
 
         var receiptVerifier = mock(AppleReceiptVerifier.class);
         var service = new SubscriptionService(
-                idem, FIXED_CLOCK, gp, apple, receiptVerifier, userService, createObjectMapper(), persistence
+                idem, FIXED_CLOCK, gp, apple, receiptVerifier, userService, createObjectMapper(), persistence, mock(EntitlementCache.class)
         );
 
         var n = mock(GoogleWebhookParser.DeveloperNotification.class);
@@ -52,7 +53,7 @@ class SubscriptionServiceRtdnTest {
 
         when(persistence.existsGoogleByToken("token-x")).thenReturn(false);
 
-        service.applyGoogleRtnd(n);
+        service.syncGoogleRtnd(n);
 
         verify(gp).expectedPackageName();
         verify(gp, never()).verify(anyString(), anyString(), anyBoolean());
@@ -69,7 +70,7 @@ class SubscriptionServiceRtdnTest {
     }
 
     @Test
-    void applyGoogleRtnd_revokedType_callsPersistWithShouldRevokeTrue() {
+    void syncGoogleRtnd_revokedType_callsPersistWithShouldRevokeTrue() {
         var idem = mock(IapIdempotencyRepository.class);
         var gp = mock(GooglePlayService.class);
         var apple = mock(AppleSk2Verifier.class);
@@ -80,7 +81,7 @@ class SubscriptionServiceRtdnTest {
 
         var receiptVerifier = mock(AppleReceiptVerifier.class);
         var service = new SubscriptionService(
-                idem, FIXED_CLOCK, gp, apple, receiptVerifier, userService, createObjectMapper(), persistence
+                idem, FIXED_CLOCK, gp, apple, receiptVerifier, userService, createObjectMapper(), persistence, mock(EntitlementCache.class)
         );
 
         var n = mock(GoogleWebhookParser.DeveloperNotification.class);
@@ -108,7 +109,7 @@ class SubscriptionServiceRtdnTest {
                         null
                 ));
 
-        service.applyGoogleRtnd(n);
+        service.syncGoogleRtnd(n);
 
         verify(persistence).persistGoogleRtnd(
                 eq("token-1"),
@@ -128,7 +129,7 @@ class SubscriptionServiceRtdnTest {
     }
 
     @Test
-    void applyGoogleRtnd_blankToken_returns() {
+    void syncGoogleRtnd_blankToken_returns() {
         var persistence = mock(SubscriptionPersistenceService.class);
         var gp = mock(GooglePlayService.class);
 
@@ -140,7 +141,8 @@ class SubscriptionServiceRtdnTest {
                 mock(AppleReceiptVerifier.class),
                 mock(UserService.class),
                 createObjectMapper(),
-                persistence
+                persistence,
+                mock(EntitlementCache.class)
         );
 
         var n = mock(GoogleWebhookParser.DeveloperNotification.class);
@@ -149,14 +151,14 @@ class SubscriptionServiceRtdnTest {
         when(n.subscriptionNotification()).thenReturn(sn);
         when(sn.purchaseToken()).thenReturn("   "); // early return
 
-        service.applyGoogleRtnd(n);
+        service.syncGoogleRtnd(n);
 
         verifyNoInteractions(gp);
         verifyNoInteractions(persistence);
     }
 
     @Test
-    void applyGoogleRtnd_gpVerifyThrows_isSwallowed() {
+    void syncGoogleRtnd_gpVerifyThrows_propagates() {
         var gp = mock(GooglePlayService.class);
         var persistence = mock(SubscriptionPersistenceService.class);
 
@@ -170,7 +172,8 @@ class SubscriptionServiceRtdnTest {
                 mock(AppleReceiptVerifier.class),
                 mock(UserService.class),
                 createObjectMapper(),
-                persistence
+                persistence,
+                mock(EntitlementCache.class)
         );
 
         var n = mock(GoogleWebhookParser.DeveloperNotification.class);
@@ -186,7 +189,9 @@ class SubscriptionServiceRtdnTest {
         when(gp.verify(anyString(), anyString(), anyBoolean()))
                 .thenThrow(new RuntimeException("boom"));
 
-        service.applyGoogleRtnd(n);
+        assertThatThrownBy(() -> service.syncGoogleRtnd(n))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("boom");
 
         verify(persistence, never()).persistGoogleRtnd(
                 any(), anyBoolean(), any(),
@@ -36,7 +36,7 @@ class SubscriptionServiceTest {
         var mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         var receiptVerifier = mock(AppleReceiptVerifier.class);
-        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, apple, receiptVerifier, userService, mapper, persistence);
+        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, apple, receiptVerifier, userService, mapper, persistence, mock(EntitlementCache.class));
 
         var user = new UserEntity();
         user.setId(1L);
@@ -69,7 +69,7 @@ class SubscriptionServiceTest {
         var mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         var receiptVerifier = mock(AppleReceiptVerifier.class);
-        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, apple, receiptVerifier, userService, mapper, persistence);
+        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, apple, receiptVerifier, userService, mapper, persistence, mock(EntitlementCache.class));
 
         var user = new UserEntity();
         user.setId(1L);
@@ -119,7 +119,7 @@ class SubscriptionServiceTest {
         var mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         var receiptVerifier = mock(AppleReceiptVerifier.class);
-        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, apple, receiptVerifier, userService, mapper, persistence);
+        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, apple, receiptVerifier, userService, mapper, persistence, mock(EntitlementCache.class));
 
         var user = new UserEntity();
         user.setId(1L);
@@ -170,7 +170,7 @@ class SubscriptionServiceTest {
         var mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         var receiptVerifier = mock(AppleReceiptVerifier.class);
-        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, apple, receiptVerifier, userService, mapper, persistence);
+        var service = new SubscriptionService(idemRepo, FIXED_CLOCK, gp, apple, receiptVerifier, userService, mapper, persistence, mock(EntitlementCache.class));
 
         var user = new UserEntity();
         user.setId(1L);
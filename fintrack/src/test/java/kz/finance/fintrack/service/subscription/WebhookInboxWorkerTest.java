@@ -0,0 +1,114 @@
+package kz.finance.fintrack.service.subscription;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kz.finance.fintrack.model.SubscriptionProvider;
+import kz.finance.fintrack.model.WebhookInboxEntity;
+import kz.finance.fintrack.model.WebhookInboxStatus;
+import kz.finance.fintrack.repository.WebhookInboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WebhookInboxWorkerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-10T00:00:00Z");
+
+    private final WebhookInboxRepository repo = mock(WebhookInboxRepository.class);
+    private final AppleServerNotificationService apple = mock(AppleServerNotificationService.class);
+    private final SubscriptionService subscriptionService = mock(SubscriptionService.class);
+    private final WebhookInboxWorker worker = new WebhookInboxWorker(
+            repo,
+            apple,
+            subscriptionService,
+            new ObjectMapper(),
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            Clock.fixed(NOW, ZoneOffset.UTC)
+    );
+
+    private final WebhookInboxEntity item = new WebhookInboxEntity();
+
+    @BeforeEach
+    void setUp() {
+        item.setId(1L);
+        item.setStatus(WebhookInboxStatus.PROCESSING);
+        when(repo.findById(1L)).thenReturn(Optional.of(item));
+    }
+
+    @Test
+    void googleRtdn_isDecodedAndSynced_thenDone() {
+        item.setProvider(SubscriptionProvider.GOOGLE);
+        item.setAttempts(1);
+        item.setPayload("""
+                {"packageName":"pro.fintrack","subscriptionNotification":{"notificationType":4,"purchaseToken":"tok","subscriptionId":"pro_month"}}
+                """);
+
+        worker.process(1L);
+
+        verify(subscriptionService).syncGoogleRtnd(argThat(n ->
+                n.packageName().equals("pro.fintrack") && n.subscriptionNotification().purchaseToken().equals("tok")));
+        assertThat(item.getStatus()).isEqualTo(WebhookInboxStatus.DONE);
+        assertThat(item.getProcessedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void failure_isRescheduledWithBackoff() {
+        item.setProvider(SubscriptionProvider.APPLE);
+        item.setPayload("jws");
+        item.setAttempts(3);
+        doThrow(new IllegalStateException("db down")).when(apple).handleSignedPayload("jws");
+
+        worker.process(1L);
+
+        assertThat(item.getStatus()).isEqualTo(WebhookInboxStatus.PENDING);
+        assertThat(item.getNextAttemptAt()).isEqualTo(NOW.plus(Duration.ofMinutes(2)));
+        assertThat(item.getLastError()).isEqualTo("db down");
+    }
+
+    @Test
+    void lastAttemptFailure_movesToDead() {
+        item.setProvider(SubscriptionProvider.APPLE);
+        item.setPayload("jws");
+        item.setAttempts(WebhookInboxWorker.MAX_ATTEMPTS);
+        doThrow(new IllegalStateException("boom")).when(apple).handleSignedPayload("jws");
+
+        worker.process(1L);
+
+        assertThat(item.getStatus()).isEqualTo(WebhookInboxStatus.DEAD);
+        assertThat(item.getLastError()).isEqualTo("boom");
+    }
+
+    @Test
+    void reclaimedByAnotherWorker_resultIsNotWritten() {
+        item.setProvider(SubscriptionProvider.APPLE);
+        item.setPayload("jws");
+        item.setAttempts(1);
+        // пока обрабатывали, аренда истекла и запись забрал другой воркер
+        doAnswer(inv -> {
+            item.setAttempts(2);
+            return null;
+        }).when(apple).handleSignedPayload("jws");
+
+        worker.process(1L);
+
+        assertThat(item.getStatus()).isEqualTo(WebhookInboxStatus.PROCESSING);
+        verify(repo, never()).save(any());
+    }
+
+    @Test
+    void backoff_growsExponentially_andIsCapped() {
+        assertThat(WebhookInboxWorker.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(WebhookInboxWorker.backoff(4)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(WebhookInboxWorker.backoff(30)).isEqualTo(Duration.ofHours(1));
+    }
+}
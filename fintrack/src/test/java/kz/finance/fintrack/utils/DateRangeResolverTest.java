@@ -0,0 +1,69 @@
+package kz.finance.fintrack.utils;
+
+import kz.finance.fintrack.dto.PeriodType;
+import kz.finance.fintrack.exception.FinTrackException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DateRangeResolverTest {
+
+    private static final ZoneId ALMATY = ZoneId.of("Asia/Almaty");
+    // воскресенье 21:00 UTC — в Алматы уже понедельник 02:00
+    private static final Instant NOW = Instant.parse("2026-10-18T21:00:00Z");
+
+    @Test
+    void week_isTakenInClientZone() {
+        var range = DateRangeResolver.resolve(PeriodType.WEEK, null, null, null, Clock.fixed(NOW, ALMATY));
+
+        assertThat(range.start()).isEqualTo(LocalDate.of(2026, 10, 19).atStartOfDay());
+        assertThat(range.end()).isEqualTo(LocalDateTime.of(2026, 10, 19, 2, 0));
+    }
+
+    @Test
+    void week_inUtc_isPreviousWeekUpToNow() {
+        var range = DateRangeResolver.resolve(PeriodType.WEEK, null, null, null, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(range.start()).isEqualTo(LocalDate.of(2026, 10, 12).atStartOfDay());
+        assertThat(range.end()).isEqualTo(LocalDateTime.of(2026, 10, 18, 21, 0));
+    }
+
+    @Test
+    void day_defaultsToClientToday() {
+        var range = DateRangeResolver.resolve(PeriodType.DAY, null, null, null, Clock.fixed(NOW, ALMATY));
+
+        assertThat(range.start()).isEqualTo(LocalDate.of(2026, 10, 19).atStartOfDay());
+        assertThat(range.end()).isEqualTo(LocalDate.of(2026, 10, 19).atTime(LocalTime.MAX));
+    }
+
+    @Test
+    void pastWeek_isNotCutByNow() {
+        var range = DateRangeResolver.resolve(PeriodType.WEEK, 2026, 3, 11, Clock.fixed(NOW, ALMATY));
+
+        assertThat(range.start()).isEqualTo(LocalDate.of(2026, 3, 9).atStartOfDay());
+        assertThat(range.end()).isEqualTo(LocalDate.of(2026, 3, 15).atTime(LocalTime.MAX));
+    }
+
+    @Test
+    void resolveZone_acceptsIanaAndUtc() {
+        assertThat(DateRangeResolver.resolveZone("Asia/Almaty")).isEqualTo(ALMATY);
+        assertThat(DateRangeResolver.resolveZone("UTC")).isEqualTo(ZoneId.of("UTC"));
+        assertThat(DateRangeResolver.resolveZone("+00:00")).isEqualTo(ZoneId.of("UTC"));
+    }
+
+    @Test
+    void resolveZone_rejectsNonZeroOffsetsAndUnknownIds() {
+        assertThatThrownBy(() -> DateRangeResolver.resolveZone("+05:00")).isInstanceOf(FinTrackException.class);
+        assertThatThrownBy(() -> DateRangeResolver.resolveZone("UTC+05:00")).isInstanceOf(FinTrackException.class);
+        assertThatThrownBy(() -> DateRangeResolver.resolveZone("Mars/Olympus")).isInstanceOf(FinTrackException.class);
+    }
+}
@@ -0,0 +1,35 @@
+package kz.finance.fintrack.utils;
+
+import kz.finance.fintrack.exception.FinTrackException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionCursorTest {
+
+    @Test
+    void encodeDecode_roundTrip() {
+        var cursor = new TransactionCursor(LocalDateTime.of(2026, 1, 2, 10, 15, 30, 123_000_000), 4051L);
+
+        var decoded = TransactionCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void encode_isUrlSafe() {
+        var encoded = new TransactionCursor(LocalDateTime.of(2026, 1, 2, 0, 0), 1L).encode();
+
+        assertThat(encoded).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void decode_garbage_throwsBadRequest() {
+        assertThatThrownBy(() -> TransactionCursor.decode("not-a-cursor"))
+                .isInstanceOf(FinTrackException.class)
+                .satisfies(e -> assertThat(((FinTrackException) e).getStatus()).isEqualTo(400));
+    }
+}
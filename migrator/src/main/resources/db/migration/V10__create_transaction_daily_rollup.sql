@@ -0,0 +1,24 @@
+-- Дневные агрегаты транзакций: сумма и количество по (user, day, category, type).
+-- Поддерживается инкрементально из TransactionService, аналитика читает отсюда вместо transaction.
+CREATE TABLE IF NOT EXISTS transaction_daily_rollup (
+    user_id      BIGINT         NOT NULL,
+    day          DATE           NOT NULL,
+    category_id  BIGINT         NOT NULL,
+    type         VARCHAR(10)    NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    total_amount NUMERIC(18, 2) NOT NULL DEFAULT 0,
+    tx_count     BIGINT         NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_transaction_daily_rollup PRIMARY KEY (user_id, day, category_id, type),
+    CONSTRAINT fk_tx_rollup_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_tx_rollup_category FOREIGN KEY (category_id) REFERENCES transaction_category(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_tx_rollup_category
+    ON transaction_daily_rollup(category_id);
+
+-- Заполняем по уже существующей истории
+INSERT INTO transaction_daily_rollup (user_id, day, category_id, type, total_amount, tx_count)
+SELECT t.user_id, t.date::date, t.category_id, t.type, SUM(t.amount), COUNT(*)
+FROM transaction t
+GROUP BY t.user_id, t.date::date, t.category_id, t.type
+ON CONFLICT (user_id, day, category_id, type) DO NOTHING;
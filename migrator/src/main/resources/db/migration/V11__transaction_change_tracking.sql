@@ -0,0 +1,70 @@
+-- Delta sync: каждая вставка/изменение транзакции получает (change_xid, change_seq),
+-- удаления пишутся в transaction_tombstone. Клиент запрашивает изменения после своего токена.
+--
+-- Почему не только sequence: nextval выдаётся до коммита, и строка с меньшим seq может стать
+-- видимой позже строки с большим. Поэтому порядок — (xid транзакции БД, seq), а отдаются только
+-- строки с xid ниже xmin текущего снимка, т.е. все более ранние транзакции уже завершены.
+
+CREATE SEQUENCE IF NOT EXISTS seq_transaction_change
+    START WITH 1 INCREMENT BY 1;
+
+ALTER TABLE transaction
+    ADD COLUMN IF NOT EXISTS change_seq BIGINT,
+    ADD COLUMN IF NOT EXISTS change_xid xid8;
+
+UPDATE transaction
+   SET change_seq = nextval('seq_transaction_change'),
+       change_xid = pg_current_xact_id()
+ WHERE change_seq IS NULL;
+
+ALTER TABLE transaction
+    ALTER COLUMN change_seq SET NOT NULL,
+    ALTER COLUMN change_xid SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_transaction_user_change
+    ON transaction(user_id, change_xid, change_seq);
+
+-- Без FK на users: при каскадном удалении пользователя триггер пишет tombstone уже удаляемого user_id.
+-- Старые записи чистит TransactionTombstoneCleanupJob.
+CREATE TABLE IF NOT EXISTS transaction_tombstone (
+    transaction_id BIGINT      NOT NULL,
+    user_id        BIGINT      NOT NULL,
+    change_seq     BIGINT      NOT NULL,
+    change_xid     xid8        NOT NULL,
+    deleted_at     TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    CONSTRAINT pk_transaction_tombstone PRIMARY KEY (transaction_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_tx_tombstone_user_change
+    ON transaction_tombstone(user_id, change_xid, change_seq);
+
+CREATE INDEX IF NOT EXISTS idx_tx_tombstone_deleted_at
+    ON transaction_tombstone(deleted_at);
+
+CREATE OR REPLACE FUNCTION transaction_stamp_change() RETURNS trigger AS $$
+BEGIN
+    NEW.change_seq := nextval('seq_transaction_change');
+    NEW.change_xid := pg_current_xact_id();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION transaction_write_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO transaction_tombstone (transaction_id, user_id, change_seq, change_xid)
+    VALUES (OLD.id, OLD.user_id, nextval('seq_transaction_change'), pg_current_xact_id())
+    ON CONFLICT (transaction_id) DO NOTHING;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_transaction_stamp_change ON transaction;
+CREATE TRIGGER trg_transaction_stamp_change
+    BEFORE INSERT OR UPDATE ON transaction
+    FOR EACH ROW EXECUTE FUNCTION transaction_stamp_change();
+
+DROP TRIGGER IF EXISTS trg_transaction_tombstone ON transaction;
+CREATE TRIGGER trg_transaction_tombstone
+    AFTER DELETE ON transaction
+    FOR EACH ROW EXECUTE FUNCTION transaction_write_tombstone();
@@ -0,0 +1,39 @@
+-- Импорт банковских выписок (CSV/OFX): задача импорта + staging-таблица под COPY.
+-- Строки грузятся в staging пачками через COPY, затем одним INSERT ... SELECT переносятся в transaction.
+
+CREATE SEQUENCE IF NOT EXISTS seq_transaction_import_job_id
+    START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS transaction_import_job (
+    id            BIGINT PRIMARY KEY DEFAULT nextval('seq_transaction_import_job_id'),
+    user_id       BIGINT       NOT NULL,
+    format        VARCHAR(8)   NOT NULL CHECK (format IN ('CSV', 'OFX')),
+    status        VARCHAR(16)  NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'DONE', 'FAILED')),
+    file_name     VARCHAR(255),
+    parsed_rows   INT          NOT NULL DEFAULT 0,
+    skipped_rows  INT          NOT NULL DEFAULT 0,
+    imported_rows INT          NOT NULL DEFAULT 0,
+    error         VARCHAR(1000),
+    created_at    TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    updated_at    TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    finished_at   TIMESTAMPTZ,
+    CONSTRAINT fk_transaction_import_job_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_import_job_user
+    ON transaction_import_job(user_id, created_at DESC);
+
+-- UNLOGGED: данные в staging живут до merge и не нужны после рестарта, WAL на них не тратим.
+-- Без FK: COPY не проверяет ссылки построчно, категории уже проверены при разборе файла.
+CREATE UNLOGGED TABLE IF NOT EXISTS transaction_import_staging (
+    job_id      BIGINT         NOT NULL,
+    line_no     INT            NOT NULL,
+    amount      NUMERIC(18, 2) NOT NULL,
+    date        TIMESTAMP(6)   NOT NULL,
+    comment     VARCHAR(255),
+    type        VARCHAR(10)    NOT NULL,
+    category_id BIGINT         NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_import_staging_job
+    ON transaction_import_staging(job_id);
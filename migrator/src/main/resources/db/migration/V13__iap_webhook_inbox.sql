@@ -0,0 +1,28 @@
+-- Входящие webhook'и Apple / Google: сохраняем сырой payload и сразу отвечаем 200,
+-- обработка — пулом воркеров с повторами (backoff) и статусом DEAD после исчерпания попыток.
+
+CREATE SEQUENCE IF NOT EXISTS seq_iap_webhook_inbox_id
+    START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS iap_webhook_inbox (
+    id              BIGINT PRIMARY KEY DEFAULT nextval('seq_iap_webhook_inbox_id'),
+    provider        VARCHAR(16)   NOT NULL,
+    event_id        VARCHAR(96),  -- Pub/Sub messageId (Google); у Apple uuid известен только после проверки подписи
+    payload         TEXT          NOT NULL,
+    status          VARCHAR(16)   NOT NULL CHECK (status IN ('PENDING', 'PROCESSING', 'DONE', 'DEAD')),
+    attempts        INT           NOT NULL DEFAULT 0,
+    -- PENDING: когда брать в работу; PROCESSING: до какого момента действует захват (потом — повторно)
+    next_attempt_at TIMESTAMPTZ   NOT NULL DEFAULT now(),
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMPTZ   NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMPTZ   NOT NULL DEFAULT now(),
+    processed_at    TIMESTAMPTZ
+);
+
+-- очередь: только строки, которые ещё могут быть взяты в работу
+CREATE INDEX IF NOT EXISTS idx_iap_webhook_inbox_due
+    ON iap_webhook_inbox(next_attempt_at, id)
+    WHERE status IN ('PENDING', 'PROCESSING');
+
+CREATE INDEX IF NOT EXISTS idx_iap_webhook_inbox_status_created
+    ON iap_webhook_inbox(status, created_at);
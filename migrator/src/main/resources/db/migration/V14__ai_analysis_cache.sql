@@ -0,0 +1,66 @@
+-- Кеш AI-анализа месяца (DeepSeek). Ключ — пользователь, месяц, sha-256 summary, по которому строился prompt, и модель.
+-- Любое изменение транзакций месяца удаляет его записи (триггеры ниже), поэтому наличие записи
+-- за месяц означает, что данные не менялись, и ответ отдаётся без загрузки транзакций.
+
+CREATE TABLE IF NOT EXISTS ai_analysis_cache (
+    user_id      BIGINT      NOT NULL,
+    period       DATE        NOT NULL,  -- первое число месяца
+    summary_hash CHAR(64)    NOT NULL,
+    model        VARCHAR(32) NOT NULL,
+    currency     VARCHAR(8)  NOT NULL,
+    content      TEXT        NOT NULL,
+    latency_ms   BIGINT      NOT NULL,  -- сколько занял вызов модели: столько экономит каждое попадание
+    created_at   TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    CONSTRAINT pk_ai_analysis_cache PRIMARY KEY (user_id, period, summary_hash, model),
+    CONSTRAINT fk_ai_analysis_cache_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Ключ advisory-блокировки (пользователь, месяц). Триггеры ниже берут её shared до конца своей транзакции,
+-- запись в кеш (AiAnalysisCache.store) — exclusive отдельным оператором перед вставкой. Без неё запись,
+-- чей DELETE уже отработал, но коммит ещё не случился (долгий импорт выписки), не видна проверке при вставке,
+-- и устаревший ответ остаётся в кеше. С блокировкой вставка ждёт коммита такой записи и видит её строки,
+-- а запись, начавшаяся после вставки, ждёт её коммита и удаляет её.
+CREATE OR REPLACE FUNCTION ai_analysis_cache_lock_key(p_user_id BIGINT, p_period DATE) RETURNS BIGINT AS $$
+    SELECT hashtextextended('ai_analysis_cache:' || p_user_id || ':' || (p_period - DATE '2000-01-01'), 0)
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Statement-level триггеры с transition-таблицами: массовая вставка (batch, импорт выписки)
+-- даёт один DELETE на затронутые месяцы, а не по одному на строку.
+CREATE OR REPLACE FUNCTION ai_analysis_cache_invalidate() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM pg_advisory_xact_lock_shared(ai_analysis_cache_lock_key(n.user_id, n.period))
+           FROM (SELECT DISTINCT user_id, date_trunc('month', date)::date AS period FROM new_rows) n;
+        DELETE FROM ai_analysis_cache c
+         USING (SELECT DISTINCT user_id, date_trunc('month', date)::date AS period FROM new_rows) n
+         WHERE c.user_id = n.user_id AND c.period = n.period;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM pg_advisory_xact_lock_shared(ai_analysis_cache_lock_key(o.user_id, o.period))
+           FROM (SELECT DISTINCT user_id, date_trunc('month', date)::date AS period FROM old_rows) o;
+        DELETE FROM ai_analysis_cache c
+         USING (SELECT DISTINCT user_id, date_trunc('month', date)::date AS period FROM old_rows) o
+         WHERE c.user_id = o.user_id AND c.period = o.period;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_ai_analysis_cache_insert ON transaction;
+CREATE TRIGGER trg_ai_analysis_cache_insert
+    AFTER INSERT ON transaction
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION ai_analysis_cache_invalidate();
+
+DROP TRIGGER IF EXISTS trg_ai_analysis_cache_update ON transaction;
+CREATE TRIGGER trg_ai_analysis_cache_update
+    AFTER UPDATE ON transaction
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION ai_analysis_cache_invalidate();
+
+DROP TRIGGER IF EXISTS trg_ai_analysis_cache_delete ON transaction;
+CREATE TRIGGER trg_ai_analysis_cache_delete
+    AFTER DELETE ON transaction
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION ai_analysis_cache_invalidate();
@@ -0,0 +1,193 @@
+-- Помесячное range-партиционирование transaction по date.
+-- Аналитика и списки всегда фильтруют по user_id и date: запрос за месяц читает одну партицию,
+-- vacuum и индексы живут на уровне месяца, а старые месяцы можно отсоединить и унести в архив.
+--
+-- Партиции: transaction_pYYYY_MM на [1-е число, 1-е число следующего месяца), плюс transaction_default
+-- для строк вне созданного диапазона (очень старые даты, далёкое будущее).
+-- Будущие партиции создаёт TransactionPartitionMaintenanceJob (fintrack) через transaction_ensure_partitions.
+--
+-- Первичный ключ — (id, date): ключ партиционирования обязан входить в уникальные индексы.
+-- id по-прежнему уникален — его выдаёт seq_transaction_id, маппинг TransactionEntity не меняется.
+
+LOCK TABLE transaction IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE transaction RENAME TO transaction_unpartitioned;
+
+CREATE TABLE transaction (
+    id          BIGINT         NOT NULL DEFAULT nextval('seq_transaction_id'),
+    amount      NUMERIC(18, 2) NOT NULL,
+    date        TIMESTAMP(6)   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    comment     VARCHAR(255),
+    type        VARCHAR(10)    NOT NULL CONSTRAINT transaction_type_check CHECK (type IN ('INCOME', 'EXPENSE')),
+    category_id BIGINT         NOT NULL,
+    user_id     BIGINT         NOT NULL,
+    created_at  TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at  TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    change_seq  BIGINT         NOT NULL,
+    change_xid  xid8           NOT NULL,
+
+    CONSTRAINT pk_transaction PRIMARY KEY (id, date),
+    CONSTRAINT fk_transaction_category FOREIGN KEY (category_id) REFERENCES transaction_category(id) ON DELETE CASCADE,
+    CONSTRAINT fk_transaction_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) PARTITION BY RANGE (date);
+
+CREATE TABLE transaction_default PARTITION OF transaction DEFAULT;
+
+-- Создаёт партицию месяца, если её ещё нет. Таблица создаётся отдельно и присоединяется через ATTACH.
+-- Если в transaction_default уже есть строки этого месяца (даты вне горизонта, записанные до проверки в API,
+-- или история старше 5 лет), они переносятся в новую партицию перед ATTACH.
+--
+-- Блокировки: ATTACH берёт SHARE UPDATE EXCLUSIVE на transaction (чтение и запись в другие партиции идут),
+-- но ACCESS EXCLUSIVE на присоединяемую таблицу и на transaction_default — default сканируется, чтобы
+-- убедиться, что в нём не осталось строк нового месяца. Пока идёт перенос и скан default, чтение и запись
+-- строк, попадающих в default, ждут. Поэтому партиции создаются заранее, пока default для месяца пуст,
+-- а API не принимает даты дальше горизонта (TransactionDateHorizon).
+CREATE OR REPLACE FUNCTION transaction_create_partition(p_month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    v_from  DATE := date_trunc('month', p_month)::date;
+    v_to    DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::date;
+    v_name  TEXT := 'transaction_p' || to_char(p_month, 'YYYY_MM');
+    v_moved BIGINT;
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- Тот же порядок, что у ATTACH: сначала родитель, потом default. ACCESS EXCLUSIVE на default берётся сразу,
+    -- чтобы между переносом и ATTACH в default не вставили строку этого месяца и не было апгрейда блокировки.
+    LOCK TABLE ONLY transaction IN SHARE UPDATE EXCLUSIVE MODE;
+    LOCK TABLE transaction_default IN ACCESS EXCLUSIVE MODE;
+
+    EXECUTE format('CREATE TABLE %I (LIKE transaction INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_name);
+
+    -- Таблица ещё не партиция: триггеры transaction на неё не действуют, change_seq / change_xid переносятся как есть.
+    -- DELETE из самой партиции не вызывает statement-триггеры transaction, tombstone не пишутся.
+    EXECUTE format('INSERT INTO %I SELECT * FROM transaction_default WHERE date >= %L AND date < %L',
+                   v_name, v_from, v_to);
+    GET DIAGNOSTICS v_moved = ROW_COUNT;
+    IF v_moved > 0 THEN
+        DELETE FROM transaction_default WHERE date >= v_from AND date < v_to;
+        RAISE NOTICE 'moved % rows from transaction_default to %', v_moved, v_name;
+    END IF;
+
+    EXECUTE format('ALTER TABLE transaction ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', v_name, v_from, v_to);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Партиции с текущего месяца (UTC, как и transaction.date) на p_months_ahead вперёд. Возвращает число созданных.
+CREATE OR REPLACE FUNCTION transaction_ensure_partitions(p_months_ahead INT DEFAULT 3) RETURNS INT AS $$
+DECLARE
+    v_current DATE := date_trunc('month', now() AT TIME ZONE 'UTC')::date;
+    v_month   DATE;
+    v_created INT := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('transaction_partitions'));
+    FOR v_month IN
+        SELECT generate_series(v_current, v_current + make_interval(months => p_months_ahead), INTERVAL '1 month')::date
+    LOOP
+        IF transaction_create_partition(v_month) THEN
+            v_created := v_created + 1;
+        END IF;
+    END LOOP;
+    RETURN v_created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Отсоединяет партицию прошедшего месяца для архивации: строки остаются в таблице transaction_pYYYY_MM,
+-- но пропадают из transaction. Tombstone не пишутся — клиентам это не удаление.
+-- Дневные агрегаты (transaction_daily_rollup) не трогаются, аналитика за архивные месяцы сохраняется.
+-- Обычный DETACH берёт ACCESS EXCLUSIVE на transaction; на нагруженной базе лучше вручную
+-- ALTER TABLE transaction DETACH PARTITION ... CONCURRENTLY (вне транзакции).
+CREATE OR REPLACE FUNCTION transaction_detach_partition(p_month DATE) RETURNS TEXT AS $$
+DECLARE
+    v_name TEXT := 'transaction_p' || to_char(p_month, 'YYYY_MM');
+BEGIN
+    IF date_trunc('month', p_month) >= date_trunc('month', now() AT TIME ZONE 'UTC') THEN
+        RAISE EXCEPTION 'partition % is not in the past', v_name;
+    END IF;
+    IF to_regclass(v_name) IS NULL THEN
+        RAISE EXCEPTION 'partition % does not exist', v_name;
+    END IF;
+
+    PERFORM pg_advisory_xact_lock(hashtext('transaction_partitions'));
+    EXECUTE format('ALTER TABLE transaction DETACH PARTITION %I', v_name);
+    RETURN v_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Партиции под существующую историю (не глубже 5 лет, более старое уходит в default) и на 3 месяца вперёд.
+DO $$
+DECLARE
+    v_current DATE := date_trunc('month', now() AT TIME ZONE 'UTC')::date;
+    v_first   DATE;
+    v_month   DATE;
+BEGIN
+    SELECT date_trunc('month', MIN(date))::date
+      INTO v_first
+      FROM transaction_unpartitioned
+     WHERE date >= v_current - INTERVAL '5 years';
+
+    FOR v_month IN
+        SELECT generate_series(COALESCE(v_first, v_current), v_current, INTERVAL '1 month')::date
+    LOOP
+        PERFORM transaction_create_partition(v_month);
+    END LOOP;
+    PERFORM transaction_ensure_partitions(3);
+END;
+$$;
+
+-- Триггеров на новой таблице ещё нет: change_seq / change_xid переносятся как есть
+INSERT INTO transaction (id, amount, date, comment, type, category_id, user_id, created_at, updated_at, change_seq, change_xid)
+SELECT id, amount, date, comment, type, category_id, user_id, created_at, updated_at, change_seq, change_xid
+FROM transaction_unpartitioned;
+
+DROP TABLE transaction_unpartitioned;
+
+-- Индексы на партиционированной таблице создаются на каждой партиции, в том числе будущих
+CREATE INDEX idx_transaction_user ON transaction(user_id);
+CREATE INDEX idx_transaction_type ON transaction(type);
+CREATE INDEX idx_transaction_date ON transaction(date);
+CREATE INDEX idx_transaction_user_change ON transaction(user_id, change_xid, change_seq);
+
+-- Row-триггеры партиционированной таблицы клонируются на все партиции
+CREATE TRIGGER trg_transaction_stamp_change
+    BEFORE INSERT OR UPDATE ON transaction
+    FOR EACH ROW EXECUTE FUNCTION transaction_stamp_change();
+
+-- Tombstone теперь statement-level: UPDATE, меняющий месяц, переносит строку между партициями
+-- как DELETE + INSERT, и row-level AFTER DELETE записал бы tombstone живой транзакции.
+-- Statement-level DELETE-триггеры при таком переносе не срабатывают, а каскад из users их вызывает.
+CREATE OR REPLACE FUNCTION transaction_write_tombstones() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO transaction_tombstone (transaction_id, user_id, change_seq, change_xid)
+    SELECT o.id, o.user_id, nextval('seq_transaction_change'), pg_current_xact_id()
+    FROM old_rows o
+    ON CONFLICT (transaction_id) DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP FUNCTION IF EXISTS transaction_write_tombstone();
+
+CREATE TRIGGER trg_transaction_tombstone
+    AFTER DELETE ON transaction
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION transaction_write_tombstones();
+
+CREATE TRIGGER trg_ai_analysis_cache_insert
+    AFTER INSERT ON transaction
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION ai_analysis_cache_invalidate();
+
+CREATE TRIGGER trg_ai_analysis_cache_update
+    AFTER UPDATE ON transaction
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION ai_analysis_cache_invalidate();
+
+CREATE TRIGGER trg_ai_analysis_cache_delete
+    AFTER DELETE ON transaction
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION ai_analysis_cache_invalidate();
+
+ANALYZE transaction;
@@ -0,0 +1,15 @@
+-- Индексы transaction под реальные запросы.
+-- Все чтения transaction идут по пользователю и диапазону дат (график, сводка по категориям, последние операции,
+-- keyset-пагинация по (date, id)), поэтому один составной индекс (user_id, date, id).
+-- INCLUDE (type, amount, category_id) делает CASE-SUM агрегаты index-only: heap читается только для
+-- страниц, которые ещё не отмечены в visibility map.
+CREATE INDEX IF NOT EXISTS idx_transaction_user_date
+    ON transaction (user_id, date, id) INCLUDE (type, amount, category_id);
+
+-- Одноколоночные индексы из V2: user_id покрыт префиксом нового индекса, type (два значения) планировщик
+-- не использует, по одной date без user_id запросов нет. Каждый из них — лишняя запись на любой INSERT.
+DROP INDEX IF EXISTS idx_transaction_user;
+DROP INDEX IF EXISTS idx_transaction_type;
+DROP INDEX IF EXISTS idx_transaction_date;
+
+ANALYZE transaction;
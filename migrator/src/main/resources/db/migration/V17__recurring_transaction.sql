@@ -0,0 +1,65 @@
+-- Повторяющиеся транзакции (зарплата, аренда, подписки): правило + журнал проведённых повторений.
+-- RecurringTransactionJob периодически проводит наступившие повторения всех пользователей пачками
+-- одним INSERT ... SELECT (см. RecurringTransactionRuleRepositoryCustomImpl.materializeDue).
+
+-- n-е повторение правила. Считается от start_at, а не от предыдущего: 31-е число в феврале даёт 28/29,
+-- но в марте снова 31-е. IMMUTABLE — используется в generated column.
+CREATE OR REPLACE FUNCTION recurring_occurrence_at(p_start TIMESTAMP, p_frequency VARCHAR, p_interval INT, p_n INT)
+    RETURNS TIMESTAMP
+    LANGUAGE sql
+    IMMUTABLE
+AS $$
+    SELECT p_start + CASE p_frequency
+        WHEN 'DAILY'   THEN make_interval(days   => p_interval * p_n)
+        WHEN 'WEEKLY'  THEN make_interval(weeks  => p_interval * p_n)
+        WHEN 'MONTHLY' THEN make_interval(months => p_interval * p_n)
+        WHEN 'YEARLY'  THEN make_interval(years  => p_interval * p_n)
+    END
+$$;
+
+CREATE SEQUENCE IF NOT EXISTS seq_recurring_transaction_rule_id
+    START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS recurring_transaction_rule (
+    id                 BIGINT PRIMARY KEY DEFAULT nextval('seq_recurring_transaction_rule_id'),
+    user_id            BIGINT         NOT NULL,
+    category_id        BIGINT         NOT NULL,
+    type               VARCHAR(10)    NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    amount             NUMERIC(18, 2) NOT NULL CHECK (amount > 0),
+    comment            VARCHAR(255),
+    frequency          VARCHAR(10)    NOT NULL CHECK (frequency IN ('DAILY', 'WEEKLY', 'MONTHLY', 'YEARLY')),
+    interval_count     INT            NOT NULL DEFAULT 1 CHECK (interval_count BETWEEN 1 AND 365),
+    start_at           TIMESTAMP(6)   NOT NULL,
+    end_at             TIMESTAMP(6),
+    -- номер следующего повторения; дата считается по нему, job сдвигает только номер
+    next_occurrence_no INT            NOT NULL DEFAULT 0,
+    next_occurrence_at TIMESTAMP(6)   GENERATED ALWAYS AS
+        (recurring_occurrence_at(start_at, frequency, interval_count, next_occurrence_no)) STORED,
+    active             BOOLEAN        NOT NULL DEFAULT TRUE,
+    created_at         TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at         TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_recurring_rule_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_recurring_rule_category FOREIGN KEY (category_id) REFERENCES transaction_category(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_recurring_rule_user
+    ON recurring_transaction_rule(user_id);
+
+-- job выбирает только наступившие активные правила
+CREATE INDEX IF NOT EXISTS idx_recurring_rule_due
+    ON recurring_transaction_rule(next_occurrence_at)
+    WHERE active;
+
+-- Ключ идемпотентности: (правило, плановое время повторения). Повторный прогон после падения
+-- или параллельный инстанс не проведут повторение второй раз. От смены расписания ключ не защищает:
+-- у нового расписания другие плановые времена, поэтому RecurringTransactionService.updateRule
+-- продолжает его только после последнего проведённого повторения.
+CREATE TABLE IF NOT EXISTS recurring_transaction_occurrence (
+    rule_id       BIGINT       NOT NULL,
+    occurrence_at TIMESTAMP(6) NOT NULL,
+    created_at    TIMESTAMPTZ  NOT NULL DEFAULT now(),
+
+    CONSTRAINT pk_recurring_transaction_occurrence PRIMARY KEY (rule_id, occurrence_at),
+    CONSTRAINT fk_recurring_occurrence_rule FOREIGN KEY (rule_id) REFERENCES recurring_transaction_rule(id) ON DELETE CASCADE
+);
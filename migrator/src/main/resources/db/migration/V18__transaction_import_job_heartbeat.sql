@@ -0,0 +1,32 @@
+-- Зависшие задачи импорта выписок. Задача, которая была PENDING / RUNNING, когда процесс перезапустился
+-- или поток воркера умер, оставалась активной навсегда: staging не чистился, а пользователь получал 409.
+-- Воркер обновляет heartbeat_at на каждой пачке; StatementImportReaper переводит в FAILED задачи
+-- без heartbeat дольше порога и удаляет их staging.
+
+ALTER TABLE transaction_import_job
+    ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+UPDATE transaction_import_job SET heartbeat_at = updated_at;
+
+-- Проверка "один активный импорт" в приложении не атомарна: из нескольких активных задач пользователя
+-- оставляем последнюю, иначе уникальный индекс ниже не создастся.
+UPDATE transaction_import_job j
+   SET status = 'FAILED',
+       error = 'Superseded by a concurrent import',
+       finished_at = now(),
+       updated_at = now()
+ WHERE j.status IN ('PENDING', 'RUNNING')
+   AND EXISTS (SELECT 1 FROM transaction_import_job o
+                WHERE o.user_id = j.user_id
+                  AND o.status IN ('PENDING', 'RUNNING')
+                  AND o.id > j.id);
+
+DELETE FROM transaction_import_staging s
+ USING transaction_import_job j
+ WHERE j.id = s.job_id
+   AND j.status NOT IN ('PENDING', 'RUNNING');
+
+-- Не больше одного активного импорта на пользователя; вторая вставка падает с unique violation → 409
+CREATE UNIQUE INDEX IF NOT EXISTS ux_transaction_import_job_user_active
+    ON transaction_import_job(user_id)
+    WHERE status IN ('PENDING', 'RUNNING');
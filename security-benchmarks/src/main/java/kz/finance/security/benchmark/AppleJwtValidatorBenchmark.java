@@ -0,0 +1,116 @@
+package kz.finance.security.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import kz.finance.security.config.AppleProperties;
+import kz.finance.security.service.AppleJwksService;
+import kz.finance.security.service.AppleJwtValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AppleJwtValidator#validateAndParseToken} при входе через Apple: разбор заголовка, поиск ключа по kid
+ * в JWKS, сборка RSA-ключа и проверка подписи RS256. JWKS отдаётся из памяти, как из кеша
+ * {@code applePublicKeys} в проде, — сеть в замер не входит.
+ * Запуск: {@code java -jar security-benchmarks/target/security-benchmarks.jar AppleJwtValidatorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppleJwtValidatorBenchmark {
+
+    private static final String ISSUER = "https://appleid.apple.com";
+    private static final String AUDIENCE = "kz.finance.fintrack";
+    private static final String KID = "bench-kid";
+    /** У Apple в JWKS обычно 2–3 ключа, нужный может быть не первым. */
+    private static final int OTHER_KEYS = 2;
+
+    private AppleJwtValidator validator;
+    private String identityToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+
+        ArrayNode keys = objectMapper.createArrayNode();
+        for (int i = 0; i < OTHER_KEYS; i++) {
+            keys.add(jwk(objectMapper, "other-" + i, (RSAPublicKey) generator.generateKeyPair().getPublic()));
+        }
+        KeyPair signing = generator.generateKeyPair();
+        keys.add(jwk(objectMapper, KID, (RSAPublicKey) signing.getPublic()));
+
+        AppleProperties props = new AppleProperties(ISSUER, AUDIENCE, "http://localhost/unused");
+        AppleJwksService jwksService = new AppleJwksService(props, objectMapper, null) {
+            @Override
+            public JsonNode getKeys() {
+                return keys;
+            }
+        };
+        validator = new AppleJwtValidator(props, jwksService, objectMapper);
+
+        Instant now = Instant.now();
+        identityToken = Jwts.builder()
+                .setHeaderParam("kid", KID)
+                .setIssuer(ISSUER)
+                .setAudience(AUDIENCE)
+                .setSubject("001234.abcdef0123456789.1234")
+                .claim("email", "bench@privaterelay.appleid.com")
+                .claim("email_verified", "true")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofHours(1))))
+                .signWith(signing.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims validateAndParseToken() {
+        return validator.validateAndParseToken(identityToken);
+    }
+
+    private static JsonNode jwk(ObjectMapper objectMapper, String kid, RSAPublicKey key) {
+        return objectMapper.createObjectNode()
+                .put("kty", "RSA")
+                .put("kid", kid)
+                .put("use", "sig")
+                .put("alg", "RS256")
+                .put("n", base64Url(key.getModulus()))
+                .put("e", base64Url(key.getPublicExponent()));
+    }
+
+    /** JWK хранит числа без знакового нулевого байта, который добавляет BigInteger.toByteArray. */
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}